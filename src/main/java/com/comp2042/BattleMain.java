@@ -0,0 +1,67 @@
+package com.comp2042;
+
+import com.comp2042.controller.game.BattleSession;
+import com.comp2042.model.SimpleBoard;
+import com.comp2042.view.BattleBoardsView;
+import javafx.application.Application;
+import javafx.scene.Scene;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+
+/**
+ * Entry point for the battle view: many games tiled on a single canvas.
+ * The number of boards is set with {@code -Dtetris.battle.boards} (default 100) and the
+ * seed with {@code -Dtetris.battle.seed}.
+ *
+ * @author COMP2042 Coursework
+ */
+public class BattleMain extends Application {
+
+    private BattleSession session;
+
+    /**
+     * Builds the canvas, sizes it to the window and starts the session.
+     *
+     * @param primaryStage The primary stage provided by the JavaFX runtime.
+     */
+    @Override
+    public void start(Stage primaryStage) {
+        int boards = Integer.getInteger("tetris.battle.boards", BattleBoardsView.MAX_BOARDS);
+        long seed = Long.getLong("tetris.battle.seed", 2042L);
+
+        BattleBoardsView view = new BattleBoardsView(boards, BattleSession.rows(), BattleSession.columns(),
+                SimpleBoard.HIDDEN_ROWS);
+        Pane root = new Pane(view);
+        view.widthProperty().bind(root.widthProperty());
+        view.heightProperty().bind(root.heightProperty());
+
+        Scene scene = new Scene(root, 1280, 800, Color.BLACK);
+        primaryStage.setTitle("TetrisJFX - Battle");
+        primaryStage.setScene(scene);
+        primaryStage.show();
+
+        session = new BattleSession(view, seed, Duration.millis(100));
+        session.start();
+    }
+
+    /**
+     * Stops the game loop when the window closes.
+     */
+    @Override
+    public void stop() {
+        if (session != null) {
+            session.stop();
+        }
+    }
+
+    /**
+     * Launches the battle view.
+     *
+     * @param args Command line arguments (not used).
+     */
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
@@ -0,0 +1,86 @@
+package com.comp2042.bot;
+
+import com.comp2042.model.CellGrid;
+import com.comp2042.model.SimpleBoard;
+
+/**
+ * Static evaluation of a settled board for the placement searches.
+ *
+ * The score is a weighted sum of four classic features: aggregate column height, lines
+ * cleared, covered holes and bumpiness (the height difference between neighbouring
+ * columns). The weights are the widely used hand-tuned set for a 10-wide board; higher
+ * scores are better.
+ *
+ * @author COMP2042 Coursework
+ */
+public final class BoardEvaluator {
+
+    private static final double HEIGHT_WEIGHT = -0.510066;
+    private static final double LINES_WEIGHT = 0.760666;
+    private static final double HOLES_WEIGHT = -0.35663;
+    private static final double BUMPINESS_WEIGHT = -0.184483;
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private BoardEvaluator() {
+
+    }
+
+    /**
+     * Scores the settled blocks of a board.
+     *
+     * @param board the board to score; only its background matrix is read
+     * @param linesCleared lines cleared on the way to this board
+     * @param heights scratch array of at least {@link SimpleBoard#getColumns()} entries
+     * @return the evaluation, higher is better
+     */
+    public static double evaluate(SimpleBoard board, int linesCleared, int[] heights) {
+        int columns = board.getColumns();
+        int rows = board.getRows();
+        board.getColumnHeights(heights);
+        CellGrid matrix = board.getBoardMatrix();
+
+        int aggregateHeight = 0;
+        int bumpiness = 0;
+        int holes = 0;
+        for (int c = 0; c < columns; c++) {
+            int height = heights[c];
+            aggregateHeight += height;
+            if (c > 0) {
+                bumpiness += Math.abs(height - heights[c - 1]);
+            }
+            for (int r = rows - height + 1; r < rows; r++) {
+                if (matrix.get(r, c) == 0) {
+                    holes++;
+                }
+            }
+        }
+        return HEIGHT_WEIGHT * aggregateHeight + LINES_WEIGHT * linesCleared
+                + HOLES_WEIGHT * holes + BUMPINESS_WEIGHT * bumpiness;
+    }
+
+    /**
+     * Scores a placement from its {@link PlacementFeatures} row, without playing it out.
+     * Gives the same result as {@link #evaluate(SimpleBoard, int, int[])} on the board the
+     * placement leads to, up to float rounding.
+     *
+     * @param features the feature rows
+     * @param base index of the placement's first feature
+     * @param rows board rows the features were computed for
+     * @param columns board columns the features were computed for
+     * @param earlierLines lines cleared on the way to the board the placement is made on
+     * @return the evaluation, higher is better
+     */
+    static double evaluate(float[] features, int base, int rows, int columns, int earlierLines) {
+        float aggregateHeight = 0;
+        float holes = 0;
+        for (int c = 0; c < columns; c++) {
+            aggregateHeight += features[base + c];
+            holes += features[base + columns + c];
+        }
+        return (HEIGHT_WEIGHT * aggregateHeight + HOLES_WEIGHT * holes
+                + BUMPINESS_WEIGHT * features[base + 2 * columns + 1]) * rows
+                + LINES_WEIGHT * (earlierLines + 4 * features[base + 2 * columns]);
+    }
+}
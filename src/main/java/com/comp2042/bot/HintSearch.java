@@ -0,0 +1,197 @@
+package com.comp2042.bot;
+
+import com.comp2042.model.GameSnapshot;
+import com.comp2042.model.MoveGenerator;
+import com.comp2042.model.SimpleBoard;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Finds the best placement for the falling piece of a captured game.
+ *
+ * The search restores a {@link GameSnapshot} into a private board, enumerates every
+ * reachable placement with a {@link MoveGenerator}, and plays each one out. With a depth
+ * of two the preview piece is placed as well and the first placement is scored by its
+ * best follow-up, using {@link BoardEvaluator} on the resulting board.
+ *
+ * The search never touches the live game, so it can run on any thread. It polls the
+ * calling thread's interrupt flag between placements and gives up as soon as it is set,
+ * which lets a caller cancel a stale search with {@code Future.cancel(true)}.
+ *
+ * An instance is confined to one thread at a time.
+ *
+ * @author COMP2042 Coursework
+ */
+public final class HintSearch {
+
+    /** Deepest search: the falling piece plus the one preview piece the player can see. */
+    public static final int MAX_DEPTH = 2;
+
+    // Below any real evaluation; used for lines of play that top out
+    private static final double GAME_OVER_SCORE = -1e9;
+
+    /**
+     * A suggested placement.
+     */
+    public static final class Hint {
+        private final int x;
+        private final int y;
+        private final int rotation;
+        private final int mask;
+
+        private Hint(int x, int y, int rotation, int mask) {
+            this.x = x;
+            this.y = y;
+            this.rotation = rotation;
+            this.mask = mask;
+        }
+
+        /**
+         * @return the column of the piece's 4x4 box
+         */
+        public int getX() {
+            return x;
+        }
+
+        /**
+         * @return the row of the piece's 4x4 box
+         */
+        public int getY() {
+            return y;
+        }
+
+        /**
+         * @return the SRS rotation state
+         */
+        public int getRotation() {
+            return rotation;
+        }
+
+        /**
+         * @return the 4x4 occupancy mask, bit {@code row * 4 + column}
+         */
+        public int getMask() {
+            return mask;
+        }
+    }
+
+    private final SimpleBoard board;
+    private final MoveGenerator[] generators;
+    private final ByteBuffer[] saved;
+    private final int[] heights;
+    private final int depth;
+
+    /**
+     * Creates a search for boards of the given size.
+     *
+     * @param rows number of board rows, including hidden rows
+     * @param columns number of board columns
+     * @param depth pieces to place, 1 to {@link #MAX_DEPTH}
+     * @throws IllegalArgumentException if the depth is out of range
+     */
+    public HintSearch(int rows, int columns, int depth) {
+        if (depth < 1 || depth > MAX_DEPTH) {
+            throw new IllegalArgumentException("Depth must be 1.." + MAX_DEPTH + ", got " + depth);
+        }
+        this.depth = depth;
+        board = new SimpleBoard(rows, columns);
+        generators = new MoveGenerator[depth];
+        saved = new ByteBuffer[depth];
+        for (int i = 0; i < depth; i++) {
+            generators[i] = new MoveGenerator(rows, columns);
+            saved[i] = ByteBuffer.allocate(GameSnapshot.maxSize(board));
+        }
+        heights = new int[columns];
+    }
+
+    /**
+     * @return the rows of the boards this search accepts
+     */
+    public int getRows() {
+        return board.getRows();
+    }
+
+    /**
+     * @return the columns of the boards this search accepts
+     */
+    public int getColumns() {
+        return board.getColumns();
+    }
+
+    /**
+     * Searches a captured game.
+     *
+     * @param snapshot a snapshot of the game, from {@link GameSnapshot#capture(SimpleBoard)}
+     * @return the best placement, or {@code null} if the piece cannot be placed or the
+     * calling thread was interrupted
+     * @throws IllegalArgumentException if the snapshot is not for a board of this size
+     */
+    public Hint search(byte[] snapshot) {
+        GameSnapshot.restore(board, snapshot);
+        save(0);
+        MoveGenerator generator = generators[0];
+        int count = generator.generate(board);
+
+        int best = -1;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            if (Thread.currentThread().isInterrupted()) {
+                return null;
+            }
+            restore(0);
+            double score = playAndScore(generator, i, 0, 0);
+            if (score > bestScore) {
+                bestScore = score;
+                best = i;
+            }
+        }
+        if (best < 0) {
+            return null;
+        }
+        return new Hint(generator.getX(best), generator.getY(best), generator.getRotation(best),
+                generator.getMask(best));
+    }
+
+    /**
+     * Plays placement {@code i} of the generator for {@code level} on the board and scores
+     * the outcome, recursing into the next piece while depth remains.
+     */
+    private double playAndScore(MoveGenerator generator, int i, int level, int lines) {
+        for (MoveGenerator.Move move : generator.getPath(i)) {
+            MoveGenerator.apply(board, move);
+        }
+        board.mergeBrickToBackground();
+        lines += board.clearRows().getLinesRemoved();
+        if (level + 1 == depth) {
+            return BoardEvaluator.evaluate(board, lines, heights);
+        }
+        if (board.createNewBrick()) {
+            return GAME_OVER_SCORE;
+        }
+
+        int next = level + 1;
+        save(next);
+        MoveGenerator nextGenerator = generators[next];
+        int count = nextGenerator.generate(board);
+        double best = GAME_OVER_SCORE;
+        for (int j = 0; j < count; j++) {
+            if (Thread.currentThread().isInterrupted()) {
+                return best;
+            }
+            restore(next);
+            best = Math.max(best, playAndScore(nextGenerator, j, next, lines));
+        }
+        return best;
+    }
+
+    private void save(int level) {
+        saved[level].clear();
+        GameSnapshot.capture(board, saved[level]);
+    }
+
+    private void restore(int level) {
+        ByteBuffer buffer = saved[level];
+        buffer.rewind();
+        GameSnapshot.restore(board, buffer);
+    }
+}
@@ -0,0 +1,521 @@
+package com.comp2042.bot;
+
+import com.comp2042.logic.bricks.RandomBrickGenerator;
+import com.comp2042.model.GameSnapshot;
+import com.comp2042.model.MoveGenerator;
+import com.comp2042.model.SimpleBoard;
+import com.comp2042.model.SrsRotation;
+import com.comp2042.view.ClearRow;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A Monte Carlo tree search player. Each move is searched for a fixed time on a pool of
+ * threads that all grow one shared tree.
+ *
+ * Decision nodes are game states and their edges are the placements of the falling piece
+ * found by a {@link MoveGenerator}. Locking a piece brings the preview piece in and
+ * reveals a new, random preview, so an edge leads to one node per preview piece it has
+ * been seen to reveal. An iteration restores the searched game into the thread's own
+ * {@link SimpleBoard}, walks down the tree choosing edges by UCT, expands the first node
+ * it reaches that has no edges yet, and from there plays a short rollout of greedy
+ * placements before scoring the board with {@link BoardEvaluator}. Lines cleared along
+ * the whole line of play count towards the score, and topping out scores far below any
+ * evaluation. Unvisited edges start from the evaluation of the board they lead to, so the
+ * search looks at promising placements first.
+ *
+ * The bot only knows the pieces a player can see. Past the preview, pieces come from the
+ * thread's seeded generator, which is reseeded for every iteration, so a node's value
+ * averages over the pieces that may follow.
+ *
+ * The tree has no locks. Visit counts and value sums are atomic counters (values are kept
+ * in fixed point), nodes are expanded by whichever thread publishes its edges first, and
+ * a thread that chooses an edge immediately counts a visit on it valued a virtual loss
+ * below the edge's current mean, which is swapped for the real result when the iteration
+ * ends. The virtual loss steers the other threads to different edges while the result is
+ * pending.
+ *
+ * Holding a piece is not searched. The exploration constant, rollout length and virtual
+ * loss come from the {@code tetris.mcts.exploration}, {@code tetris.mcts.rolloutDepth} and
+ * {@code tetris.mcts.virtualLoss} system properties.
+ *
+ * @author COMP2042 Coursework
+ */
+public final class MctsBot implements AutoCloseable {
+
+    private static final double EXPLORATION =
+            Double.parseDouble(System.getProperty("tetris.mcts.exploration", "2.0"));
+    private static final int ROLLOUT_DEPTH = Integer.getInteger("tetris.mcts.rolloutDepth", 3);
+    private static final double VIRTUAL_LOSS =
+            Double.parseDouble(System.getProperty("tetris.mcts.virtualLoss", "3.0"));
+
+    // Below any board evaluation; used for lines of play that top out
+    private static final double LOSS_VALUE = -500;
+    // Fixed-point scale of the value sums, which are kept in AtomicLongs
+    private static final double VALUE_SCALE = 1 << 20;
+
+    /**
+     * The placement chosen for a move.
+     */
+    public static final class Decision {
+        private final int x;
+        private final int y;
+        private final int rotation;
+        private final int mask;
+        private final MoveGenerator.Move[] path;
+        private final long visits;
+        private final double value;
+        private final long iterations;
+
+        private Decision(Edge edge, long iterations) {
+            this.x = edge.x;
+            this.y = edge.y;
+            this.rotation = edge.rotation;
+            this.mask = edge.mask;
+            this.path = edge.path;
+            this.visits = edge.visits.get();
+            this.value = edge.mean();
+            this.iterations = iterations;
+        }
+
+        /** @return the column of the piece's 4x4 box */
+        public int getX() {
+            return x;
+        }
+
+        /** @return the row of the piece's 4x4 box */
+        public int getY() {
+            return y;
+        }
+
+        /** @return the SRS rotation state */
+        public int getRotation() {
+            return rotation;
+        }
+
+        /** @return the 4x4 occupancy mask, bit {@code row * 4 + column} */
+        public int getMask() {
+            return mask;
+        }
+
+        /** @return the inputs that play the placement, ending with a hard drop */
+        public MoveGenerator.Move[] getPath() {
+            return path.clone();
+        }
+
+        /** @return the iterations that went through this placement */
+        public long getVisits() {
+            return visits;
+        }
+
+        /** @return the placement's mean value over those iterations */
+        public double getValue() {
+            return value;
+        }
+
+        /** @return the iterations run for the whole move */
+        public long getIterations() {
+            return iterations;
+        }
+    }
+
+    /**
+     * A game state in the tree.
+     */
+    private static final class Node {
+        final AtomicLong visits = new AtomicLong();
+        final AtomicReference<Edge[]> edges = new AtomicReference<>();
+    }
+
+    /**
+     * A placement from a node, with its statistics.
+     */
+    private static final class Edge {
+        final int x;
+        final int y;
+        final int rotation;
+        final int mask;
+        final MoveGenerator.Move[] path;
+        final double prior;
+        final AtomicLong visits = new AtomicLong();
+        final AtomicLong valueSum = new AtomicLong();
+        // The states after this placement, by the preview piece the next spawn reveals
+        final AtomicReferenceArray<Node> outcomes = new AtomicReferenceArray<>(SrsRotation.PIECE_COUNT + 1);
+
+        Edge(int x, int y, int rotation, int mask, MoveGenerator.Move[] path, double prior) {
+            this.x = x;
+            this.y = y;
+            this.rotation = rotation;
+            this.mask = mask;
+            this.path = path;
+            this.prior = prior;
+        }
+
+        double mean() {
+            long n = visits.get();
+            return n == 0 ? prior : valueSum.get() / VALUE_SCALE / n;
+        }
+    }
+
+    private final int rows;
+    private final int columns;
+    private final Worker[] workers;
+    private final ThreadPoolExecutor pool;
+    // Advanced by every search and by close; a worker task runs only while it still
+    // holds the current value, so an abandoned search can never run on into the next one
+    private final AtomicInteger generation = new AtomicInteger();
+
+    /**
+     * Creates a bot for boards of the given size.
+     *
+     * @param rows number of board rows, including hidden rows
+     * @param columns number of board columns
+     * @param threads number of search threads
+     * @param seed seed for the pieces imagined past the preview
+     * @throws IllegalArgumentException if the thread count is not positive, or the board
+     * has more than 63 rows
+     */
+    public MctsBot(int rows, int columns, int threads, long seed) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Threads must be positive, got " + threads);
+        }
+        this.rows = rows;
+        this.columns = columns;
+        workers = new Worker[threads];
+        SplittableRandom seeds = new SplittableRandom(seed);
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Worker(seeds.split());
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads), runnable -> {
+                    Thread thread = new Thread(runnable, "mcts-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Searches the best placement for the falling piece of a game. Every thread runs at
+     * least one iteration, so a very small budget still gives a move.
+     *
+     * @param board the game; it is only read
+     * @param budgetMillis time to search for
+     * @return the placement visited most, or {@code null} if the piece cannot be placed or
+     * the calling thread was interrupted
+     * @throws IllegalArgumentException if the board is not the size this bot was made for
+     */
+    public Decision search(SimpleBoard board, long budgetMillis) {
+        if (board.getRows() != rows || board.getColumns() != columns) {
+            throw new IllegalArgumentException("Bot is for " + rows + "x" + columns
+                    + " boards, got " + board.getRows() + "x" + board.getColumns());
+        }
+        byte[] snapshot = GameSnapshot.capture(board);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        Node root = new Node();
+        int search = generation.incrementAndGet();
+
+        List<Future<Long>> tasks = new ArrayList<>(workers.length);
+        for (Worker worker : workers) {
+            Callable<Long> task = () -> worker.run(root, snapshot, deadline, search);
+            tasks.add(pool.submit(task));
+        }
+        long iterations = 0;
+        try {
+            for (Future<Long> task : tasks) {
+                iterations += task.get();
+            }
+        } catch (InterruptedException e) {
+            cancel(search, tasks);
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            cancel(search, tasks);
+            throw new IllegalStateException("Tree search failed", e.getCause());
+        }
+
+        Edge[] edges = root.edges.get();
+        if (edges == null || edges.length == 0) {
+            return null;
+        }
+        Edge best = edges[0];
+        for (Edge edge : edges) {
+            long visits = edge.visits.get();
+            long bestVisits = best.visits.get();
+            if (visits > bestVisits || (visits == bestVisits && edge.mean() > best.mean())) {
+                best = edge;
+            }
+        }
+        return new Decision(best, iterations);
+    }
+
+    /**
+     * Shuts down the search threads.
+     */
+    @Override
+    public void close() {
+        generation.incrementAndGet();
+        pool.shutdownNow();
+    }
+
+    /**
+     * Stops an abandoned search and waits for all of its tasks to finish, so none of them
+     * is still using its worker when the next search starts. An interrupt while waiting is
+     * kept for the caller.
+     */
+    private void cancel(int search, List<Future<Long>> tasks) {
+        generation.compareAndSet(search, search + 1);
+        boolean interrupted = false;
+        for (Future<Long> task : tasks) {
+            while (true) {
+                try {
+                    task.get();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * One search thread's board and scratch space.
+     */
+    private final class Worker {
+        private final RandomBrickGenerator pieces = new RandomBrickGenerator(0);
+        private final SimpleBoard board = new SimpleBoard(rows, columns, pieces);
+        private final MoveGenerator generator = new MoveGenerator(rows, columns);
+        private final PlacementFeatures features = new PlacementFeatures(rows, columns);
+        private final int stride = PlacementFeatures.count(columns);
+        private final int[] heights = new int[columns];
+        private final SplittableRandom random;
+        private float[] featureRows = new float[64 * PlacementFeatures.count(columns)];
+        private Edge[] trail = new Edge[16];
+        private long[] pending = new long[16];
+
+        Worker(SplittableRandom random) {
+            this.random = random;
+        }
+
+        long run(Node root, byte[] snapshot, long deadline, int search) {
+            long iterations = 0;
+            while (generation.get() == search) {
+                iterate(root, snapshot);
+                iterations++;
+                if (System.nanoTime() - deadline >= 0) {
+                    break;
+                }
+            }
+            return iterations;
+        }
+
+        private void iterate(Node root, byte[] snapshot) {
+            GameSnapshot.restore(board, snapshot);
+            pieces.reseed(random.nextLong());
+
+            int depth = 0;
+            int lines = 0;
+            double value;
+            Node node = root;
+            node.visits.incrementAndGet();
+            while (true) {
+                Edge[] edges = node.edges.get();
+                if (edges == null) {
+                    edges = expand(node, lines);
+                    value = edges.length == 0 ? LOSS_VALUE : rollout(lines);
+                    break;
+                }
+                if (edges.length == 0) {
+                    value = LOSS_VALUE;
+                    break;
+                }
+
+                Edge edge = select(node, edges);
+                long virtualValue = Math.round((edge.mean() - VIRTUAL_LOSS) * VALUE_SCALE);
+                edge.visits.incrementAndGet();
+                edge.valueSum.addAndGet(virtualValue);
+                if (depth == trail.length) {
+                    trail = Arrays.copyOf(trail, 2 * depth);
+                    pending = Arrays.copyOf(pending, 2 * depth);
+                }
+                trail[depth] = edge;
+                pending[depth++] = virtualValue;
+
+                lines += play(edge.path);
+                if (board.createNewBrick()) {
+                    value = LOSS_VALUE;
+                    break;
+                }
+                int preview = board.getNextPieceId();
+                Node next = edge.outcomes.get(preview);
+                if (next == null) {
+                    edge.outcomes.compareAndSet(preview, null, new Node());
+                    next = edge.outcomes.get(preview);
+                }
+                next.visits.incrementAndGet();
+                node = next;
+            }
+
+            long result = Math.round(value * VALUE_SCALE);
+            for (int i = 0; i < depth; i++) {
+                trail[i].valueSum.addAndGet(result - pending[i]);
+                trail[i] = null;
+            }
+        }
+
+        /**
+         * UCT over the edges, with unvisited edges valued at their prior.
+         */
+        private Edge select(Node node, Edge[] edges) {
+            double logVisits = Math.log(Math.max(node.visits.get(), 1));
+            Edge best = edges[0];
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (Edge edge : edges) {
+                long n = edge.visits.get();
+                double score = edge.mean() + EXPLORATION * Math.sqrt(logVisits / (n + 1));
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = edge;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Publishes the edges of the node the board is at, unless another thread got there
+         * first, and returns the node's edges.
+         */
+        private Edge[] expand(Node node, int lines) {
+            int count = generator.generate(board);
+            Edge[] edges = new Edge[count];
+            if (count > 0) {
+                score(count);
+                for (int i = 0; i < count; i++) {
+                    edges[i] = new Edge(generator.getX(i), generator.getY(i), generator.getRotation(i),
+                            generator.getMask(i), generator.getPath(i),
+                            BoardEvaluator.evaluate(featureRows, i * stride, rows, columns, lines));
+                }
+            }
+            return node.edges.compareAndSet(null, edges) ? edges : node.edges.get();
+        }
+
+        /**
+         * Plays greedy placements for a few pieces and scores the board reached.
+         */
+        private double rollout(int lines) {
+            for (int d = 0; d < ROLLOUT_DEPTH; d++) {
+                int count = generator.generate(board);
+                if (count == 0) {
+                    return LOSS_VALUE;
+                }
+                score(count);
+                int best = 0;
+                double bestScore = Double.NEGATIVE_INFINITY;
+                for (int i = 0; i < count; i++) {
+                    double score = BoardEvaluator.evaluate(featureRows, i * stride, rows, columns, 0);
+                    if (score > bestScore) {
+                        bestScore = score;
+                        best = i;
+                    }
+                }
+                lines += play(generator.getPath(best));
+                if (board.createNewBrick()) {
+                    return LOSS_VALUE;
+                }
+            }
+            return BoardEvaluator.evaluate(board, lines, heights);
+        }
+
+        /**
+         * Fills the feature rows of the generator's placements.
+         */
+        private void score(int count) {
+            if (featureRows.length < count * stride) {
+                featureRows = new float[count * stride];
+            }
+            features.load(board.getBoardMatrix());
+            features.fill(generator, 0, count, featureRows);
+        }
+
+        /**
+         * Plays a placement and locks it.
+         *
+         * @return the lines it cleared
+         */
+        private int play(MoveGenerator.Move[] path) {
+            for (MoveGenerator.Move move : path) {
+                MoveGenerator.apply(board, move);
+            }
+            board.mergeBrickToBackground();
+            return board.clearRows().getLinesRemoved();
+        }
+    }
+
+    /**
+     * Plays one exhibition game against the seeded piece sequence and prints how it went.
+     * Threads, think time per move, game length cap and seed come from the
+     * {@code tetris.mcts.threads}, {@code tetris.mcts.thinkMillis}, {@code tetris.mcts.pieces}
+     * and {@code tetris.mcts.seed} system properties.
+     *
+     * @param args unused
+     */
+    public static void main(String[] args) {
+        int threads = Integer.getInteger("tetris.mcts.threads", Runtime.getRuntime().availableProcessors());
+        long thinkMillis = Long.getLong("tetris.mcts.thinkMillis", 100);
+        int maxPieces = Integer.getInteger("tetris.mcts.pieces", 500);
+        long seed = Long.getLong("tetris.mcts.seed", 1);
+
+        SimpleBoard board = new SimpleBoard(25, 10, new RandomBrickGenerator(seed));
+        board.createNewBrick();
+        int pieces = 0;
+        int lines = 0;
+        long iterations = 0;
+        boolean toppedOut = false;
+        long start = System.nanoTime();
+        try (MctsBot bot = new MctsBot(board.getRows(), board.getColumns(), threads, seed)) {
+            while (pieces < maxPieces) {
+                Decision decision = bot.search(board, thinkMillis);
+                if (decision == null) {
+                    toppedOut = true;
+                    break;
+                }
+                iterations += decision.getIterations();
+                for (MoveGenerator.Move move : decision.path) {
+                    MoveGenerator.apply(board, move);
+                }
+                board.mergeBrickToBackground();
+                ClearRow cleared = board.clearRows();
+                board.getScore().add(cleared.getScoreBonus());
+                lines += cleared.getLinesRemoved();
+                pieces++;
+                if (board.createNewBrick()) {
+                    toppedOut = true;
+                    break;
+                }
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        System.out.printf("[mcts] %d pieces, %d lines, score %d%s in %.1fs%n", pieces, lines,
+                board.getScore().getValue(), toppedOut ? ", topped out" : "", seconds);
+        System.out.printf("[mcts] %.0f iterations per move (%dms, %d threads)%n",
+                pieces > 0 ? iterations / (double) pieces : 0, thinkMillis, threads);
+    }
+}
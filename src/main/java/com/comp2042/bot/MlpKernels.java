@@ -0,0 +1,63 @@
+package com.comp2042.bot;
+
+/**
+ * Dense-layer kernels for {@link PolicyNetwork}. Two implementations exist:
+ * {@link VectorMlpKernels}, built on the incubating {@code jdk.incubator.vector} API, and
+ * the portable {@link ScalarMlpKernels}. The implementation is chosen once, at class
+ * initialization, the same way as the board's row scanners: the vector kernels are used
+ * when the JVM was started with {@code --add-modules jdk.incubator.vector} and
+ * {@code -Dtetris.vector=false} is not set, otherwise the scalar ones.
+ *
+ * Matrices are flat {@code float[]} arrays in row-major order. A layer's weights are
+ * indexed {@code [input][output]}, so one input's contribution to every output is a
+ * contiguous run.
+ *
+ * @author COMP2042 Coursework
+ */
+interface MlpKernels {
+
+    /** The implementation selected for this JVM. */
+    MlpKernels INSTANCE = select();
+
+    /**
+     * Applies one fully connected layer to a batch:
+     * {@code output[b][o] = bias[o] + sum over i of input[b][i] * weights[i][o]},
+     * followed by ReLU if requested.
+     *
+     * @param input the batch, {@code batch} rows of {@code inputs} values
+     * @param batch the number of rows to process
+     * @param inputs values per input row
+     * @param weights the layer weights, {@code inputs} rows of {@code outputs} values
+     * @param bias one value per output
+     * @param outputs values per output row
+     * @param output receives {@code batch} rows of {@code outputs} values
+     * @param relu whether to clamp negative outputs to zero
+     */
+    void dense(float[] input, int batch, int inputs, float[] weights, float[] bias, int outputs,
+               float[] output, boolean relu);
+
+    /**
+     * @return a short name for diagnostics, e.g. "vector" or "scalar"
+     */
+    String name();
+
+    /**
+     * Picks the vector kernels if the incubator module is available, else the scalar ones.
+     * The vector class is only loaded reflectively, so a JVM without the module never
+     * touches it.
+     *
+     * @return the implementation to use
+     */
+    private static MlpKernels select() {
+        boolean enabled = !"false".equalsIgnoreCase(System.getProperty("tetris.vector"));
+        if (enabled && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return (MlpKernels) Class.forName("com.comp2042.bot.VectorMlpKernels")
+                        .getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                System.err.println("Vector MLP kernels unavailable, using scalar fallback: " + e);
+            }
+        }
+        return new ScalarMlpKernels();
+    }
+}
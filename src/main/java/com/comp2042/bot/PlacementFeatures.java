@@ -0,0 +1,138 @@
+package com.comp2042.bot;
+
+import com.comp2042.model.CellGrid;
+import com.comp2042.model.MoveGenerator;
+
+/**
+ * Turns the placements found by a {@link MoveGenerator} into feature rows for
+ * {@link PolicyNetwork}, without playing them on a board.
+ *
+ * The settled blocks are loaded once per piece as one occupancy bit mask per column
+ * (bit {@code r} set if row {@code r} is occupied). Each placement ORs its four cells into
+ * a copy of those masks, removes full rows with a shift per cleared row, and reads the
+ * column features off the masks with bit counts.
+ *
+ * The features of a placement, in order, each scaled to about 0..1:
+ * the height of every column, the covered holes in every column (both divided by the
+ * number of rows), the lines cleared (divided by four), the bumpiness (the summed height
+ * difference of neighbouring columns, divided by the number of rows), the tallest
+ * column, and the height of the piece's lowest cell before any line clear.
+ *
+ * An instance is confined to one thread at a time.
+ *
+ * @author COMP2042 Coursework
+ */
+final class PlacementFeatures {
+
+    private final int rows;
+    private final int columns;
+    private final long[] settled;
+    private final long[] work;
+    private final long fullRow;
+
+    /**
+     * @param rows board rows, including hidden rows; at most 63
+     * @param columns board columns
+     * @throws IllegalArgumentException if the board has more than 63 rows
+     */
+    PlacementFeatures(int rows, int columns) {
+        if (rows > 63) {
+            throw new IllegalArgumentException("Placement features support at most 63 rows, got " + rows);
+        }
+        this.rows = rows;
+        this.columns = columns;
+        settled = new long[columns];
+        work = new long[columns];
+        fullRow = (1L << rows) - 1;
+    }
+
+    /**
+     * @param columns board columns
+     * @return the number of features per placement
+     */
+    static int count(int columns) {
+        return 2 * columns + 4;
+    }
+
+    /**
+     * Loads the settled blocks the next placements are made on.
+     *
+     * @param grid the board's cells
+     */
+    void load(CellGrid grid) {
+        for (int c = 0; c < columns; c++) {
+            long bits = 0;
+            for (int r = 0; r < rows; r++) {
+                if (grid.get(r, c) != 0) {
+                    bits |= 1L << r;
+                }
+            }
+            settled[c] = bits;
+        }
+    }
+
+    /**
+     * Writes the features of placements {@code from} to {@code from + count - 1}.
+     *
+     * @param generator the generator holding the placements, run on the loaded board
+     * @param from the first placement
+     * @param count the number of placements
+     * @param out receives {@link #count(int)} values per placement, starting at index 0
+     */
+    void fill(MoveGenerator generator, int from, int count, float[] out) {
+        int stride = count(columns);
+        float scale = 1f / rows;
+        for (int n = 0; n < count; n++) {
+            int i = from + n;
+            System.arraycopy(settled, 0, work, 0, columns);
+            int x = generator.getX(i);
+            int y = generator.getY(i);
+            int mask = generator.getMask(i);
+            int lowest = 0;
+            for (int bit = 0; bit < 16; bit++) {
+                if ((mask & (1 << bit)) != 0) {
+                    int r = y + (bit >> 2);
+                    work[x + (bit & 3)] |= 1L << r;
+                    lowest = Math.max(lowest, r);
+                }
+            }
+
+            long full = fullRow;
+            for (int c = 0; c < columns; c++) {
+                full &= work[c];
+            }
+            int lines = Long.bitCount(full);
+            // Clearing row r drops every row above it (smaller index) by one; going
+            // top-down leaves the indices of the rows still to clear unchanged
+            while (full != 0) {
+                int r = Long.numberOfTrailingZeros(full);
+                full &= full - 1;
+                long below = -(2L << r);
+                long above = (1L << r) - 1;
+                for (int c = 0; c < columns; c++) {
+                    work[c] = (work[c] & below) | ((work[c] & above) << 1);
+                }
+            }
+
+            int base = n * stride;
+            int bumpiness = 0;
+            int maxHeight = 0;
+            int previous = 0;
+            for (int c = 0; c < columns; c++) {
+                long bits = work[c];
+                int height = bits == 0 ? 0 : rows - Long.numberOfTrailingZeros(bits);
+                out[base + c] = height * scale;
+                out[base + columns + c] = (height - Long.bitCount(bits)) * scale;
+                if (c > 0) {
+                    bumpiness += Math.abs(height - previous);
+                }
+                maxHeight = Math.max(maxHeight, height);
+                previous = height;
+            }
+            out[base + 2 * columns] = lines * 0.25f;
+            out[base + 2 * columns + 1] = bumpiness * scale;
+            out[base + 2 * columns + 2] = maxHeight * scale;
+            out[base + 2 * columns + 3] = (rows - lowest) * scale;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.comp2042.bot;
+
+import com.comp2042.model.MoveGenerator;
+import com.comp2042.model.SimpleBoard;
+
+/**
+ * Chooses placements with a {@link PolicyNetwork}. Every reachable placement of the
+ * falling piece is found with a {@link MoveGenerator}, turned into features by
+ * {@link PlacementFeatures} and scored by the network in batches, rather than by playing
+ * each one out on a board as {@link HintSearch} does.
+ *
+ * An instance is confined to one thread at a time; bots on several threads can share one
+ * network.
+ *
+ * @author COMP2042 Coursework
+ */
+public final class PolicyBot {
+
+    /** Candidates scored per network call; one batch covers a piece on a 10-wide board. */
+    public static final int DEFAULT_BATCH = 64;
+
+    private final MoveGenerator generator;
+    private final PlacementFeatures features;
+    private final PolicyNetwork.Scorer scorer;
+
+    /**
+     * Creates a bot for boards of the given size.
+     *
+     * @param network the network to score with
+     * @param rows number of board rows, including hidden rows
+     * @param columns number of board columns
+     * @param batch candidates scored per network call
+     * @throws IllegalArgumentException if the network does not take the features of this
+     * board size, or the board has more than 63 rows
+     */
+    public PolicyBot(PolicyNetwork network, int rows, int columns, int batch) {
+        int inputs = PlacementFeatures.count(columns);
+        if (network.getInputSize() != inputs) {
+            throw new IllegalArgumentException("Network takes " + network.getInputSize()
+                    + " features, a board with " + columns + " columns needs " + inputs);
+        }
+        generator = new MoveGenerator(rows, columns);
+        features = new PlacementFeatures(rows, columns);
+        scorer = network.newScorer(batch);
+    }
+
+    /**
+     * Finds the best placement for the falling piece. Its path is then available from
+     * {@link #getGenerator()}.
+     *
+     * @param board the board to play on; it is only read
+     * @return the index of the best placement in {@link #getGenerator()}, or -1 if the
+     * piece cannot be placed
+     * @throws IllegalArgumentException if the board is not the size this bot was made for
+     */
+    public int choose(SimpleBoard board) {
+        int count = generator.generate(board);
+        if (count == 0) {
+            return -1;
+        }
+        features.load(board.getBoardMatrix());
+        int best = 0;
+        float bestScore = Float.NEGATIVE_INFINITY;
+        int batch = scorer.getMaxBatch();
+        for (int from = 0; from < count; from += batch) {
+            int n = Math.min(batch, count - from);
+            features.fill(generator, from, n, scorer.features());
+            float[] scores = scorer.score(n);
+            for (int i = 0; i < n; i++) {
+                if (scores[i] > bestScore) {
+                    bestScore = scores[i];
+                    best = from + i;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @return the generator holding the placements of the last {@link #choose} call
+     */
+    public MoveGenerator getGenerator() {
+        return generator;
+    }
+}
@@ -0,0 +1,176 @@
+package com.comp2042.bot;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A small multilayer perceptron that scores placements: fully connected layers with ReLU
+ * between them and a single linear output, higher is better.
+ *
+ * The weights are immutable and can be shared between threads. Inference goes through a
+ * {@link Scorer}, which owns the activation buffers for a batch of a fixed maximum size,
+ * so scoring allocates nothing; each thread needs its own scorer. The layers run on
+ * {@link MlpKernels#INSTANCE}, which uses the Vector API when it is available.
+ *
+ * A weights file is little-endian:
+ * <pre>
+ *   int magic 'TMLP', int version (1), int layer count L,
+ *   int[L + 1] layer sizes, inputs first; the last must be 1
+ *   per layer: float[in * out] weights indexed [input][output], then float[out] biases
+ * </pre>
+ *
+ * @author COMP2042 Coursework
+ */
+public final class PolicyNetwork {
+
+    static final int MAGIC = 0x504C4D54; // "TMLP" in file order
+    static final int VERSION = 1;
+
+    private static final int MAX_LAYER_SIZE = 1 << 16;
+
+    private final int[] sizes;
+    private final float[][] weights;
+    private final float[][] biases;
+
+    private PolicyNetwork(int[] sizes, float[][] weights, float[][] biases) {
+        this.sizes = sizes;
+        this.weights = weights;
+        this.biases = biases;
+    }
+
+    /**
+     * Reads a network from a weights file.
+     *
+     * @param file the file
+     * @return the network
+     * @throws IOException if the file cannot be read or is not a valid weights file
+     */
+    public static PolicyNetwork load(Path file) throws IOException {
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            if (in.getInt() != MAGIC) {
+                throw new IOException(file + " is not a policy network");
+            }
+            int version = in.getInt();
+            if (version != VERSION) {
+                throw new IOException(file + ": unsupported version " + version);
+            }
+            int layers = in.getInt();
+            if (layers < 1 || layers > 16) {
+                throw new IOException(file + ": bad layer count " + layers);
+            }
+            int[] sizes = new int[layers + 1];
+            for (int i = 0; i <= layers; i++) {
+                sizes[i] = in.getInt();
+                if (sizes[i] < 1 || sizes[i] > MAX_LAYER_SIZE) {
+                    throw new IOException(file + ": bad size " + sizes[i] + " for layer " + i);
+                }
+            }
+            if (sizes[layers] != 1) {
+                throw new IOException(file + ": the output layer must have one unit, got " + sizes[layers]);
+            }
+            float[][] weights = new float[layers][];
+            float[][] biases = new float[layers][];
+            for (int l = 0; l < layers; l++) {
+                // Checked as a long before allocating: two large sizes overflow an int
+                long cells = (long) sizes[l] * sizes[l + 1];
+                if (cells + sizes[l + 1] > in.remaining() / 4) {
+                    throw new IOException(file + " is truncated: layer " + l + " needs " + cells
+                            + " weights, " + in.remaining() + " bytes left");
+                }
+                weights[l] = new float[(int) cells];
+                biases[l] = new float[sizes[l + 1]];
+                in.asFloatBuffer().get(weights[l]);
+                in.position(in.position() + 4 * weights[l].length);
+                in.asFloatBuffer().get(biases[l]);
+                in.position(in.position() + 4 * biases[l].length);
+            }
+            if (in.hasRemaining()) {
+                throw new IOException(file + ": " + in.remaining() + " bytes after the last layer");
+            }
+            return new PolicyNetwork(sizes, weights, biases);
+        } catch (BufferUnderflowException e) {
+            throw new IOException(file + " is truncated", e);
+        }
+    }
+
+    /**
+     * @return the number of features per candidate
+     */
+    public int getInputSize() {
+        return sizes[0];
+    }
+
+    /**
+     * Creates a scorer for batches of up to {@code maxBatch} candidates.
+     *
+     * @param maxBatch the largest batch
+     * @return a new scorer
+     * @throws IllegalArgumentException if {@code maxBatch} is not positive
+     */
+    public Scorer newScorer(int maxBatch) {
+        return new Scorer(maxBatch);
+    }
+
+    /**
+     * Scores batches of candidates with preallocated buffers. Confined to one thread at a time.
+     */
+    public final class Scorer {
+        private final int maxBatch;
+        private final float[][] activations;
+        private final float[] features;
+
+        private Scorer(int maxBatch) {
+            if (maxBatch < 1) {
+                throw new IllegalArgumentException("Batch size must be positive, got " + maxBatch);
+            }
+            this.maxBatch = maxBatch;
+            features = new float[maxBatch * sizes[0]];
+            activations = new float[weights.length][];
+            for (int l = 0; l < weights.length; l++) {
+                activations[l] = new float[maxBatch * sizes[l + 1]];
+            }
+        }
+
+        /**
+         * @return the largest batch this scorer accepts
+         */
+        public int getMaxBatch() {
+            return maxBatch;
+        }
+
+        /**
+         * @return the buffer to write a batch's features into, {@link #getInputSize()}
+         * values per candidate, one candidate after another
+         */
+        public float[] features() {
+            return features;
+        }
+
+        /**
+         * Runs the network over the first {@code count} candidates in {@link #features()}.
+         *
+         * @param count the number of candidates
+         * @return the scores, one per candidate at the front of the array; the array is
+         * reused by the next call
+         * @throws IllegalArgumentException if {@code count} is outside 1..{@link #getMaxBatch()}
+         */
+        public float[] score(int count) {
+            if (count < 1 || count > maxBatch) {
+                throw new IllegalArgumentException("Batch must be 1.." + maxBatch + ", got " + count);
+            }
+            float[] input = features;
+            int last = weights.length - 1;
+            for (int l = 0; l <= last; l++) {
+                MlpKernels.INSTANCE.dense(input, count, sizes[l], weights[l], biases[l], sizes[l + 1],
+                        activations[l], l < last);
+                input = activations[l];
+            }
+            return input;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.comp2042.bot;
+
+/**
+ * Portable dense-layer kernels; the fallback when the Vector API is not available.
+ *
+ * @author COMP2042 Coursework
+ */
+final class ScalarMlpKernels implements MlpKernels {
+
+    @Override
+    public void dense(float[] input, int batch, int inputs, float[] weights, float[] bias, int outputs,
+                      float[] output, boolean relu) {
+        for (int b = 0; b < batch; b++) {
+            int in = b * inputs;
+            int out = b * outputs;
+            System.arraycopy(bias, 0, output, out, outputs);
+            for (int i = 0; i < inputs; i++) {
+                float x = input[in + i];
+                if (x == 0) {
+                    // Most hidden activations are zero after ReLU
+                    continue;
+                }
+                int w = i * outputs;
+                for (int o = 0; o < outputs; o++) {
+                    output[out + o] += x * weights[w + o];
+                }
+            }
+            if (relu) {
+                for (int o = 0; o < outputs; o++) {
+                    output[out + o] = Math.max(output[out + o], 0f);
+                }
+            }
+        }
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
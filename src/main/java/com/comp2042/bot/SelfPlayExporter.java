@@ -0,0 +1,263 @@
+package com.comp2042.bot;
+
+import com.comp2042.logic.bricks.RandomBrickGenerator;
+import com.comp2042.model.CellGrid;
+import com.comp2042.model.GameSnapshot;
+import com.comp2042.model.MoveGenerator;
+import com.comp2042.model.SimpleBoard;
+import com.comp2042.view.ClearRow;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Deflater;
+
+/**
+ * Generates training data by letting the bot play itself. Simulator threads each play
+ * games on their own {@link SimpleBoard}, choosing every placement with a {@link HintSearch}
+ * (or, with a small probability, at random, so the data also covers moves the bot would
+ * not make), and record one sample per placed piece. Samples stream to a
+ * {@link ShardWriter}, which compresses and writes them on its own thread.
+ *
+ * A sample is a fixed-size little-endian record describing the game just before the
+ * piece is placed, the placement, and its outcome:
+ * <pre>
+ *   board     rows * columns bits, one per cell in row-major order, lowest bit first,
+ *             set if the cell holds a settled block; padded to a whole byte
+ *   byte      falling piece id (1-7: I, J, L, O, S, T, Z)
+ *   byte      preview piece id
+ *   byte      held piece id, 0 if the hold slot is empty
+ *   byte      flags: 1 = hold available, 2 = the game topped out after this placement,
+ *             4 = the game was cut off after this placement
+ *   byte      placement column of the 4x4 box (signed)
+ *   byte      placement row of the 4x4 box (signed)
+ *   byte      placement rotation state
+ *   byte      lines cleared by the placement
+ *   int       reward: the score the line clear is worth
+ * </pre>
+ *
+ * Run {@link #main(String[])} to export. Sample count, simulator threads, output directory,
+ * shard and batch sizes, search depth, exploration rate, game length cap, compression
+ * level and seed come from the {@code tetris.selfplay.samples}, {@code tetris.selfplay.workers},
+ * {@code tetris.selfplay.dir}, {@code tetris.selfplay.shardSamples},
+ * {@code tetris.selfplay.batchSamples}, {@code tetris.selfplay.depth},
+ * {@code tetris.selfplay.epsilon}, {@code tetris.selfplay.maxPieces},
+ * {@code tetris.selfplay.level} and {@code tetris.selfplay.seed} system properties.
+ *
+ * @author COMP2042 Coursework
+ */
+public final class SelfPlayExporter {
+
+    /** Rows of the exported boards, including the hidden spawn rows, as in the game. */
+    public static final int ROWS = 25;
+    /** Columns of the exported boards. */
+    public static final int COLUMNS = 10;
+
+    static final int FLAG_HOLD_AVAILABLE = 1;
+    static final int FLAG_TOPPED_OUT = 2;
+    static final int FLAG_CUT_OFF = 4;
+
+    private static final int BOARD_BYTES = (ROWS * COLUMNS + 7) / 8;
+
+    /** Bytes per sample. */
+    public static final int RECORD_SIZE = BOARD_BYTES + 12;
+
+    private final ShardWriter writer;
+    private final AtomicLong remaining;
+    private final AtomicLong games = new AtomicLong();
+    private final int depth;
+    private final double epsilon;
+    private final int maxPieces;
+
+    private SelfPlayExporter(ShardWriter writer, long samples, int depth, double epsilon, int maxPieces) {
+        this.writer = writer;
+        this.remaining = new AtomicLong(samples);
+        this.depth = depth;
+        this.epsilon = epsilon;
+        this.maxPieces = maxPieces;
+    }
+
+    /**
+     * Plays games until the sample budget is spent, handing full batches to the writer.
+     */
+    private void simulate(long seed) throws InterruptedException {
+        HintSearch search = new HintSearch(ROWS, COLUMNS, depth);
+        MoveGenerator generator = new MoveGenerator(ROWS, COLUMNS);
+        SplittableRandom random = new SplittableRandom(seed);
+        byte[] snapshotBytes = new byte[GameSnapshot.maxSize(new SimpleBoard(ROWS, COLUMNS))];
+        ByteBuffer snapshot = ByteBuffer.wrap(snapshotBytes);
+        ShardWriter.Batch batch = writer.acquire();
+        try {
+            // Claim samples 1024 at a time to keep the shared counter out of the hot loop
+            long claimed = 0;
+            while (true) {
+                SimpleBoard board = new SimpleBoard(ROWS, COLUMNS, new RandomBrickGenerator(random.nextLong()));
+                board.createNewBrick();
+                games.incrementAndGet();
+                for (int pieces = 1; ; pieces++) {
+                    if (claimed == 0 && (claimed = claim()) == 0) {
+                        return;
+                    }
+                    int count = generator.generate(board);
+                    if (count == 0) {
+                        break;
+                    }
+                    int choice;
+                    if (random.nextDouble() < epsilon) {
+                        choice = random.nextInt(count);
+                    } else {
+                        snapshot.clear();
+                        GameSnapshot.capture(board, snapshot);
+                        HintSearch.Hint hint = search.search(snapshotBytes);
+                        choice = hint != null ? find(generator, count, hint) : random.nextInt(count);
+                    }
+
+                    ByteBuffer out = batch.records();
+                    writeState(board, out);
+                    int flagsAt = out.position() - 1;
+                    out.put((byte) generator.getX(choice))
+                            .put((byte) generator.getY(choice))
+                            .put((byte) generator.getRotation(choice));
+
+                    for (MoveGenerator.Move move : generator.getPath(choice)) {
+                        MoveGenerator.apply(board, move);
+                    }
+                    board.mergeBrickToBackground();
+                    ClearRow cleared = board.clearRows();
+                    boolean toppedOut = board.createNewBrick();
+                    boolean cutOff = !toppedOut && pieces == maxPieces;
+                    out.put((byte) cleared.getLinesRemoved()).putInt(cleared.getScoreBonus());
+                    if (toppedOut || cutOff) {
+                        out.put(flagsAt, (byte) (out.get(flagsAt) | (toppedOut ? FLAG_TOPPED_OUT : FLAG_CUT_OFF)));
+                    }
+                    claimed--;
+                    if (batch.commit()) {
+                        batch = writer.exchange(batch);
+                    }
+                    if (toppedOut || cutOff) {
+                        break;
+                    }
+                }
+            }
+        } finally {
+            writer.release(batch);
+        }
+    }
+
+    private long claim() {
+        while (true) {
+            long left = remaining.get();
+            if (left <= 0) {
+                return 0;
+            }
+            long take = Math.min(left, 1024);
+            if (remaining.compareAndSet(left, left - take)) {
+                return take;
+            }
+        }
+    }
+
+    /**
+     * Puts the board bits, piece ids and flags of the state the next placement is made from.
+     */
+    private static void writeState(SimpleBoard board, ByteBuffer out) {
+        CellGrid grid = board.getBoardMatrix();
+        int bits = 0;
+        int filled = 0;
+        for (int r = 0; r < ROWS; r++) {
+            for (int c = 0; c < COLUMNS; c++) {
+                if (grid.get(r, c) != 0) {
+                    bits |= 1 << filled;
+                }
+                if (++filled == 8) {
+                    out.put((byte) bits);
+                    bits = 0;
+                    filled = 0;
+                }
+            }
+        }
+        if (filled > 0) {
+            out.put((byte) bits);
+        }
+        out.put((byte) board.getCurrentPieceId())
+                .put((byte) board.getNextPieceId())
+                .put((byte) board.getHeldPieceId())
+                .put((byte) (board.isHoldAvailable() ? FLAG_HOLD_AVAILABLE : 0));
+    }
+
+    private static int find(MoveGenerator generator, int count, HintSearch.Hint hint) {
+        for (int i = 0; i < count; i++) {
+            if (generator.getX(i) == hint.getX() && generator.getY(i) == hint.getY()
+                    && generator.getRotation(i) == hint.getRotation()) {
+                return i;
+            }
+        }
+        // Both search the same board, so this does not happen
+        throw new IllegalStateException("Hint is not a generated placement");
+    }
+
+    /**
+     * Exports samples and prints a summary.
+     *
+     * @param args unused
+     * @throws IOException if the shards cannot be written
+     * @throws InterruptedException if interrupted while waiting for the simulators
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        long samples = Long.getLong("tetris.selfplay.samples", 1_000_000);
+        int workerCount = Integer.getInteger("tetris.selfplay.workers", Runtime.getRuntime().availableProcessors());
+        Path directory = Paths.get(System.getProperty("tetris.selfplay.dir", "selfplay"));
+        int shardSamples = Integer.getInteger("tetris.selfplay.shardSamples", 1 << 20);
+        int batchSamples = Integer.getInteger("tetris.selfplay.batchSamples", 8192);
+        int depth = Integer.getInteger("tetris.selfplay.depth", 1);
+        double epsilon = Double.parseDouble(System.getProperty("tetris.selfplay.epsilon", "0.05"));
+        int maxPieces = Integer.getInteger("tetris.selfplay.maxPieces", 2000);
+        int level = Integer.getInteger("tetris.selfplay.level", Deflater.BEST_SPEED);
+        long seed = Long.getLong("tetris.selfplay.seed", 1);
+        if (samples < 1 || workerCount < 1 || maxPieces < 1 || epsilon < 0 || epsilon > 1) {
+            throw new IllegalArgumentException("Need positive samples, workers and game length and an epsilon in 0..1, got "
+                    + samples + ", " + workerCount + ", " + maxPieces + ", " + epsilon);
+        }
+
+        long start = System.nanoTime();
+        ShardWriter writer = new ShardWriter(directory, RECORD_SIZE, shardSamples, ROWS, COLUMNS,
+                batchSamples, workerCount, level);
+        SelfPlayExporter exporter = new SelfPlayExporter(writer, samples, depth, epsilon, maxPieces);
+        Thread[] workers = new Thread[workerCount];
+        Throwable[] failures = new Throwable[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            int index = i;
+            long workerSeed = seed * 0x9E3779B97F4A7C15L + i;
+            workers[i] = new Thread(() -> {
+                try {
+                    exporter.simulate(workerSeed);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (RuntimeException | Error e) {
+                    failures[index] = e;
+                }
+            }, "selfplay-" + (i + 1));
+            workers[i].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        writer.close();
+
+        for (Throwable failure : failures) {
+            if (failure != null) {
+                throw new IllegalStateException("Self-play simulator failed", failure);
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        long written = writer.getRecordsWritten();
+        System.out.printf("[selfplay] %d samples from %d games in %d shard(s) under %s%n",
+                written, exporter.games.get(), writer.getShardCount(), directory.toAbsolutePath());
+        System.out.printf("[selfplay] %.1f MB written, %.2f bytes/sample (%d raw); %.0f samples/s on %d simulators%n",
+                writer.getBytesWritten() / 1e6, written > 0 ? writer.getBytesWritten() / (double) written : 0,
+                RECORD_SIZE, seconds > 0 ? written / seconds : 0, workerCount);
+    }
+}
@@ -0,0 +1,344 @@
+package com.comp2042.bot;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Deflater;
+
+/**
+ * Writes fixed-size records from several producer threads into compressed shard files,
+ * on one background thread.
+ *
+ * Producers never share a buffer. Each one fills a {@link Batch} of its own and, when it is
+ * full, trades it in with {@link #exchange(Batch)} for an empty one: the full batch goes to
+ * the writer and the producer carries on at once. There are two batches per producer, so a
+ * producer only waits if the writer still has its previous batch when the next one is full.
+ *
+ * The writer deflates each batch into a block and collects blocks in an output buffer,
+ * which goes to the file in one {@link FileChannel} write when it fills up or a shard ends.
+ * A batch is handed back to its producer's pool as soon as it is compressed, before any
+ * file I/O. Every shard holds the same number of records, except the last, which holds
+ * what is left; a batch that straddles two shards is split into a block in each.
+ *
+ * A shard file ({@code shard-00000.bin}, {@code shard-00001.bin}, ...) is little-endian:
+ * <pre>
+ *   header  int magic 'TSPS', int version, int record size, int records per shard,
+ *           int board rows, int board columns, 8 reserved bytes
+ *   block   int record count, int compressed length, a zlib stream of the records
+ *   ...
+ * </pre>
+ *
+ * @author COMP2042 Coursework
+ */
+final class ShardWriter implements AutoCloseable {
+
+    static final int MAGIC = 0x53505354; // "TSPS" in file order
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 32;
+    private static final int BLOCK_HEADER_BYTES = 8;
+
+    /**
+     * Records filled in by one producer.
+     */
+    static final class Batch {
+        private final ByteBuffer records;
+        private int count;
+
+        private Batch(int recordSize, int capacity) {
+            records = ByteBuffer.allocate(recordSize * capacity).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        /**
+         * @return the buffer to put the next record into; it has room for one whole record
+         */
+        ByteBuffer records() {
+            return records;
+        }
+
+        /**
+         * Counts the record just put into {@link #records()}.
+         *
+         * @return {@code true} if the batch is now full
+         */
+        boolean commit() {
+            count++;
+            return !records.hasRemaining();
+        }
+    }
+
+    // Queued on close to tell the writer there is nothing more
+    private static final Batch END = new Batch(1, 0);
+
+    private final Path directory;
+    private final int recordSize;
+    private final int recordsPerShard;
+    private final int rows;
+    private final int columns;
+
+    private final BlockingQueue<Batch> full;
+    private final BlockingQueue<Batch> empty;
+    private final Deflater deflater;
+    private final ByteBuffer output;
+    private final Thread thread;
+
+    private FileChannel shard;
+    private int shardNumber;
+    private int recordsInShard;
+    private long recordsWritten;
+    private long bytesWritten;
+    private volatile IOException failure;
+    private boolean closed;
+
+    /**
+     * Starts a writer.
+     *
+     * @param directory the directory for the shard files, created if missing
+     * @param recordSize bytes per record
+     * @param recordsPerShard records in every shard but the last
+     * @param rows board rows, recorded in the shard header
+     * @param columns board columns, recorded in the shard header
+     * @param batchRecords records per batch
+     * @param producers number of threads that will call {@link #exchange(Batch)}
+     * @param level the {@link Deflater} compression level
+     * @throws IOException if the directory cannot be created
+     * @throws IllegalArgumentException if a size or count is not positive
+     */
+    ShardWriter(Path directory, int recordSize, int recordsPerShard, int rows, int columns,
+                int batchRecords, int producers, int level) throws IOException {
+        if (recordSize < 1 || recordsPerShard < 1 || batchRecords < 1 || producers < 1) {
+            throw new IllegalArgumentException("Record size, shard size, batch size and producers must be positive, got "
+                    + recordSize + ", " + recordsPerShard + ", " + batchRecords + ", " + producers);
+        }
+        this.directory = Files.createDirectories(directory);
+        this.recordSize = recordSize;
+        this.recordsPerShard = recordsPerShard;
+        this.rows = rows;
+        this.columns = columns;
+
+        int batches = 2 * producers;
+        full = new ArrayBlockingQueue<>(batches + 1);
+        empty = new ArrayBlockingQueue<>(batches);
+        for (int i = 0; i < batches; i++) {
+            empty.add(new Batch(recordSize, batchRecords));
+        }
+        deflater = new Deflater(level);
+        // Room for several compressed batches, so one write carries many blocks
+        output = ByteBuffer.allocateDirect(Math.max(4 << 20, 2 * (compressBound(recordSize * batchRecords)
+                + BLOCK_HEADER_BYTES))).order(ByteOrder.LITTLE_ENDIAN);
+
+        thread = new Thread(this::run, "shard-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Takes a producer's first empty batch.
+     *
+     * @return an empty batch
+     * @throws InterruptedException if interrupted while waiting
+     */
+    Batch acquire() throws InterruptedException {
+        checkFailure();
+        return empty.take();
+    }
+
+    /**
+     * Hands a full batch to the writer and takes an empty one in its place.
+     *
+     * @param batch the filled batch
+     * @return an empty batch
+     * @throws InterruptedException if interrupted while waiting for the writer
+     * @throws UncheckedIOException if the writer has failed
+     */
+    Batch exchange(Batch batch) throws InterruptedException {
+        checkFailure();
+        full.put(batch);
+        return empty.take();
+    }
+
+    /**
+     * Hands over a producer's last, possibly partly filled, batch without taking another.
+     *
+     * @param batch the batch
+     * @throws InterruptedException if interrupted while waiting
+     */
+    void release(Batch batch) throws InterruptedException {
+        full.put(batch);
+    }
+
+    /**
+     * @return records written to the shard files so far
+     */
+    synchronized long getRecordsWritten() {
+        return recordsWritten;
+    }
+
+    /**
+     * @return compressed bytes written to the shard files so far, headers included
+     */
+    synchronized long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * @return the number of shard files started so far
+     */
+    synchronized int getShardCount() {
+        return shardNumber;
+    }
+
+    /**
+     * Writes every batch handed over so far, closes the last shard and stops the writer.
+     * Producers must have released their batches first.
+     *
+     * @throws IOException if a write failed
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        boolean interrupted = false;
+        while (true) {
+            try {
+                full.put(END);
+                thread.join();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        deflater.end();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void checkFailure() {
+        IOException e = failure;
+        if (e != null) {
+            throw new UncheckedIOException("Shard writer failed", e);
+        }
+    }
+
+    private void run() {
+        while (true) {
+            Batch batch;
+            try {
+                batch = full.take();
+            } catch (InterruptedException e) {
+                // Only close() stops the writer
+                continue;
+            }
+            if (batch == END) {
+                break;
+            }
+            if (failure == null) {
+                try {
+                    write(batch);
+                } catch (IOException e) {
+                    System.err.println("[selfplay] shard write failed: " + e.getMessage());
+                    failure = e;
+                }
+            }
+            batch.records.clear();
+            batch.count = 0;
+            empty.add(batch);
+        }
+        try {
+            if (failure == null) {
+                finishShard();
+            } else if (shard != null) {
+                shard.close();
+            }
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+
+    private void write(Batch batch) throws IOException {
+        ByteBuffer records = batch.records;
+        records.flip();
+        int done = 0;
+        while (done < batch.count) {
+            if (shard == null) {
+                openShard();
+            }
+            int n = Math.min(batch.count - done, recordsPerShard - recordsInShard);
+            records.limit((done + n) * recordSize).position(done * recordSize);
+            compress(records, n);
+            done += n;
+            recordsInShard += n;
+            synchronized (this) {
+                recordsWritten += n;
+            }
+            if (recordsInShard == recordsPerShard) {
+                finishShard();
+            }
+        }
+    }
+
+    private void compress(ByteBuffer records, int count) throws IOException {
+        if (output.remaining() < compressBound(records.remaining()) + BLOCK_HEADER_BYTES) {
+            flush();
+        }
+        int start = output.position();
+        output.putInt(count).putInt(0);
+        deflater.reset();
+        deflater.setInput(records);
+        deflater.finish();
+        while (!deflater.finished()) {
+            deflater.deflate(output);
+        }
+        output.putInt(start + 4, output.position() - start - BLOCK_HEADER_BYTES);
+    }
+
+    private void openShard() throws IOException {
+        Path path = directory.resolve(String.format("shard-%05d.bin", shardNumber));
+        shard = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        synchronized (this) {
+            shardNumber++;
+        }
+        recordsInShard = 0;
+        output.putInt(MAGIC).putInt(VERSION).putInt(recordSize).putInt(recordsPerShard)
+                .putInt(rows).putInt(columns).putLong(0);
+    }
+
+    private void finishShard() throws IOException {
+        if (shard == null) {
+            return;
+        }
+        flush();
+        shard.close();
+        shard = null;
+    }
+
+    private void flush() throws IOException {
+        output.flip();
+        int length = output.remaining();
+        while (output.hasRemaining()) {
+            shard.write(output);
+        }
+        output.clear();
+        synchronized (this) {
+            bytesWritten += length;
+        }
+    }
+
+    // Worst-case deflate output for n input bytes, with room for the zlib header and trailer
+    private static int compressBound(int n) {
+        return n + (n >>> 12) + (n >>> 14) + 64;
+    }
+}
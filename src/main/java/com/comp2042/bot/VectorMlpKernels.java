@@ -0,0 +1,55 @@
+package com.comp2042.bot;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Dense-layer kernels on the incubating Vector API. For each input row, a full hardware
+ * vector of outputs is accumulated in a register across all inputs with fused
+ * multiply-adds, then stored once; the outputs past the last whole vector are finished
+ * with scalar code. Only loaded through {@link MlpKernels#INSTANCE} when the
+ * {@code jdk.incubator.vector} module is present.
+ *
+ * @author COMP2042 Coursework
+ */
+final class VectorMlpKernels implements MlpKernels {
+
+    private static final VectorSpecies<Float> FLOATS = FloatVector.SPECIES_PREFERRED;
+
+    @Override
+    public void dense(float[] input, int batch, int inputs, float[] weights, float[] bias, int outputs,
+                      float[] output, boolean relu) {
+        int bound = FLOATS.loopBound(outputs);
+        for (int b = 0; b < batch; b++) {
+            int in = b * inputs;
+            int out = b * outputs;
+            int o = 0;
+            for (; o < bound; o += FLOATS.length()) {
+                FloatVector acc = FloatVector.fromArray(FLOATS, bias, o);
+                for (int i = 0; i < inputs; i++) {
+                    float x = input[in + i];
+                    if (x != 0) {
+                        acc = FloatVector.fromArray(FLOATS, weights, i * outputs + o)
+                                .fma(FloatVector.broadcast(FLOATS, x), acc);
+                    }
+                }
+                if (relu) {
+                    acc = acc.max(0f);
+                }
+                acc.intoArray(output, out + o);
+            }
+            for (; o < outputs; o++) {
+                float acc = bias[o];
+                for (int i = 0; i < inputs; i++) {
+                    acc += input[in + i] * weights[i * outputs + o];
+                }
+                output[out + o] = relu ? Math.max(acc, 0f) : acc;
+            }
+        }
+    }
+
+    @Override
+    public String name() {
+        return "vector";
+    }
+}
@@ -0,0 +1 @@
+package com.comp2042.bot;
\ No newline at end of file
@@ -0,0 +1,122 @@
+package com.comp2042.controller.game;
+
+import com.comp2042.logic.bricks.RandomBrickGenerator;
+import com.comp2042.model.SimpleBoard;
+import com.comp2042.model.ViewData;
+import com.comp2042.view.BattleBoardsView;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.util.Duration;
+
+import java.util.Random;
+
+/**
+ * Runs many independent games side by side and publishes them to a
+ * {@link BattleBoardsView}. Every board gets its own seeded brick generator, so a
+ * session started with the same seed replays the same games.
+ *
+ * The built-in players are simple random movers; they exist to drive the display
+ * (and to load-test it) until real bots or network opponents are connected.
+ *
+ * @author COMP2042 Coursework
+ */
+public class BattleSession {
+
+    private static final int ROWS = 25;
+    private static final int COLUMNS = 10;
+
+    private final BattleBoardsView view;
+    private final SimpleBoard[] boards;
+    private final Random[] players;
+    private final int[] restartDelay;
+    private final Timeline loop;
+
+    /**
+     * Creates one game per tile of the view.
+     *
+     * @param view the view that shows the boards; its size must be 25 x 10 with 2 hidden rows
+     * @param seed base seed for the brick generators and the players
+     * @param tick time between gravity steps
+     */
+    public BattleSession(BattleBoardsView view, long seed, Duration tick) {
+        this.view = view;
+        int count = view.getBoardCount();
+        boards = new SimpleBoard[count];
+        players = new Random[count];
+        restartDelay = new int[count];
+        for (int i = 0; i < count; i++) {
+            boards[i] = new SimpleBoard(ROWS, COLUMNS, new RandomBrickGenerator(seed + i));
+            boards[i].createNewBrick();
+            players[i] = new Random(seed * 31 + i);
+            publish(i);
+        }
+        loop = new Timeline(new KeyFrame(tick, e -> step()));
+        loop.setCycleCount(Timeline.INDEFINITE);
+    }
+
+    /**
+     * @return the number of rows each board in this session has, including hidden rows
+     */
+    public static int rows() {
+        return ROWS;
+    }
+
+    /**
+     * @return the number of columns each board in this session has
+     */
+    public static int columns() {
+        return COLUMNS;
+    }
+
+    /** Starts the game loop. */
+    public void start() {
+        loop.play();
+    }
+
+    /** Stops the game loop. */
+    public void stop() {
+        loop.stop();
+    }
+
+    /**
+     * Advances every game by one tick: one random move, then gravity.
+     */
+    private void step() {
+        for (int i = 0; i < boards.length; i++) {
+            SimpleBoard board = boards[i];
+            if (restartDelay[i] > 0) {
+                // Leave a finished game on screen for a moment before restarting it
+                if (--restartDelay[i] == 0) {
+                    board.newGame();
+                    view.setGameOver(i, false);
+                    publish(i);
+                }
+                continue;
+            }
+
+            switch (players[i].nextInt(4)) {
+                case 0: board.moveBrickLeft(); break;
+                case 1: board.moveBrickRight(); break;
+                case 2: board.rotateLeftBrick(); break;
+                default: break;
+            }
+
+            if (!board.moveBrickDown()) {
+                board.mergeBrickToBackground();
+                board.getScore().add(board.clearRows().getScoreBonus());
+                if (board.createNewBrick()) {
+                    view.setGameOver(i, true);
+                    restartDelay[i] = 10;
+                }
+            }
+            publish(i);
+        }
+    }
+
+    private void publish(int slot) {
+        SimpleBoard board = boards[slot];
+        ViewData brick = board.getViewData();
+        view.update(slot, board.getBoardMatrix(), brick.getBrickData(), brick.getxPosition(), brick.getyPosition());
+        view.setLabel(slot, "Bot " + (slot + 1) + "  " + board.getScore().getValue());
+    }
+}
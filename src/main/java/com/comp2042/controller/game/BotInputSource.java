@@ -0,0 +1,68 @@
+package com.comp2042.controller.game;
+
+import com.comp2042.bot.PolicyBot;
+import com.comp2042.model.DownData;
+import com.comp2042.model.MoveGenerator;
+import com.comp2042.model.SimpleBoard;
+
+/**
+ * Plays a game through an {@link InputEventListener} the way a player would, with the
+ * inputs chosen by a {@link PolicyBot}. Each call places one piece: the bot picks the
+ * placement, and the inputs of its path are sent to the listener as {@link MoveEvent}s
+ * from {@link EventSource#BOT}, ending with a hard drop, so scoring and line clears go
+ * through the controller exactly as for keyboard input.
+ *
+ * An instance is confined to the thread that runs its listener.
+ *
+ * @author COMP2042 Coursework
+ */
+public final class BotInputSource {
+
+    // Indexed by MoveGenerator.Move ordinal
+    private static final MoveEvent[] EVENTS = {
+            new MoveEvent(EventType.LEFT, EventSource.BOT),
+            new MoveEvent(EventType.RIGHT, EventSource.BOT),
+            new MoveEvent(EventType.DOWN, EventSource.BOT),
+            new MoveEvent(EventType.ROTATE_CW, EventSource.BOT),
+            new MoveEvent(EventType.ROTATE, EventSource.BOT),
+            new MoveEvent(EventType.ROTATE_180, EventSource.BOT),
+            new MoveEvent(EventType.HARD_DROP, EventSource.BOT)
+    };
+
+    private final PolicyBot bot;
+    private final InputEventListener listener;
+
+    /**
+     * @param bot the bot that chooses placements
+     * @param listener the listener to send the inputs to
+     */
+    public BotInputSource(PolicyBot bot, InputEventListener listener) {
+        this.bot = bot;
+        this.listener = listener;
+    }
+
+    /**
+     * Places the falling piece.
+     *
+     * @param board the board the listener plays on; it is only read here
+     * @return the result of the final hard drop, or {@code null} if the piece cannot be placed
+     */
+    public DownData playPiece(SimpleBoard board) {
+        int choice = bot.choose(board);
+        if (choice < 0) {
+            return null;
+        }
+        DownData landed = null;
+        for (MoveGenerator.Move move : bot.getGenerator().getPath(choice)) {
+            MoveEvent event = EVENTS[move.ordinal()];
+            switch (event.getEventType()) {
+                case LEFT: listener.onLeftEvent(event); break;
+                case RIGHT: listener.onRightEvent(event); break;
+                case DOWN: listener.onDownEvent(event); break;
+                case HARD_DROP: landed = listener.onHardDropEvent(event); break;
+                default: listener.onRotateEvent(event); break;
+            }
+        }
+        return landed;
+    }
+}
@@ -1,5 +1,5 @@
 package com.comp2042.controller.game;
 
 public enum EventSource {
-    USER, THREAD
+    USER, THREAD, BOT
 }
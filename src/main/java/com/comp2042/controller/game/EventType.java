@@ -1,5 +1,5 @@
 package com.comp2042.controller.game;
 
 public enum EventType {
-    DOWN, LEFT, RIGHT, ROTATE, HARD_DROP, HOLD
+    DOWN, LEFT, RIGHT, ROTATE, HARD_DROP, HOLD, ROTATE_CW, ROTATE_180
 }
\ No newline at end of file
@@ -1,9 +1,10 @@
 package com.comp2042.controller.game;
 
-import com.comp2042.controller.gui.GuiController;
 import com.comp2042.model.Board;
 import com.comp2042.model.DownData;
 import com.comp2042.model.PowerUp;
+import com.comp2042.model.PowerUpManager;
+import com.comp2042.model.RewindBuffer;
 import com.comp2042.model.SimpleBoard;
 import com.comp2042.model.ViewData;
 import com.comp2042.view.ClearRow;
@@ -15,26 +16,108 @@ import com.comp2042.view.ClearRow;
  */
 public class GameController implements InputEventListener {
 
-    // Main game board instance (25 rows x 10 columns)
-    private Board board = new SimpleBoard(25, 10);
+    /** Largest supported board, in matrix rows (including the hidden spawn rows). */
+    public static final int MAX_ROWS = 1000;
+    /** Largest supported board, in columns. */
+    public static final int MAX_COLUMNS = 200;
 
-    private final GuiController viewGuiController;
+    // Board size, overridable with -Dtetris.board.rows / -Dtetris.board.columns (default 25 x 10)
+    private static final int DEFAULT_ROWS = Integer.getInteger("tetris.board.rows", 25);
+    private static final int DEFAULT_COLUMNS = Integer.getInteger("tetris.board.columns", 10);
+
+    // Practice mode keeps a rewindable history of placements (-Dtetris.practice=true)
+    private static final boolean PRACTICE = Boolean.getBoolean("tetris.practice");
+    private static final int PRACTICE_DEPTH = Integer.getInteger("tetris.practice.depth", 1000);
+
+    // Main game board instance
+    private final Board board;
+
+    // State at the start of each recent piece; null outside practice mode
+    private final RewindBuffer history;
+
+    // The board's skill-point economy, or a standalone one for boards without power-ups
+    private final PowerUpManager powerUps;
+
+    private final GameView viewGuiController;
+
+    /**
+     * Sets up the controller with the default (or system-property configured) board size.
+     *
+     * @param c the view that displays the game
+     */
+    public GameController(GameView c) {
+        this(c, DEFAULT_ROWS, DEFAULT_COLUMNS);
+    }
+
+    /**
+     * Sets up the controller with a new board of the given size.
+     *
+     * @param c the view that displays the game
+     * @param rows number of matrix rows, including the hidden spawn rows
+     * @param columns number of columns
+     * @throws IllegalArgumentException if the size is outside the supported range
+     */
+    public GameController(GameView c, int rows, int columns) {
+        this(c, createBoard(rows, columns));
+    }
 
     /**
-     * Sets up the controller and prepares the initial game state.
+     * Sets up the controller around an existing board and prepares the initial game state.
      * Creates the first piece, links UI events, and binds score/skill point labels.
+     * Any {@link Board} can be played; only a {@link SimpleBoard} supports the row clearer
+     * and bomb power-ups and the practice-mode history.
      *
-     * @param c the GUI controller that displays the game
+     * @param c the view that displays the game
+     * @param board the board to play on, e.g. one with a seeded brick generator
      */
-    public GameController(GuiController c) {
+    public GameController(GameView c, Board board) {
+        this(c, board, PRACTICE);
+    }
+
+    /**
+     * Sets up the controller around an existing board, choosing practice mode explicitly
+     * rather than from {@code -Dtetris.practice}, e.g. to replay a practice game.
+     *
+     * @param c the view that displays the game
+     * @param board the board to play on
+     * @param practice whether to record placements for {@link #rewind()}
+     */
+    public GameController(GameView c, Board board, boolean practice) {
+        this(c, board, practice ? PRACTICE_DEPTH : 0);
+    }
+
+    /**
+     * Sets up the controller around an existing board with an explicit practice-mode
+     * history depth rather than {@code -Dtetris.practice.depth}, so a replayed practice game
+     * rewinds exactly as far as it did when it was played.
+     *
+     * @param c the view that displays the game
+     * @param board the board to play on
+     * @param practiceDepth placements kept for {@link #rewind()}, or 0 to play outside
+     * practice mode
+     */
+    public GameController(GameView c, Board board, int practiceDepth) {
+        this.board = board;
+        powerUps = board instanceof SimpleBoard ? ((SimpleBoard) board).getPowerUpManager() : new PowerUpManager();
         viewGuiController = c;
         board.createNewBrick();
+        history = practiceDepth > 0 && board instanceof SimpleBoard
+                ? new RewindBuffer((SimpleBoard) board, practiceDepth) : null;
+        recordHistory();
         viewGuiController.setEventListener(this);
         viewGuiController.initGameView(board.getBoardMatrix(), board.getViewData());
         viewGuiController.bindScore(board.getScore().scoreProperty());
         viewGuiController.bindSkillPoints(getPowerUpManager().skillPointsProperty());
     }
 
+    private static Board createBoard(int rows, int columns) {
+        if (rows > MAX_ROWS || columns > MAX_COLUMNS) {
+            throw new IllegalArgumentException("Board size " + rows + "x" + columns
+                    + " exceeds the maximum of " + MAX_ROWS + "x" + MAX_COLUMNS);
+        }
+        return new SimpleBoard(rows, columns);
+    }
+
     /**
      * Called whenever the piece falls down by one step.
      * If the piece can’t move any further, it is locked in place,
@@ -61,6 +144,8 @@ public class GameController implements InputEventListener {
             // Check if new brick leads to game over
             if (board.createNewBrick()) {
                 viewGuiController.gameOver();
+            } else {
+                recordHistory();
             }
 
             viewGuiController.refreshGameBackground(board.getBoardMatrix());
@@ -89,10 +174,23 @@ public class GameController implements InputEventListener {
         return board.getViewData();
     }
 
-    /** Rotates the piece counter-clockwise. */
+    /**
+     * Rotates the piece: clockwise for {@code ROTATE_CW}, a half turn for
+     * {@code ROTATE_180}, otherwise counter-clockwise.
+     */
     @Override
     public ViewData onRotateEvent(MoveEvent event) {
-        board.rotateLeftBrick();
+        switch (event.getEventType()) {
+            case ROTATE_CW:
+                board.rotateRightBrick();
+                break;
+            case ROTATE_180:
+                board.rotate180Brick();
+                break;
+            default:
+                board.rotateLeftBrick();
+                break;
+        }
         return board.getViewData();
     }
 
@@ -102,8 +200,9 @@ public class GameController implements InputEventListener {
      */
     @Override
     public DownData onHardDropEvent(MoveEvent event) {
-        int dropDistance = ((SimpleBoard) board).getHardDropDistance();
+        int startY = board.getViewData().getyPosition();
         boolean dropped = board.hardDropBrick();
+        int dropDistance = Math.max(0, board.getViewData().getyPosition() - startY);
 
         if (dropped) {
             int bonus = dropDistance * 2;  // scoring rule
@@ -114,10 +213,12 @@ public class GameController implements InputEventListener {
         board.mergeBrickToBackground();
 
         // Show explosion animation for bomb-type pieces
-        SimpleBoard simpleBoard = (SimpleBoard) board;
-        if (simpleBoard.shouldShowBombEffect()) {
-            viewGuiController.showBoomEffect(simpleBoard.getBombEffectX(), simpleBoard.getBombEffectY());
-            simpleBoard.clearBombEffectFlag();
+        if (board instanceof SimpleBoard) {
+            SimpleBoard simpleBoard = (SimpleBoard) board;
+            if (simpleBoard.shouldShowBombEffect()) {
+                viewGuiController.showBoomEffect(simpleBoard.getBombEffectX(), simpleBoard.getBombEffectY());
+                simpleBoard.clearBombEffectFlag();
+            }
         }
 
         ClearRow clearRow = board.clearRows();
@@ -129,6 +230,8 @@ public class GameController implements InputEventListener {
 
         if (board.createNewBrick()) {
             viewGuiController.gameOver();
+        } else {
+            recordHistory();
         }
 
         viewGuiController.refreshGameBackground(board.getBoardMatrix());
@@ -150,12 +253,58 @@ public class GameController implements InputEventListener {
     @Override
     public void createNewGame() {
         board.newGame();
+        if (!(board instanceof SimpleBoard)) {
+            powerUps.reset();
+        }
+        if (history != null) {
+            history.clear();
+        }
+        recordHistory();
+        viewGuiController.refreshGameBackground(board.getBoardMatrix());
+    }
+
+    /**
+     * Practice mode: takes back the last placement, restoring the board, the piece queue,
+     * the hold slot, the score and the power-up economy to the start of the previous piece.
+     *
+     * @return {@code true} if a placement was taken back; {@code false} outside practice
+     * mode or when the history is exhausted
+     */
+    public boolean rewind() {
+        if (history == null || !history.rewind((SimpleBoard) board)) {
+            return false;
+        }
         viewGuiController.refreshGameBackground(board.getBoardMatrix());
+        viewGuiController.refreshBrick(board.getViewData());
+        return true;
+    }
+
+    /**
+     * @return {@code true} if placements are being recorded for {@link #rewind()}
+     */
+    public boolean isPracticeMode() {
+        return history != null;
+    }
+
+    private void recordHistory() {
+        if (history != null) {
+            history.record((SimpleBoard) board);
+        }
+    }
+
+    /**
+     * Pushes the score and skill points to their bound properties. Points are counted in
+     * plain fields as they are earned; the view calls this at most once per frame, so
+     * bound labels update once per frame however many points arrive.
+     */
+    public void publishStats() {
+        board.getScore().publish();
+        powerUps.publish();
     }
 
     /** Shortcut to the PowerUpManager stored inside the board. */
-    public com.comp2042.model.PowerUpManager getPowerUpManager() {
-        return ((SimpleBoard) board).getPowerUpManager();
+    public PowerUpManager getPowerUpManager() {
+        return powerUps;
     }
 
     /** Returns the current board instance. */
@@ -178,6 +327,10 @@ public class GameController implements InputEventListener {
      * - BOMB_PIECE → next piece becomes a bomb
      */
     public boolean activatePowerUp(PowerUp powerUp) {
+        // Board effects need a SimpleBoard; don't spend the power-up on any other board
+        if (powerUp != PowerUp.SLOW_MOTION && !(board instanceof SimpleBoard)) {
+            return false;
+        }
         if (!getPowerUpManager().usePowerUp(powerUp)) {
             return false;
         }
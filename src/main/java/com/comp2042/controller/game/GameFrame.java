@@ -0,0 +1,144 @@
+package com.comp2042.controller.game;
+
+import com.comp2042.model.CellGrid;
+import com.comp2042.model.ViewData;
+import com.comp2042.view.ClearRow;
+
+/**
+ * One published state of a game running on a {@link GameSimulation} thread.
+ *
+ * Frames are slots of a {@link TripleBuffer}: the simulation fills one and publishes it,
+ * after which it belongs to the reader and does not change until the reader takes a newer
+ * one. Events that happen between frames (line clears, explosions, slow motion) are
+ * carried as sequence numbers plus the latest details, so a reader that skips frames can
+ * still tell that something happened.
+ *
+ * @author COMP2042 Coursework
+ */
+public final class GameFrame {
+
+    long sequence;
+    int gameNumber;
+    CellGrid background;
+    long backgroundVersion = -1;
+    ViewData brick;
+    int score;
+    int skillPoints;
+    int linesCleared;
+    boolean gameOver;
+    long clearSequence;
+    ClearRow lastClear;
+    long boomSequence;
+    int boomX;
+    int boomY;
+    long slowMotionSequence;
+
+    GameFrame() {
+
+    }
+
+    /**
+     * @return the publication number, 0 for a frame that was never written
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * @return the number of the game this frame belongs to; bumped on every new game
+     */
+    public int getGameNumber() {
+        return gameNumber;
+    }
+
+    /**
+     * @return the settled blocks; owned by the frame, so copy before keeping them
+     */
+    public CellGrid getBackground() {
+        return background;
+    }
+
+    /**
+     * @return a counter that changes whenever the settled blocks changed
+     */
+    public long getBackgroundVersion() {
+        return backgroundVersion;
+    }
+
+    /**
+     * @return the falling, next and held bricks
+     */
+    public ViewData getBrick() {
+        return brick;
+    }
+
+    /**
+     * @return the score
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * @return the skill points
+     */
+    public int getSkillPoints() {
+        return skillPoints;
+    }
+
+    /**
+     * @return lines cleared in the current game
+     */
+    public int getLinesCleared() {
+        return linesCleared;
+    }
+
+    /**
+     * @return {@code true} once the game has ended
+     */
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    /**
+     * @return a counter bumped on every line clear
+     */
+    public long getClearSequence() {
+        return clearSequence;
+    }
+
+    /**
+     * @return the most recent line clear, or {@code null} if there was none
+     */
+    public ClearRow getLastClear() {
+        return lastClear;
+    }
+
+    /**
+     * @return a counter bumped on every bomb explosion
+     */
+    public long getBoomSequence() {
+        return boomSequence;
+    }
+
+    /**
+     * @return column of the most recent explosion
+     */
+    public int getBoomX() {
+        return boomX;
+    }
+
+    /**
+     * @return matrix row of the most recent explosion
+     */
+    public int getBoomY() {
+        return boomY;
+    }
+
+    /**
+     * @return a counter bumped every time slow motion is activated
+     */
+    public long getSlowMotionSequence() {
+        return slowMotionSequence;
+    }
+}
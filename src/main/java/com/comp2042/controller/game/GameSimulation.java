@@ -0,0 +1,343 @@
+package com.comp2042.controller.game;
+
+import javafx.beans.property.IntegerProperty;
+import com.comp2042.model.CellGrid;
+import com.comp2042.model.DownData;
+import com.comp2042.model.SimpleBoard;
+import com.comp2042.model.ViewData;
+import com.comp2042.view.ClearRow;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Runs a {@link GameController} on its own thread, so gravity and input handling keep
+ * their timing however long the UI takes to render.
+ *
+ * The UI thread talks to the simulation through two lock-free structures. Inputs and
+ * commands go in through a {@link SpscQueue}; the simulation applies them in order, runs
+ * gravity on its own clock and, whenever something changed, fills a {@link GameFrame}
+ * and publishes it through a {@link TripleBuffer}. The UI reads the latest frame once per
+ * pulse with {@link #latestFrame()}. Neither side ever blocks on the other.
+ *
+ * Everything the controller touches is confined to the simulation thread once
+ * {@link #start()} has been called; other threads must go through {@link #submit}.
+ *
+ * @author COMP2042 Coursework
+ */
+public final class GameSimulation {
+
+    private static final long DEFAULT_GRAVITY_NANOS = TimeUnit.MILLISECONDS.toNanos(400);
+    // Upper bound on one sleep, so stop requests and clock changes are noticed promptly
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final int INPUT_CAPACITY = 256;
+    private static final MoveEvent GRAVITY = new MoveEvent(EventType.DOWN, EventSource.THREAD);
+
+    private final SpscQueue<Consumer<GameController>> inputs = new SpscQueue<>(INPUT_CAPACITY);
+    private final TripleBuffer<GameFrame> frames = new TripleBuffer<>(GameFrame::new);
+    private final FrameRecorder recorder = new FrameRecorder();
+    private final GameController controller;
+    private final Thread thread;
+
+    private volatile boolean running = true;
+    private volatile boolean gravityPaused = false;
+    private volatile long gravityNanos = DEFAULT_GRAVITY_NANOS;
+
+    // Simulation-thread state
+    private long sequence;
+    private int gameNumber;
+    private int linesCleared;
+    private long clearSequence;
+    private ClearRow lastClear;
+
+    /**
+     * Creates a game with the default (or system-property configured) board size on the
+     * calling thread and publishes its first frame. The simulation does not advance until
+     * {@link #start()} is called.
+     */
+    public GameSimulation() {
+        this(GameController::new);
+    }
+
+    /**
+     * Creates a game with a board of the given size on the calling thread and publishes
+     * its first frame. The simulation does not advance until {@link #start()} is called.
+     *
+     * @param rows number of matrix rows, including the hidden spawn rows
+     * @param columns number of columns
+     * @throws IllegalArgumentException if the size is outside the supported range
+     */
+    public GameSimulation(int rows, int columns) {
+        this(view -> new GameController(view, rows, columns));
+    }
+
+    private GameSimulation(Function<GameView, GameController> factory) {
+        controller = factory.apply(recorder);
+        publish();
+        thread = new Thread(this::run, "game-simulation");
+        thread.setDaemon(true);
+    }
+
+    /**
+     * Starts the simulation thread.
+     */
+    public void start() {
+        thread.start();
+    }
+
+    /**
+     * Stops the simulation thread; pending inputs are dropped.
+     */
+    public void stop() {
+        running = false;
+        LockSupport.unpark(thread);
+    }
+
+    /**
+     * Queues a player input. Called from the one producer thread (the UI thread).
+     *
+     * @param event the input
+     * @return {@code false} if the input queue was full and the input was dropped
+     */
+    public boolean submit(MoveEvent event) {
+        return submit(game -> apply(event));
+    }
+
+    /**
+     * Queues an arbitrary action to run against the controller on the simulation thread.
+     * Called from the one producer thread (the UI thread).
+     *
+     * @param command the action
+     * @return {@code false} if the input queue was full and the command was dropped
+     */
+    public boolean submit(Consumer<GameController> command) {
+        boolean queued = inputs.offer(command);
+        LockSupport.unpark(thread);
+        return queued;
+    }
+
+    /**
+     * Queues one piece for a bot to place. The bot reads the board and sends its inputs on
+     * the simulation thread, so it sees the same state as the queued inputs, and the lines
+     * it clears are counted as for a player's hard drop.
+     *
+     * @param bot the bot, whose listener must be this simulation's controller
+     * @return {@code false} if the input queue was full and the piece was not queued
+     */
+    public boolean submit(BotInputSource bot) {
+        return submit(game -> {
+            if (game.getBoard() instanceof SimpleBoard) {
+                DownData landed = bot.playPiece((SimpleBoard) game.getBoard());
+                if (landed != null) {
+                    record(landed);
+                }
+            }
+        });
+    }
+
+    /**
+     * Queues a restart of the game.
+     */
+    public void newGame() {
+        submit(game -> {
+            gameNumber++;
+            linesCleared = 0;
+            lastClear = null;
+            recorder.gameOver = false;
+            game.createNewGame();
+        });
+    }
+
+    /**
+     * Sets the gravity clock. Safe to call from any thread.
+     *
+     * @param paused {@code true} to stop gravity, e.g. while the game is paused
+     * @param intervalNanos time between gravity steps
+     */
+    public void setGravity(boolean paused, long intervalNanos) {
+        boolean changed = gravityPaused != paused || gravityNanos != intervalNanos;
+        gravityPaused = paused;
+        gravityNanos = Math.max(1, intervalNanos);
+        if (changed) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Takes the most recent frame. Called from the one reader thread (the UI thread).
+     *
+     * @return the latest frame; it stays unchanged until the next call
+     */
+    public GameFrame latestFrame() {
+        return frames.read();
+    }
+
+    /**
+     * Gives read access to the controller, e.g. for the power-up inventory display.
+     * Its state belongs to the simulation thread; use {@link #submit(Consumer)} to change it.
+     *
+     * @return the controller
+     */
+    public GameController getController() {
+        return controller;
+    }
+
+    private void run() {
+        long nextTick = System.nanoTime() + gravityNanos;
+        while (running) {
+            boolean changed = false;
+            Consumer<GameController> input;
+            while ((input = inputs.poll()) != null) {
+                input.accept(controller);
+                changed = true;
+            }
+
+            long now = System.nanoTime();
+            if (gravityPaused || recorder.gameOver) {
+                nextTick = now + gravityNanos;
+            } else if (now - nextTick >= 0) {
+                record(controller.onDownEvent(GRAVITY));
+                changed = true;
+                // Skip missed ticks instead of dropping several rows at once after a stall
+                nextTick = Math.max(nextTick + gravityNanos, now + 1);
+            }
+
+            if (changed) {
+                publish();
+            }
+            if (inputs.isEmpty()) {
+                LockSupport.parkNanos(this, Math.min(Math.max(nextTick - System.nanoTime(), 0), MAX_PARK_NANOS));
+            }
+        }
+    }
+
+    /**
+     * Applies one input, the same way the UI does when no simulation thread is used.
+     */
+    private void apply(MoveEvent event) {
+        switch (event.getEventType()) {
+            case DOWN:
+                record(controller.onDownEvent(event));
+                break;
+            case HARD_DROP:
+                record(controller.onHardDropEvent(event));
+                break;
+            case LEFT:
+                controller.onLeftEvent(event);
+                break;
+            case RIGHT:
+                controller.onRightEvent(event);
+                break;
+            case HOLD:
+                controller.onHoldEvent(event);
+                break;
+            default:
+                controller.onRotateEvent(event);
+                break;
+        }
+    }
+
+    private void record(DownData downData) {
+        ClearRow clearRow = downData.getClearRow();
+        if (clearRow != null && clearRow.getLinesRemoved() > 0) {
+            linesCleared += clearRow.getLinesRemoved();
+            lastClear = clearRow;
+            clearSequence++;
+        }
+    }
+
+    /**
+     * Fills the writer's frame from the game and publishes it. The background is only
+     * copied into a slot when it changed since that slot last held it.
+     */
+    private void publish() {
+        controller.publishStats();
+        GameFrame frame = frames.back();
+        CellGrid matrix = controller.getBoard().getBoardMatrix();
+        if (frame.backgroundVersion != recorder.backgroundVersion) {
+            if (frame.background == null || frame.background.getRows() != matrix.getRows()
+                    || frame.background.getColumns() != matrix.getColumns()) {
+                frame.background = matrix.copy();
+            } else {
+                frame.background.copyFrom(matrix);
+            }
+            frame.backgroundVersion = recorder.backgroundVersion;
+        }
+        frame.sequence = ++sequence;
+        frame.gameNumber = gameNumber;
+        frame.brick = controller.getBoard().getViewData();
+        frame.score = recorder.score != null ? recorder.score.get() : 0;
+        frame.skillPoints = recorder.skillPoints != null ? recorder.skillPoints.get() : 0;
+        frame.linesCleared = linesCleared;
+        frame.gameOver = recorder.gameOver;
+        frame.clearSequence = clearSequence;
+        frame.lastClear = lastClear;
+        frame.boomSequence = recorder.boomSequence;
+        frame.boomX = recorder.boomX;
+        frame.boomY = recorder.boomY;
+        frame.slowMotionSequence = recorder.slowMotionSequence;
+        frames.publish();
+    }
+
+    /**
+     * The controller's view on the simulation thread: it only notes what happened, and
+     * {@link #publish()} turns the notes into a frame.
+     */
+    private static final class FrameRecorder implements GameView {
+        long backgroundVersion;
+        boolean gameOver;
+        long boomSequence;
+        int boomX;
+        int boomY;
+        long slowMotionSequence;
+        IntegerProperty score;
+        IntegerProperty skillPoints;
+
+        @Override
+        public void setEventListener(InputEventListener eventListener) {
+        }
+
+        @Override
+        public void initGameView(CellGrid boardMatrix, ViewData brick) {
+            backgroundVersion++;
+        }
+
+        @Override
+        public void refreshBrick(ViewData brick) {
+        }
+
+        @Override
+        public void refreshGameBackground(CellGrid board) {
+            backgroundVersion++;
+        }
+
+        @Override
+        public void bindScore(IntegerProperty integerProperty) {
+            score = integerProperty;
+        }
+
+        @Override
+        public void bindSkillPoints(IntegerProperty integerProperty) {
+            skillPoints = integerProperty;
+        }
+
+        @Override
+        public void gameOver() {
+            gameOver = true;
+        }
+
+        @Override
+        public void applySlowMotion() {
+            slowMotionSequence++;
+        }
+
+        @Override
+        public void showBoomEffect(int gridX, int gridY) {
+            boomX = gridX;
+            boomY = gridY;
+            boomSequence++;
+        }
+    }
+}
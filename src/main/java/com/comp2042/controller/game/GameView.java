@@ -0,0 +1,70 @@
+package com.comp2042.controller.game;
+
+import com.comp2042.model.CellGrid;
+import com.comp2042.model.ViewData;
+import javafx.beans.property.IntegerProperty;
+
+/**
+ * Everything the game controller needs from whatever displays the game.
+ * The JavaFX {@code GuiController} is the main implementation; headless views
+ * (replay verification, benchmarks) implement it with no-ops.
+ */
+public interface GameView {
+
+    /**
+     * Registers the listener that receives the player's inputs.
+     *
+     * @param eventListener the game controller
+     */
+    void setEventListener(InputEventListener eventListener);
+
+    /**
+     * Builds the board display for a new game.
+     *
+     * @param boardMatrix the background grid, including hidden rows
+     * @param brick the first falling brick
+     */
+    void initGameView(CellGrid boardMatrix, ViewData brick);
+
+    /**
+     * Shows the falling brick in its new position or rotation.
+     *
+     * @param brick the brick's view data
+     */
+    void refreshBrick(ViewData brick);
+
+    /**
+     * Redraws the settled blocks after a lock, a line clear or a power-up.
+     *
+     * @param board the background grid
+     */
+    void refreshGameBackground(CellGrid board);
+
+    /**
+     * Binds the displayed score.
+     *
+     * @param integerProperty the score property
+     */
+    void bindScore(IntegerProperty integerProperty);
+
+    /**
+     * Binds the displayed skill points.
+     *
+     * @param integerProperty the skill point property
+     */
+    void bindSkillPoints(IntegerProperty integerProperty);
+
+    /** Shows the game-over state. */
+    void gameOver();
+
+    /** Starts the slow-motion power-up effect. */
+    void applySlowMotion();
+
+    /**
+     * Shows the bomb explosion.
+     *
+     * @param gridX column of the explosion
+     * @param gridY matrix row of the explosion (including hidden rows)
+     */
+    void showBoomEffect(int gridX, int gridY);
+}
@@ -0,0 +1,94 @@
+package com.comp2042.controller.game;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded lock-free queue for exactly one producer thread and one consumer thread.
+ *
+ * The two indices only ever grow; each side owns one of them and publishes it with a
+ * release store ({@link AtomicLong#lazySet}), and caches the other side's index so it
+ * only pays for a volatile read when the queue looks full or empty. Offering and polling
+ * never lock and never allocate.
+ *
+ * @param <T> the element type
+ * @author COMP2042 Coursework
+ */
+public final class SpscQueue<T> {
+
+    private final Object[] buffer;
+    private final int mask;
+
+    // Next slot to read; written by the consumer only
+    private final AtomicLong head = new AtomicLong();
+    // Next slot to write; written by the producer only
+    private final AtomicLong tail = new AtomicLong();
+
+    // Producer's last view of head, consumer's last view of tail
+    private long cachedHead;
+    private long cachedTail;
+
+    /**
+     * Creates an empty queue.
+     *
+     * @param capacity the most elements held at once, rounded up to a power of two
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public SpscQueue(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be 1.." + (1 << 30) + ", got " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        buffer = new Object[size];
+        mask = size - 1;
+    }
+
+    /**
+     * Appends an element. Producer thread only.
+     *
+     * @param item the element, not {@code null}
+     * @return {@code false} if the queue is full
+     */
+    public boolean offer(T item) {
+        long t = tail.get();
+        if (t - cachedHead >= buffer.length) {
+            cachedHead = head.get();
+            if (t - cachedHead >= buffer.length) {
+                return false;
+            }
+        }
+        buffer[(int) t & mask] = item;
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    /**
+     * Removes the oldest element. Consumer thread only.
+     *
+     * @return the element, or {@code null} if the queue is empty
+     */
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        long h = head.get();
+        if (h >= cachedTail) {
+            cachedTail = tail.get();
+            if (h >= cachedTail) {
+                return null;
+            }
+        }
+        int slot = (int) h & mask;
+        T item = (T) buffer[slot];
+        buffer[slot] = null;
+        head.lazySet(h + 1);
+        return item;
+    }
+
+    /**
+     * @return {@code true} if nothing is waiting; exact only on the consumer thread
+     */
+    public boolean isEmpty() {
+        return head.get() >= tail.get();
+    }
+}
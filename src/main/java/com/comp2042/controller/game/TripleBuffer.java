@@ -0,0 +1,66 @@
+package com.comp2042.controller.game;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Lock-free handoff of the latest value from one writer thread to one reader thread.
+ *
+ * Three slots are preallocated. The writer fills its back slot and publishes it by
+ * swapping it with the shared middle slot; the reader takes the middle slot by swapping it
+ * with its front slot, but only when something new was published. Neither side ever waits
+ * for the other and the reader always sees the most recent complete value; older values
+ * the reader never picked up are simply overwritten. A slot is only touched by the thread
+ * that currently owns it, so its contents need no further synchronization.
+ *
+ * @param <T> the slot type
+ * @author COMP2042 Coursework
+ */
+public final class TripleBuffer<T> {
+
+    // Set in the middle index when it holds a slot the reader has not taken yet
+    private static final int FRESH = 4;
+    private static final int INDEX = 3;
+
+    private final Object[] slots;
+    private final AtomicInteger middle = new AtomicInteger(1);
+    private int back = 0;
+    private int front = 2;
+
+    /**
+     * Creates the buffer with three slots from the factory.
+     *
+     * @param factory creates each slot
+     */
+    public TripleBuffer(Supplier<T> factory) {
+        slots = new Object[] {factory.get(), factory.get(), factory.get()};
+    }
+
+    /**
+     * @return the slot the writer may fill; writer thread only
+     */
+    @SuppressWarnings("unchecked")
+    public T back() {
+        return (T) slots[back];
+    }
+
+    /**
+     * Publishes the back slot and hands the writer a new one; writer thread only.
+     */
+    public void publish() {
+        back = middle.getAndSet(back | FRESH) & INDEX;
+    }
+
+    /**
+     * Takes the most recently published slot, if a newer one exists; reader thread only.
+     *
+     * @return the reader's current slot, which stays valid until the next call
+     */
+    @SuppressWarnings("unchecked")
+    public T read() {
+        if ((middle.get() & FRESH) != 0) {
+            front = middle.getAndSet(front) & INDEX;
+        }
+        return (T) slots[front];
+    }
+}
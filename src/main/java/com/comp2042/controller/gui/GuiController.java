@@ -16,7 +16,6 @@ import javafx.scene.Node;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.effect.Glow;
-import javafx.scene.effect.Reflection;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.GridPane;
@@ -29,23 +28,27 @@ import javafx.scene.media.MediaPlayer;
 import javafx.scene.media.MediaView;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
-import javafx.scene.text.Font;
 import javafx.util.Duration;
+import com.comp2042.controller.game.BotInputSource;
 import com.comp2042.controller.game.EventSource;
 import com.comp2042.controller.game.EventType;
 import com.comp2042.controller.game.GameController;
+import com.comp2042.controller.game.GameView;
 import com.comp2042.controller.game.InputEventListener;
 import com.comp2042.controller.game.MoveEvent;
+import com.comp2042.model.CellGrid;
 import com.comp2042.model.DownData;
 import com.comp2042.model.PowerUp;
+import com.comp2042.model.SimpleBoard;
 import com.comp2042.model.ViewData;
+import com.comp2042.view.ClearRow;
 import com.comp2042.view.GameOverPanel;
-import com.comp2042.view.NotificationPanel;
 
 
 import java.net.URL;
 import java.util.Optional;
 import java.util.ResourceBundle;
+import java.util.function.Consumer;
 
 /**
  * Primary controller for the JavaFX Tetris interface.
@@ -66,12 +69,11 @@ import java.util.ResourceBundle;
  * throughout the game lifecycle—from startup, to gameplay, to game-over.
  */
 
-public class GuiController implements Initializable {
+public class GuiController implements Initializable, GameView {
 
     private static final int BRICK_SIZE = 22;
 
     @FXML GridPane gamePanel;
-    @FXML private StackPane groupNotification;
     @FXML GridPane brickPanel;
     @FXML private GameOverPanel gameOverPanel;
     @FXML BorderPane gameBoard;
@@ -88,7 +90,7 @@ public class GuiController implements Initializable {
     @FXML private VBox powerUpsInventoryDisplay;
     @FXML HBox powerUpsInventoryContainer;
     @FXML StackPane pauseOverlay;
-    @FXML private StackPane mainMenuOverlay;
+    @FXML StackPane mainMenuOverlay;
     @FXML StackPane rootStackPane; // Root StackPane from FXML
 
     private int totalLinesCleared = 0;
@@ -104,7 +106,10 @@ public class GuiController implements Initializable {
     Rectangle[][] shadowRectangles;
     GridPane shadowPanel;
     Timeline timeLine;
-    int[][] currentBoardMatrix;
+    CellGrid currentBoardMatrix;
+    // Matrix row and column shown in the top-left cell of the board viewport
+    int viewportRow;
+    int viewportColumn;
 
     // Slow motion power-up
     Timeline slowMotionRestoreTimer;
@@ -128,9 +133,17 @@ public class GuiController implements Initializable {
     private GuiControllerSlowMotionManager slowMotionManager;
     private GuiControllerEffectManager effectManager;
     private GuiControllerPowerUpManager powerUpManager;
+    private GuiControllerQualityGovernor qualityGovernor;
+    private GuiControllerHintEngine hintEngine;
+    private GuiControllerSimulationBridge simulationBridge;
+    private GuiControllerBotDriver botDriver;
+    private GuiControllerViewEvents viewEvents;
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
+        // Critical path: only what is needed to put the main menu on screen
+        GuiControllerStartupLoader startupLoader = new GuiControllerStartupLoader(this);
+
         // Initialize helper classes
         keyboardHandler = new GuiControllerKeyboardHandler(this);
         videoManager = new GuiControllerVideoManager(this);
@@ -139,13 +152,11 @@ public class GuiController implements Initializable {
         slowMotionManager = new GuiControllerSlowMotionManager(this);
         effectManager = new GuiControllerEffectManager(this);
         powerUpManager = new GuiControllerPowerUpManager(this);
-
-        // load font (guarded)
-        try {
-            if (getClass().getClassLoader().getResource("digital.ttf") != null) {
-                Font.loadFont(getClass().getClassLoader().getResource("digital.ttf").toExternalForm(), 38);
-            }
-        } catch (Exception ignored) {}
+        qualityGovernor = new GuiControllerQualityGovernor(this, renderer, effectManager, videoManager);
+        hintEngine = new GuiControllerHintEngine(this, renderer);
+        simulationBridge = new GuiControllerSimulationBridge(this);
+        botDriver = new GuiControllerBotDriver(this);
+        viewEvents = new GuiControllerViewEvents(this, renderer, effectManager, hintEngine);
 
         gamePanel.setFocusTraversable(true);
         gamePanel.requestFocus();
@@ -211,13 +222,11 @@ public class GuiController implements Initializable {
             centerGameBoard();
         });
 
-        final Reflection reflection = new Reflection();
-        reflection.setFraction(0.8);
-        reflection.setTopOpacity(0.9);
-        reflection.setTopOffset(-12);
+        // Scale decoration down (and pause hidden video) whenever frames run long
+        qualityGovernor.start();
 
-        // Setup video background
-        videoManager.setupVideoBackground();
+        // Font, background video and power-up cards are loaded off the critical path
+        startupLoader.startDeferredLoading(powerUpManager, videoManager);
     }
 
     private void initializeCountdownOverlay() {
@@ -242,7 +251,8 @@ public class GuiController implements Initializable {
         // Add to root stack pane (will be added when needed)
     }
 
-    public void initGameView(int[][] boardMatrix, ViewData brick) {
+    @Override
+    public void initGameView(CellGrid boardMatrix, ViewData brick) {
         renderer.initGameView(boardMatrix, brick);
         timeLine = new Timeline(new KeyFrame(Duration.millis(400),
                 ae -> moveDown(new MoveEvent(EventType.DOWN, EventSource.THREAD))));
@@ -250,22 +260,108 @@ public class GuiController implements Initializable {
         timeLine.play();
     }
 
+    /**
+     * Queues a brick redraw; it is drawn once on the next pulse, with the latest data.
+     */
+    @Override
     public void refreshBrick(ViewData brick) {
-        renderer.refreshBrick(brick);
+        viewEvents.brick(brick);
+    }
+
+    /**
+     * Queues a background redraw; it is drawn once on the next pulse, with the latest matrix.
+     */
+    @Override
+    public void refreshGameBackground(CellGrid board) {
+        viewEvents.background(board);
+    }
+
+    /**
+     * Queues a line-clear burst for the next pulse.
+     *
+     * @param clearRow the rows that were cleared
+     */
+    void showLineClear(ClearRow clearRow) {
+        viewEvents.lineClear(clearRow);
+    }
+
+    /**
+     * Pushes the game's score and skill points to the bound labels. The simulation thread
+     * publishes its own, so this only applies when the game runs on the FX thread.
+     */
+    void publishStats() {
+        if (gameController != null && !simulationBridge.isRunning()) {
+            gameController.publishStats();
+        }
+    }
+
+    /**
+     * Draws everything queued for the view now instead of on the next pulse.
+     */
+    void flushViewEvents() {
+        viewEvents.flush();
+    }
+
+    /**
+     * Starts or stops timing the renderer's redraw entry points; used by the render benchmark.
+     *
+     * @param timings where to record per-call durations, or null to stop measuring
+     */
+    void setRenderTimings(GuiControllerRenderTimings timings) {
+        renderer.setTimings(timings);
     }
 
-    public void refreshGameBackground(int[][] board) {
-        renderer.refreshGameBackground(board);
+    /**
+     * Applies a sideways move, rotation or hold, either directly or, when the game runs
+     * on a simulation thread, by queueing it there.
+     *
+     * @param event the input
+     */
+    void handleInput(MoveEvent event) {
+        if (simulationBridge.isRunning()) {
+            simulationBridge.submit(event);
+            return;
+        }
+        switch (event.getEventType()) {
+            case LEFT:
+                refreshBrick(eventListener.onLeftEvent(event));
+                break;
+            case RIGHT:
+                refreshBrick(eventListener.onRightEvent(event));
+                break;
+            case HOLD:
+                refreshBrick(eventListener.onHoldEvent(event));
+                break;
+            default:
+                refreshBrick(eventListener.onRotateEvent(event));
+                break;
+        }
+    }
+
+    /**
+     * Runs an action against the game controller, on the simulation thread when one is used.
+     *
+     * @param action the action
+     */
+    void runOnGame(Consumer<GameController> action) {
+        if (simulationBridge.isRunning()) {
+            simulationBridge.submit(action);
+        } else if (gameController != null) {
+            action.accept(gameController);
+        }
     }
 
     void moveDown(MoveEvent event) {
-        if (isPause.getValue() == Boolean.FALSE) {
+        if (simulationBridge.isRunning()) {
+            // Gravity runs on the simulation's own clock, so only player soft drops are queued
+            if (isPause.getValue() == Boolean.FALSE && event.getEventSource() == EventSource.USER) {
+                simulationBridge.submit(event);
+            }
+        } else if (isPause.getValue() == Boolean.FALSE) {
             DownData downData = eventListener.onDownEvent(event);
             if (downData.getClearRow() != null && downData.getClearRow().getLinesRemoved() > 0) {
                 updateLinesCleared(downData.getClearRow().getLinesRemoved());
-                NotificationPanel notificationPanel = new NotificationPanel("+" + downData.getClearRow().getScoreBonus());
-                groupNotification.getChildren().add(notificationPanel);
-                notificationPanel.showScore(groupNotification.getChildren());
+                showLineClear(downData.getClearRow());
             }
             refreshBrick(downData.getViewData());
         }
@@ -273,13 +369,15 @@ public class GuiController implements Initializable {
     }
 
     void hardDrop(MoveEvent event) {
-        if (isPause.getValue() == Boolean.FALSE) {
+        if (simulationBridge.isRunning()) {
+            if (isPause.getValue() == Boolean.FALSE) {
+                simulationBridge.submit(event);
+            }
+        } else if (isPause.getValue() == Boolean.FALSE) {
             DownData downData = eventListener.onHardDropEvent(event);
             if (downData.getClearRow() != null && downData.getClearRow().getLinesRemoved() > 0) {
                 updateLinesCleared(downData.getClearRow().getLinesRemoved());
-                NotificationPanel notificationPanel = new NotificationPanel("+" + downData.getClearRow().getScoreBonus());
-                groupNotification.getChildren().add(notificationPanel);
-                notificationPanel.showScore(groupNotification.getChildren());
+                showLineClear(downData.getClearRow());
             }
             // Hard drop already merged the brick, so we just refresh the background
             // The view data will be for the next brick
@@ -288,10 +386,33 @@ public class GuiController implements Initializable {
         gamePanel.requestFocus();
     }
 
+    /**
+     * Lets the bot place the falling piece, on the simulation thread when one is used.
+     *
+     * @param bot the bot, playing through the current game controller
+     */
+    void playBotPiece(BotInputSource bot) {
+        if (simulationBridge.isRunning()) {
+            simulationBridge.submit(bot);
+        } else if (gameController.getBoard() instanceof SimpleBoard) {
+            DownData downData = bot.playPiece((SimpleBoard) gameController.getBoard());
+            if (downData == null) {
+                return;
+            }
+            if (downData.getClearRow() != null && downData.getClearRow().getLinesRemoved() > 0) {
+                updateLinesCleared(downData.getClearRow().getLinesRemoved());
+                showLineClear(downData.getClearRow());
+            }
+            refreshBrick(downData.getViewData());
+        }
+    }
+
+    @Override
     public void setEventListener(InputEventListener eventListener) {
         this.eventListener = eventListener;
     }
 
+    @Override
     public void bindScore(IntegerProperty integerProperty) {
         if (integerProperty != null) {
             Platform.runLater(() -> {
@@ -302,6 +423,7 @@ public class GuiController implements Initializable {
         }
     }
 
+    @Override
     public void bindSkillPoints(IntegerProperty integerProperty) {
         if (integerProperty != null) {
             Platform.runLater(() -> {
@@ -328,17 +450,31 @@ public class GuiController implements Initializable {
         }
     }
 
+    /**
+     * Stops the game at once, so no further input reaches it; the panel is shown with the
+     * rest of the pulse's view updates, after the final board has been drawn.
+     */
+    @Override
     public void gameOver() {
         if (timeLine != null) timeLine.stop();
-        gameOverPanel.setVisible(true);
+        hintEngine.clear();
         isGameOver.setValue(Boolean.TRUE);
+        viewEvents.gameOver();
+    }
+
+    void showGameOverPanel() {
+        gameOverPanel.setVisible(true);
     }
 
     public void newGame(ActionEvent actionEvent) {
         if (timeLine != null) timeLine.stop();
         gameOverPanel.setVisible(false);
         resetLinesCleared();
-        eventListener.createNewGame();
+        if (simulationBridge.isRunning()) {
+            simulationBridge.newGame();
+        } else {
+            eventListener.createNewGame();
+        }
         gamePanel.requestFocus();
         if (timeLine != null) timeLine.play();
         isPause.setValue(Boolean.FALSE);
@@ -443,11 +579,20 @@ public class GuiController implements Initializable {
 
         // Create a new game controller (this will reset the board and start fresh)
         // The constructor will call initGameView which properly initializes the display
-        gameController = new GameController(this);
+        if (GuiControllerSimulationBridge.ENABLED) {
+            simulationBridge.create();
+        } else {
+            simulationBridge.stop();
+            gameController = new GameController(this);
+        }
 
         // Initialize power-up UI
         powerUpManager.initializePowerUpUI();
 
+        // The simulation thread only starts once the power-up UI is listening
+        simulationBridge.start();
+        botDriver.start();
+
         // Request focus for game controls
         if (gamePanel != null) {
             gamePanel.requestFocus();
@@ -461,6 +606,10 @@ public class GuiController implements Initializable {
             mediaPlayer.stop();
             mediaPlayer.dispose();
         }
+        hintEngine.shutdown();
+        botDriver.stop();
+        simulationBridge.stop();
+        viewEvents.clear();
         Platform.exit();
     }
 
@@ -532,6 +681,10 @@ public class GuiController implements Initializable {
         }
 
         // Reset game controller (will be recreated when Start is clicked)
+        hintEngine.clear();
+        botDriver.stop();
+        simulationBridge.stop();
+        viewEvents.clear();
         gameController = null;
         eventListener = null;
     }
@@ -543,22 +696,38 @@ public class GuiController implements Initializable {
     /**
      * Apply slow motion effect (slows falling speed for 10 seconds)
      */
+    @Override
     public void applySlowMotion() {
         slowMotionManager.applySlowMotion();
     }
 
     /**
-     * Show bomb explosion effect at the specified grid position
+     * Queue a bomb explosion effect at the specified grid position for the next pulse
      */
+    @Override
     public void showBoomEffect(int gridX, int gridY) {
-        effectManager.showBoomEffect(gridX, gridY);
-    }
-
-    void updatePowerUpUI() {
-        powerUpManager.updatePowerUpUI();
+        viewEvents.boom(gridX, gridY);
     }
 
     void togglePowerUpsOverlay() {
         powerUpManager.togglePowerUpsOverlay();
     }
+
+    void usePowerUp(PowerUp powerUp) {
+        runOnGame(game -> game.activatePowerUp(powerUp));
+        viewEvents.statsChanged();
+    }
+
+    void buyPowerUp(PowerUp powerUp) {
+        runOnGame(game -> game.purchasePowerUp(powerUp));
+        viewEvents.statsChanged();
+    }
+
+    void rewind() {
+        runOnGame(GameController::rewind);
+    }
+
+    void toggleHint() {
+        hintEngine.toggle();
+    }
 }
\ No newline at end of file
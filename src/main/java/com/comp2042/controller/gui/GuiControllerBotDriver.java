@@ -0,0 +1,117 @@
+package com.comp2042.controller.gui;
+
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.util.Duration;
+import com.comp2042.bot.PolicyBot;
+import com.comp2042.bot.PolicyNetwork;
+import com.comp2042.controller.game.BotInputSource;
+import com.comp2042.controller.game.GameController;
+import com.comp2042.model.SimpleBoard;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Lets a {@link PolicyBot} play the game, enabled with
+ * {@code -Dtetris.bot.weights=<weights file>}.
+ *
+ * A timeline places one piece every {@code tetris.bot.interval} milliseconds (250 by
+ * default) while the game is running. The bot plays through a {@link BotInputSource}, so
+ * its inputs reach the game controller as {@code EventSource.BOT} events, by the same path
+ * as keyboard input; gravity and the keyboard keep working alongside it. When the game
+ * runs on a simulation thread, the bot runs there too, since it reads the board.
+ *
+ * The network is loaded when the first game starts. A file that cannot be loaded, or a
+ * network that does not fit the board, is reported on {@code System.err} and the game is
+ * played without the bot.
+ *
+ * @author COMP2042 Coursework
+ */
+class GuiControllerBotDriver {
+
+    private static final String WEIGHTS = System.getProperty("tetris.bot.weights");
+    private static final long INTERVAL_MS = Math.max(1, Integer.getInteger("tetris.bot.interval", 250));
+
+    private final GuiController guiController;
+
+    private Timeline timeline;
+    private PolicyNetwork network;
+    private boolean failed;
+
+    // The source playing the current game, and the controller it plays through
+    private BotInputSource source;
+    private GameController sourceGame;
+
+    /**
+     * Creates a driver for the given controller.
+     *
+     * @param guiController the controller whose game the bot plays
+     */
+    GuiControllerBotDriver(GuiController guiController) {
+        this.guiController = guiController;
+    }
+
+    /**
+     * Starts placing pieces, if a weights file was given and loads.
+     */
+    void start() {
+        if (WEIGHTS == null || failed) {
+            return;
+        }
+        if (network == null) {
+            try {
+                network = PolicyNetwork.load(Paths.get(WEIGHTS));
+            } catch (IOException e) {
+                disable(e.getMessage());
+                return;
+            }
+        }
+        if (timeline == null) {
+            timeline = new Timeline(new KeyFrame(Duration.millis(INTERVAL_MS), ae -> placePiece()));
+            timeline.setCycleCount(Timeline.INDEFINITE);
+        }
+        timeline.play();
+    }
+
+    /**
+     * Stops placing pieces.
+     */
+    void stop() {
+        if (timeline != null) {
+            timeline.stop();
+        }
+        source = null;
+        sourceGame = null;
+    }
+
+    private void placePiece() {
+        GameController game = guiController.gameController;
+        if (game == null || guiController.isPause.getValue() || guiController.isGameOver.getValue()) {
+            return;
+        }
+        if (game != sourceGame) {
+            // A new controller is made for every started game, each needing its own bot
+            if (!(game.getBoard() instanceof SimpleBoard)) {
+                disable("the bot only plays a SimpleBoard");
+                return;
+            }
+            SimpleBoard board = (SimpleBoard) game.getBoard();
+            try {
+                source = new BotInputSource(new PolicyBot(network, board.getRows(), board.getColumns(),
+                        PolicyBot.DEFAULT_BATCH), game);
+            } catch (IllegalArgumentException e) {
+                disable(e.getMessage());
+                return;
+            }
+            sourceGame = game;
+        }
+        guiController.playBotPiece(source);
+    }
+
+    private void disable(String reason) {
+        System.err.println("Bot disabled: " + reason);
+        failed = true;
+        stop();
+    }
+}
@@ -1,15 +1,13 @@
 package com.comp2042.controller.gui;
 
-import javafx.animation.FadeTransition;
-import javafx.animation.ParallelTransition;
-import javafx.animation.ScaleTransition;
-import javafx.scene.control.Label;
-import javafx.util.Duration;
+import com.comp2042.view.ClearRow;
+import com.comp2042.view.ParticleLayer;
 
 /**
  * Handles all visual effects used by the GUI layer.
- * This helper class focuses purely on animations such as explosions
- * and layout adjustments, keeping GuiController cleaner and more focused
+ * This helper class focuses purely on animations such as explosions, line-clear
+ * bursts and score popups (all drawn on a pooled {@link ParticleLayer}) and
+ * layout adjustments, keeping GuiController cleaner and more focused
  * on gameplay logic and interaction.
  */
 class GuiControllerEffectManager {
@@ -18,6 +16,12 @@ class GuiControllerEffectManager {
 
     private final GuiController guiController;
 
+    // When set by the quality governor, effects emit fewer particles
+    private boolean simpleEffects = false;
+
+    // Pooled canvas for all transient effects, created on first use
+    private ParticleLayer particleLayer;
+
     /**
      * Creates an effect manager that works alongside the main GUI controller.
      *
@@ -45,54 +49,70 @@ class GuiControllerEffectManager {
     }
 
     /**
-     * Displays a short explosion animation at the given grid coordinates.
-     * Converts grid positions into screen space, creates a temporary "BOOM!"
-     * label, and plays a scaling and fading sequence before removing it.
+     * Shows a bomb shockwave at the given grid coordinates on the particle layer.
      *
      * @param gridX column index of the explosion
      * @param gridY row index of the explosion (includes hidden top rows)
      */
     void showBoomEffect(int gridX, int gridY) {
-        if (guiController.gameBoard == null || guiController.boardStack == null) return;
-
-        // Convert grid coordinates to screen coordinates
-        double cellW = BRICK_SIZE + guiController.gamePanel.getHgap();
-        double cellH = BRICK_SIZE + guiController.gamePanel.getVgap();
-
-        // Adjust for two hidden rows at the top
-        double x = gridX * cellW + cellW / 2;
-        double y = (gridY - 2) * cellH + cellH / 2;
-
-        // Explosion label
-        Label boomLabel = new Label("BOOM!");
-        boomLabel.setStyle(
-                "-fx-font-size: 48px; " +
-                        "-fx-font-weight: bold; " +
-                        "-fx-text-fill: #FF4500; " +
-                        "-fx-effect: dropshadow(gaussian, rgba(255,69,0,0.9), 15, 0.8, 0, 4);"
-        );
-
-        boomLabel.setLayoutX(x - 60);
-        boomLabel.setLayoutY(y - 24);
-
-        guiController.boardStack.getChildren().add(boomLabel);
-        boomLabel.toFront();
+        ParticleLayer layer = particleLayer();
+        if (layer != null) {
+            layer.emitShockwave(gridX, gridY);
+        }
+    }
 
-        // Animation sequence
-        ScaleTransition scaleTransition = new ScaleTransition(Duration.millis(300), boomLabel);
-        scaleTransition.setFromX(0.5);
-        scaleTransition.setFromY(0.5);
-        scaleTransition.setToX(1.5);
-        scaleTransition.setToY(1.5);
+    /**
+     * Shows line-clear bursts for every removed row plus a floating score popup.
+     *
+     * @param clearRow the result of the line clear
+     */
+    void showLineClear(ClearRow clearRow) {
+        ParticleLayer layer = particleLayer();
+        if (layer == null) {
+            return;
+        }
+        int[] rows = clearRow.getClearedRowIndices();
+        int[][] cells = clearRow.getClearedRowCells();
+        for (int i = 0; i < rows.length; i++) {
+            layer.emitLineClear(rows[i], cells[i]);
+        }
+        layer.showScore("+" + clearRow.getScoreBonus());
+    }
 
-        FadeTransition fadeTransition = new FadeTransition(Duration.millis(800), boomLabel);
-        fadeTransition.setFromValue(1.0);
-        fadeTransition.setToValue(0.0);
+    /**
+     * Switches effects between full and reduced particle counts.
+     *
+     * @param simple {@code true} to use the cheaper effects.
+     */
+    void setSimpleEffects(boolean simple) {
+        this.simpleEffects = simple;
+        if (particleLayer != null) {
+            particleLayer.setReduced(simple);
+        }
+    }
 
-        ParallelTransition parallelTransition = new ParallelTransition(scaleTransition, fadeTransition);
-        parallelTransition.setOnFinished(e ->
-                guiController.boardStack.getChildren().remove(boomLabel)
-        );
-        parallelTransition.play();
+    /**
+     * Returns the effect canvas, creating it over the board on first use.
+     * The canvas tracks the game panel size and the viewport origin so cell coordinates
+     * map onto the visible part of the board.
+     *
+     * @return the particle layer, or {@code null} if the board is not available
+     */
+    private ParticleLayer particleLayer() {
+        if (particleLayer == null) {
+            if (guiController.boardStack == null || guiController.gamePanel == null) {
+                return null;
+            }
+            particleLayer = new ParticleLayer();
+            particleLayer.widthProperty().bind(guiController.gamePanel.widthProperty());
+            particleLayer.heightProperty().bind(guiController.gamePanel.heightProperty());
+            particleLayer.setReduced(simpleEffects);
+            guiController.boardStack.getChildren().add(particleLayer);
+        }
+        particleLayer.setGrid(BRICK_SIZE + guiController.gamePanel.getHgap(),
+                BRICK_SIZE + guiController.gamePanel.getVgap(),
+                guiController.viewportRow, guiController.viewportColumn);
+        particleLayer.toFront();
+        return particleLayer;
     }
-}
\ No newline at end of file
+}
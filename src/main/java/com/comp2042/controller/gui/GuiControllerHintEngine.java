@@ -0,0 +1,147 @@
+package com.comp2042.controller.gui;
+
+import javafx.application.Platform;
+import com.comp2042.bot.HintSearch;
+import com.comp2042.model.GameSnapshot;
+import com.comp2042.model.SimpleBoard;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * "Show best move" support for the GUI.
+ * While enabled, every refresh of the falling brick captures a snapshot of the game and
+ * hands it to a single background thread that runs a {@link HintSearch}. A newer request
+ * cancels the one in flight, and a finished search is only drawn if no newer request has
+ * been made since, so a stale suggestion never reaches the screen. The FX thread does no
+ * more than take the snapshot (the simulation thread takes it when the game runs there);
+ * it never waits for a search.
+ *
+ * @author COMP2042 Coursework
+ */
+class GuiControllerHintEngine {
+
+    // Pieces looked ahead: the falling piece and the preview piece by default
+    private static final int DEPTH = Math.max(1, Math.min(HintSearch.MAX_DEPTH,
+            Integer.getInteger("tetris.hint.depth", HintSearch.MAX_DEPTH)));
+
+    private final GuiController guiController;
+    private final GuiControllerRenderer renderer;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "hint-search");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Bumped on every request; a result is shown only if it still carries the latest value
+    private final AtomicLong generation = new AtomicLong();
+    // Set from whichever thread captured the snapshot, cancelled from the FX thread
+    private volatile Future<?> pending;
+    private boolean enabled = false;
+
+    // Confined to the search thread
+    private HintSearch search;
+
+    /**
+     * Creates a hint engine that draws through the given renderer.
+     *
+     * @param guiController the controller owning the game being hinted
+     * @param renderer the renderer that draws the hint ghost
+     */
+    GuiControllerHintEngine(GuiController guiController, GuiControllerRenderer renderer) {
+        this.guiController = guiController;
+        this.renderer = renderer;
+    }
+
+    /**
+     * Turns hints on or off. Turning them on starts a search for the current brick.
+     */
+    void toggle() {
+        enabled = !enabled;
+        if (enabled) {
+            request();
+        } else {
+            clear();
+        }
+    }
+
+    /**
+     * Cancels any running search and starts a new one for the current game state.
+     * Called on the FX thread whenever the falling brick changes.
+     */
+    void request() {
+        if (!enabled) {
+            return;
+        }
+        cancelPending();
+        if (guiController.gameController == null || guiController.isGameOver.getValue()) {
+            renderer.hideHint();
+            return;
+        }
+        long id = generation.incrementAndGet();
+        // The snapshot is taken wherever the game runs: here, or on the simulation thread
+        guiController.runOnGame(game -> {
+            if (game.getBoard() instanceof SimpleBoard && generation.get() == id) {
+                submitSearch(id, (SimpleBoard) game.getBoard());
+            }
+        });
+    }
+
+    private void submitSearch(long id, SimpleBoard board) {
+        byte[] snapshot = GameSnapshot.capture(board);
+        int rows = board.getRows();
+        int columns = board.getColumns();
+        pending = executor.submit(() -> {
+            if (generation.get() != id) {
+                return;
+            }
+            if (search == null || search.getRows() != rows || search.getColumns() != columns) {
+                search = new HintSearch(rows, columns, DEPTH);
+            }
+            HintSearch.Hint hint = search.search(snapshot);
+            if (hint != null && generation.get() == id) {
+                Platform.runLater(() -> {
+                    if (enabled && generation.get() == id) {
+                        renderer.showHint(hint.getMask(), hint.getX(), hint.getY());
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Hides the hint for a board that has just changed under it (a piece locked or a
+     * power-up cleared rows) and searches the new state.
+     */
+    void boardChanged() {
+        renderer.hideHint();
+        request();
+    }
+
+    /**
+     * Hides the hint and drops any search in flight, e.g. when a piece locks or the game ends.
+     */
+    void clear() {
+        cancelPending();
+        generation.incrementAndGet();
+        renderer.hideHint();
+    }
+
+    /**
+     * Stops the search thread; call when the game screen is torn down.
+     */
+    void shutdown() {
+        clear();
+        executor.shutdownNow();
+    }
+
+    private void cancelPending() {
+        Future<?> running = pending;
+        if (running != null) {
+            running.cancel(true);
+            pending = null;
+        }
+    }
+}
@@ -44,31 +44,32 @@ class GuiControllerKeyboardHandler {
 
                     // Move left
                     if (keyEvent.getCode() == KeyCode.LEFT || keyEvent.getCode() == KeyCode.A) {
-                        guiController.refreshBrick(
-                                guiController.eventListener.onLeftEvent(
-                                        new MoveEvent(EventType.LEFT, EventSource.USER)
-                                )
-                        );
+                        guiController.handleInput(new MoveEvent(EventType.LEFT, EventSource.USER));
                         keyEvent.consume();
                     }
 
                     // Move right
                     if (keyEvent.getCode() == KeyCode.RIGHT || keyEvent.getCode() == KeyCode.D) {
-                        guiController.refreshBrick(
-                                guiController.eventListener.onRightEvent(
-                                        new MoveEvent(EventType.RIGHT, EventSource.USER)
-                                )
-                        );
+                        guiController.handleInput(new MoveEvent(EventType.RIGHT, EventSource.USER));
                         keyEvent.consume();
                     }
 
-                    // Rotate piece
-                    if (keyEvent.getCode() == KeyCode.UP || keyEvent.getCode() == KeyCode.W) {
-                        guiController.refreshBrick(
-                                guiController.eventListener.onRotateEvent(
-                                        new MoveEvent(EventType.ROTATE, EventSource.USER)
-                                )
-                        );
+                    // Rotate piece counter-clockwise
+                    if (keyEvent.getCode() == KeyCode.UP || keyEvent.getCode() == KeyCode.W
+                            || keyEvent.getCode() == KeyCode.Z) {
+                        guiController.handleInput(new MoveEvent(EventType.ROTATE, EventSource.USER));
+                        keyEvent.consume();
+                    }
+
+                    // Rotate piece clockwise
+                    if (keyEvent.getCode() == KeyCode.X) {
+                        guiController.handleInput(new MoveEvent(EventType.ROTATE_CW, EventSource.USER));
+                        keyEvent.consume();
+                    }
+
+                    // Rotate piece 180 degrees
+                    if (keyEvent.getCode() == KeyCode.V) {
+                        guiController.handleInput(new MoveEvent(EventType.ROTATE_180, EventSource.USER));
                         keyEvent.consume();
                     }
 
@@ -86,11 +87,19 @@ class GuiControllerKeyboardHandler {
 
                     // Hold piece
                     if (keyEvent.getCode() == KeyCode.C) {
-                        guiController.refreshBrick(
-                                guiController.eventListener.onHoldEvent(
-                                        new MoveEvent(EventType.HOLD, EventSource.USER)
-                                )
-                        );
+                        guiController.handleInput(new MoveEvent(EventType.HOLD, EventSource.USER));
+                        keyEvent.consume();
+                    }
+
+                    // Practice mode: take back the last placement
+                    if (keyEvent.getCode() == KeyCode.R) {
+                        guiController.rewind();
+                        keyEvent.consume();
+                    }
+
+                    // Show / hide the suggested placement
+                    if (keyEvent.getCode() == KeyCode.H) {
+                        guiController.toggleHint();
                         keyEvent.consume();
                     }
 
@@ -99,13 +108,8 @@ class GuiControllerKeyboardHandler {
                         if (guiController.gameController != null) {
                             PowerUp[] powerUps = PowerUp.values();
                             if (powerUps.length > 0) {
-                                guiController.gameController.activatePowerUp(powerUps[0]);
-                                guiController.updatePowerUpUI();
-
-                                // Row clearer refreshes background
-                                if (powerUps[0] == PowerUp.ROW_CLEARER) {
-                                    guiController.refreshGameBackground(guiController.gameController.getBoard().getBoardMatrix());
-                                }
+                                // Row clearer redraws the background through the game view
+                                guiController.usePowerUp(powerUps[0]);
                             }
                         }
                         keyEvent.consume();
@@ -115,8 +119,7 @@ class GuiControllerKeyboardHandler {
                         if (guiController.gameController != null) {
                             PowerUp[] powerUps = PowerUp.values();
                             if (powerUps.length > 1) {
-                                guiController.gameController.activatePowerUp(powerUps[1]);
-                                guiController.updatePowerUpUI();
+                                guiController.usePowerUp(powerUps[1]);
                             }
                         }
                         keyEvent.consume();
@@ -126,8 +129,7 @@ class GuiControllerKeyboardHandler {
                         if (guiController.gameController != null) {
                             PowerUp[] powerUps = PowerUp.values();
                             if (powerUps.length > 2) {
-                                guiController.gameController.activatePowerUp(powerUps[2]);
-                                guiController.updatePowerUpUI();
+                                guiController.usePowerUp(powerUps[2]);
                             }
                         }
                         keyEvent.consume();
@@ -141,8 +143,7 @@ class GuiControllerKeyboardHandler {
                         if (guiController.gameController != null) {
                             PowerUp[] powerUps = PowerUp.values();
                             if (powerUps.length > 0) {
-                                guiController.gameController.purchasePowerUp(powerUps[0]);
-                                guiController.updatePowerUpUI();
+                                guiController.buyPowerUp(powerUps[0]);
                             }
                         }
                         keyEvent.consume();
@@ -152,8 +153,7 @@ class GuiControllerKeyboardHandler {
                         if (guiController.gameController != null) {
                             PowerUp[] powerUps = PowerUp.values();
                             if (powerUps.length > 1) {
-                                guiController.gameController.purchasePowerUp(powerUps[1]);
-                                guiController.updatePowerUpUI();
+                                guiController.buyPowerUp(powerUps[1]);
                             }
                         }
                         keyEvent.consume();
@@ -163,8 +163,7 @@ class GuiControllerKeyboardHandler {
                         if (guiController.gameController != null) {
                             PowerUp[] powerUps = PowerUp.values();
                             if (powerUps.length > 2) {
-                                guiController.gameController.purchasePowerUp(powerUps[2]);
-                                guiController.updatePowerUpUI();
+                                guiController.buyPowerUp(powerUps[2]);
                             }
                         }
                         keyEvent.consume();
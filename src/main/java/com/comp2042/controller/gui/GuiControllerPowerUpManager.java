@@ -1,14 +1,18 @@
 package com.comp2042.controller.gui;
 
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
+import javafx.application.Platform;
+import javafx.beans.value.ChangeListener;
+import javafx.scene.Node;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.input.KeyCode;
-import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
-import javafx.util.Duration;
 import com.comp2042.model.PowerUp;
+import com.comp2042.model.PowerUpManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Manages power-up UI for GuiController.
@@ -23,6 +27,44 @@ class GuiControllerPowerUpManager {
 
     private final GuiController guiController;
 
+    // Index of each card set in the per-set node arrays
+    private static final int HUD = 0;
+    private static final int CENTERED = 1;
+
+    private static final PowerUp[] POWER_UPS = PowerUp.values();
+
+    // Cards are built once (normally by the startup loader) and reused across games
+    private boolean cardsInstalled = false;
+
+    // Direct references to the installed nodes that change, indexed by [card set][PowerUp.ordinal()];
+    // only written by installPowerUpCards on the FX thread
+    private final Label[][] cardIconLabels = new Label[2][POWER_UPS.length];
+    private final Label[][] cardQuantityLabels = new Label[2][POWER_UPS.length];
+    private final Button[][] cardButtons = new Button[2][POWER_UPS.length];
+    private final Label[] inventoryIconLabels = new Label[POWER_UPS.length];
+    private final Label[] inventoryQuantityLabels = new Label[POWER_UPS.length];
+
+    // Whether each power-up was affordable at the last refresh, so skill point changes only touch flipped cards
+    private final boolean[] affordable = new boolean[POWER_UPS.length];
+
+    // The model being observed; replaced each game because GameController creates a new board
+    private PowerUpManager observedManager;
+    // The model may change on the simulation thread; redraws always happen on the FX thread
+    private final AtomicBoolean affordabilityQueued = new AtomicBoolean();
+    private final PowerUpManager.InventoryListener inventoryListener =
+            (powerUp, quantity) -> onFxThread(() -> refreshPowerUp(powerUp));
+    private final ChangeListener<Number> skillPointsListener = (obs, oldValue, newValue) -> {
+        if (Platform.isFxApplicationThread()) {
+            refreshAffordability();
+        } else if (affordabilityQueued.compareAndSet(false, true)) {
+            // Skill points change on every soft drop; coalesce into one redraw per pulse
+            Platform.runLater(() -> {
+                affordabilityQueued.set(false);
+                refreshAffordability();
+            });
+        }
+    };
+
     /**
      * Constructs a new GuiControllerPowerUpManager.
      *
@@ -33,23 +75,46 @@ class GuiControllerPowerUpManager {
     }
 
     /**
-     * Initializes the power-up UI including HUD and shop overlays.
-     * Sets up buttons, labels, and event handlers for all power-up functionality.
+     * Initializes the power-up UI including HUD and shop overlays for a new game.
+     * Installs the cards if the startup loader has not already done so, subscribes to
+     * the new game's power-up inventory and skill points, and draws the initial state.
+     * After this, cards are only redrawn when the model reports a change.
      */
     void initializePowerUpUI() {
         if (guiController.gameController == null) {
             return;
         }
 
-        // Clear both containers
-        if (guiController.powerUpsContainer != null) {
-            guiController.powerUpsContainer.getChildren().clear();
+        if (!cardsInstalled) {
+            installPowerUpCards(buildPowerUpCards());
         }
-        if (guiController.powerUpsContainerCentered != null) {
-            guiController.powerUpsContainerCentered.getChildren().clear();
+
+        PowerUpManager manager = guiController.gameController.getPowerUpManager();
+        if (observedManager != manager) {
+            if (observedManager != null) {
+                observedManager.removeInventoryListener(inventoryListener);
+                observedManager.skillPointsProperty().removeListener(skillPointsListener);
+            }
+            observedManager = manager;
+            observedManager.addInventoryListener(inventoryListener);
+            observedManager.skillPointsProperty().addListener(skillPointsListener);
         }
 
-        PowerUp[] powerUps = PowerUp.values();
+        updatePowerUpUI();
+        updatePowerUpInventoryDisplay();
+    }
+
+    /**
+     * Builds the card node trees for the HUD panel, the centered shop overlay and the
+     * inventory strip. Only detached nodes are created here, so this may run on the
+     * startup loader thread; {@link #installPowerUpCards(PowerUpCards)} attaches them later.
+     *
+     * @return the detached cards and the nodes that change with the model
+     */
+    PowerUpCards buildPowerUpCards() {
+        PowerUpCards cards = new PowerUpCards();
+
+        PowerUp[] powerUps = POWER_UPS;
         for (int i = 0; i < powerUps.length; i++) {
             PowerUp powerUp = powerUps[i];
             int keyNumber = i + 1; // 1, 2, 3 for the three power-ups
@@ -113,19 +178,17 @@ class GuiControllerPowerUpManager {
                             "-fx-border-radius: 8;"
             );
             actionButton.setOnAction(e -> {
+                if (guiController.gameController == null) {
+                    return;
+                }
                 int quantity = guiController.gameController.getPowerUpManager().getPowerUpQuantity(powerUp);
                 if (quantity > 0) {
-                    // Use power-up
-                    guiController.gameController.activatePowerUp(powerUp);
-                    updatePowerUpUI();
-                    if (powerUp == PowerUp.ROW_CLEARER) {
-                        guiController.refreshGameBackground(guiController.gameController.getBoard().getBoardMatrix());
-                    }
+                    // Use power-up (the inventory listener redraws the card)
+                    // Row clearer redraws the background through the game view
+                    guiController.usePowerUp(powerUp);
                 } else {
-                    // Buy power-up
-                    if (guiController.gameController.purchasePowerUp(powerUp)) {
-                        updatePowerUpUI();
-                    }
+                    // Buy power-up (the inventory listener redraws the card)
+                    guiController.buyPowerUp(powerUp);
                 }
             });
 
@@ -140,11 +203,11 @@ class GuiControllerPowerUpManager {
             keyHint.setTextAlignment(javafx.scene.text.TextAlignment.CENTER);
 
             card.getChildren().addAll(iconLabel, nameLabel, quantityLabel, actionButton, keyHint);
+            cards.iconLabels[HUD][i] = iconLabel;
+            cards.quantityLabels[HUD][i] = quantityLabel;
+            cards.buttons[HUD][i] = actionButton;
 
-            // Add to original container
-            if (guiController.powerUpsContainer != null) {
-                guiController.powerUpsContainer.getChildren().add(card);
-            }
+            cards.hudCards.add(card);
 
             // Create a copy for the centered overlay
             VBox cardCentered = new VBox(10);
@@ -180,35 +243,13 @@ class GuiControllerPowerUpManager {
             keyHintCentered.setTextAlignment(javafx.scene.text.TextAlignment.CENTER);
 
             cardCentered.getChildren().addAll(iconLabelCentered, nameLabelCentered, quantityLabelCentered, actionButtonCentered, keyHintCentered);
+            cards.iconLabels[CENTERED][i] = iconLabelCentered;
+            cards.quantityLabels[CENTERED][i] = quantityLabelCentered;
+            cards.buttons[CENTERED][i] = actionButtonCentered;
 
-            // Add to centered container
-            if (guiController.powerUpsContainerCentered != null) {
-                guiController.powerUpsContainerCentered.getChildren().add(cardCentered);
-            }
-        }
-
-        // Initialize inventory display
-        initializePowerUpInventoryDisplay();
-
-        // Update UI periodically
-        Timeline uiUpdater = new Timeline(
-                new KeyFrame(Duration.millis(500), ae -> {
-                    updatePowerUpUI();
-                    updatePowerUpInventoryDisplay();
-                })
-        );
-        uiUpdater.setCycleCount(Timeline.INDEFINITE);
-        uiUpdater.play();
-    }
-
-    void initializePowerUpInventoryDisplay() {
-        if (guiController.powerUpsInventoryContainer == null || guiController.gameController == null) {
-            return;
+            cards.centeredCards.add(cardCentered);
         }
 
-        guiController.powerUpsInventoryContainer.getChildren().clear();
-
-        PowerUp[] powerUps = PowerUp.values();
         for (PowerUp powerUp : powerUps) {
             // Create compact inventory item
             VBox inventoryItem = new VBox(3);
@@ -240,71 +281,131 @@ class GuiControllerPowerUpManager {
             );
 
             inventoryItem.getChildren().addAll(iconLabel, qtyLabel);
-            guiController.powerUpsInventoryContainer.getChildren().add(inventoryItem);
+            cards.inventoryIconLabels[powerUp.ordinal()] = iconLabel;
+            cards.inventoryQuantityLabels[powerUp.ordinal()] = qtyLabel;
+            cards.inventoryItems.add(inventoryItem);
+        }
+
+        return cards;
+    }
+
+    /**
+     * Attaches cards produced by {@link #buildPowerUpCards()} to their containers and
+     * takes the references to their changing nodes. Must be called on the JavaFX
+     * Application Thread; later calls are ignored so a late result from the startup
+     * loader cannot replace, or be redrawn instead of, cards already in use.
+     *
+     * @param cards the cards returned by {@link #buildPowerUpCards()}
+     */
+    void installPowerUpCards(PowerUpCards cards) {
+        if (cardsInstalled) {
+            return;
+        }
+        if (guiController.powerUpsContainer != null) {
+            guiController.powerUpsContainer.getChildren().setAll(cards.hudCards);
+        }
+        if (guiController.powerUpsContainerCentered != null) {
+            guiController.powerUpsContainerCentered.getChildren().setAll(cards.centeredCards);
         }
+        if (guiController.powerUpsInventoryContainer != null) {
+            guiController.powerUpsInventoryContainer.getChildren().setAll(cards.inventoryItems);
+        }
+        for (int set = 0; set < 2; set++) {
+            System.arraycopy(cards.iconLabels[set], 0, cardIconLabels[set], 0, POWER_UPS.length);
+            System.arraycopy(cards.quantityLabels[set], 0, cardQuantityLabels[set], 0, POWER_UPS.length);
+            System.arraycopy(cards.buttons[set], 0, cardButtons[set], 0, POWER_UPS.length);
+        }
+        System.arraycopy(cards.inventoryIconLabels, 0, inventoryIconLabels, 0, POWER_UPS.length);
+        System.arraycopy(cards.inventoryQuantityLabels, 0, inventoryQuantityLabels, 0, POWER_UPS.length);
+        cardsInstalled = true;
     }
 
+    /**
+     * Detached card nodes from one {@link #buildPowerUpCards()} call. Each build keeps its
+     * own node references, so a build that is never installed cannot leak them into the
+     * manager.
+     */
+    static final class PowerUpCards {
+        private final List<Node> hudCards = new ArrayList<>();
+        private final List<Node> centeredCards = new ArrayList<>();
+        private final List<Node> inventoryItems = new ArrayList<>();
+        private final Label[][] iconLabels = new Label[2][POWER_UPS.length];
+        private final Label[][] quantityLabels = new Label[2][POWER_UPS.length];
+        private final Button[][] buttons = new Button[2][POWER_UPS.length];
+        private final Label[] inventoryIconLabels = new Label[POWER_UPS.length];
+        private final Label[] inventoryQuantityLabels = new Label[POWER_UPS.length];
+    }
+
+    /**
+     * Redraws the inventory strip for every power-up.
+     */
     void updatePowerUpInventoryDisplay() {
-        if (guiController.gameController == null || guiController.powerUpsInventoryContainer == null) {
+        if (guiController.gameController == null) {
             return;
         }
 
-        for (PowerUp powerUp : PowerUp.values()) {
-            int quantity = guiController.gameController.getPowerUpManager().getPowerUpQuantity(powerUp);
+        for (PowerUp powerUp : POWER_UPS) {
+            updateInventoryItem(powerUp, guiController.gameController.getPowerUpManager().getPowerUpQuantity(powerUp));
+        }
+    }
 
-            // Update quantity label
-            javafx.scene.Node qtyNode = guiController.powerUpsInventoryContainer.lookup("#inventory_" + powerUp.name() + "_qty");
-            if (qtyNode instanceof Label) {
-                Label qtyLabel = (Label) qtyNode;
-                qtyLabel.setText("x" + quantity);
+    /**
+     * Redraws the inventory strip entry of a single power-up.
+     *
+     * @param powerUp the power-up whose entry changed
+     * @param quantity the owned quantity to show
+     */
+    private void updateInventoryItem(PowerUp powerUp, int quantity) {
+        // Update quantity label
+        Label qtyLabel = inventoryQuantityLabels[powerUp.ordinal()];
+        if (qtyLabel != null) {
+            qtyLabel.setText("x" + quantity);
 
-                // Change color and visibility based on quantity
-                if (quantity > 0) {
-                    qtyLabel.setStyle(
-                            "-fx-font-size: 14px; " +
-                                    "-fx-font-weight: bold; " +
-                                    "-fx-text-fill: #00ff00; " +
-                                    "-fx-alignment: center; " +
-                                    "-fx-background-color: rgba(0,255,0,0.2); " +
-                                    "-fx-background-radius: 4; " +
-                                    "-fx-padding: 2 4;"
-                    );
-                    qtyLabel.setVisible(true);
-                } else {
-                    qtyLabel.setStyle(
-                            "-fx-font-size: 14px; " +
-                                    "-fx-font-weight: bold; " +
-                                    "-fx-text-fill: #666666; " +
-                                    "-fx-alignment: center; " +
-                                    "-fx-background-color: rgba(0,0,0,0.3); " +
-                                    "-fx-background-radius: 4; " +
-                                    "-fx-padding: 2 4;"
-                    );
-                    qtyLabel.setVisible(true);
-                }
+            // Change color and visibility based on quantity
+            if (quantity > 0) {
+                qtyLabel.setStyle(
+                        "-fx-font-size: 14px; " +
+                                "-fx-font-weight: bold; " +
+                                "-fx-text-fill: #00ff00; " +
+                                "-fx-alignment: center; " +
+                                "-fx-background-color: rgba(0,255,0,0.2); " +
+                                "-fx-background-radius: 4; " +
+                                "-fx-padding: 2 4;"
+                );
+                qtyLabel.setVisible(true);
+            } else {
+                qtyLabel.setStyle(
+                        "-fx-font-size: 14px; " +
+                                "-fx-font-weight: bold; " +
+                                "-fx-text-fill: #666666; " +
+                                "-fx-alignment: center; " +
+                                "-fx-background-color: rgba(0,0,0,0.3); " +
+                                "-fx-background-radius: 4; " +
+                                "-fx-padding: 2 4;"
+                );
+                qtyLabel.setVisible(true);
             }
+        }
 
-            // Update icon opacity based on availability
-            javafx.scene.Node iconNode = guiController.powerUpsInventoryContainer.lookup("#inventory_" + powerUp.name() + "_icon");
-            if (iconNode instanceof Label) {
-                Label iconLabel = (Label) iconNode;
-                if (quantity > 0) {
-                    iconLabel.setStyle(
-                            "-fx-font-size: 24px; " +
-                                    "-fx-alignment: center; " +
-                                    "-fx-text-fill: #ffffff; " +
-                                    "-fx-opacity: 1.0; " +
-                                    "-fx-effect: dropshadow(gaussian, rgba(0,255,0,0.6), 8, 0.0, 0, 0), " +
-                                    "dropshadow(gaussian, rgba(255,255,255,0.3), 5, 0.0, 0, 0);"
-                    );
-                } else {
-                    iconLabel.setStyle(
-                            "-fx-font-size: 24px; " +
-                                    "-fx-alignment: center; " +
-                                    "-fx-text-fill: #cccccc; " +
-                                    "-fx-opacity: 0.7;"
-                    );
-                }
+        // Update icon opacity based on availability
+        Label iconLabel = inventoryIconLabels[powerUp.ordinal()];
+        if (iconLabel != null) {
+            if (quantity > 0) {
+                iconLabel.setStyle(
+                        "-fx-font-size: 24px; " +
+                                "-fx-alignment: center; " +
+                                "-fx-text-fill: #ffffff; " +
+                                "-fx-opacity: 1.0; " +
+                                "-fx-effect: dropshadow(gaussian, rgba(0,255,0,0.6), 8, 0.0, 0, 0), " +
+                                "dropshadow(gaussian, rgba(255,255,255,0.3), 5, 0.0, 0, 0);"
+                );
+            } else {
+                iconLabel.setStyle(
+                        "-fx-font-size: 24px; " +
+                                "-fx-alignment: center; " +
+                                "-fx-text-fill: #cccccc; " +
+                                "-fx-opacity: 0.7;"
+                );
             }
         }
     }
@@ -322,32 +423,82 @@ class GuiControllerPowerUpManager {
         }
     }
 
+    /**
+     * Redraws every shop card from the current model state.
+     */
     void updatePowerUpUI() {
         if (guiController.gameController == null) {
             return;
         }
 
-        for (PowerUp powerUp : PowerUp.values()) {
-            int quantity = guiController.gameController.getPowerUpManager().getPowerUpQuantity(powerUp);
-            int skillPoints = guiController.gameController.getPowerUpManager().getSkillPoints();
-            int cost = powerUp.getCost();
+        for (PowerUp powerUp : POWER_UPS) {
+            refreshCards(powerUp);
+        }
+    }
+
+    /**
+     * Runs a redraw now when on the FX thread, otherwise schedules it there.
+     *
+     * @param redraw the UI update
+     */
+    private static void onFxThread(Runnable redraw) {
+        if (Platform.isFxApplicationThread()) {
+            redraw.run();
+        } else {
+            Platform.runLater(redraw);
+        }
+    }
 
-            // Update both containers (original and centered)
-            updatePowerUpCard(powerUp, quantity, skillPoints, cost, "");
-            updatePowerUpCard(powerUp, quantity, skillPoints, cost, "_centered");
+    /**
+     * Inventory listener callback: redraws only the cards and inventory entry of the
+     * power-up whose quantity changed.
+     *
+     * @param powerUp the power-up that was bought, used or reset
+     */
+    private void refreshPowerUp(PowerUp powerUp) {
+        if (guiController.gameController == null) {
+            return;
         }
+        refreshCards(powerUp);
+        updateInventoryItem(powerUp, guiController.gameController.getPowerUpManager().getPowerUpQuantity(powerUp));
     }
 
-    private void updatePowerUpCard(PowerUp powerUp, int quantity, int skillPoints, int cost, String suffix) {
-        HBox container = suffix.isEmpty() ? guiController.powerUpsContainer : guiController.powerUpsContainerCentered;
-        if (container == null) return;
+    /**
+     * Skill point listener callback: redraws only the buy buttons whose affordability flipped.
+     */
+    private void refreshAffordability() {
+        if (guiController.gameController == null) {
+            return;
+        }
+        int skillPoints = guiController.gameController.getPowerUpManager().getSkillPoints();
+        for (PowerUp powerUp : POWER_UPS) {
+            if ((skillPoints >= powerUp.getCost()) != affordable[powerUp.ordinal()]) {
+                refreshCards(powerUp);
+            }
+        }
+    }
 
-        String prefix = "powerup" + suffix;
+    /**
+     * Redraws both shop cards (HUD and centered) of a single power-up.
+     *
+     * @param powerUp the power-up to redraw
+     */
+    private void refreshCards(PowerUp powerUp) {
+        PowerUpManager manager = guiController.gameController.getPowerUpManager();
+        int quantity = manager.getPowerUpQuantity(powerUp);
+        int skillPoints = manager.getSkillPoints();
+        int cost = powerUp.getCost();
+        affordable[powerUp.ordinal()] = skillPoints >= cost;
+
+        // Update both card sets (original and centered)
+        updatePowerUpCard(HUD, powerUp, quantity, skillPoints, cost);
+        updatePowerUpCard(CENTERED, powerUp, quantity, skillPoints, cost);
+    }
 
+    private void updatePowerUpCard(int cardSet, PowerUp powerUp, int quantity, int skillPoints, int cost) {
         // Update quantity label
-        javafx.scene.Node qtyNode = container.lookup("#" + prefix + "_" + powerUp.name() + "_qty");
-        if (qtyNode instanceof Label) {
-            Label qtyLabel = (Label) qtyNode;
+        Label qtyLabel = cardQuantityLabels[cardSet][powerUp.ordinal()];
+        if (qtyLabel != null) {
             qtyLabel.setText("x" + quantity);
 
             // Change color based on quantity
@@ -371,9 +522,8 @@ class GuiControllerPowerUpManager {
         }
 
         // Update action button
-        javafx.scene.Node btnNode = container.lookup("#" + prefix + "_" + powerUp.name() + "_btn");
-        if (btnNode instanceof Button) {
-            Button actionBtn = (Button) btnNode;
+        Button actionBtn = cardButtons[cardSet][powerUp.ordinal()];
+        if (actionBtn != null) {
 
             if (quantity > 0) {
                 // Show "Use" button
@@ -418,9 +568,8 @@ class GuiControllerPowerUpManager {
         }
 
         // Update icon glow effect based on availability
-        javafx.scene.Node iconNode = container.lookup("#" + prefix + "_" + powerUp.name() + "_icon");
-        if (iconNode instanceof Label) {
-            Label iconLabel = (Label) iconNode;
+        Label iconLabel = cardIconLabels[cardSet][powerUp.ordinal()];
+        if (iconLabel != null) {
             if (quantity > 0) {
                 iconLabel.setStyle(
                         "-fx-font-size: 48px; " +
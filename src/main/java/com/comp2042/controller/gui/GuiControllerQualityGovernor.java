@@ -0,0 +1,189 @@
+package com.comp2042.controller.gui;
+
+import javafx.animation.AnimationTimer;
+import javafx.beans.value.ChangeListener;
+
+/**
+ * Adaptive quality governor for the decorative parts of the GUI.
+ * Watches pulse-to-pulse frame times and, when the frame budget is exceeded for a
+ * sustained period, steps visual quality down: first the per-cell glow is dropped and
+ * effects emit fewer particles, then the background video is paused. Quality is
+ * stepped back up only after a much longer run of comfortably fast frames, so the
+ * level does not oscillate around the threshold.
+ *
+ * Independently of the level, the video is paused while an opaque or near-opaque
+ * overlay (main menu, pause menu, power-up shop) covers the board.
+ *
+ * @author COMP2042 Coursework
+ */
+class GuiControllerQualityGovernor {
+
+    /**
+     * Visual quality levels, from richest to cheapest.
+     */
+    enum QualityLevel {
+        /** Glow on every cell, full particle effects, background video. */
+        HIGH(true, false, true),
+        /** No per-cell glow and reduced particle effects; video still plays. */
+        MEDIUM(false, true, true),
+        /** Everything from MEDIUM plus the background video paused. */
+        LOW(false, true, false);
+
+        final boolean glow;
+        final boolean simpleEffects;
+        final boolean video;
+
+        QualityLevel(boolean glow, boolean simpleEffects, boolean video) {
+            this.glow = glow;
+            this.simpleEffects = simpleEffects;
+            this.video = video;
+        }
+    }
+
+    // Target of 60 fps
+    private static final double FRAME_BUDGET_NANOS = 1_000_000_000.0 / 60;
+    // Smoothed frame time above budget * this factor counts as a slow frame
+    private static final double DOWNGRADE_FACTOR = 1.25;
+    // Smoothed frame time below budget * this factor counts as a fast frame
+    private static final double UPGRADE_FACTOR = 1.05;
+    // About half a second of slow frames before stepping down
+    private static final int FRAMES_BEFORE_DOWNGRADE = 30;
+    // About five seconds of fast frames before stepping back up
+    private static final int FRAMES_BEFORE_UPGRADE = 300;
+    // Gaps longer than this are stalls (window moved, debugger) rather than load
+    private static final long IGNORE_GAP_NANOS = 500_000_000L;
+    // Weight of the newest sample in the exponential moving average
+    private static final double SMOOTHING = 0.1;
+
+    private final GuiController guiController;
+    private final GuiControllerRenderer renderer;
+    private final GuiControllerEffectManager effectManager;
+    private final GuiControllerVideoManager videoManager;
+
+    private QualityLevel level = QualityLevel.HIGH;
+    private long lastPulse = 0;
+    private double averageFrameNanos = FRAME_BUDGET_NANOS;
+    private int slowFrames = 0;
+    private int fastFrames = 0;
+    private Boolean videoPlaying = null;
+
+    private final AnimationTimer frameWatcher = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            onPulse(now);
+        }
+    };
+
+    /**
+     * Creates a governor that drives the given helpers.
+     *
+     * @param guiController the controller owning the overlays being watched
+     * @param renderer the renderer whose glow is toggled
+     * @param effectManager the effect manager whose particle effects are reduced
+     * @param videoManager the video manager whose playback is paused
+     */
+    GuiControllerQualityGovernor(GuiController guiController, GuiControllerRenderer renderer,
+                                 GuiControllerEffectManager effectManager, GuiControllerVideoManager videoManager) {
+        this.guiController = guiController;
+        this.renderer = renderer;
+        this.effectManager = effectManager;
+        this.videoManager = videoManager;
+    }
+
+    /**
+     * Starts watching frame times and overlay visibility.
+     * Must be called on the JavaFX Application Thread after the FXML fields are injected.
+     */
+    void start() {
+        ChangeListener<Boolean> overlayListener = (obs, o, n) -> updateVideoPlayback();
+        if (guiController.pauseOverlay != null) {
+            guiController.pauseOverlay.visibleProperty().addListener(overlayListener);
+        }
+        if (guiController.powerUpsOverlay != null) {
+            guiController.powerUpsOverlay.visibleProperty().addListener(overlayListener);
+        }
+        if (guiController.mainMenuOverlay != null) {
+            guiController.mainMenuOverlay.visibleProperty().addListener(overlayListener);
+        }
+        apply();
+        frameWatcher.start();
+    }
+
+    /**
+     * @return the quality level currently in effect
+     */
+    QualityLevel getLevel() {
+        return level;
+    }
+
+    /**
+     * Feeds one pulse timestamp into the moving average and changes level when the
+     * slow or fast streak is long enough.
+     *
+     * @param now the pulse timestamp in nanoseconds
+     */
+    private void onPulse(long now) {
+        long previous = lastPulse;
+        lastPulse = now;
+        if (previous == 0 || now - previous > IGNORE_GAP_NANOS) {
+            return;
+        }
+
+        averageFrameNanos += SMOOTHING * ((now - previous) - averageFrameNanos);
+
+        if (averageFrameNanos > FRAME_BUDGET_NANOS * DOWNGRADE_FACTOR) {
+            fastFrames = 0;
+            if (++slowFrames >= FRAMES_BEFORE_DOWNGRADE && level != QualityLevel.LOW) {
+                setLevel(QualityLevel.values()[level.ordinal() + 1]);
+            }
+        } else if (averageFrameNanos < FRAME_BUDGET_NANOS * UPGRADE_FACTOR) {
+            slowFrames = 0;
+            if (++fastFrames >= FRAMES_BEFORE_UPGRADE && level != QualityLevel.HIGH) {
+                setLevel(QualityLevel.values()[level.ordinal() - 1]);
+            }
+        } else {
+            // Inside the hysteresis band: hold the current level
+            slowFrames = 0;
+            fastFrames = 0;
+        }
+    }
+
+    /**
+     * Switches to a new level and resets the streak counters.
+     *
+     * @param newLevel the level to apply
+     */
+    private void setLevel(QualityLevel newLevel) {
+        level = newLevel;
+        slowFrames = 0;
+        fastFrames = 0;
+        apply();
+    }
+
+    /**
+     * Pushes the current level to the renderer, the effect manager and the video.
+     */
+    private void apply() {
+        renderer.setGlowEnabled(level.glow);
+        effectManager.setSimpleEffects(level.simpleEffects);
+        updateVideoPlayback();
+    }
+
+    /**
+     * Plays the video only if the level allows it and no overlay hides the board.
+     */
+    private void updateVideoPlayback() {
+        boolean covered = isVisible(guiController.pauseOverlay)
+                || isVisible(guiController.powerUpsOverlay)
+                || isVisible(guiController.mainMenuOverlay);
+        boolean play = level.video && !covered;
+        if (videoPlaying == null || videoPlaying != play) {
+            videoPlaying = play;
+            videoManager.setPlaybackAllowed(play);
+        }
+    }
+
+    private static boolean isVisible(javafx.scene.Node overlay) {
+        return overlay != null && overlay.isVisible();
+    }
+}
@@ -0,0 +1,75 @@
+package com.comp2042.controller.gui;
+
+import java.util.Arrays;
+
+/**
+ * Per-call timings of the renderer's redraw entry points, collected by the
+ * {@code RenderBenchmark} in the test sources. The renderer only measures while an instance is attached
+ * through {@link GuiController#setRenderTimings}, so normal play pays a null check.
+ *
+ * All methods must be called on the JavaFX Application Thread.
+ *
+ * @author COMP2042 Coursework
+ */
+class GuiControllerRenderTimings {
+
+    /**
+     * A growable list of durations in nanoseconds.
+     */
+    static final class Samples {
+        private long[] values = new long[1024];
+        private int count;
+
+        void add(long nanos) {
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+            values[count++] = nanos;
+        }
+
+        int count() {
+            return count;
+        }
+
+        void clear() {
+            count = 0;
+        }
+
+        /**
+         * Formats count, mean, median, 99th percentile and maximum in microseconds.
+         *
+         * @return the summary line, or "no samples"
+         */
+        String summary() {
+            if (count == 0) {
+                return "no samples";
+            }
+            long[] sorted = Arrays.copyOf(values, count);
+            Arrays.sort(sorted);
+            long total = 0;
+            for (long value : sorted) {
+                total += value;
+            }
+            return String.format("n=%d mean=%.1fus p50=%.1fus p99=%.1fus max=%.1fus", count,
+                    total / 1000.0 / count, percentile(sorted, 0.50) / 1000.0,
+                    percentile(sorted, 0.99) / 1000.0, sorted[count - 1] / 1000.0);
+        }
+
+        private static long percentile(long[] sorted, double fraction) {
+            return sorted[Math.min(sorted.length - 1, (int) (fraction * sorted.length))];
+        }
+    }
+
+    final Samples refreshBrick = new Samples();
+    final Samples refreshGameBackground = new Samples();
+    final Samples updateShadow = new Samples();
+
+    /**
+     * Drops all samples, e.g. at the end of a warm-up.
+     */
+    void clear() {
+        refreshBrick.clear();
+        refreshGameBackground.clear();
+        updateShadow.clear();
+    }
+}
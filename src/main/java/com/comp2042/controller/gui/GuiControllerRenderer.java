@@ -8,7 +8,10 @@ import javafx.scene.layout.Region;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.Paint;
 import javafx.scene.shape.Rectangle;
+import com.comp2042.logic.bricks.BrickCells;
+import com.comp2042.model.CellGrid;
 import com.comp2042.model.MatrixOperations;
+import com.comp2042.model.SimpleBoard;
 import com.comp2042.model.ViewData;
 
 /**
@@ -16,6 +19,11 @@ import com.comp2042.model.ViewData;
  * Handles the display of the main game board, the active falling brick,
  * piece previews, the ghost piece projection, and board sizing/positioning.
  *
+ * The board is drawn through a viewport of at most {@link #MAX_VIEWPORT_ROWS} by
+ * {@link #MAX_VIEWPORT_COLUMNS} cells, so the number of scene-graph nodes does not grow
+ * with the board size. On larger boards the viewport scrolls to keep the falling brick
+ * in view and only the cells inside it are restyled.
+ *
  * @author COMP2042 Coursework
  */
 class GuiControllerRenderer {
@@ -23,8 +31,30 @@ class GuiControllerRenderer {
     // Defines the uniform size (in pixels) for all individual blocks.
     private static final int BRICK_SIZE = 22;
 
+    // Largest visible area; the standard 25x10 board (23 visible rows) fits exactly
+    private static final int MAX_VIEWPORT_ROWS = 23;
+    private static final int MAX_VIEWPORT_COLUMNS = 20;
+    // Cells kept between the brick and the viewport edge before scrolling
+    private static final int SCROLL_MARGIN = 3;
+
+    // One shared glow instance; effects are immutable once attached so cells can share it
+    private final javafx.scene.effect.Glow cellGlow = new javafx.scene.effect.Glow(0.6);
+
+    // Cleared by the quality governor when the frame budget is exceeded
+    private boolean glowEnabled = true;
+
     private final GuiController guiController;
 
+    // Suggested placement drawn as a second ghost; created on first use
+    private GridPane hintPanel;
+    private Rectangle[][] hintRectangles;
+    private int hintX;
+    private int hintY;
+    private boolean hintShown = false;
+
+    // Attached by the render benchmark; null in normal play
+    private GuiControllerRenderTimings timings;
+
     /**
      * Constructs the renderer, linking it to the controlling instance.
      *
@@ -34,6 +64,15 @@ class GuiControllerRenderer {
         this.guiController = guiController;
     }
 
+    /**
+     * Starts or stops timing the redraw entry points.
+     *
+     * @param timings where to record per-call durations, or null to stop measuring
+     */
+    void setTimings(GuiControllerRenderTimings timings) {
+        this.timings = timings;
+    }
+
     /**
      * Initializes the entire game view based on the starting state.
      * Sets up the display matrices for the board and the current brick,
@@ -42,25 +81,29 @@ class GuiControllerRenderer {
      * @param boardMatrix the 2D array representing the game board (including hidden rows)
      * @param brick the initial active brick's view data
      */
-    void initGameView(int[][] boardMatrix, ViewData brick) {
+    void initGameView(CellGrid boardMatrix, ViewData brick) {
         guiController.currentBoardMatrix = boardMatrix;
-        guiController.displayMatrix = new Rectangle[boardMatrix.length][boardMatrix[0].length];
-
-        // Initialize Rectangles for the visible board area (starting at row index 2)
-        for (int i = 2; i < boardMatrix.length; i++) {
-            for (int j = 0; j < boardMatrix[i].length; j++) {
+        int viewRows = Math.min(boardMatrix.getRows() - SimpleBoard.HIDDEN_ROWS, MAX_VIEWPORT_ROWS);
+        int viewCols = Math.min(boardMatrix.getColumns(), MAX_VIEWPORT_COLUMNS);
+        guiController.displayMatrix = new Rectangle[viewRows][viewCols];
+        guiController.viewportRow = SimpleBoard.HIDDEN_ROWS;
+        guiController.viewportColumn = 0;
+
+        // Initialize Rectangles for the viewport; they are recolored as it scrolls
+        for (int i = 0; i < viewRows; i++) {
+            for (int j = 0; j < viewCols; j++) {
                 Rectangle rectangle = new Rectangle(BRICK_SIZE, BRICK_SIZE);
                 rectangle.setFill(Color.TRANSPARENT);
                 guiController.displayMatrix[i][j] = rectangle;
-                guiController.gamePanel.add(rectangle, j, i - 2);
+                guiController.gamePanel.add(rectangle, j, i);
             }
         }
+        followBrick(brick);
+        drawViewport();
 
-        // Calculate and set the preferred size of the main game panel
-        int cols = boardMatrix[0].length;
-        int rowsVisible = boardMatrix.length - 2;
-        double w = cols * BRICK_SIZE + (cols - 1) * guiController.gamePanel.getHgap();
-        double h = rowsVisible * BRICK_SIZE + (rowsVisible - 1) * guiController.gamePanel.getVgap();
+        // Calculate and set the preferred size of the main game panel (viewport size)
+        double w = viewCols * BRICK_SIZE + (viewCols - 1) * guiController.gamePanel.getHgap();
+        double h = viewRows * BRICK_SIZE + (viewRows - 1) * guiController.gamePanel.getVgap();
         w += 2; h += 4;
         guiController.gamePanel.setPrefSize(w, h);
         guiController.gamePanel.setMinSize(Region.USE_PREF_SIZE, Region.USE_PREF_SIZE);
@@ -105,10 +148,7 @@ class GuiControllerRenderer {
         }
 
         // Set initial absolute position of the falling brick
-        Point2D origin = gamePanelOriginInRoot();
-        guiController.brickPanel.setLayoutX(origin.getX() + brick.getxPosition() * guiController.brickPanel.getVgap() + brick.getxPosition() * BRICK_SIZE);
-        int displayRow = brick.getyPosition() - 2;
-        guiController.brickPanel.setLayoutY(origin.getY() + displayRow * (guiController.brickPanel.getHgap() + BRICK_SIZE));
+        positionBrickPanel(brick);
 
         // Initial rendering of auxiliary views
         renderNextPreview(brick.getNextBrickData());
@@ -123,12 +163,23 @@ class GuiControllerRenderer {
      * @param brick The updated view data of the current brick.
      */
     void refreshBrick(ViewData brick) {
+        if (timings == null) {
+            drawBrick(brick);
+            return;
+        }
+        long start = System.nanoTime();
+        drawBrick(brick);
+        timings.refreshBrick.add(System.nanoTime() - start);
+    }
+
+    private void drawBrick(ViewData brick) {
         if (guiController.isPause.getValue() == Boolean.FALSE) {
-            // Update brick position
-            Point2D origin = gamePanelOriginInRoot();
-            guiController.brickPanel.setLayoutX(origin.getX() + brick.getxPosition() * guiController.brickPanel.getVgap() + brick.getxPosition() * BRICK_SIZE);
-            int displayRow = brick.getyPosition() - 2;
-            guiController.brickPanel.setLayoutY(origin.getY() + displayRow * (guiController.brickPanel.getHgap() + BRICK_SIZE));
+            // Scroll the viewport if the brick is near its edge, then update brick position
+            if (followBrick(brick)) {
+                drawViewport();
+                positionHint();
+            }
+            positionBrickPanel(brick);
 
             // Update brick block data (color, rotation)
             for (int i = 0; i < brick.getBrickData().length; i++) {
@@ -150,17 +201,98 @@ class GuiControllerRenderer {
      *
      * @param board The updated 2D board matrix.
      */
-    void refreshGameBackground(int[][] board) {
+    void refreshGameBackground(CellGrid board) {
         guiController.currentBoardMatrix = board;
-        for (int i = 2; i < board.length && i < guiController.displayMatrix.length; i++) {
-            for (int j = 0; j < board[i].length && j < guiController.displayMatrix[i].length; j++) {
-                if (guiController.displayMatrix[i][j] != null) {
-                    setRectangleData(board[i][j], guiController.displayMatrix[i][j]);
-                }
+        if (timings == null) {
+            drawViewport();
+            return;
+        }
+        long start = System.nanoTime();
+        drawViewport();
+        timings.refreshGameBackground.add(System.nanoTime() - start);
+    }
+
+    /**
+     * Restyles the viewport cells from the current board matrix.
+     * Only the cells inside the viewport are touched, whatever the board size.
+     */
+    private void drawViewport() {
+        CellGrid board = guiController.currentBoardMatrix;
+        Rectangle[][] cells = guiController.displayMatrix;
+        if (board == null || cells == null) {
+            return;
+        }
+        for (int i = 0; i < cells.length; i++) {
+            int row = guiController.viewportRow + i;
+            for (int j = 0; j < cells[i].length; j++) {
+                setRectangleData(board.get(row, guiController.viewportColumn + j), cells[i][j]);
             }
         }
     }
 
+    /**
+     * Scrolls the viewport so the brick stays at least {@link #SCROLL_MARGIN} cells away
+     * from its edges where the board allows it.
+     *
+     * @param brick The current active brick's view data.
+     * @return {@code true} if the viewport moved and must be redrawn.
+     */
+    private boolean followBrick(ViewData brick) {
+        CellGrid board = guiController.currentBoardMatrix;
+        Rectangle[][] cells = guiController.displayMatrix;
+        if (board == null || cells == null || cells.length == 0) {
+            return false;
+        }
+        int viewRows = cells.length;
+        int viewCols = cells[0].length;
+        int brickSize = brick.getBrickData().length;
+
+        int row = scrollAxis(guiController.viewportRow, viewRows, brick.getyPosition(), brickSize,
+                SimpleBoard.HIDDEN_ROWS, board.getRows() - viewRows);
+        int column = scrollAxis(guiController.viewportColumn, viewCols, brick.getxPosition(), brickSize,
+                0, board.getColumns() - viewCols);
+        if (row == guiController.viewportRow && column == guiController.viewportColumn) {
+            return false;
+        }
+        guiController.viewportRow = row;
+        guiController.viewportColumn = column;
+        return true;
+    }
+
+    /**
+     * Computes the new viewport start along one axis.
+     *
+     * @param start the current first visible index
+     * @param length the number of visible cells
+     * @param brickStart the brick's first index
+     * @param brickLength the brick's extent
+     * @param min the lowest allowed start
+     * @param max the highest allowed start
+     * @return the new first visible index
+     */
+    private static int scrollAxis(int start, int length, int brickStart, int brickLength, int min, int max) {
+        int margin = Math.min(SCROLL_MARGIN, Math.max(0, (length - brickLength) / 2));
+        if (brickStart - margin < start) {
+            start = brickStart - margin;
+        } else if (brickStart + brickLength + margin > start + length) {
+            start = brickStart + brickLength + margin - length;
+        }
+        return Math.max(min, Math.min(start, max));
+    }
+
+    /**
+     * Places the floating brick panel over the viewport cell under the brick's origin.
+     *
+     * @param brick The current active brick's view data.
+     */
+    private void positionBrickPanel(ViewData brick) {
+        Point2D origin = gamePanelOriginInRoot();
+        int displayColumn = brick.getxPosition() - guiController.viewportColumn;
+        int displayRow = brick.getyPosition() - guiController.viewportRow;
+        guiController.brickPanel.setLayoutX(origin.getX() + displayColumn * (guiController.brickPanel.getVgap() + BRICK_SIZE));
+        guiController.brickPanel.setLayoutY(origin.getY() + displayRow * (guiController.brickPanel.getHgap() + BRICK_SIZE));
+    }
+
     /**
      * Maps the integer color ID (from model) to a JavaFX Paint object.
      *
@@ -193,24 +325,57 @@ class GuiControllerRenderer {
         rectangle.setArcWidth(0);
 
         // Apply glow effect for non-empty bricks
-        if (color != 0) {
-            javafx.scene.effect.Glow glow = new javafx.scene.effect.Glow();
-            glow.setLevel(0.6);
-            rectangle.setEffect(glow);
+        if (color != 0 && glowEnabled) {
+            rectangle.setEffect(cellGlow);
         } else {
             rectangle.setEffect(null); // Remove effect for transparent bricks
         }
     }
 
+    /**
+     * Turns the per-cell glow on or off and restyles every cell already on screen.
+     *
+     * @param enabled {@code true} to draw the glow on filled cells.
+     */
+    void setGlowEnabled(boolean enabled) {
+        if (glowEnabled == enabled) {
+            return;
+        }
+        glowEnabled = enabled;
+        applyGlow(guiController.displayMatrix);
+        applyGlow(guiController.rectangles);
+        applyGlow(guiController.nextPreview);
+        applyGlow(guiController.holdPreview);
+    }
+
+    /**
+     * Re-applies the current glow setting to a grid of cells, keeping empty cells plain.
+     *
+     * @param cells The cells to restyle; may be {@code null}.
+     */
+    private void applyGlow(Rectangle[][] cells) {
+        if (cells == null) {
+            return;
+        }
+        for (Rectangle[] row : cells) {
+            for (Rectangle cell : row) {
+                if (cell != null) {
+                    boolean filled = cell.getFill() != Color.TRANSPARENT;
+                    cell.setEffect(filled && glowEnabled ? cellGlow : null);
+                }
+            }
+        }
+    }
+
     /**
      * Calculates the row position where the current brick will land (the ghost piece position).
      *
-     * @param brickData The shape of the current brick.
+     * @param brickCells The occupied cells of the current brick.
      * @param x The current column position.
      * @param y The current row position.
      * @return The final row index where the brick will stop.
      */
-    private int calculateDropPosition(int[][] brickData, int x, int y) {
+    private int calculateDropPosition(BrickCells brickCells, int x, int y) {
         if (guiController.currentBoardMatrix == null) return y;
 
         int dropY = y;
@@ -218,12 +383,12 @@ class GuiControllerRenderer {
         while (true) {
             int testY = dropY + 1;
             // Check collision with existing blocks or the floor
-            if (MatrixOperations.intersect(guiController.currentBoardMatrix, brickData, x, testY)) {
+            if (MatrixOperations.intersect(guiController.currentBoardMatrix, brickCells, x, testY)) {
                 break; // Collision found
             }
             dropY = testY;
             // Loop termination safety check
-            if (dropY >= guiController.currentBoardMatrix.length) {
+            if (dropY >= guiController.currentBoardMatrix.getRows()) {
                 break;
             }
         }
@@ -236,12 +401,22 @@ class GuiControllerRenderer {
      * @param brick The current active brick's view data.
      */
     private void updateShadow(ViewData brick) {
+        if (timings == null) {
+            drawShadow(brick);
+            return;
+        }
+        long start = System.nanoTime();
+        drawShadow(brick);
+        timings.updateShadow.add(System.nanoTime() - start);
+    }
+
+    private void drawShadow(ViewData brick) {
         if (guiController.shadowPanel == null || guiController.currentBoardMatrix == null) {
             return;
         }
 
         int[][] brickData = brick.getBrickData();
-        int dropY = calculateDropPosition(brickData, brick.getxPosition(), brick.getyPosition());
+        int dropY = calculateDropPosition(brick.getBrickCells(), brick.getxPosition(), brick.getyPosition());
 
         // Hide shadow if the drop position is the same as the current position or above
         if (dropY <= brick.getyPosition()) {
@@ -292,16 +467,99 @@ class GuiControllerRenderer {
             }
         }
 
-        // Position the shadow panel at the calculated drop location
+        // Position the shadow panel at the calculated drop location; on tall boards
+        // the landing spot can lie below the viewport, in which case it is hidden
+        int displayRow = dropY - guiController.viewportRow;
+        if (guiController.displayMatrix != null && displayRow >= guiController.displayMatrix.length) {
+            guiController.shadowPanel.setVisible(false);
+            return;
+        }
         Point2D origin = gamePanelOriginInRoot();
-        guiController.shadowPanel.setLayoutX(origin.getX() + brick.getxPosition() * guiController.shadowPanel.getVgap() + brick.getxPosition() * BRICK_SIZE);
-        int displayRow = dropY - 2;
+        int displayColumn = brick.getxPosition() - guiController.viewportColumn;
+        guiController.shadowPanel.setLayoutX(origin.getX() + displayColumn * (guiController.shadowPanel.getVgap() + BRICK_SIZE));
         guiController.shadowPanel.setLayoutY(origin.getY() + displayRow * (guiController.shadowPanel.getHgap() + BRICK_SIZE));
 
         // Ensure the shadow remains behind the active brick
         guiController.shadowPanel.toBack();
     }
 
+    /**
+     * Shows the suggested placement as a second ghost, outlined in green so it reads
+     * differently from the drop shadow.
+     *
+     * @param mask 4x4 occupancy mask of the placed piece, bit {@code row * 4 + column}
+     * @param x column of the piece's 4x4 box
+     * @param y row of the piece's 4x4 box
+     */
+    void showHint(int mask, int x, int y) {
+        if (guiController.gameBoard == null || guiController.displayMatrix == null) {
+            return;
+        }
+        if (hintPanel == null) {
+            hintPanel = new GridPane();
+            hintPanel.setHgap(guiController.brickPanel.getHgap());
+            hintPanel.setVgap(guiController.brickPanel.getVgap());
+            hintPanel.setMouseTransparent(true);
+            hintRectangles = new Rectangle[4][4];
+            for (int i = 0; i < 4; i++) {
+                for (int j = 0; j < 4; j++) {
+                    Rectangle hintRect = new Rectangle(BRICK_SIZE, BRICK_SIZE);
+                    hintRect.setFill(Color.rgb(50, 205, 50, 0.25));
+                    hintRect.setStroke(Color.LIMEGREEN);
+                    hintRect.setStrokeWidth(1.5);
+                    hintRectangles[i][j] = hintRect;
+                    hintPanel.add(hintRect, j, i);
+                }
+            }
+        }
+        Pane root = (Pane) guiController.gameBoard.getParent();
+        if (root != null && !root.getChildren().contains(hintPanel)) {
+            root.getChildren().add(hintPanel);
+        }
+        for (int i = 0; i < 4; i++) {
+            for (int j = 0; j < 4; j++) {
+                hintRectangles[i][j].setVisible((mask >>> (i * 4 + j) & 1) != 0);
+            }
+        }
+        hintX = x;
+        hintY = y;
+        hintShown = true;
+        positionHint();
+    }
+
+    /**
+     * Hides the suggested placement.
+     */
+    void hideHint() {
+        hintShown = false;
+        if (hintPanel != null) {
+            hintPanel.setVisible(false);
+        }
+    }
+
+    /**
+     * Places the hint ghost over the viewport, hiding it when the viewport has scrolled
+     * away from it.
+     */
+    private void positionHint() {
+        if (!hintShown || hintPanel == null) {
+            return;
+        }
+        int displayRow = hintY - guiController.viewportRow;
+        int displayColumn = hintX - guiController.viewportColumn;
+        Rectangle[][] cells = guiController.displayMatrix;
+        if (displayRow <= -4 || displayRow >= cells.length || displayColumn <= -4 || displayColumn >= cells[0].length) {
+            hintPanel.setVisible(false);
+            return;
+        }
+        Point2D origin = gamePanelOriginInRoot();
+        hintPanel.setLayoutX(origin.getX() + displayColumn * (hintPanel.getVgap() + BRICK_SIZE));
+        hintPanel.setLayoutY(origin.getY() + displayRow * (hintPanel.getHgap() + BRICK_SIZE));
+        hintPanel.setVisible(true);
+        // Behind the falling brick, like the drop shadow
+        hintPanel.toBack();
+    }
+
     /**
      * Clears and redraws the 'Next Piece' preview panel based on the data provided.
      *
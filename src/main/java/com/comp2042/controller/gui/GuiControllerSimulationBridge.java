@@ -0,0 +1,248 @@
+package com.comp2042.controller.gui;
+
+import javafx.animation.Animation;
+import javafx.animation.AnimationTimer;
+import javafx.animation.Timeline;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import com.comp2042.controller.game.BotInputSource;
+import com.comp2042.controller.game.GameController;
+import com.comp2042.controller.game.GameFrame;
+import com.comp2042.controller.game.GameSimulation;
+import com.comp2042.controller.game.MoveEvent;
+import com.comp2042.model.CellGrid;
+
+import java.util.function.Consumer;
+
+/**
+ * Connects the GUI to a game running on a {@link GameSimulation} thread, enabled with
+ * {@code -Dtetris.simulation.thread=true}.
+ *
+ * Once per pulse the bridge reads the latest frame and pushes whatever changed through
+ * the usual GuiController paths: background, falling brick, score labels, line-clear and
+ * bomb effects, slow motion and game over. The board is copied into a matrix owned by the
+ * FX thread, because the renderer keeps a reference to it between pulses.
+ *
+ * The game's {@code Timeline} is still what pause, resume and slow motion control, but in
+ * this mode its ticks are ignored; the bridge mirrors its running state and period to the
+ * simulation's own gravity clock instead.
+ *
+ * @author COMP2042 Coursework
+ */
+class GuiControllerSimulationBridge {
+
+    /** Whether new games run on a simulation thread. */
+    static final boolean ENABLED = Boolean.getBoolean("tetris.simulation.thread");
+
+    private final GuiController guiController;
+
+    // Published to the score labels through the usual bindings
+    private final IntegerProperty score = new SimpleIntegerProperty();
+    private final IntegerProperty skillPoints = new SimpleIntegerProperty();
+
+    private GameSimulation simulation;
+    private CellGrid displayed;
+    private long backgroundVersion;
+    private long lastSequence;
+    private int gameNumber;
+    private int linesCleared;
+    private long clearSequence;
+    private long boomSequence;
+    private long slowMotionSequence;
+
+    // Inputs the full queue rejected since the simulation was attached; reported once on stop
+    private long droppedInputs;
+
+    // Gravity settings last sent to the simulation
+    private boolean gravityPaused = true;
+    private long gravityNanos;
+
+    private final AnimationTimer pulse = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            onPulse();
+        }
+    };
+
+    /**
+     * Creates a bridge for the given controller.
+     *
+     * @param guiController the controller whose view is driven
+     */
+    GuiControllerSimulationBridge(GuiController guiController) {
+        this.guiController = guiController;
+    }
+
+    /**
+     * @return {@code true} while a simulation is attached
+     */
+    boolean isRunning() {
+        return simulation != null;
+    }
+
+    /**
+     * Creates a new game and builds the board display from its first frame. The game
+     * does not advance until {@link #start()}.
+     */
+    void create() {
+        stop();
+        simulation = new GameSimulation();
+        guiController.gameController = simulation.getController();
+
+        GameFrame frame = simulation.latestFrame();
+        displayed = copyInto(null, frame.getBackground());
+        backgroundVersion = frame.getBackgroundVersion();
+        lastSequence = frame.getSequence();
+        gameNumber = frame.getGameNumber();
+        linesCleared = 0;
+        clearSequence = frame.getClearSequence();
+        boomSequence = frame.getBoomSequence();
+        slowMotionSequence = frame.getSlowMotionSequence();
+        score.set(frame.getScore());
+        skillPoints.set(frame.getSkillPoints());
+
+        guiController.initGameView(displayed, frame.getBrick());
+        guiController.bindScore(score);
+        guiController.bindSkillPoints(skillPoints);
+    }
+
+    /**
+     * Starts the simulation thread and the per-pulse frame reader.
+     */
+    void start() {
+        if (simulation == null) {
+            return;
+        }
+        gravityPaused = true;
+        gravityNanos = 0;
+        mirrorGravity();
+        simulation.start();
+        pulse.start();
+    }
+
+    /**
+     * Stops and detaches the simulation, if any.
+     */
+    void stop() {
+        pulse.stop();
+        if (simulation != null) {
+            simulation.stop();
+            simulation = null;
+        }
+        if (droppedInputs > 0) {
+            System.err.println("Input queue full: dropped " + droppedInputs + " input(s) during the game");
+            droppedInputs = 0;
+        }
+    }
+
+    /**
+     * Queues a player input. An input the full queue rejects is counted, not logged, so
+     * a stalled simulation cannot flood the FX thread with console output.
+     *
+     * @param event the input
+     */
+    void submit(MoveEvent event) {
+        if (!simulation.submit(event)) {
+            droppedInputs++;
+        }
+    }
+
+    /**
+     * Queues an action against the game controller; a rejected action is counted like a
+     * rejected input.
+     *
+     * @param command the action, run on the simulation thread
+     */
+    void submit(Consumer<GameController> command) {
+        if (!simulation.submit(command)) {
+            droppedInputs++;
+        }
+    }
+
+    /**
+     * Queues a piece for a bot to place on the simulation thread; a rejected piece is
+     * counted like a rejected input.
+     *
+     * @param bot the bot, playing through the simulation's controller
+     */
+    void submit(BotInputSource bot) {
+        if (!simulation.submit(bot)) {
+            droppedInputs++;
+        }
+    }
+
+    /**
+     * Queues a restart of the game.
+     */
+    void newGame() {
+        simulation.newGame();
+    }
+
+    private void onPulse() {
+        mirrorGravity();
+        GameFrame frame = simulation.latestFrame();
+        if (frame.getSequence() == lastSequence) {
+            return;
+        }
+        lastSequence = frame.getSequence();
+
+        if (frame.getGameNumber() != gameNumber) {
+            gameNumber = frame.getGameNumber();
+            linesCleared = 0;
+        }
+        if (frame.getBackgroundVersion() != backgroundVersion) {
+            backgroundVersion = frame.getBackgroundVersion();
+            displayed = copyInto(displayed, frame.getBackground());
+            guiController.refreshGameBackground(displayed);
+        }
+        guiController.refreshBrick(frame.getBrick());
+
+        score.set(frame.getScore());
+        skillPoints.set(frame.getSkillPoints());
+        if (frame.getLinesCleared() > linesCleared) {
+            guiController.updateLinesCleared(frame.getLinesCleared() - linesCleared);
+            linesCleared = frame.getLinesCleared();
+        }
+        if (frame.getClearSequence() != clearSequence) {
+            clearSequence = frame.getClearSequence();
+            if (frame.getLastClear() != null) {
+                guiController.showLineClear(frame.getLastClear());
+            }
+        }
+        if (frame.getBoomSequence() != boomSequence) {
+            boomSequence = frame.getBoomSequence();
+            guiController.showBoomEffect(frame.getBoomX(), frame.getBoomY());
+        }
+        if (frame.getSlowMotionSequence() != slowMotionSequence) {
+            slowMotionSequence = frame.getSlowMotionSequence();
+            guiController.applySlowMotion();
+        }
+        if (frame.isGameOver() && !guiController.isGameOver.getValue()) {
+            guiController.gameOver();
+        }
+        // Draw the frame in this pulse rather than the next
+        guiController.flushViewEvents();
+    }
+
+    /**
+     * Sends the timeline's running state and period to the simulation when they change.
+     */
+    private void mirrorGravity() {
+        Timeline timeLine = guiController.timeLine;
+        boolean paused = timeLine == null || timeLine.getStatus() != Animation.Status.RUNNING;
+        long nanos = timeLine != null ? (long) (timeLine.getCycleDuration().toMillis() * 1_000_000) : gravityNanos;
+        if (paused != gravityPaused || nanos != gravityNanos) {
+            gravityPaused = paused;
+            gravityNanos = nanos;
+            simulation.setGravity(paused, nanos);
+        }
+    }
+
+    private static CellGrid copyInto(CellGrid target, CellGrid source) {
+        if (target == null || target.getRows() != source.getRows() || target.getColumns() != source.getColumns()) {
+            return source.copy();
+        }
+        target.copyFrom(source);
+        return target;
+    }
+}
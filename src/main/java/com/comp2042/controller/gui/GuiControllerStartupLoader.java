@@ -0,0 +1,133 @@
+package com.comp2042.controller.gui;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.scene.text.Font;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Splits application startup into a critical path and deferred background work.
+ * The critical path (everything needed to show the main menu) runs inside
+ * {@code GuiController.initialize}; the expensive, non-essential subsystems—the
+ * digital font, the background video and the power-up card sets—are prepared on a
+ * single daemon loader thread and handed back to the JavaFX Application Thread.
+ *
+ * Each phase is timed. Run with {@code -Dtetris.startup.trace=true} to print a
+ * summary once the first frame is on screen and again when deferred loading ends.
+ *
+ * @author COMP2042 Coursework
+ */
+class GuiControllerStartupLoader {
+
+    private static final boolean TRACE = Boolean.getBoolean("tetris.startup.trace");
+
+    private final GuiController guiController;
+    private final long startNanos = System.nanoTime();
+    private final Map<String, Long> phaseNanos = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "startup-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Creates the loader and starts its clock.
+     *
+     * @param guiController the controller whose subsystems are loaded
+     */
+    GuiControllerStartupLoader(GuiController guiController) {
+        this.guiController = guiController;
+    }
+
+    /**
+     * Runs a task and records how long it took under the given phase name.
+     *
+     * @param phase the name reported in the startup trace
+     * @param task the work to time
+     */
+    private void time(String phase, Runnable task) {
+        long start = System.nanoTime();
+        try {
+            task.run();
+        } finally {
+            phaseNanos.put(phase, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Marks the end of the critical path and starts deferred loading.
+     * The time to first frame is captured on the first pulse after this call.
+     *
+     * @param powerUpManager the manager whose card sets are pre-built in the background
+     * @param videoManager the manager that creates the background video
+     */
+    void startDeferredLoading(GuiControllerPowerUpManager powerUpManager, GuiControllerVideoManager videoManager) {
+        phaseNanos.put("critical path", System.nanoTime() - startNanos);
+
+        new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                stop();
+                phaseNanos.put("first frame", System.nanoTime() - startNanos);
+                report("menu visible");
+            }
+        }.start();
+
+        loader.execute(() -> time("font", this::loadFont));
+        loader.execute(() -> time("video", videoManager::setupVideoBackground));
+        loader.execute(() -> time("power-up cards", () -> {
+            GuiControllerPowerUpManager.PowerUpCards cards = powerUpManager.buildPowerUpCards();
+            Platform.runLater(() -> powerUpManager.installPowerUpCards(cards));
+        }));
+        loader.execute(() -> {
+            phaseNanos.put("deferred total", System.nanoTime() - startNanos);
+            report("deferred loading finished");
+            loader.shutdown();
+        });
+    }
+
+    /**
+     * Loads the digital font and re-applies the stylesheets so labels that were styled
+     * before the font existed pick it up.
+     */
+    private void loadFont() {
+        try {
+            URL fontUrl = getClass().getClassLoader().getResource("digital.ttf");
+            if (fontUrl != null && Font.loadFont(fontUrl.toExternalForm(), 38) != null) {
+                Platform.runLater(() -> {
+                    if (guiController.rootStackPane != null) {
+                        List<String> sheets = new ArrayList<>(guiController.rootStackPane.getStylesheets());
+                        guiController.rootStackPane.getStylesheets().setAll(sheets);
+                    }
+                });
+            }
+        } catch (Exception ignored) {}
+    }
+
+    /**
+     * Prints the recorded phase timings when tracing is enabled.
+     *
+     * @param milestone the label for this report line
+     */
+    private void report(String milestone) {
+        if (!TRACE) {
+            return;
+        }
+        StringBuilder line = new StringBuilder("[startup] ").append(milestone).append(':');
+        synchronized (phaseNanos) {
+            for (Map.Entry<String, Long> phase : phaseNanos.entrySet()) {
+                line.append(' ').append(phase.getKey()).append('=')
+                        .append(String.format("%.1f", phase.getValue() / 1_000_000.0)).append("ms");
+            }
+        }
+        System.out.println(line);
+    }
+}
@@ -19,6 +19,10 @@ class GuiControllerVideoManager {
 
     private final GuiController guiController;
 
+    // Whether the video should currently be playing (owned by the quality governor); only
+    // read and written on the FX thread
+    private boolean playbackAllowed = true;
+
     /**
      * Constructs a new GuiControllerVideoManager, establishing a reference
      * to the associated GuiController instance.
@@ -34,6 +38,8 @@ class GuiControllerVideoManager {
      * Loads the "NeonLights.mp4" resource, configures the {@code MediaPlayer} for
      * silent, indefinite looping, and integrates the {@code MediaView} into the
      * root pane, positioned behind all other UI elements.
+     * The media objects are created on the calling thread, so this may be run from the
+     * startup loader; the scene graph is only touched on the JavaFX Application Thread.
      */
     void setupVideoBackground() {
         try {
@@ -41,28 +47,31 @@ class GuiControllerVideoManager {
             URL videoUrl = getClass().getClassLoader().getResource("NeonLights.mp4");
             if (videoUrl != null) {
                 Media media = new Media(videoUrl.toExternalForm());
-                guiController.mediaPlayer = new MediaPlayer(media);
-                guiController.mediaView = new MediaView(guiController.mediaPlayer);
+                MediaPlayer mediaPlayer = new MediaPlayer(media);
+                MediaView mediaView = new MediaView(mediaPlayer);
 
                 // Configure the MediaView properties
-                guiController.mediaView.setPreserveRatio(true);
-                guiController.mediaView.setSmooth(true);
+                mediaView.setPreserveRatio(true);
+                mediaView.setSmooth(true);
 
                 // Configure the MediaPlayer lifecycle and behavior
-                guiController.mediaPlayer.setCycleCount(MediaPlayer.INDEFINITE); // Enable continuous looping
-                guiController.mediaPlayer.setAutoPlay(true);
-                guiController.mediaPlayer.setMute(true); // Suppress audio output
+                mediaPlayer.setCycleCount(MediaPlayer.INDEFINITE); // Enable continuous looping
+                mediaPlayer.setMute(true); // Suppress audio output
 
                 // Execute UI updates on the JavaFX Application Thread
                 Platform.runLater(() -> {
+                    guiController.mediaPlayer = mediaPlayer;
+                    guiController.mediaView = mediaView;
+                    // Read here rather than on the loader, so a change made while loading is kept
+                    setPlaybackAllowed(playbackAllowed);
                     if (guiController.rootStackPane != null) {
                         // Insert the video view at index 0 to ensure it renders as the background layer
-                        guiController.rootStackPane.getChildren().add(0, guiController.mediaView);
+                        guiController.rootStackPane.getChildren().add(0, mediaView);
 
                         // Bind the video's fitted dimensions to the size properties of the root pane
-                        guiController.mediaView.fitWidthProperty().bind(guiController.rootStackPane.widthProperty());
-                        guiController.mediaView.fitHeightProperty().bind(guiController.rootStackPane.heightProperty());
-                        guiController.mediaView.setPreserveRatio(false); // Allow stretching to cover the entire area
+                        mediaView.fitWidthProperty().bind(guiController.rootStackPane.widthProperty());
+                        mediaView.fitHeightProperty().bind(guiController.rootStackPane.heightProperty());
+                        mediaView.setPreserveRatio(false); // Allow stretching to cover the entire area
                     }
                 });
             } else {
@@ -75,4 +84,25 @@ class GuiControllerVideoManager {
             e.printStackTrace();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Pauses or resumes the background video. Used to stop decoding while the video
+     * is hidden behind an overlay or while the frame budget is being exceeded.
+     * Must be called on the JavaFX Application Thread.
+     *
+     * @param allowed {@code true} to let the video play
+     */
+    void setPlaybackAllowed(boolean allowed) {
+        playbackAllowed = allowed;
+        MediaPlayer player = guiController.mediaPlayer;
+        if (player == null) {
+            return;
+        }
+        player.setAutoPlay(allowed);
+        if (allowed) {
+            player.play();
+        } else {
+            player.pause();
+        }
+    }
+}
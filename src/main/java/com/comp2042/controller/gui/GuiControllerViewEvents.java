@@ -0,0 +1,207 @@
+package com.comp2042.controller.gui;
+
+import javafx.animation.AnimationTimer;
+import com.comp2042.model.CellGrid;
+import com.comp2042.model.ViewData;
+import com.comp2042.view.ClearRow;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Per-pulse buffer for the updates the game sends to the view.
+ * A single input can make the game refresh the background, show effects and refresh the
+ * brick several times over, and several inputs can arrive within one frame. Instead of
+ * redrawing on every call, the updates are recorded here: only the newest board and brick
+ * are kept, effects are queued in order, and everything is applied in one pass on the next
+ * pulse. Redraw work is therefore at most one background pass and one brick pass per
+ * frame, however many inputs arrive.
+ *
+ * The pass first publishes the score and skill points, which the game counts in plain
+ * fields, so bound labels change at most once per frame too. It then applies the
+ * background, the queued effects, the brick (which may scroll the viewport and redraws the
+ * ghost against the new background) and the game-over panel. The timer only runs while
+ * something is pending.
+ *
+ * All methods must be called on the JavaFX Application Thread.
+ *
+ * @author COMP2042 Coursework
+ */
+class GuiControllerViewEvents {
+
+    private final GuiController guiController;
+    private final GuiControllerRenderer renderer;
+    private final GuiControllerEffectManager effectManager;
+    private final GuiControllerHintEngine hintEngine;
+
+    // Latest state posted since the last pass; null when unchanged
+    private CellGrid pendingBackground;
+    private ViewData pendingBrick;
+    private boolean pendingGameOver;
+
+    // Effects in the order they were posted
+    private final List<ClearRow> pendingClears = new ArrayList<>();
+    private int[] pendingBooms = new int[8]; // x, y pairs
+    private int pendingBoomCount;
+
+    private boolean scheduled;
+
+    private final AnimationTimer pulse = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            flush();
+        }
+    };
+
+    /**
+     * Creates a buffer that applies its updates through the given helpers.
+     *
+     * @param guiController the controller owning the game-over panel
+     * @param renderer the renderer that draws the board and brick
+     * @param effectManager the effect manager that shows line clears and explosions
+     * @param hintEngine the hint engine told about brick and board changes
+     */
+    GuiControllerViewEvents(GuiController guiController, GuiControllerRenderer renderer,
+                            GuiControllerEffectManager effectManager, GuiControllerHintEngine hintEngine) {
+        this.guiController = guiController;
+        this.renderer = renderer;
+        this.effectManager = effectManager;
+        this.hintEngine = hintEngine;
+    }
+
+    /**
+     * Records a new background; only the latest one posted before the pass is drawn.
+     *
+     * @param board the settled-block matrix
+     */
+    void background(CellGrid board) {
+        pendingBackground = board;
+        schedule();
+    }
+
+    /**
+     * Records a new falling-brick state; only the latest one posted before the pass is drawn.
+     *
+     * @param brick the brick's view data
+     */
+    void brick(ViewData brick) {
+        pendingBrick = brick;
+        schedule();
+    }
+
+    /**
+     * Queues a line-clear burst.
+     *
+     * @param clearRow the rows that were cleared
+     */
+    void lineClear(ClearRow clearRow) {
+        pendingClears.add(clearRow);
+        schedule();
+    }
+
+    /**
+     * Queues a bomb explosion.
+     *
+     * @param gridX column of the explosion center
+     * @param gridY matrix row of the explosion center
+     */
+    void boom(int gridX, int gridY) {
+        if (pendingBoomCount * 2 == pendingBooms.length) {
+            pendingBooms = Arrays.copyOf(pendingBooms, pendingBooms.length * 2);
+        }
+        pendingBooms[pendingBoomCount * 2] = gridX;
+        pendingBooms[pendingBoomCount * 2 + 1] = gridY;
+        pendingBoomCount++;
+        schedule();
+    }
+
+    /**
+     * Requests a pass to publish score or skill points changed without a redraw,
+     * e.g. by a purchase.
+     */
+    void statsChanged() {
+        schedule();
+    }
+
+    /**
+     * Shows the game-over panel on the next pass, unless a new game has started by then.
+     */
+    void gameOver() {
+        pendingGameOver = true;
+        schedule();
+    }
+
+    /**
+     * Applies everything posted since the last pass. Called by the pulse timer, and by the
+     * simulation bridge right after it publishes a frame so the frame is drawn in the same pulse.
+     */
+    void flush() {
+        if (scheduled) {
+            pulse.stop();
+            scheduled = false;
+        }
+
+        guiController.publishStats();
+
+        // The hint engine is told once, after the pass, so one pass starts at most one search
+        boolean boardChanged = false;
+        boolean needHint = false;
+        if (pendingBackground != null) {
+            CellGrid board = pendingBackground;
+            pendingBackground = null;
+            renderer.refreshGameBackground(board);
+            boardChanged = true;
+        }
+
+        for (int i = 0; i < pendingClears.size(); i++) {
+            effectManager.showLineClear(pendingClears.get(i));
+        }
+        pendingClears.clear();
+        for (int i = 0; i < pendingBoomCount; i++) {
+            effectManager.showBoomEffect(pendingBooms[i * 2], pendingBooms[i * 2 + 1]);
+        }
+        pendingBoomCount = 0;
+
+        if (pendingBrick != null) {
+            ViewData brick = pendingBrick;
+            pendingBrick = null;
+            renderer.refreshBrick(brick);
+            needHint = true;
+        }
+        if (boardChanged) {
+            hintEngine.boardChanged();
+        } else if (needHint) {
+            hintEngine.request();
+        }
+
+        if (pendingGameOver) {
+            pendingGameOver = false;
+            if (guiController.isGameOver.getValue()) {
+                guiController.showGameOverPanel();
+            }
+        }
+    }
+
+    /**
+     * Drops everything pending without drawing it, e.g. when leaving the game screen.
+     */
+    void clear() {
+        if (scheduled) {
+            pulse.stop();
+            scheduled = false;
+        }
+        pendingBackground = null;
+        pendingBrick = null;
+        pendingGameOver = false;
+        pendingClears.clear();
+        pendingBoomCount = 0;
+    }
+
+    private void schedule() {
+        if (!scheduled) {
+            scheduled = true;
+            pulse.start();
+        }
+    }
+}
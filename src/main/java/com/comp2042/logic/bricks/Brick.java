@@ -5,4 +5,10 @@ import java.util.List;
 public interface Brick {
 
     List<int[][]> getShapeMatrix();
+
+    /**
+     * @return the occupied cells of each rotation, in the same order as
+     * {@link #getShapeMatrix()}; shared and unmodifiable, so nothing is copied
+     */
+    List<BrickCells> getShapeCells();
 }
@@ -0,0 +1,145 @@
+package com.comp2042.logic.bricks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One rotation of a brick as the list of its occupied cells, so collision, merge and ghost
+ * checks touch only those cells (four for every standard brick) instead of scanning the
+ * whole shape matrix. Each cell is an offset from the shape's top-left corner: {@code dx}
+ * columns right and {@code dy} rows down. The bounding box of the offsets lets a caller
+ * reject positions that leave the board before reading any cell.
+ *
+ * Instances are immutable and built once per rotation, so they can be shared freely.
+ *
+ * @author COMP2042 Coursework
+ */
+public final class BrickCells {
+
+    private final int[] dx;
+    private final int[] dy;
+    private final int color;
+    private final int minDx;
+    private final int maxDx;
+    private final int minDy;
+    private final int maxDy;
+
+    private BrickCells(int[] dx, int[] dy, int color) {
+        this.dx = dx;
+        this.dy = dy;
+        this.color = color;
+        int minX = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE;
+        int minY = Integer.MAX_VALUE, maxY = Integer.MIN_VALUE;
+        for (int i = 0; i < dx.length; i++) {
+            minX = Math.min(minX, dx[i]);
+            maxX = Math.max(maxX, dx[i]);
+            minY = Math.min(minY, dy[i]);
+            maxY = Math.max(maxY, dy[i]);
+        }
+        this.minDx = minX;
+        this.maxDx = maxX;
+        this.minDy = minY;
+        this.maxDy = maxY;
+    }
+
+    /**
+     * Lists the occupied cells of a shape matrix in row-major order.
+     *
+     * @param shape the shape, indexed {@code [row][column]}
+     * @return the cells
+     * @throws IllegalArgumentException if the shape has no occupied cell
+     */
+    public static BrickCells of(int[][] shape) {
+        int count = 0;
+        for (int[] row : shape) {
+            for (int cell : row) {
+                if (cell != 0) {
+                    count++;
+                }
+            }
+        }
+        if (count == 0) {
+            throw new IllegalArgumentException("Shape has no occupied cells");
+        }
+        int[] dx = new int[count];
+        int[] dy = new int[count];
+        int color = 0;
+        int k = 0;
+        for (int r = 0; r < shape.length; r++) {
+            for (int c = 0; c < shape[r].length; c++) {
+                if (shape[r][c] != 0) {
+                    dx[k] = c;
+                    dy[k] = r;
+                    color = shape[r][c];
+                    k++;
+                }
+            }
+        }
+        return new BrickCells(dx, dy, color);
+    }
+
+    /**
+     * Builds the cells of every rotation.
+     *
+     * @param shapes the shape matrices, one per rotation
+     * @return an unmodifiable list in the same order
+     */
+    public static List<BrickCells> listOf(List<int[][]> shapes) {
+        List<BrickCells> cells = new ArrayList<>(shapes.size());
+        for (int[][] shape : shapes) {
+            cells.add(of(shape));
+        }
+        return Collections.unmodifiableList(cells);
+    }
+
+    /**
+     * @return the number of occupied cells
+     */
+    public int size() {
+        return dx.length;
+    }
+
+    /**
+     * @param i index of the cell, in row-major order
+     * @return the cell's column offset
+     */
+    public int getDx(int i) {
+        return dx[i];
+    }
+
+    /**
+     * @param i index of the cell, in row-major order
+     * @return the cell's row offset
+     */
+    public int getDy(int i) {
+        return dy[i];
+    }
+
+    /**
+     * @return the color id of the cells
+     */
+    public int getColor() {
+        return color;
+    }
+
+    /** @return the smallest column offset */
+    public int getMinDx() {
+        return minDx;
+    }
+
+    /** @return the largest column offset */
+    public int getMaxDx() {
+        return maxDx;
+    }
+
+    /** @return the smallest row offset */
+    public int getMinDy() {
+        return minDy;
+    }
+
+    /** @return the largest row offset */
+    public int getMaxDy() {
+        return maxDy;
+    }
+}
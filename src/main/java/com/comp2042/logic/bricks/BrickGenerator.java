@@ -1,8 +1,32 @@
 package com.comp2042.logic.bricks;
 
+import java.nio.ByteBuffer;
+
 public interface BrickGenerator {
 
     Brick getBrick();
 
     Brick getNextBrick();
-}
\ No newline at end of file
+
+    /**
+     * Returns a small stable id for one of the bricks this generator hands out,
+     * or {@code -1} if the brick did not come from this generator.
+     */
+    int getBrickId(Brick brick);
+
+    /**
+     * Returns the brick registered under the given id.
+     */
+    Brick getBrickById(int id);
+
+    /**
+     * Writes the random state and the preview queue so that {@link #readState(ByteBuffer)}
+     * reproduces exactly the same sequence of bricks.
+     */
+    void writeState(ByteBuffer out);
+
+    /**
+     * Restores state previously written by {@link #writeState(ByteBuffer)}.
+     */
+    void readState(ByteBuffer in);
+}
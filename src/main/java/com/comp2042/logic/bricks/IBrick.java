@@ -8,6 +8,7 @@ import java.util.List;
 final class IBrick implements Brick {
 
     private final List<int[][]> brickMatrix = new ArrayList<>();
+    private final List<BrickCells> shapeCells;
 
     public IBrick() {
         brickMatrix.add(new int[][]{
@@ -16,12 +17,25 @@ final class IBrick implements Brick {
                 {0, 0, 0, 0},
                 {0, 0, 0, 0}
         });
+        brickMatrix.add(new int[][]{
+                {0, 0, 1, 0},
+                {0, 0, 1, 0},
+                {0, 0, 1, 0},
+                {0, 0, 1, 0}
+        });
+        brickMatrix.add(new int[][]{
+                {0, 0, 0, 0},
+                {0, 0, 0, 0},
+                {1, 1, 1, 1},
+                {0, 0, 0, 0}
+        });
         brickMatrix.add(new int[][]{
                 {0, 1, 0, 0},
                 {0, 1, 0, 0},
                 {0, 1, 0, 0},
                 {0, 1, 0, 0}
         });
+        shapeCells = BrickCells.listOf(brickMatrix);
     }
 
     @Override
@@ -29,4 +43,9 @@ final class IBrick implements Brick {
         return MatrixOperations.deepCopyList(brickMatrix);
     }
 
+    @Override
+    public List<BrickCells> getShapeCells() {
+        return shapeCells;
+    }
+
 }
\ No newline at end of file
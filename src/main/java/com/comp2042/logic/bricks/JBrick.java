@@ -8,36 +8,43 @@ import java.util.List;
 final class JBrick implements Brick {
 
     private final List<int[][]> brickMatrix = new ArrayList<>();
+    private final List<BrickCells> shapeCells;
 
     public JBrick() {
         brickMatrix.add(new int[][]{
-                {0, 0, 0, 0},
+                {2, 0, 0, 0},
                 {2, 2, 2, 0},
-                {0, 0, 2, 0},
+                {0, 0, 0, 0},
                 {0, 0, 0, 0}
         });
         brickMatrix.add(new int[][]{
-                {0, 0, 0, 0},
                 {0, 2, 2, 0},
                 {0, 2, 0, 0},
-                {0, 2, 0, 0}
+                {0, 2, 0, 0},
+                {0, 0, 0, 0}
         });
         brickMatrix.add(new int[][]{
                 {0, 0, 0, 0},
-                {0, 2, 0, 0},
-                {0, 2, 2, 2},
+                {2, 2, 2, 0},
+                {0, 0, 2, 0},
                 {0, 0, 0, 0}
         });
         brickMatrix.add(new int[][]{
-                {0, 0, 2, 0},
-                {0, 0, 2, 0},
-                {0, 2, 2, 0},
+                {0, 2, 0, 0},
+                {0, 2, 0, 0},
+                {2, 2, 0, 0},
                 {0, 0, 0, 0}
         });
+        shapeCells = BrickCells.listOf(brickMatrix);
     }
 
     @Override
     public List<int[][]> getShapeMatrix() {
         return MatrixOperations.deepCopyList(brickMatrix);
     }
+
+    @Override
+    public List<BrickCells> getShapeCells() {
+        return shapeCells;
+    }
 }
\ No newline at end of file
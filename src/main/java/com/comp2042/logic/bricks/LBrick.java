@@ -8,36 +8,43 @@ import java.util.List;
 final class LBrick implements Brick {
 
     private final List<int[][]> brickMatrix = new ArrayList<>();
+    private final List<BrickCells> shapeCells;
 
     public LBrick() {
         brickMatrix.add(new int[][]{
+                {0, 0, 3, 0},
+                {3, 3, 3, 0},
                 {0, 0, 0, 0},
-                {0, 3, 3, 3},
-                {0, 3, 0, 0},
                 {0, 0, 0, 0}
         });
         brickMatrix.add(new int[][]{
-                {0, 0, 0, 0},
+                {0, 3, 0, 0},
+                {0, 3, 0, 0},
                 {0, 3, 3, 0},
-                {0, 0, 3, 0},
-                {0, 0, 3, 0}
+                {0, 0, 0, 0}
         });
         brickMatrix.add(new int[][]{
                 {0, 0, 0, 0},
-                {0, 0, 3, 0},
                 {3, 3, 3, 0},
+                {3, 0, 0, 0},
                 {0, 0, 0, 0}
         });
         brickMatrix.add(new int[][]{
+                {3, 3, 0, 0},
                 {0, 3, 0, 0},
                 {0, 3, 0, 0},
-                {0, 3, 3, 0},
                 {0, 0, 0, 0}
         });
+        shapeCells = BrickCells.listOf(brickMatrix);
     }
 
     @Override
     public List<int[][]> getShapeMatrix() {
         return MatrixOperations.deepCopyList(brickMatrix);
     }
+
+    @Override
+    public List<BrickCells> getShapeCells() {
+        return shapeCells;
+    }
 }
\ No newline at end of file
@@ -8,14 +8,34 @@ import java.util.List;
 final class OBrick implements Brick {
 
     private final List<int[][]> brickMatrix = new ArrayList<>();
+    private final List<BrickCells> shapeCells;
 
     public OBrick() {
         brickMatrix.add(new int[][]{
+                {0, 4, 4, 0},
+                {0, 4, 4, 0},
                 {0, 0, 0, 0},
+                {0, 0, 0, 0}
+        });
+        brickMatrix.add(new int[][]{
                 {0, 4, 4, 0},
                 {0, 4, 4, 0},
+                {0, 0, 0, 0},
                 {0, 0, 0, 0}
         });
+        brickMatrix.add(new int[][]{
+                {0, 4, 4, 0},
+                {0, 4, 4, 0},
+                {0, 0, 0, 0},
+                {0, 0, 0, 0}
+        });
+        brickMatrix.add(new int[][]{
+                {0, 4, 4, 0},
+                {0, 4, 4, 0},
+                {0, 0, 0, 0},
+                {0, 0, 0, 0}
+        });
+        shapeCells = BrickCells.listOf(brickMatrix);
     }
 
     @Override
@@ -23,4 +43,9 @@ final class OBrick implements Brick {
         return MatrixOperations.deepCopyList(brickMatrix);
     }
 
+    @Override
+    public List<BrickCells> getShapeCells() {
+        return shapeCells;
+    }
+
 }
\ No newline at end of file
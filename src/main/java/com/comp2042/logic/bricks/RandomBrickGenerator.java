@@ -1,5 +1,6 @@
 package com.comp2042.logic.bricks;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Deque;
@@ -12,7 +13,19 @@ public class RandomBrickGenerator implements BrickGenerator {
 
     private final Deque<Brick> nextBricks = new ArrayDeque<>();
 
+    // SplitMix64 state; kept as a plain long so it can be saved and restored
+    private long randomState;
+
     public RandomBrickGenerator() {
+        this(ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Creates a generator whose brick sequence is fully determined by the seed.
+     *
+     * @param seed the initial random state
+     */
+    public RandomBrickGenerator(long seed) {
         brickList = new ArrayList<>();
         brickList.add(new IBrick());
         brickList.add(new JBrick());
@@ -21,14 +34,15 @@ public class RandomBrickGenerator implements BrickGenerator {
         brickList.add(new SBrick());
         brickList.add(new TBrick());
         brickList.add(new ZBrick());
-        nextBricks.add(brickList.get(ThreadLocalRandom.current().nextInt(brickList.size())));
-        nextBricks.add(brickList.get(ThreadLocalRandom.current().nextInt(brickList.size())));
+        randomState = seed;
+        nextBricks.add(brickList.get(nextIndex()));
+        nextBricks.add(brickList.get(nextIndex()));
     }
 
     @Override
     public Brick getBrick() {
         if (nextBricks.size() <= 1) {
-            nextBricks.add(brickList.get(ThreadLocalRandom.current().nextInt(brickList.size())));
+            nextBricks.add(brickList.get(nextIndex()));
         }
         return nextBricks.poll();
     }
@@ -37,4 +51,52 @@ public class RandomBrickGenerator implements BrickGenerator {
     public Brick getNextBrick() {
         return nextBricks.peek();
     }
-}
\ No newline at end of file
+
+    @Override
+    public int getBrickId(Brick brick) {
+        return brickList.indexOf(brick);
+    }
+
+    @Override
+    public Brick getBrickById(int id) {
+        return brickList.get(id);
+    }
+
+    @Override
+    public void writeState(ByteBuffer out) {
+        out.putLong(randomState);
+        out.put((byte) nextBricks.size());
+        for (Brick brick : nextBricks) {
+            out.put((byte) getBrickId(brick));
+        }
+    }
+
+    @Override
+    public void readState(ByteBuffer in) {
+        randomState = in.getLong();
+        int queued = in.get();
+        nextBricks.clear();
+        for (int i = 0; i < queued; i++) {
+            nextBricks.add(getBrickById(in.get()));
+        }
+    }
+
+    /**
+     * Replaces the random state, keeping the bricks already queued, so the bricks after
+     * the preview follow a new sequence.
+     *
+     * @param seed the new random state
+     */
+    public void reseed(long seed) {
+        randomState = seed;
+    }
+
+    private int nextIndex() {
+        randomState += 0x9E3779B97F4A7C15L;
+        long z = randomState;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z = z ^ (z >>> 31);
+        return (int) ((z >>> 1) % brickList.size());
+    }
+}
@@ -8,8 +8,21 @@ import java.util.List;
 final class SBrick implements Brick {
 
     private final List<int[][]> brickMatrix = new ArrayList<>();
+    private final List<BrickCells> shapeCells;
 
     public SBrick() {
+        brickMatrix.add(new int[][]{
+                {0, 5, 5, 0},
+                {5, 5, 0, 0},
+                {0, 0, 0, 0},
+                {0, 0, 0, 0}
+        });
+        brickMatrix.add(new int[][]{
+                {0, 5, 0, 0},
+                {0, 5, 5, 0},
+                {0, 0, 5, 0},
+                {0, 0, 0, 0}
+        });
         brickMatrix.add(new int[][]{
                 {0, 0, 0, 0},
                 {0, 5, 5, 0},
@@ -22,10 +35,16 @@ final class SBrick implements Brick {
                 {0, 5, 0, 0},
                 {0, 0, 0, 0}
         });
+        shapeCells = BrickCells.listOf(brickMatrix);
     }
 
     @Override
     public List<int[][]> getShapeMatrix() {
         return MatrixOperations.deepCopyList(brickMatrix);
     }
+
+    @Override
+    public List<BrickCells> getShapeCells() {
+        return shapeCells;
+    }
 }
\ No newline at end of file
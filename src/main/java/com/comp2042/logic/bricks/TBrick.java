@@ -8,12 +8,13 @@ import java.util.List;
 final class TBrick implements Brick {
 
     private final List<int[][]> brickMatrix = new ArrayList<>();
+    private final List<BrickCells> shapeCells;
 
     public TBrick() {
         brickMatrix.add(new int[][]{
-                {0, 0, 0, 0},
-                {6, 6, 6, 0},
                 {0, 6, 0, 0},
+                {6, 6, 6, 0},
+                {0, 0, 0, 0},
                 {0, 0, 0, 0}
         });
         brickMatrix.add(new int[][]{
@@ -23,9 +24,9 @@ final class TBrick implements Brick {
                 {0, 0, 0, 0}
         });
         brickMatrix.add(new int[][]{
-                {0, 6, 0, 0},
-                {6, 6, 6, 0},
                 {0, 0, 0, 0},
+                {6, 6, 6, 0},
+                {0, 6, 0, 0},
                 {0, 0, 0, 0}
         });
         brickMatrix.add(new int[][]{
@@ -34,10 +35,16 @@ final class TBrick implements Brick {
                 {0, 6, 0, 0},
                 {0, 0, 0, 0}
         });
+        shapeCells = BrickCells.listOf(brickMatrix);
     }
 
     @Override
     public List<int[][]> getShapeMatrix() {
         return MatrixOperations.deepCopyList(brickMatrix);
     }
+
+    @Override
+    public List<BrickCells> getShapeCells() {
+        return shapeCells;
+    }
 }
\ No newline at end of file
@@ -8,8 +8,21 @@ import java.util.List;
 final class ZBrick implements Brick {
 
     private final List<int[][]> brickMatrix = new ArrayList<>();
+    private final List<BrickCells> shapeCells;
 
     public ZBrick() {
+        brickMatrix.add(new int[][]{
+                {7, 7, 0, 0},
+                {0, 7, 7, 0},
+                {0, 0, 0, 0},
+                {0, 0, 0, 0}
+        });
+        brickMatrix.add(new int[][]{
+                {0, 0, 7, 0},
+                {0, 7, 7, 0},
+                {0, 7, 0, 0},
+                {0, 0, 0, 0}
+        });
         brickMatrix.add(new int[][]{
                 {0, 0, 0, 0},
                 {7, 7, 0, 0},
@@ -22,10 +35,16 @@ final class ZBrick implements Brick {
                 {7, 0, 0, 0},
                 {0, 0, 0, 0}
         });
+        shapeCells = BrickCells.listOf(brickMatrix);
     }
 
     @Override
     public List<int[][]> getShapeMatrix() {
         return MatrixOperations.deepCopyList(brickMatrix);
     }
+
+    @Override
+    public List<BrickCells> getShapeCells() {
+        return shapeCells;
+    }
 }
\ No newline at end of file
@@ -19,13 +19,17 @@ public interface Board {
 
     boolean rotateLeftBrick();
 
+    boolean rotateRightBrick();
+
+    boolean rotate180Brick();
+
     boolean hardDropBrick();
 
     boolean holdBrick();
 
     boolean createNewBrick();
 
-    int[][] getBoardMatrix();
+    CellGrid getBoardMatrix();
 
     ViewData getViewData();
 
@@ -2,11 +2,13 @@ package com.comp2042.model;
 
 import com.comp2042.view.NextShapeInfo;
 import com.comp2042.logic.bricks.Brick;
+import com.comp2042.logic.bricks.BrickCells;
 
 public class BrickRotator {
 
     private Brick brick;
     private int currentShape = 0;
+    private int pieceId = 0; // Color id of the brick, which is also its SrsRotation piece id
 
     public NextShapeInfo getNextShape() {
         int nextShape = currentShape;
@@ -14,10 +16,25 @@ public class BrickRotator {
         return new NextShapeInfo(brick.getShapeMatrix().get(nextShape), nextShape);
     }
 
+    public int getPieceId() {
+        return pieceId;
+    }
+
     public int[][] getCurrentShape() {
         return brick.getShapeMatrix().get(currentShape);
     }
 
+    /**
+     * @return the occupied cells of the current rotation; shared, nothing is copied
+     */
+    public BrickCells getCurrentCells() {
+        return brick.getShapeCells().get(currentShape);
+    }
+
+    public int getCurrentShapeIndex() {
+        return currentShape;
+    }
+
     public void setCurrentShape(int currentShape) {
         this.currentShape = currentShape;
     }
@@ -25,6 +42,23 @@ public class BrickRotator {
     public void setBrick(Brick brick) {
         this.brick = brick;
         currentShape = 0;
+        pieceId = pieceIdOf(brick);
+    }
+
+    /**
+     * @param brick a brick
+     * @return its color id, which is also its SrsRotation piece id
+     */
+    static int pieceIdOf(Brick brick) {
+        int id = 0;
+        for (int[] row : brick.getShapeMatrix().get(0)) {
+            for (int cell : row) {
+                if (cell != 0) {
+                    id = cell;
+                }
+            }
+        }
+        return id;
     }
 
     public Brick getBrick() {
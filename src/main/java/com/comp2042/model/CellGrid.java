@@ -0,0 +1,170 @@
+package com.comp2042.model;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * The settled cells of a board, one color id per cell, stored in a single flat
+ * {@code byte[]} in row-major order: cell (row, column) is at {@code row * columns + column}.
+ *
+ * Compared with an {@code int[][]} this is a quarter of the cell data and one array header
+ * instead of one per row, and a board's rows sit next to each other in memory, so scanning
+ * the board walks one contiguous block. Moving rows is a block copy of their cells.
+ *
+ * Reading is public. Changing cells is left to the boards in this package, with the
+ * exception of {@link #copyFrom(CellGrid)}, which lets a consumer keep its own copy up to
+ * date without allocating. A grid handed out by a board is its live state and must be
+ * treated as read-only.
+ *
+ * @author COMP2042 Coursework
+ */
+public final class CellGrid {
+
+    private final int rows;
+    private final int columns;
+    private final byte[] cells;
+
+    /**
+     * Creates an empty grid.
+     *
+     * @param rows number of rows
+     * @param columns number of columns
+     * @throws IllegalArgumentException if either dimension is not positive
+     */
+    public CellGrid(int rows, int columns) {
+        if (rows < 1 || columns < 1) {
+            throw new IllegalArgumentException("Grid must be at least 1x1, got " + rows + "x" + columns);
+        }
+        this.rows = rows;
+        this.columns = columns;
+        this.cells = new byte[rows * columns];
+    }
+
+    /**
+     * @return the number of rows
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * @return the number of columns
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Returns the color id of a cell.
+     *
+     * @param row the row, 0 at the top
+     * @param column the column, 0 at the left
+     * @return the color id, 0 for an empty cell
+     */
+    public int get(int row, int column) {
+        return cells[row * columns + column];
+    }
+
+    /**
+     * Tells whether a position lies on the grid.
+     *
+     * @param row the row
+     * @param column the column
+     * @return {@code true} if both are within bounds
+     */
+    public boolean contains(int row, int column) {
+        return row >= 0 && row < rows && column >= 0 && column < columns;
+    }
+
+    /**
+     * Copies every cell of another grid of the same size into this one.
+     *
+     * @param source the grid to copy
+     * @throws IllegalArgumentException if the sizes differ
+     */
+    public void copyFrom(CellGrid source) {
+        if (source.rows != rows || source.columns != columns) {
+            throw new IllegalArgumentException("Cannot copy a " + source.rows + "x" + source.columns
+                    + " grid into a " + rows + "x" + columns + " grid");
+        }
+        System.arraycopy(source.cells, 0, cells, 0, cells.length);
+    }
+
+    /**
+     * @return an independent grid with the same cells
+     */
+    public CellGrid copy() {
+        CellGrid copy = new CellGrid(rows, columns);
+        System.arraycopy(cells, 0, copy.cells, 0, cells.length);
+        return copy;
+    }
+
+    /**
+     * Copies one row out as {@code int} color ids.
+     *
+     * @param row the row
+     * @return a new array of {@link #getColumns()} entries
+     */
+    public int[] rowToArray(int row) {
+        int[] out = new int[columns];
+        int base = row * columns;
+        for (int c = 0; c < columns; c++) {
+            out[c] = cells[base + c];
+        }
+        return out;
+    }
+
+    /**
+     * Copies the grid out as a matrix indexed {@code [row][column]}.
+     *
+     * @return a new matrix
+     */
+    public int[][] toMatrix() {
+        int[][] matrix = new int[rows][];
+        for (int r = 0; r < rows; r++) {
+            matrix[r] = rowToArray(r);
+        }
+        return matrix;
+    }
+
+    void set(int row, int column, int color) {
+        cells[row * columns + column] = (byte) color;
+    }
+
+    /**
+     * Empties every cell.
+     */
+    void clear() {
+        Arrays.fill(cells, (byte) 0);
+    }
+
+    /**
+     * Empties the rows {@code from} (inclusive) to {@code to} (exclusive).
+     */
+    void clearRows(int from, int to) {
+        Arrays.fill(cells, from * columns, to * columns, (byte) 0);
+    }
+
+    /**
+     * Copies {@code count} rows starting at {@code from} so they start at {@code to};
+     * the ranges may overlap.
+     */
+    void moveRows(int from, int to, int count) {
+        System.arraycopy(cells, from * columns, cells, to * columns, count * columns);
+    }
+
+    /**
+     * Overwrites one row with the given colors.
+     */
+    void setRow(int row, byte[] colors) {
+        System.arraycopy(colors, 0, cells, row * columns, columns);
+    }
+
+    void write(ByteBuffer out) {
+        out.put(cells);
+    }
+
+    void read(ByteBuffer in) {
+        in.get(cells);
+    }
+}
@@ -1,17 +1,17 @@
 package com.comp2042.model;
 
+import com.comp2042.logic.bricks.BrickCells;
 import com.comp2042.view.ClearRow;
 
-import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Deque;
 import java.util.List;
 import java.util.stream.Collectors;
 
 /**
  * Provides static utility methods for performing core matrix manipulation operations,
  * such as collision detection, deep copying, merging, and row removal logic,
- * typically used in grid-based games like Tetris.
+ * typically used in grid-based games like Tetris. Boards are {@link CellGrid}s;
+ * brick shapes stay small {@code int[][]} matrices.
  */
 public class MatrixOperations {
 
@@ -25,23 +25,23 @@ public class MatrixOperations {
 
     /**
      * Determines if a mobile structure (brick) intersects with the stationary
-     * game matrix or the boundary at a given translation (x, y).
+     * game grid or the boundary at a given translation (x, y).
      *
-     * @param matrix The fixed game grid representing placed blocks.
+     * @param grid The fixed game grid representing placed blocks.
      * @param brick The 2D array representing the mobile block's structure.
-     * @param x The column index (x-coordinate) of the top-left corner of the brick within the matrix.
-     * @param y The row index (y-coordinate) of the top-left corner of the brick within the matrix.
+     * @param x The column index (x-coordinate) of the top-left corner of the brick within the grid.
+     * @param y The row index (y-coordinate) of the top-left corner of the brick within the grid.
      * @return {@code true} if any non-zero element of the brick overlaps with a boundary or an
-     * occupied cell in the matrix, {@code false} otherwise.
+     * occupied cell in the grid, {@code false} otherwise.
      */
-    public static boolean intersect(final int[][] matrix, final int[][] brick, int x, int y) {
+    public static boolean intersect(final CellGrid grid, final int[][] brick, int x, int y) {
         for (int i = 0; i < brick.length; i++) {
             for (int j = 0; j < brick[i].length; j++) {
                 int targetX = x + i;
                 int targetY = y + j;
                 // Check if the current brick element is occupied (non-zero) AND
-                // if the target position is out of bounds OR already occupied in the matrix.
-                if (brick[j][i] != 0 && (checkOutOfBound(matrix, targetX, targetY) || matrix[targetY][targetX] != 0)) {
+                // if the target position is out of bounds OR already occupied in the grid.
+                if (brick[j][i] != 0 && (!grid.contains(targetY, targetX) || grid.get(targetY, targetX) != 0)) {
                     return true;
                 }
             }
@@ -50,20 +50,28 @@ public class MatrixOperations {
     }
 
     /**
-     * Checks if a target coordinate (x, y) falls outside the valid bounds of the game matrix.
+     * Determines if a brick, given as its list of occupied cells, intersects with the
+     * stationary game grid or the boundary at a given translation (x, y). Positions whose
+     * bounding box leaves the grid are rejected without reading any cell; otherwise only
+     * the brick's own cells are probed.
      *
-     * @param matrix The 2D game grid.
-     * @param targetX The column index to check.
-     * @param targetY The row index to check.
-     * @return {@code true} if the coordinate is outside the matrix boundaries, {@code false} otherwise.
+     * @param grid The fixed game grid representing placed blocks.
+     * @param brick The occupied cells of the brick's current rotation.
+     * @param x The column of the shape's top-left corner within the grid.
+     * @param y The row of the shape's top-left corner within the grid.
+     * @return {@code true} if any cell of the brick is out of bounds or on an occupied cell.
      */
-    private static boolean checkOutOfBound(int[][] matrix, int targetX, int targetY) {
-        boolean returnValue = true;
-        // Check if targetY is within row bounds AND targetX is within column bounds for that row
-        if (targetX >= 0 && targetY >= 0 && targetY < matrix.length && targetX < matrix[0].length) {
-            returnValue = false;
+    public static boolean intersect(final CellGrid grid, final BrickCells brick, int x, int y) {
+        if (x + brick.getMinDx() < 0 || x + brick.getMaxDx() >= grid.getColumns()
+                || y + brick.getMinDy() < 0 || y + brick.getMaxDy() >= grid.getRows()) {
+            return true;
         }
-        return returnValue;
+        for (int i = 0; i < brick.size(); i++) {
+            if (grid.get(y + brick.getDy(i), x + brick.getDx(i)) != 0) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -85,25 +93,23 @@ public class MatrixOperations {
     }
 
     /**
-     * Merges the structure of a brick into the main game matrix at a specified position.
+     * Merges the structure of a brick into a copy of the game grid at a specified position.
      *
-     * @param filledFields The stationary background matrix.
+     * @param filledFields The stationary background grid.
      * @param brick The mobile block's structure.
      * @param x The column offset for merging.
      * @param y The row offset for merging.
-     * @return A new matrix representing the result of the merge operation.
+     * @return A new grid representing the result of the merge operation.
      */
-    public static int[][] merge(int[][] filledFields, int[][] brick, int x, int y) {
-        int[][] copy = copy(filledFields);
+    public static CellGrid merge(CellGrid filledFields, int[][] brick, int x, int y) {
+        CellGrid copy = filledFields.copy();
         for (int i = 0; i < brick.length; i++) {
             for (int j = 0; j < brick[i].length; j++) {
                 int targetX = x + i;
                 int targetY = y + j;
-                // Check bounds before accessing array and ensure brick element is non-empty
-                if (targetY >= 0 && targetY < copy.length &&
-                        targetX >= 0 && targetX < copy[targetY].length &&
-                        brick[j][i] != 0) {
-                    copy[targetY][targetX] = brick[j][i];
+                // Check bounds before writing and ensure brick element is non-empty
+                if (copy.contains(targetY, targetX) && brick[j][i] != 0) {
+                    copy.set(targetY, targetX, brick[j][i]);
                 }
             }
         }
@@ -111,55 +117,61 @@ public class MatrixOperations {
     }
 
     /**
-     * Analyzes the matrix for completed rows, removes them, and generates the new state
-     * and associated score bonus.
+     * Merges a brick, given as its list of occupied cells, into a copy of the game grid.
      *
-     * @param matrix The current game grid state.
-     * @return A {@code ClearRow} object containing the number of cleared rows, the resulting
-     * matrix after removal, and the calculated score bonus.
+     * @param filledFields The stationary background grid.
+     * @param brick The occupied cells of the brick's current rotation.
+     * @param x The column offset for merging.
+     * @param y The row offset for merging.
+     * @return A new grid representing the result of the merge operation.
      */
-    public static ClearRow checkRemoving(final int[][] matrix) {
-        // Temporary structure to hold rows that are NOT cleared
-        Deque<int[]> newRows = new ArrayDeque<>();
-        List<Integer> clearedRows = new ArrayList<>();
-
-        // Iterate through the matrix from top to bottom
-        for (int i = 0; i < matrix.length; i++) {
-            int[] tmpRow = new int[matrix[i].length];
-            boolean rowToClear = true;
-            // Check if the row is completely filled (no zeros)
-            for (int j = 0; j < matrix[0].length; j++) {
-                if (matrix[i][j] == 0) {
-                    rowToClear = false;
-                }
-                tmpRow[j] = matrix[i][j];
-            }
-            // If the row is filled, record its index; otherwise, queue the row for the new matrix
-            if (rowToClear) {
-                clearedRows.add(i);
-            } else {
-                newRows.add(tmpRow);
+    public static CellGrid merge(CellGrid filledFields, BrickCells brick, int x, int y) {
+        CellGrid copy = filledFields.copy();
+        for (int i = 0; i < brick.size(); i++) {
+            int targetX = x + brick.getDx(i);
+            int targetY = y + brick.getDy(i);
+            if (copy.contains(targetY, targetX)) {
+                copy.set(targetY, targetX, brick.getColor());
             }
         }
+        return copy;
+    }
 
-        // Initialize the resulting matrix with the original dimensions, pre-filled with empty (zero) rows
-        int[][] tmp = new int[matrix.length][matrix[0].length];
-
-        // Fill the new matrix from the bottom up using the queued non-cleared rows.
-        // This effectively moves existing blocks down to fill the gaps created by cleared rows.
-        for (int i = matrix.length - 1; i >= 0; i--) {
-            int[] row = newRows.pollLast();
-            if (row != null) {
-                tmp[i] = row;
+    /**
+     * Analyzes the grid for completed rows, removes them, and generates the new state
+     * and associated score bonus.
+     *
+     * @param grid The current game grid state.
+     * @return A {@code ClearRow} object containing the number of cleared rows, the resulting
+     * grid after removal, and the calculated score bonus.
+     */
+    public static ClearRow checkRemoving(final CellGrid grid) {
+        int rows = grid.getRows();
+        List<Integer> clearedRows = new ArrayList<>();
+        List<int[]> clearedCells = new ArrayList<>();
+        CellGrid tmp = new CellGrid(rows, grid.getColumns());
+
+        // Walk the grid from the bottom up, copying every row that is not full
+        // to the lowest free row of the result; the rows left above stay empty.
+        int write = rows - 1;
+        for (int i = rows - 1; i >= 0; i--) {
+            int[] tmpRow = grid.rowToArray(i);
+            // Check if the row is completely filled (no zeros); vectorized when available
+            if (RowScanner.INSTANCE.isFull(tmpRow)) {
+                clearedRows.add(0, i);
+                clearedCells.add(0, tmpRow);
             } else {
-                // Once the queue is empty, the remaining top rows are left as zeroed (empty)
-                break;
+                for (int c = 0; c < tmpRow.length; c++) {
+                    tmp.set(write, c, tmpRow[c]);
+                }
+                write--;
             }
         }
 
         // Calculate score bonus using a quadratic formula (e.g., 1 row = 50, 4 rows = 50*16 = 800)
         int scoreBonus = 50 * clearedRows.size() * clearedRows.size();
-        return new ClearRow(clearedRows.size(), tmp, scoreBonus);
+        int[] clearedRowIndices = clearedRows.stream().mapToInt(Integer::intValue).toArray();
+        return new ClearRow(clearedRows.size(), tmp, scoreBonus, clearedRowIndices, clearedCells.toArray(new int[0][]));
     }
 
     /**
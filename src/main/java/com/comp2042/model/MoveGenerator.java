@@ -0,0 +1,332 @@
+package com.comp2042.model;
+
+import java.util.Arrays;
+
+/**
+ * Generates every lock position a piece can reach, with the shortest input path to each.
+ *
+ * The search is a breadth-first walk over (x, y, rotation) states from the piece's current
+ * position, applying exactly the board's own moves: one column left or right, one row down
+ * and the three SRS rotations with their kicks. States are tested against the packed
+ * {@link OccupancyGrid} with 4x4 masks and recorded in a visited bitset, so a search
+ * allocates nothing. Because the walk is breadth-first, the first time a lock position is
+ * found its path is a shortest one; tucks and spins are found like any other placement.
+ *
+ * A state is a lock position when the piece cannot move down from it. Orientations that
+ * cover the same cells (the O piece's four states, or I, S and Z states 0 and 2) are
+ * reported once.
+ *
+ * One generator is reused for every piece of a game; it is not thread-safe.
+ *
+ * @author COMP2042 Coursework
+ */
+public final class MoveGenerator {
+
+    /**
+     * Inputs in a path; each maps onto one board call or input event.
+     */
+    public enum Move {
+        LEFT, RIGHT, DOWN, ROTATE_CW, ROTATE_CCW, ROTATE_180, HARD_DROP
+    }
+
+    private static final Move[] MOVES = Move.values();
+    private static final Rotation[] ROTATIONS = {Rotation.CLOCKWISE, Rotation.COUNTER_CLOCKWISE, Rotation.HALF_TURN};
+    private static final Move[] ROTATION_MOVES = {Move.ROTATE_CW, Move.ROTATE_CCW, Move.ROTATE_180};
+
+    // A 4x4 box can hang up to three cells off the left or top edge and still hold blocks
+    private static final int PAD = 3;
+
+    // For each piece and state, the state with the same cells that placements are reported
+    // under, and the box offset between the two
+    static final int[][] CANONICAL_STATE = new int[SrsRotation.PIECE_COUNT + 1][4];
+    static final int[][] CANONICAL_DX = new int[SrsRotation.PIECE_COUNT + 1][4];
+    static final int[][] CANONICAL_DY = new int[SrsRotation.PIECE_COUNT + 1][4];
+
+    static {
+        for (int piece = 1; piece <= SrsRotation.PIECE_COUNT; piece++) {
+            for (int state = 0; state < 4; state++) {
+                int mask = SrsRotation.mask(piece, state);
+                CANONICAL_STATE[piece][state] = state;
+                for (int other = 0; other < state; other++) {
+                    int otherMask = SrsRotation.mask(piece, other);
+                    if (normalize(mask) == normalize(otherMask)) {
+                        CANONICAL_STATE[piece][state] = other;
+                        CANONICAL_DX[piece][state] = minColumn(mask) - minColumn(otherMask);
+                        CANONICAL_DY[piece][state] = minRow(mask) - minRow(otherMask);
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    private final int rows;
+    private final int columns;
+    private final int stride;
+
+    private final long[] visited;
+    private final long[] locked;
+    private final int[] queue;
+    private final int[] parent;
+    private final byte[] move;
+    private final short[] depth;
+
+    private final int[] placements;
+    private int placementCount;
+    private int piece;
+
+    /**
+     * Creates a generator for boards of the given size.
+     *
+     * @param rows number of board rows, including hidden rows
+     * @param columns number of board columns
+     */
+    public MoveGenerator(int rows, int columns) {
+        this.rows = rows;
+        this.columns = columns;
+        this.stride = columns + PAD;
+        int states = (rows + PAD) * stride * 4;
+        visited = new long[(states + 63) >>> 6];
+        locked = new long[(states + 63) >>> 6];
+        queue = new int[states];
+        parent = new int[states];
+        move = new byte[states];
+        depth = new short[states];
+        placements = new int[states];
+    }
+
+    /**
+     * Finds every lock position of the board's falling brick, starting where it is now.
+     *
+     * @param board the board to search
+     * @return the number of distinct lock positions found
+     * @throws IllegalArgumentException if the board is not the size this generator was made for
+     */
+    public int generate(SimpleBoard board) {
+        checkSize(board);
+        return generate(board.getOccupancy(), board.getCurrentPieceId(), board.getCurrentRotation(),
+                board.getCurrentX(), board.getCurrentY());
+    }
+
+    /**
+     * Finds every lock position of a piece on the board's settled blocks, starting from
+     * the given position; use it for the held or next piece.
+     *
+     * @param board the board whose settled blocks are searched
+     * @param pieceId the SRS piece id (1-7)
+     * @param rotation the starting rotation state
+     * @param x the starting column of the 4x4 box
+     * @param y the starting row of the 4x4 box
+     * @return the number of distinct lock positions found
+     * @throws IllegalArgumentException if the board is not the size this generator was made for
+     */
+    public int generate(SimpleBoard board, int pieceId, int rotation, int x, int y) {
+        checkSize(board);
+        return generate(board.getOccupancy(), pieceId, rotation, x, y);
+    }
+
+    private void checkSize(SimpleBoard board) {
+        if (board.getRows() != rows || board.getColumns() != columns) {
+            throw new IllegalArgumentException("Generator is for " + rows + "x" + columns
+                    + " boards, got " + board.getRows() + "x" + board.getColumns());
+        }
+    }
+
+    private int generate(OccupancyGrid grid, int pieceId, int rotation, int x, int y) {
+        piece = pieceId;
+        placementCount = 0;
+        Arrays.fill(visited, 0);
+        Arrays.fill(locked, 0);
+        if (grid.collides(SrsRotation.mask(pieceId, rotation), x, y)) {
+            return 0;
+        }
+
+        int head = 0;
+        int tail = 0;
+        int start = index(x, y, rotation);
+        mark(visited, start);
+        parent[start] = -1;
+        depth[start] = 0;
+        queue[tail++] = start;
+
+        while (head < tail) {
+            int state = queue[head++];
+            int rot = state & 3;
+            int cell = state >>> 2;
+            int sx = cell % stride - PAD;
+            int sy = cell / stride - PAD;
+            int mask = SrsRotation.mask(pieceId, rot);
+
+            // Lock position: the piece rests on something
+            if (grid.collides(mask, sx, sy + 1)) {
+                int key = index(sx + CANONICAL_DX[pieceId][rot], sy + CANONICAL_DY[pieceId][rot],
+                        CANONICAL_STATE[pieceId][rot]);
+                if (!isMarked(locked, key)) {
+                    mark(locked, key);
+                    placements[placementCount++] = state;
+                }
+            } else {
+                tail = visit(state, index(sx, sy + 1, rot), Move.DOWN, tail);
+            }
+            if (!grid.collides(mask, sx - 1, sy)) {
+                tail = visit(state, index(sx - 1, sy, rot), Move.LEFT, tail);
+            }
+            if (!grid.collides(mask, sx + 1, sy)) {
+                tail = visit(state, index(sx + 1, sy, rot), Move.RIGHT, tail);
+            }
+            for (int r = 0; r < ROTATIONS.length; r++) {
+                Rotation rotationMove = ROTATIONS[r];
+                int k = SrsRotation.findKick(grid, pieceId, rot, rotationMove, sx, sy);
+                if (k >= 0) {
+                    int[] kicks = SrsRotation.kicks(pieceId, rot, rotationMove);
+                    tail = visit(state, index(sx + kicks[k], sy + kicks[k + 1], rotationMove.apply(rot)),
+                            ROTATION_MOVES[r], tail);
+                }
+            }
+        }
+        return placementCount;
+    }
+
+    private int visit(int from, int to, Move via, int tail) {
+        if (isMarked(visited, to)) {
+            return tail;
+        }
+        mark(visited, to);
+        parent[to] = from;
+        move[to] = (byte) via.ordinal();
+        depth[to] = (short) (depth[from] + 1);
+        queue[tail] = to;
+        return tail + 1;
+    }
+
+    /**
+     * @return the number of lock positions found by the last search
+     */
+    public int getPlacementCount() {
+        return placementCount;
+    }
+
+    /**
+     * @return the piece id of the last search
+     */
+    public int getPieceId() {
+        return piece;
+    }
+
+    /**
+     * @param i placement index, below {@link #getPlacementCount()}
+     * @return the column of the piece's 4x4 box when it locks
+     */
+    public int getX(int i) {
+        return (placements[i] >>> 2) % stride - PAD;
+    }
+
+    /**
+     * @param i placement index
+     * @return the row of the piece's 4x4 box when it locks
+     */
+    public int getY(int i) {
+        return (placements[i] >>> 2) / stride - PAD;
+    }
+
+    /**
+     * @param i placement index
+     * @return the rotation state when it locks
+     */
+    public int getRotation(int i) {
+        return placements[i] & 3;
+    }
+
+    /**
+     * @param i placement index
+     * @return the 4x4 mask of the locked piece (see {@link SrsRotation#mask})
+     */
+    public int getMask(int i) {
+        return SrsRotation.mask(piece, getRotation(i));
+    }
+
+    /**
+     * @param i placement index
+     * @return the number of inputs in the shortest path, including the final hard drop
+     */
+    public int getPathLength(int i) {
+        return depth[placements[i]] + 1;
+    }
+
+    /**
+     * Rebuilds the shortest input path to a placement. The path ends with a hard drop,
+     * which locks the piece where it rests.
+     *
+     * @param i placement index
+     * @return the inputs to play, in order
+     */
+    public Move[] getPath(int i) {
+        int state = placements[i];
+        Move[] path = new Move[depth[state] + 1];
+        path[path.length - 1] = Move.HARD_DROP;
+        for (int n = path.length - 2; n >= 0; n--) {
+            path[n] = MOVES[move[state]];
+            state = parent[state];
+        }
+        return path;
+    }
+
+    /**
+     * Plays one input of a path on a board.
+     *
+     * @param board the board whose falling brick is moved
+     * @param move the input to play
+     * @return {@code true} if the board accepted the input
+     */
+    public static boolean apply(Board board, Move move) {
+        switch (move) {
+            case LEFT: return board.moveBrickLeft();
+            case RIGHT: return board.moveBrickRight();
+            case DOWN: return board.moveBrickDown();
+            case ROTATE_CW: return board.rotateRightBrick();
+            case ROTATE_CCW: return board.rotateLeftBrick();
+            case ROTATE_180: return board.rotate180Brick();
+            case HARD_DROP: return board.hardDropBrick();
+            default: return false;
+        }
+    }
+
+    private int index(int x, int y, int rotation) {
+        return (((y + PAD) * stride) + (x + PAD)) << 2 | rotation;
+    }
+
+    private static void mark(long[] bits, int i) {
+        bits[i >>> 6] |= 1L << i;
+    }
+
+    private static boolean isMarked(long[] bits, int i) {
+        return (bits[i >>> 6] & (1L << i)) != 0;
+    }
+
+    // Mask shifted so its first occupied row and column are at the top-left
+    private static int normalize(int mask) {
+        int result = 0;
+        int top = minRow(mask);
+        int left = minColumn(mask);
+        for (int bit = 0; bit < 16; bit++) {
+            if ((mask >>> bit & 1) != 0) {
+                result |= 1 << ((bit / 4 - top) * 4 + (bit % 4 - left));
+            }
+        }
+        return result;
+    }
+
+    private static int minRow(int mask) {
+        return Integer.numberOfTrailingZeros(mask) / 4;
+    }
+
+    private static int minColumn(int mask) {
+        int left = 3;
+        for (int bit = 0; bit < 16; bit++) {
+            if ((mask >>> bit & 1) != 0) {
+                left = Math.min(left, bit % 4);
+            }
+        }
+        return left;
+    }
+}
@@ -0,0 +1,218 @@
+package com.comp2042.model;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Packed occupancy bitboard kept alongside the board's color matrix: one bit per cell,
+ * 64 columns per {@code long}. Line detection and column heights run over these words
+ * through {@link RowScanner} instead of over the per-cell colors, so a 200-column
+ * row is four words rather than two hundred cells.
+ *
+ * The words are stored word-major: plane {@code w} holds word {@code w} of every row,
+ * top row first. Boards are at most a few words wide but tens to a thousand rows tall,
+ * so the kernels vectorize across rows, comparing the same word of many rows at once.
+ *
+ * @author COMP2042 Coursework
+ */
+final class OccupancyGrid {
+
+    private final int columns;
+    private final long lastWordMask;
+    private final int rowCount;
+    private final long[][] planes;
+
+    /**
+     * @param rows number of rows
+     * @param columns number of columns
+     */
+    OccupancyGrid(int rows, int columns) {
+        this.columns = columns;
+        int words = (columns + 63) >>> 6;
+        int tailBits = columns & 63;
+        this.lastWordMask = tailBits == 0 ? -1L : (1L << tailBits) - 1;
+        this.rowCount = rows;
+        this.planes = new long[words][rows];
+    }
+
+    void set(int row, int col) {
+        planes[col >>> 6][row] |= 1L << col;
+    }
+
+    void clear(int row, int col) {
+        planes[col >>> 6][row] &= ~(1L << col);
+    }
+
+    void clearAll() {
+        for (long[] plane : planes) {
+            Arrays.fill(plane, 0);
+        }
+    }
+
+    boolean get(int row, int col) {
+        return (planes[col >>> 6][row] & (1L << col)) != 0;
+    }
+
+    /**
+     * Rebuilds every bit from a color grid of the same size.
+     *
+     * @param matrix the color grid; non-zero cells are occupied
+     */
+    void rebuild(CellGrid matrix) {
+        clearAll();
+        for (int r = 0; r < rowCount; r++) {
+            for (int c = 0; c < columns; c++) {
+                if (matrix.get(r, c) != 0) {
+                    planes[c >>> 6][r] |= 1L << c;
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests a 4x4 piece mask (bit {@code row * 4 + col}, see {@link SrsRotation}) placed with
+     * its top-left corner at ({@code x}, {@code y}). Cells outside the board count as blocked.
+     *
+     * @param mask the piece mask
+     * @param x board column of the mask's left edge
+     * @param y board row of the mask's top edge
+     * @return {@code true} if any piece cell is off the board or on an occupied cell
+     */
+    boolean collides(int mask, int x, int y) {
+        for (int r = 0; r < 4; r++) {
+            int bits = (mask >>> (r << 2)) & 0xF;
+            if (bits == 0) continue;
+            int row = y + r;
+            if (row < 0 || row >= rowCount) {
+                return true;
+            }
+            int col = x;
+            if (col < 0) {
+                if (col <= -4 || (bits & ((1 << -col) - 1)) != 0) {
+                    return true;
+                }
+                bits >>>= -col;
+                col = 0;
+            }
+            if (col + 32 - Integer.numberOfLeadingZeros(bits) > columns) {
+                return true;
+            }
+            int word = col >>> 6;
+            int shift = col & 63;
+            if ((planes[word][row] & ((long) bits << shift)) != 0) {
+                return true;
+            }
+            // A mask row can straddle two words
+            if (shift > 60) {
+                long spill = (long) bits >>> (64 - shift);
+                if (spill != 0 && (planes[word + 1][row] & spill) != 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds the full rows among rows {@code top..bottom}.
+     *
+     * @param top first row to check
+     * @param bottom last row to check
+     * @param full receives {@code true} at {@code row - top} for every full row
+     * @return the number of full rows
+     */
+    int findFullRows(int top, int bottom, boolean[] full) {
+        return RowScanner.INSTANCE.findFullRows(planes, lastWordMask, top, bottom + 1, full);
+    }
+
+    /**
+     * Removes the rows flagged in {@code full} (covering rows {@code top..bottom}) and slides
+     * everything above down, the same way {@link SimpleBoard#clearRows()} compacts colors.
+     *
+     * @param top first row of the window
+     * @param bottom last row of the window
+     * @param full which rows of the window are removed
+     */
+    void compact(int top, int bottom, boolean[] full) {
+        for (long[] plane : planes) {
+            int write = bottom;
+            for (int read = bottom; read >= 0; read--) {
+                if (read < top || !full[read - top]) {
+                    plane[write--] = plane[read];
+                }
+            }
+            Arrays.fill(plane, 0, write + 1, 0);
+        }
+    }
+
+    /**
+     * Drops the bottom {@code count} rows and shifts the rest down.
+     *
+     * @param count number of rows to drop
+     */
+    void removeBottomRows(int count) {
+        for (long[] plane : planes) {
+            System.arraycopy(plane, 0, plane, count, rowCount - count);
+            Arrays.fill(plane, 0, count, 0);
+        }
+    }
+
+    /**
+     * @return the first row holding any block, or the row count if the grid is empty
+     */
+    int highestRow() {
+        int highest = rowCount;
+        for (long[] plane : planes) {
+            for (int r = 0; r < highest; r++) {
+                if (plane[r] != 0) {
+                    highest = r;
+                    break;
+                }
+            }
+        }
+        return highest;
+    }
+
+    /**
+     * @return the bytes one row takes in {@link #writeRow(int, ByteBuffer)}: one bit per column
+     */
+    int rowBytes() {
+        return (columns + 7) >>> 3;
+    }
+
+    /**
+     * Writes one row's bits, least significant column first.
+     *
+     * @param row the row index
+     * @param out the destination buffer
+     */
+    void writeRow(int row, ByteBuffer out) {
+        int bytes = rowBytes();
+        for (int b = 0; b < bytes; b++) {
+            out.put((byte) (planes[b >>> 3][row] >>> ((b & 7) << 3)));
+        }
+    }
+
+    /**
+     * Reads one row written by {@link #writeRow(int, ByteBuffer)}.
+     *
+     * @param row the row index
+     * @param in the source buffer
+     */
+    void readRow(int row, ByteBuffer in) {
+        for (long[] plane : planes) {
+            plane[row] = 0;
+        }
+        int bytes = rowBytes();
+        for (int b = 0; b < bytes; b++) {
+            planes[b >>> 3][row] |= (in.get() & 0xFFL) << ((b & 7) << 3);
+        }
+    }
+
+    /**
+     * @param heights receives one height per column (rows from the highest block to the floor)
+     */
+    void columnHeights(int[] heights) {
+        RowScanner.INSTANCE.columnHeights(planes, rowCount, columns, heights);
+    }
+}
@@ -0,0 +1,954 @@
+package com.comp2042.model;
+
+import com.comp2042.logic.bricks.RandomBrickGenerator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Finds a sequence of placements that empties the board completely (a perfect clear)
+ * from a low stack, using the falling piece, the hold slot and a known piece queue.
+ *
+ * The bottom rows of the board form the field, held as one {@code long} with bit
+ * {@code row * columns + column}, counting rows up from the floor. The field height is
+ * the lowest one that covers the stack and leaves a multiple of four empty cells; taller
+ * fields are tried if it has no solution. Placements are the ones {@link MoveGenerator}
+ * would find, with the board's own moves and SRS kicks, so tucks and spins are included,
+ * but they are generated a row of positions at a time: for each rotation state a row of
+ * box columns is one {@code long}, so sliding, dropping and kicking move every position
+ * of a row in a few bit operations. Pieces must lock inside the field, and full rows are
+ * removed as they form.
+ *
+ * States are pruned when the queue cannot supply enough pieces, or when the empty cells
+ * split into regions that whole pieces cannot fill. Empty regions that share a column may
+ * merge once the rows between them clear, so region sizes are only checked per group of
+ * regions linked by shared columns. States proven to have no solution are remembered in
+ * a lossy table of 64-bit state hashes shared by all threads.
+ *
+ * The first levels of the search are split into tasks on a fork/join pool, and the first
+ * solution found stops the rest, so with more than one thread the solution returned can
+ * vary between runs. An instance serves one {@link #solve} call at a time.
+ *
+ * @author COMP2042 Coursework
+ */
+public final class PerfectClearSolver implements AutoCloseable {
+
+    /** Tallest field searched. */
+    public static final int MAX_HEIGHT = 6;
+
+    // Positions tracked around the field: a box can hang three columns off the left edge,
+    // and four rows up it is clear of the field in any rotation, where new pieces enter
+    private static final int LEFT_PAD = 3;
+    private static final int TOP_PAD = 4;
+
+    // Search levels handed out as separate tasks
+    private static final int SPLIT_DEPTH = 2;
+
+    private static final int DEAD_STATE_BITS = 20;
+    private static final int DEADLINE_CHECK_INTERVAL = 256;
+
+    private static final Rotation[] ROTATIONS = {Rotation.CLOCKWISE, Rotation.COUNTER_CLOCKWISE, Rotation.HALF_TURN};
+
+    // Per piece and rotation state: the rows and columns of its cells in the 4x4 box, and
+    // its top row
+    private static final int[][] CELL_ROW = new int[(SrsRotation.PIECE_COUNT + 1) * 4][4];
+    private static final int[][] CELL_COLUMN = new int[(SrsRotation.PIECE_COUNT + 1) * 4][4];
+    private static final int[] TOP_ROW = new int[(SrsRotation.PIECE_COUNT + 1) * 4];
+
+    // Per rotation state and turn the state turned to; per piece, state and turn the kicks to try
+    private static final int[] TURNED = new int[4 * ROTATIONS.length];
+    private static final int[][] KICKS = new int[(SrsRotation.PIECE_COUNT + 1) * 4 * ROTATIONS.length][];
+
+    static {
+        for (int piece = 1; piece <= SrsRotation.PIECE_COUNT; piece++) {
+            for (int rot = 0; rot < 4; rot++) {
+                int shape = piece * 4 + rot;
+                int mask = SrsRotation.mask(piece, rot);
+                TOP_ROW[shape] = Integer.numberOfTrailingZeros(mask) >>> 2;
+                for (int i = 0; i < 4; i++, mask &= mask - 1) {
+                    int bit = Integer.numberOfTrailingZeros(mask);
+                    CELL_ROW[shape][i] = bit >>> 2;
+                    CELL_COLUMN[shape][i] = bit & 3;
+                }
+            }
+        }
+        for (int rot = 0; rot < 4; rot++) {
+            for (int r = 0; r < ROTATIONS.length; r++) {
+                TURNED[rot * ROTATIONS.length + r] = ROTATIONS[r].apply(rot);
+                for (int piece = 1; piece <= SrsRotation.PIECE_COUNT; piece++) {
+                    KICKS[(piece * 4 + rot) * ROTATIONS.length + r] = SrsRotation.kicks(piece, rot, ROTATIONS[r]);
+                }
+            }
+        }
+    }
+
+    /**
+     * One placement of a solution.
+     */
+    public static final class Placement {
+        private final int pieceId;
+        private final int rotation;
+        private final int x;
+        private final int y;
+        private final boolean hold;
+
+        private Placement(int pieceId, int rotation, int x, int y, boolean hold) {
+            this.pieceId = pieceId;
+            this.rotation = rotation;
+            this.x = x;
+            this.y = y;
+            this.hold = hold;
+        }
+
+        /**
+         * @return the SRS piece id placed
+         */
+        public int getPieceId() {
+            return pieceId;
+        }
+
+        /**
+         * @return the rotation state it locks in
+         */
+        public int getRotation() {
+            return rotation;
+        }
+
+        /**
+         * @return the board column of its 4x4 box
+         */
+        public int getX() {
+            return x;
+        }
+
+        /**
+         * @return the board row of its 4x4 box, with the rows cleared by earlier placements removed
+         */
+        public int getY() {
+            return y;
+        }
+
+        /**
+         * @return {@code true} if the falling piece is swapped with the hold slot first
+         */
+        public boolean isHold() {
+            return hold;
+        }
+
+        /**
+         * @return the 4x4 occupancy mask, bit {@code row * 4 + column}
+         */
+        public int getMask() {
+            return SrsRotation.mask(pieceId, rotation);
+        }
+    }
+
+    /**
+     * A sequence of placements that ends with an empty board.
+     */
+    public static final class Solution {
+        private final List<Placement> placements;
+        private final int height;
+        private final long states;
+
+        private Solution(List<Placement> placements, int height, long states) {
+            this.placements = placements;
+            this.height = height;
+            this.states = states;
+        }
+
+        /**
+         * @return the placements in the order they are played
+         */
+        public List<Placement> getPlacements() {
+            return placements;
+        }
+
+        /**
+         * @return the number of bottom rows the solution fills and clears
+         */
+        public int getHeight() {
+            return height;
+        }
+
+        /**
+         * @return the number of states searched for this height
+         */
+        public long getSearchedStates() {
+            return states;
+        }
+    }
+
+    private final int rows;
+    private final int columns;
+    private final int maxHeight;
+    private final int maxPieces;
+    private final int stride;
+    private final int spawnX;
+    private final long rowMask;
+    private final long walls; // A field row as seen from the box columns: walls set, cells from bit LEFT_PAD
+    private final long positionMask; // Every box column
+    private final long notFirstColumn;
+    private final long notLastColumn;
+
+    // cells[height][piece * 4 + rotation][position]: the piece's field bits at a position
+    // inside the walls and above the floor
+    private final long[][][] cells;
+    private final int[] entryY;
+
+    // Per piece and rotation state, the offset from a lock position to the one with the
+    // same cells that it is reported under (see MoveGenerator)
+    private final int[] canonicalOffset = new int[(SrsRotation.PIECE_COUNT + 1) * 4];
+
+    private final ForkJoinPool pool;
+    private final ThreadLocal<Search> searches;
+    private final AtomicLongArray deadStates = new AtomicLongArray(1 << DEAD_STATE_BITS);
+    private long solveCount;
+
+    /**
+     * Creates a solver for boards of the given size.
+     *
+     * @param rows number of board rows, including hidden rows
+     * @param columns number of board columns
+     * @param parallelism number of search threads
+     * @throws IllegalArgumentException if the parallelism is not positive
+     */
+    public PerfectClearSolver(int rows, int columns, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive, got " + parallelism);
+        }
+        this.rows = rows;
+        this.columns = columns;
+        // The field must fit in 63 bits and leave the spawn rows above it, and a row of box
+        // columns with its walls in one long
+        maxHeight = columns + LEFT_PAD + 3 > 64 ? 0
+                : Math.max(0, Math.min(MAX_HEIGHT, Math.min(63 / columns, rows - SimpleBoard.HIDDEN_ROWS - 1)));
+        maxPieces = maxHeight * columns / 4 + 1;
+        stride = columns + LEFT_PAD;
+        spawnX = (columns - 3) / 2;
+
+        rowMask = (1L << columns) - 1;
+        walls = ((1L << LEFT_PAD) - 1) | (-1L << (columns + LEFT_PAD));
+        positionMask = (1L << stride) - 1;
+        long firstColumn = 0;
+        for (int r = 0; r * columns < 63; r++) {
+            firstColumn |= 1L << (r * columns);
+        }
+        notFirstColumn = ~firstColumn;
+        notLastColumn = ~(firstColumn << (columns - 1));
+
+        for (int piece = 1; piece <= SrsRotation.PIECE_COUNT; piece++) {
+            for (int rot = 0; rot < 4; rot++) {
+                int offset = MoveGenerator.CANONICAL_DY[piece][rot] * stride + MoveGenerator.CANONICAL_DX[piece][rot];
+                canonicalOffset[piece * 4 + rot] = offset * 4 + MoveGenerator.CANONICAL_STATE[piece][rot] - rot;
+            }
+        }
+
+        cells = new long[maxHeight + 1][][];
+        entryY = new int[maxHeight + 1];
+        for (int h = 1; h <= maxHeight; h++) {
+            cells[h] = buildCells(h);
+            entryY[h] = Math.max(-TOP_PAD, SimpleBoard.HIDDEN_ROWS - 1 - (rows - h));
+        }
+
+        pool = new ForkJoinPool(parallelism);
+        searches = ThreadLocal.withInitial(() -> new Search(maxPieces));
+    }
+
+    private long[][] buildCells(int h) {
+        int positions = (h + TOP_PAD) * stride;
+        long[][] table = new long[(SrsRotation.PIECE_COUNT + 1) * 4][positions];
+        for (int piece = 1; piece <= SrsRotation.PIECE_COUNT; piece++) {
+            for (int rot = 0; rot < 4; rot++) {
+                int mask = SrsRotation.mask(piece, rot);
+                long[] entries = table[piece * 4 + rot];
+                for (int pos = 0; pos < positions; pos++) {
+                    int x = pos % stride - LEFT_PAD;
+                    int y = pos / stride - TOP_PAD;
+                    long bits = 0;
+                    for (int bit = 0; bit < 16; bit++) {
+                        if ((mask >>> bit & 1) == 0) {
+                            continue;
+                        }
+                        int column = x + (bit & 3);
+                        int row = y + (bit >>> 2); // Rows down from the top of the field
+                        if (row >= 0 && row < h && column >= 0 && column < columns) {
+                            bits |= 1L << ((h - 1 - row) * columns + column);
+                        }
+                    }
+                    entries[pos] = bits;
+                }
+            }
+        }
+        return table;
+    }
+
+    /**
+     * @return the tallest field this solver searches on its board size; 0 if the board
+     * is too wide for any
+     */
+    public int getMaxHeight() {
+        return maxHeight;
+    }
+
+    /**
+     * Searches for a perfect clear using only the pieces the player can see: the falling
+     * piece, the hold slot and the preview piece.
+     *
+     * @param board the board to solve
+     * @param timeoutMillis time budget per field height
+     * @return a solution, or {@code null} if none was found
+     * @throws IllegalArgumentException if the board is not the size this solver was made for
+     */
+    public Solution solve(SimpleBoard board, long timeoutMillis) {
+        return solve(board, new int[]{board.getNextPieceId()}, timeoutMillis);
+    }
+
+    /**
+     * Searches for a perfect clear of the board, starting from the falling piece where it
+     * is now. The search gives up when the calling thread is interrupted.
+     *
+     * @param board the board to solve
+     * @param upcoming the SRS ids of the pieces after the falling one, preview piece first
+     * @param timeoutMillis time budget per field height
+     * @return a solution, or {@code null} if none was found
+     * @throws IllegalArgumentException if the board is not the size this solver was made
+     * for, or a piece id is out of range
+     */
+    public Solution solve(SimpleBoard board, int[] upcoming, long timeoutMillis) {
+        if (board.getRows() != rows || board.getColumns() != columns) {
+            throw new IllegalArgumentException("Solver is for " + rows + "x" + columns
+                    + " boards, got " + board.getRows() + "x" + board.getColumns());
+        }
+        int[] queue = new int[upcoming.length + 1];
+        queue[0] = board.getCurrentPieceId();
+        for (int i = 0; i < upcoming.length; i++) {
+            if (upcoming[i] < 1 || upcoming[i] > SrsRotation.PIECE_COUNT) {
+                throw new IllegalArgumentException("Piece ids are 1-" + SrsRotation.PIECE_COUNT + ", got " + upcoming[i]);
+            }
+            queue[i + 1] = upcoming[i];
+        }
+        if (maxHeight == 0) {
+            return null;
+        }
+
+        OccupancyGrid grid = board.getOccupancy();
+        long field = 0;
+        int stackHeight = 0;
+        for (int r = 0; r < rows; r++) {
+            int boardRow = rows - 1 - r;
+            for (int c = 0; c < columns; c++) {
+                if (grid.get(boardRow, c)) {
+                    if (r >= maxHeight) {
+                        return null;
+                    }
+                    field |= 1L << (r * columns + c);
+                    stackHeight = r + 1;
+                }
+            }
+        }
+
+        int filled = Long.bitCount(field);
+        for (int h = Math.max(stackHeight, 1); h <= maxHeight; h++) {
+            int empty = h * columns - filled;
+            if (empty % 4 != 0) {
+                continue;
+            }
+            if (empty / 4 > queue.length) {
+                break;
+            }
+            if (!fillable(field, h)) {
+                continue;
+            }
+            int startY = Math.max(board.getCurrentY() - (rows - h), -TOP_PAD);
+            int start = state(board.getCurrentX(), startY, board.getCurrentRotation());
+            Job job = new Job(queue, h, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis));
+            ForkJoinTask<Void> task = pool.submit(new Branch(job, field, h, 0, board.getHeldPieceId(),
+                    board.isHoldAvailable(), start, 0, null));
+            try {
+                task.get();
+            } catch (InterruptedException e) {
+                job.stop = true;
+                Thread.currentThread().interrupt();
+                return null;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Perfect-clear search failed", e.getCause());
+            }
+            Solution solution = job.result.get();
+            if (solution != null) {
+                return solution;
+            }
+            if (job.stop) {
+                return null; // Out of time
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Shuts down the search threads.
+     */
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Searches for an opening perfect clear on an empty 25 x 10 board for each of a range
+     * of seeded piece sequences, with the whole queue known, and prints each solution.
+     * The number of sequences, first seed, threads and time budget per field height come
+     * from the {@code tetris.pc.seeds}, {@code tetris.pc.seed}, {@code tetris.pc.threads}
+     * and {@code tetris.pc.timeoutMillis} system properties.
+     *
+     * @param args unused
+     */
+    public static void main(String[] args) {
+        int seeds = Integer.getInteger("tetris.pc.seeds", 20);
+        long firstSeed = Long.getLong("tetris.pc.seed", 1);
+        int threads = Integer.getInteger("tetris.pc.threads", Runtime.getRuntime().availableProcessors());
+        long timeoutMillis = Long.getLong("tetris.pc.timeoutMillis", 2000);
+
+        int solved = 0;
+        long start = System.nanoTime();
+        try (PerfectClearSolver solver = new PerfectClearSolver(25, 10, threads)) {
+            for (long seed = firstSeed; seed < firstSeed + seeds; seed++) {
+                SimpleBoard board = new SimpleBoard(25, 10, new RandomBrickGenerator(seed));
+                board.createNewBrick();
+                long solveStart = System.nanoTime();
+                Solution solution = solver.solve(board, upcomingPieces(seed, solver.maxPieces), timeoutMillis);
+                double millis = (System.nanoTime() - solveStart) / 1_000_000.0;
+                if (solution == null) {
+                    System.out.printf("[pc] seed %d: none found in %.0fms%n", seed, millis);
+                    continue;
+                }
+                solved++;
+                StringBuilder line = new StringBuilder();
+                for (Placement p : solution.getPlacements()) {
+                    line.append(' ').append(p.isHold() ? "hold," : "").append(p.getPieceId()).append('/')
+                            .append(p.getRotation()).append('@').append(p.getX()).append(',').append(p.getY());
+                }
+                System.out.printf("[pc] seed %d: %d rows, %d pieces, %d states, %.0fms:%s%n", seed,
+                        solution.getHeight(), solution.getPlacements().size(), solution.getSearchedStates(),
+                        millis, line);
+            }
+        }
+        System.out.printf("[pc] %d of %d sequences solved in %.1fs on %d threads%n", solved, seeds,
+                (System.nanoTime() - start) / 1_000_000_000.0, threads);
+    }
+
+    /**
+     * Returns the pieces a fresh board with a {@link RandomBrickGenerator} of the given
+     * seed deals after its first falling piece.
+     *
+     * @param seed the generator's seed
+     * @param count the number of pieces
+     * @return their SRS ids, in order
+     */
+    static int[] upcomingPieces(long seed, int count) {
+        RandomBrickGenerator generator = new RandomBrickGenerator(seed);
+        generator.getBrick(); // The first falling piece
+        int[] ids = new int[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = BrickRotator.pieceIdOf(generator.getBrick());
+        }
+        return ids;
+    }
+
+    private int state(int x, int y, int rotation) {
+        return ((y + TOP_PAD) * stride + x + LEFT_PAD) << 2 | rotation;
+    }
+
+    /**
+     * Removes full rows, moving the rows above them down.
+     */
+    private long clearLines(long field, int h) {
+        long result = 0;
+        int kept = 0;
+        for (int r = 0; r < h; r++) {
+            long row = (field >>> (r * columns)) & rowMask;
+            if (row != rowMask) {
+                result |= row << (kept * columns);
+                kept++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks that every group of empty regions linked by shared columns holds a multiple
+     * of four cells; otherwise whole pieces can never fill the field.
+     */
+    private boolean fillable(long field, int h) {
+        long remaining = ~field & ((1L << (h * columns)) - 1);
+        long[] groupColumns = null;
+        int[] groupSizes = null;
+        int groups = 0;
+        while (remaining != 0) {
+            long region = remaining & -remaining;
+            long previous;
+            do {
+                previous = region;
+                region |= ((region << 1) & notFirstColumn) | ((region >>> 1) & notLastColumn)
+                        | (region << columns) | (region >>> columns);
+                region &= remaining;
+            } while (region != previous);
+            remaining &= ~region;
+
+            long regionColumns = 0;
+            for (long bits = region; bits != 0; bits >>>= columns) {
+                regionColumns |= bits & rowMask;
+            }
+            int size = Long.bitCount(region);
+            if (remaining == 0 && groups == 0) {
+                return size % 4 == 0; // One region, the usual case
+            }
+            if (groupColumns == null) {
+                groupColumns = new long[h * columns];
+                groupSizes = new int[h * columns];
+            }
+            for (int g = 0; g < groups; ) {
+                if ((groupColumns[g] & regionColumns) != 0) {
+                    regionColumns |= groupColumns[g];
+                    size += groupSizes[g];
+                    groups--;
+                    groupColumns[g] = groupColumns[groups];
+                    groupSizes[g] = groupSizes[groups];
+                    g = 0;
+                } else {
+                    g++;
+                }
+            }
+            groupColumns[groups] = regionColumns;
+            groupSizes[groups++] = size;
+        }
+        for (int g = 0; g < groups; g++) {
+            if (groupSizes[g] % 4 != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Extends each reached position along its run of free positions in a row, both ways.
+     */
+    private static long slide(long reached, long open) {
+        long up = (((open + reached) ^ open) & open) | reached;
+        long down = reached;
+        long through = open;
+        down |= through & (down >>> 1);
+        through &= through >>> 1;
+        down |= through & (down >>> 2);
+        through &= through >>> 2;
+        down |= through & (down >>> 4);
+        through &= through >>> 4;
+        down |= through & (down >>> 8);
+        through &= through >>> 8;
+        down |= through & (down >>> 16);
+        through &= through >>> 16;
+        down |= through & (down >>> 32);
+        return up | down;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * State shared by the tasks of one search.
+     */
+    private final class Job {
+        final int[] queue;
+        final int height;
+        final long deadline;
+        final long salt; // Keeps dead states of earlier searches from matching
+        final AtomicReference<Solution> result = new AtomicReference<>();
+        final LongAdder states = new LongAdder();
+        volatile boolean stop;
+
+        Job(int[] queue, int height, long deadline) {
+            this.queue = queue;
+            this.height = height;
+            this.deadline = deadline;
+            this.salt = mix(++solveCount * 0x9E3779B97F4A7C15L);
+        }
+
+        long deadKey(long field, int h, int next, int hold) {
+            long key = mix(mix(field) ^ (h | next << 3 | hold << 9) ^ salt);
+            return key != 0 ? key : 1;
+        }
+
+        boolean isDead(long key) {
+            return deadStates.get((int) (key >>> (64 - DEAD_STATE_BITS))) == key;
+        }
+
+        void markDead(long key) {
+            deadStates.set((int) (key >>> (64 - DEAD_STATE_BITS)), key);
+        }
+
+        void solved(Step prefix, Search search, int levels) {
+            List<Placement> placements = new ArrayList<>();
+            for (Step step = prefix; step != null; step = step.previous) {
+                placements.add(placement(step.piece, step.state, step.height, step.hold));
+            }
+            Collections.reverse(placements);
+            for (int i = 0; i <= levels; i++) {
+                placements.add(placement(search.pathPiece[i], search.pathState[i], search.pathHeight[i],
+                        search.pathHold[i]));
+            }
+            if (result.compareAndSet(null, new Solution(Collections.unmodifiableList(placements), height, states.sum()))) {
+                stop = true;
+            }
+        }
+
+        private Placement placement(int piece, int state, int h, boolean hold) {
+            int pos = state >>> 2;
+            return new Placement(piece, state & 3, pos % stride - LEFT_PAD, rows - h + pos / stride - TOP_PAD, hold);
+        }
+    }
+
+    /**
+     * A placement made by a split level, linked to the ones before it.
+     */
+    private static final class Step {
+        final Step previous;
+        final int piece;
+        final int state;
+        final int height;
+        final boolean hold;
+
+        Step(Step previous, int piece, int state, int height, boolean hold) {
+            this.previous = previous;
+            this.piece = piece;
+            this.state = state;
+            this.height = height;
+            this.hold = hold;
+        }
+    }
+
+    /**
+     * A subtree of the search. Above {@link #SPLIT_DEPTH} it expands one level into child
+     * tasks; below it searches its subtree on the current thread. Tasks are never
+     * serialized, although ForkJoinTask is Serializable.
+     */
+    @SuppressWarnings("serial")
+    private final class Branch extends RecursiveAction {
+        private final Job job;
+        private final long field;
+        private final int height;
+        private final int next;
+        private final int hold;
+        private final boolean canHold;
+        private final int start;
+        private final int depth;
+        private final Step path;
+
+        Branch(Job job, long field, int height, int next, int hold, boolean canHold, int start, int depth, Step path) {
+            this.job = job;
+            this.field = field;
+            this.height = height;
+            this.next = next;
+            this.hold = hold;
+            this.canHold = canHold;
+            this.start = start;
+            this.depth = depth;
+            this.path = path;
+        }
+
+        @Override
+        protected void compute() {
+            if (job.stop) {
+                return;
+            }
+            if (depth < SPLIT_DEPTH) {
+                List<Branch> children = new ArrayList<>();
+                new Search(1).search(job, field, height, next, hold, canHold, start, 0, path, children, depth);
+                invokeAll(children);
+            } else {
+                searches.get().search(job, field, height, next, hold, canHold, start, 0, path, null, depth);
+            }
+        }
+    }
+
+    /**
+     * Scratch space for a depth-first search on one thread: the move generation rows and,
+     * per level, the placements found and the one being tried.
+     */
+    private final class Search {
+        // Per rotation state and tracked row, bit LEFT_PAD + x for each box column x:
+        // positions clear of walls and blocks, positions reached, and positions turned from
+        private final long[] free;
+        private final long[] reach;
+        private final long[] turned;
+        private final long[] fieldRows; // Field rows as seen from the box columns, by tracked row
+        private final int[] locked;
+        private int stamp;
+        private int checks;
+
+        private final long[][] placedBits;
+        private final int[][] placedState;
+
+        final int[] pathPiece;
+        final int[] pathState;
+        final int[] pathHeight;
+        final boolean[] pathHold;
+
+        Search(int levels) {
+            int trackedRows = maxHeight + TOP_PAD;
+            int states = trackedRows * stride * 4;
+            free = new long[4 * trackedRows];
+            reach = new long[4 * trackedRows];
+            turned = new long[4 * trackedRows];
+            fieldRows = new long[trackedRows + 4];
+            locked = new int[states];
+            placedBits = new long[levels][states];
+            placedState = new int[levels][states];
+            pathPiece = new int[levels];
+            pathState = new int[levels];
+            pathHeight = new int[levels];
+            pathHold = new boolean[levels];
+        }
+
+        /**
+         * Tries every placement of the current piece and of the hold option. With
+         * {@code children} set, the resulting states are collected as tasks instead of
+         * searched.
+         *
+         * @param start starting state of the current piece, or -1 to enter from above
+         * @return {@code true} if a solution was found and published
+         */
+        boolean search(Job job, long field, int h, int next, int hold, boolean canHold, int start,
+                       int level, Step prefix, List<Branch> children, int depth) {
+            if (job.stop) {
+                return false;
+            }
+            if ((++checks & (DEADLINE_CHECK_INTERVAL - 1)) == 0 && System.nanoTime() - job.deadline > 0) {
+                job.stop = true;
+                return false;
+            }
+            job.states.increment();
+            int[] queue = job.queue;
+            // Only states entered from above can be shared, and only whole subtrees proven
+            long key = children == null && start < 0 && canHold ? job.deadKey(field, h, next, hold) : 0;
+            if (key != 0 && job.isDead(key)) {
+                return false;
+            }
+
+            int current = queue[next];
+            for (int option = 0; option < 2; option++) {
+                int piece = current;
+                int nextAfter = next + 1;
+                int holdAfter = hold;
+                int from = start;
+                if (option == 1) {
+                    if (!canHold || hold == current) {
+                        break;
+                    }
+                    holdAfter = current;
+                    from = -1;
+                    if (hold != 0) {
+                        piece = hold;
+                    } else if (next + 1 < queue.length) {
+                        piece = queue[next + 1];
+                        nextAfter = next + 2;
+                    } else {
+                        break;
+                    }
+                }
+
+                int count = generate(level, piece, field, h, from);
+                long[] bits = placedBits[level];
+                for (int i = 0; i < count; i++) {
+                    long merged = field | bits[i];
+                    long after = clearLines(merged, h);
+                    int afterHeight = h - (Long.bitCount(merged) - Long.bitCount(after)) / columns;
+                    pathPiece[level] = piece;
+                    pathState[level] = placedState[level][i];
+                    pathHeight[level] = h;
+                    pathHold[level] = option == 1;
+                    if (after == 0) {
+                        job.solved(prefix, this, level);
+                        return true;
+                    }
+                    int remaining = queue.length - nextAfter;
+                    if (afterHeight * columns - Long.bitCount(after) > remaining * 4 || !fillable(after, afterHeight)) {
+                        continue;
+                    }
+                    if (children != null) {
+                        children.add(new Branch(job, after, afterHeight, nextAfter, holdAfter, true, -1, depth + 1,
+                                new Step(prefix, piece, placedState[level][i], h, option == 1)));
+                        continue;
+                    }
+                    if (search(job, after, afterHeight, nextAfter, holdAfter, true, -1, level + 1, prefix, null, depth + 1)) {
+                        return true;
+                    }
+                    if (job.stop) {
+                        return false;
+                    }
+                }
+            }
+            if (key != 0) {
+                job.markDead(key);
+            }
+            return false;
+        }
+
+        /**
+         * Finds every reachable position of the piece, a row of box columns at a time, and
+         * records, once per set of cells, the positions where it locks inside the field.
+         *
+         * @return the number of placements recorded for the level
+         */
+        private int generate(int level, int piece, long field, int h, int start) {
+            if (++stamp == 0) {
+                Arrays.fill(locked, 0);
+                stamp = 1;
+            }
+            int height = h + TOP_PAD;
+            for (int r = 0; r < TOP_PAD; r++) {
+                fieldRows[r] = walls;
+            }
+            for (int t = 0; t < h; t++) {
+                fieldRows[TOP_PAD + t] = ((field >>> ((h - 1 - t) * columns)) & rowMask) << LEFT_PAD | walls;
+            }
+            for (int r = height; r < height + 4; r++) {
+                fieldRows[r] = -1L; // Below the floor
+            }
+            // A position is blocked if any cell of the piece lands on a wall or block
+            for (int rot = 0; rot < 4; rot++) {
+                int shape = piece * 4 + rot;
+                int[] cellRow = CELL_ROW[shape];
+                int[] cellColumn = CELL_COLUMN[shape];
+                int base = rot * height;
+                for (int row = 0; row < height; row++) {
+                    long blocked = fieldRows[row + cellRow[0]] >>> cellColumn[0]
+                            | fieldRows[row + cellRow[1]] >>> cellColumn[1]
+                            | fieldRows[row + cellRow[2]] >>> cellColumn[2]
+                            | fieldRows[row + cellRow[3]] >>> cellColumn[3];
+                    free[base + row] = ~blocked & positionMask;
+                    reach[base + row] = 0;
+                    turned[base + row] = 0;
+                }
+            }
+
+            if (start < 0 && entryY[h] == -TOP_PAD) {
+                // Entering from far above: every position of the open top row is reachable
+                for (int rot = 0; rot < 4; rot++) {
+                    reach[rot * height] = free[rot * height];
+                }
+            } else {
+                enter(start >= 0 ? start : state(spawnX, entryY[h], 0), height);
+            }
+
+            boolean changed;
+            do {
+                // Drop and slide: down from the row above, then along each row
+                for (int rot = 0; rot < 4; rot++) {
+                    int base = rot * height;
+                    long above = 0;
+                    for (int row = 0; row < height; row++) {
+                        long open = free[base + row];
+                        long current = reach[base + row] | (above & open);
+                        if (current != 0) {
+                            current = slide(current, open);
+                        }
+                        reach[base + row] = current;
+                        above = current;
+                    }
+                }
+                // Turn the positions not turned from yet; each takes the first kick that fits
+                changed = false;
+                for (int rot = 0; rot < 4; rot++) {
+                    int shape = piece * 4 + rot;
+                    for (int row = 0; row < height; row++) {
+                        int index = rot * height + row;
+                        long from = reach[index] & ~turned[index];
+                        if (from == 0) {
+                            continue;
+                        }
+                        turned[index] = reach[index];
+                        for (int r = 0; r < ROTATIONS.length; r++) {
+                            int targetBase = TURNED[rot * ROTATIONS.length + r] * height;
+                            int[] kicks = KICKS[shape * ROTATIONS.length + r];
+                            long pending = from;
+                            for (int k = 0; k < kicks.length && pending != 0; k += 2) {
+                                int dx = kicks[k];
+                                int targetRow = row + kicks[k + 1];
+                                if (targetRow >= height) {
+                                    continue;
+                                }
+                                // Above the tracked rows only the walls matter, as in the top row;
+                                // the kick succeeds there, in open space that is reached anyway
+                                long open = free[targetBase + Math.max(targetRow, 0)];
+                                long fits = pending & (dx >= 0 ? open >>> dx : open << -dx);
+                                if (fits == 0) {
+                                    continue;
+                                }
+                                pending &= ~fits;
+                                if (targetRow >= 0) {
+                                    long moved = dx >= 0 ? fits << dx : fits >>> -dx;
+                                    long target = reach[targetBase + targetRow];
+                                    if ((target | moved) != target) {
+                                        reach[targetBase + targetRow] = target | moved;
+                                        changed = true;
+                                    }
+                                }
+                            }
+                        }
+                    }
+                }
+            } while (changed);
+
+            // Lock positions, lowest first: reached, with the position below blocked
+            long[][] table = cells[h];
+            long[] bits = placedBits[level];
+            int[] states = placedState[level];
+            int count = 0;
+            for (int row = height - 1; row >= 0; row--) {
+                for (int rot = 0; rot < 4; rot++) {
+                    int shape = piece * 4 + rot;
+                    if (row + TOP_ROW[shape] < TOP_PAD) {
+                        continue; // Would leave cells above the field
+                    }
+                    int index = rot * height + row;
+                    long locks = reach[index] & ~(row + 1 < height ? free[index + 1] : 0);
+                    for (; locks != 0; locks &= locks - 1) {
+                        int pos = row * stride + Long.numberOfTrailingZeros(locks);
+                        int state = pos << 2 | rot;
+                        int key = state + canonicalOffset[shape];
+                        if (locked[key] != stamp) {
+                            locked[key] = stamp;
+                            bits[count] = table[shape][pos];
+                            states[count++] = state;
+                        }
+                    }
+                }
+            }
+            return count;
+        }
+
+        /**
+         * Starts the walk from one position, if the piece fits there.
+         */
+        private void enter(int start, int height) {
+            int startRow = (start >>> 2) / stride;
+            int startIndex = (start & 3) * height + startRow;
+            long startBit = 1L << ((start >>> 2) % stride);
+            if (startRow < height && (free[startIndex] & startBit) != 0) {
+                reach[startIndex] = startBit;
+            }
+        }
+    }
+}
@@ -0,0 +1,627 @@
+package com.comp2042.model;
+
+import com.comp2042.logic.bricks.Brick;
+import com.comp2042.logic.bricks.BrickGenerator;
+import com.comp2042.logic.bricks.RandomBrickGenerator;
+import com.comp2042.view.ClearRow;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Board whose settled blocks are a persistent (immutable, structurally shared) stack of rows,
+ * so that a state can be kept or handed out in constant time.
+ *
+ * The settled rows are a linked list running from the highest non-empty row down to the
+ * floor; the empty rows above it are implicit. Rows are never written once created. Locking
+ * a brick builds new nodes only for the rows from the top of the stack down to the brick's
+ * lowest row and links them onto the untouched rows underneath; a line clear rebuilds only
+ * the nodes above the lowest cleared row, and those reuse their cell arrays. Both therefore
+ * cost the rows that changed rather than the board area, and every earlier version stays
+ * valid.
+ *
+ * {@link #snapshot()} returns the current version together with the active brick, hold slot,
+ * piece queue and score; {@link #restore(Snapshot)} makes it current again. Neither copies
+ * the matrix, which suits undo and searches that branch thousands of times per piece.
+ * Snapshots are immutable and may be shared between threads and restored into any
+ * PersistentBoard of the same size whose generator hands out the same bricks.
+ *
+ * Rows hold one byte per cell. The grid returned by {@link #getBoardMatrix()} is kept in
+ * step with the stack on demand, rewriting only the rows that changed, and must not be
+ * modified. This board has no power-up effects; bombs and the row clearer need a
+ * {@link SimpleBoard}.
+ *
+ * @author COMP2042 Coursework
+ */
+public final class PersistentBoard implements Board {
+
+    // Brick shape matrices are 4x4
+    private static final int SHAPE_SIZE = 4;
+
+    // Same spawn row as SimpleBoard
+    private static final int SPAWN_Y = SimpleBoard.HIDDEN_ROWS - 1;
+
+    // Random state, queue length and up to 16 queued ids
+    private static final int MAX_GENERATOR_STATE = 8 + 1 + 16;
+
+    /**
+     * One settled row. The cell array is never modified after the node is created, so it can
+     * be shared by any number of versions.
+     */
+    private static final class Row {
+        final byte[] cells;
+        final int filled;
+        final Row below;
+
+        Row(byte[] cells, int filled, Row below) {
+            this.cells = cells;
+            this.filled = filled;
+            this.below = below;
+        }
+    }
+
+    /**
+     * An immutable board state: the settled rows, the active brick and its position, the
+     * hold slot, the piece queue and the score.
+     */
+    public static final class Snapshot {
+        private final int rows;
+        private final int columns;
+        private final Row stack;
+        private final int stackHeight;
+        private final int brickId;
+        private final int rotation;
+        private final int x;
+        private final int y;
+        private final int heldId;
+        private final boolean canHold;
+        private final byte[] generatorState;
+        private final int score;
+
+        private Snapshot(int rows, int columns, Row stack, int stackHeight, int brickId, int rotation,
+                         int x, int y, int heldId, boolean canHold, byte[] generatorState, int score) {
+            this.rows = rows;
+            this.columns = columns;
+            this.stack = stack;
+            this.stackHeight = stackHeight;
+            this.brickId = brickId;
+            this.rotation = rotation;
+            this.x = x;
+            this.y = y;
+            this.heldId = heldId;
+            this.canHold = canHold;
+            this.generatorState = generatorState;
+            this.score = score;
+        }
+
+        /**
+         * @return the number of settled rows, from the highest non-empty row to the floor
+         */
+        public int getStackHeight() {
+            return stackHeight;
+        }
+    }
+
+    private final int rows;
+    private final int columns;
+    private final int spawnX;
+    private final BrickGenerator brickGenerator;
+    private final BrickRotator brickRotator;
+    private final Score score;
+    private final byte[] emptyRow; // Shared by every empty row of every version
+
+    private Row stack; // Highest settled row; null when the board is empty
+    private int stackHeight;
+    private int x;
+    private int y;
+    private Brick heldBrick;
+    private boolean canHold = true;
+
+    // Inclusive row range written by merges since the last line check
+    private int dirtyTop = Integer.MAX_VALUE;
+    private int dirtyBottom = Integer.MIN_VALUE;
+
+    // Grid copy of the stack, brought up to date on demand; matrixStack is the version it shows
+    private CellGrid matrix;
+    private Row matrixStack;
+    private int matrixHeight;
+
+    // Scratch space for walking the stack and saving the generator
+    private final Row[] path;
+    private final Row[] window = new Row[SHAPE_SIZE];
+    private final ByteBuffer generatorScratch = ByteBuffer.allocate(MAX_GENERATOR_STATE);
+
+    /**
+     * Creates a persistent board with a random piece sequence.
+     *
+     * @param rows The number of matrix rows, including the hidden spawn rows.
+     * @param columns The number of columns.
+     */
+    public PersistentBoard(int rows, int columns) {
+        this(rows, columns, new RandomBrickGenerator());
+    }
+
+    /**
+     * Creates a persistent board that draws its bricks from the given generator.
+     *
+     * @param rows The number of matrix rows, including the hidden spawn rows.
+     * @param columns The number of columns.
+     * @param brickGenerator The source of new bricks.
+     * @throws IllegalArgumentException if the board cannot fit the hidden rows and a brick.
+     */
+    public PersistentBoard(int rows, int columns, BrickGenerator brickGenerator) {
+        if (rows < SimpleBoard.HIDDEN_ROWS + SHAPE_SIZE || columns < SHAPE_SIZE) {
+            throw new IllegalArgumentException("Board must be at least " + (SimpleBoard.HIDDEN_ROWS + SHAPE_SIZE)
+                    + "x" + SHAPE_SIZE + ", got " + rows + "x" + columns);
+        }
+        this.rows = rows;
+        this.columns = columns;
+        this.spawnX = (columns - 3) / 2;
+        this.brickGenerator = brickGenerator;
+        brickRotator = new BrickRotator();
+        score = new Score();
+        emptyRow = new byte[columns];
+        path = new Row[rows];
+    }
+
+    @Override
+    public boolean moveBrickDown() {
+        return moveTo(x, y + 1);
+    }
+
+    @Override
+    public boolean moveBrickLeft() {
+        return moveTo(x - 1, y);
+    }
+
+    @Override
+    public boolean moveBrickRight() {
+        return moveTo(x + 1, y);
+    }
+
+    private boolean moveTo(int newX, int newY) {
+        if (collides(currentMask(), newX, newY)) {
+            return false;
+        }
+        x = newX;
+        y = newY;
+        return true;
+    }
+
+    @Override
+    public boolean rotateLeftBrick() {
+        return rotateBrick(Rotation.COUNTER_CLOCKWISE);
+    }
+
+    @Override
+    public boolean rotateRightBrick() {
+        return rotateBrick(Rotation.CLOCKWISE);
+    }
+
+    @Override
+    public boolean rotate180Brick() {
+        return rotateBrick(Rotation.HALF_TURN);
+    }
+
+    /**
+     * Rotates the current brick with the SRS kick tables, exactly as {@link SimpleBoard} does.
+     *
+     * @param rotation The direction to rotate in.
+     * @return {@code true} if the rotation succeeded; {@code false} if every kick was blocked.
+     */
+    public boolean rotateBrick(Rotation rotation) {
+        int piece = brickRotator.getPieceId();
+        int from = brickRotator.getCurrentShapeIndex();
+        int mask = SrsRotation.mask(piece, rotation.apply(from));
+        int[] kicks = SrsRotation.kicks(piece, from, rotation);
+        for (int k = 0; k < kicks.length; k += 2) {
+            if (!collides(mask, x + kicks[k], y + kicks[k + 1])) {
+                x += kicks[k];
+                y += kicks[k + 1];
+                brickRotator.setCurrentShape(rotation.apply(from));
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Drops the current brick as far as it goes. The rows under the brick's box are kept in
+     * a window that slides down the stack one node per row, so a drop into a deep well walks
+     * the stack once instead of once per row. As in {@link SimpleBoard}, only the rows below
+     * the brick are tested: a brick a hold swapped into the stack still falls until the next
+     * row down is blocked.
+     */
+    @Override
+    public boolean hardDropBrick() {
+        int mask = currentMask();
+        int base = rows - stackHeight;
+        Row next = stack; // Deepest node reached so far
+        int nextRow = base;
+        // Start with the window on rows y .. y+3
+        for (int i = 0; i < SHAPE_SIZE; i++) {
+            int r = y + i;
+            window[i] = null;
+            if (r >= base && r < rows) {
+                while (nextRow < r) {
+                    next = next.below;
+                    nextRow++;
+                }
+                window[i] = next;
+            }
+        }
+        while (true) {
+            // Slide the window to rows y+1 .. y+4
+            int enter = y + 1 + SHAPE_SIZE - 1;
+            Row entering = null;
+            if (enter >= base && enter < rows) {
+                while (nextRow < enter) {
+                    next = next.below;
+                    nextRow++;
+                }
+                entering = next;
+            }
+            System.arraycopy(window, 1, window, 0, SHAPE_SIZE - 1);
+            window[SHAPE_SIZE - 1] = entering;
+            if (blocked(mask, y + 1)) {
+                break;
+            }
+            y++;
+        }
+        for (int i = 0; i < SHAPE_SIZE; i++) {
+            window[i] = null;
+        }
+        return true;
+    }
+
+    // Tests the mask at box row boxY against the floor and the rows in the window
+    private boolean blocked(int mask, int boxY) {
+        for (int i = 0; i < SHAPE_SIZE; i++) {
+            int bits = mask >>> (i * SHAPE_SIZE) & 0xF;
+            if (bits == 0) {
+                continue;
+            }
+            if (boxY + i >= rows) {
+                return true;
+            }
+            Row row = window[i];
+            if (row == null) {
+                continue;
+            }
+            for (int j = 0; j < SHAPE_SIZE; j++) {
+                if ((bits >>> j & 1) != 0 && row.cells[x + j] != 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean holdBrick() {
+        if (!canHold) {
+            return false;
+        }
+        Brick currentBrick = brickRotator.getBrick();
+        if (heldBrick == null) {
+            brickRotator.setBrick(brickGenerator.getBrick());
+        } else {
+            brickRotator.setBrick(heldBrick);
+        }
+        heldBrick = currentBrick;
+        x = spawnX;
+        y = SPAWN_Y;
+        canHold = false;
+        return true;
+    }
+
+    @Override
+    public boolean createNewBrick() {
+        brickRotator.setBrick(brickGenerator.getBrick());
+        x = spawnX;
+        y = SPAWN_Y;
+        canHold = true;
+        return collides(currentMask(), x, y);
+    }
+
+    /**
+     * Returns the settled blocks as a grid. The same grid is returned every time and is
+     * updated in place, as {@link SimpleBoard}'s is, so it must not be modified.
+     */
+    @Override
+    public CellGrid getBoardMatrix() {
+        if (matrix == null) {
+            matrix = new CellGrid(rows, columns);
+            matrixStack = null;
+            matrixHeight = 0;
+        }
+        if (matrixStack != stack) {
+            syncMatrix();
+        }
+        return matrix;
+    }
+
+    /**
+     * Brings the grid from the version it shows to the current stack. Both versions are
+     * walked down from the higher top; the first row at which they reach the same node
+     * starts their shared tail, so only the rows above it are compared, and only rows whose
+     * cell arrays differ are copied. A lock or a line clear therefore costs the rows it
+     * rebuilt, like the stack update itself.
+     */
+    private void syncMatrix() {
+        int base = rows - stackHeight;
+        int shownBase = rows - matrixHeight;
+        Row row = stack;
+        Row shown = matrixStack;
+        for (int r = Math.min(base, shownBase); r < rows; r++) {
+            Row current = r >= base ? row : null;
+            Row previous = r >= shownBase ? shown : null;
+            if (current != null && current == previous) {
+                break;
+            }
+            byte[] cells = current != null ? current.cells : emptyRow;
+            if (cells != (previous != null ? previous.cells : emptyRow)) {
+                matrix.setRow(r, cells);
+            }
+            if (current != null) {
+                row = row.below;
+            }
+            if (previous != null) {
+                shown = shown.below;
+            }
+        }
+        matrixStack = stack;
+        matrixHeight = stackHeight;
+    }
+
+    @Override
+    public ViewData getViewData() {
+        int[][] heldBrickData = heldBrick != null ? heldBrick.getShapeMatrix().get(0) : null;
+        return new ViewData(
+                brickRotator.getCurrentShape(),
+                x,
+                y,
+                brickGenerator.getNextBrick().getShapeMatrix().get(0),
+                heldBrickData,
+                brickRotator.getCurrentCells()
+        );
+    }
+
+    /**
+     * Locks the current brick. New nodes are built for the rows from the top of the stack
+     * down to the brick's lowest row; the rows below are shared with the previous version.
+     * Cells the brick overlaps take its colour, as in {@link SimpleBoard}.
+     */
+    @Override
+    public void mergeBrickToBackground() {
+        int mask = currentMask();
+        int color = brickRotator.getPieceId();
+        int top = Math.max(0, y + Integer.numberOfTrailingZeros(mask) / SHAPE_SIZE);
+        int bottom = Math.min(rows - 1, y + (31 - Integer.numberOfLeadingZeros(mask)) / SHAPE_SIZE);
+        int base = rows - stackHeight;
+
+        // Nodes from the top of the stack down to the brick's lowest row
+        int walked = Math.max(0, bottom - base + 1);
+        Row tail = collect(walked);
+        // Empty rows between a floating brick and the stack become real rows
+        for (int r = base - 1; r > bottom; r--) {
+            tail = new Row(emptyRow, 0, tail);
+        }
+
+        int newBase = Math.min(base, top);
+        for (int r = bottom; r >= newBase; r--) {
+            Row old = r >= base ? path[r - base] : null;
+            byte[] cells = old != null ? old.cells : emptyRow;
+            int filled = old != null ? old.filled : 0;
+            int i = r - y;
+            int bits = i >= 0 && i < SHAPE_SIZE ? mask >>> (i * SHAPE_SIZE) & 0xF : 0;
+            if (bits != 0) {
+                cells = cells.clone();
+                for (int j = 0; j < SHAPE_SIZE; j++) {
+                    int c = x + j;
+                    if ((bits >>> j & 1) != 0 && c >= 0 && c < columns) {
+                        // An overlapping brick overwrites the cell, as in SimpleBoard
+                        if (cells[c] == 0) {
+                            filled++;
+                        }
+                        cells[c] = (byte) color;
+                    }
+                }
+            }
+            tail = new Row(cells, filled, tail);
+        }
+        Arrays.fill(path, 0, walked, null);
+
+        stack = tail;
+        stackHeight = rows - newBase;
+        dirtyTop = Math.min(dirtyTop, top);
+        dirtyBottom = Math.max(dirtyBottom, bottom);
+    }
+
+    /**
+     * Removes the full rows among those written since the last check. Only the nodes above
+     * the lowest cleared row are rebuilt, and they keep their cell arrays.
+     */
+    @Override
+    public ClearRow clearRows() {
+        int base = rows - stackHeight;
+        int top = Math.max(dirtyTop, base);
+        int bottom = dirtyBottom;
+        dirtyTop = Integer.MAX_VALUE;
+        dirtyBottom = Integer.MIN_VALUE;
+        if (bottom < top) {
+            return new ClearRow(0, getBoardMatrix(), 0);
+        }
+
+        int walked = bottom - base + 1;
+        Row tail = collect(walked);
+        int cleared = 0;
+        for (int r = top; r <= bottom; r++) {
+            if (path[r - base].filled == columns) {
+                cleared++;
+            }
+        }
+        if (cleared == 0) {
+            Arrays.fill(path, 0, walked, null);
+            return new ClearRow(0, getBoardMatrix(), 0);
+        }
+
+        int[] clearedRowIndices = new int[cleared];
+        int[][] clearedRowCells = new int[cleared][];
+        int k = cleared;
+        for (int r = bottom; r >= base; r--) {
+            Row row = path[r - base];
+            if (r >= top && row.filled == columns) {
+                k--;
+                clearedRowIndices[k] = r;
+                clearedRowCells[k] = new int[columns];
+                for (int c = 0; c < columns; c++) {
+                    clearedRowCells[k][c] = row.cells[c];
+                }
+            } else {
+                tail = new Row(row.cells, row.filled, tail);
+            }
+        }
+        Arrays.fill(path, 0, walked, null);
+
+        stack = tail;
+        stackHeight -= cleared;
+        int scoreBonus = 50 * cleared * cleared;
+        return new ClearRow(cleared, getBoardMatrix(), scoreBonus, clearedRowIndices, clearedRowCells);
+    }
+
+    /**
+     * Puts the first {@code count} nodes of the stack into {@link #path}.
+     *
+     * @return the node below the last one collected
+     */
+    private Row collect(int count) {
+        Row row = stack;
+        for (int i = 0; i < count; i++) {
+            path[i] = row;
+            row = row.below;
+        }
+        return row;
+    }
+
+    /**
+     * Tests a 4x4 mask against the walls, the floor and the settled rows. The stack is
+     * walked once, from its top to the mask's lowest row.
+     */
+    private boolean collides(int mask, int boxX, int boxY) {
+        int base = rows - stackHeight;
+        Row row = null;
+        int rowIndex = base;
+        for (int i = 0; i < SHAPE_SIZE; i++) {
+            int bits = mask >>> (i * SHAPE_SIZE) & 0xF;
+            if (bits == 0) {
+                continue;
+            }
+            int r = boxY + i;
+            if (r < 0 || r >= rows) {
+                return true;
+            }
+            for (int j = 0; j < SHAPE_SIZE; j++) {
+                if ((bits >>> j & 1) == 0) {
+                    continue;
+                }
+                int c = boxX + j;
+                if (c < 0 || c >= columns) {
+                    return true;
+                }
+            }
+            if (r < base) {
+                continue;
+            }
+            if (row == null) {
+                row = stack;
+            }
+            for (; rowIndex < r; rowIndex++) {
+                row = row.below;
+            }
+            for (int j = 0; j < SHAPE_SIZE; j++) {
+                if ((bits >>> j & 1) != 0 && row.cells[boxX + j] != 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private int currentMask() {
+        return SrsRotation.mask(brickRotator.getPieceId(), brickRotator.getCurrentShapeIndex());
+    }
+
+    /**
+     * Captures the current state. The settled rows are shared, not copied, so the cost does
+     * not depend on the board size.
+     *
+     * @return An immutable snapshot for {@link #restore(Snapshot)}.
+     */
+    public Snapshot snapshot() {
+        generatorScratch.clear();
+        brickGenerator.writeState(generatorScratch);
+        byte[] generatorState = Arrays.copyOf(generatorScratch.array(), generatorScratch.position());
+        return new Snapshot(rows, columns, stack, stackHeight,
+                brickGenerator.getBrickId(brickRotator.getBrick()), brickRotator.getCurrentShapeIndex(), x, y,
+                heldBrick != null ? brickGenerator.getBrickId(heldBrick) : -1, canHold,
+                generatorState, score.getValue());
+    }
+
+    /**
+     * Makes a snapshot the current state again.
+     *
+     * @param snapshot A snapshot taken from this board or another of the same size.
+     * @throws IllegalArgumentException if the snapshot is for a board of another size.
+     */
+    public void restore(Snapshot snapshot) {
+        if (snapshot.rows != rows || snapshot.columns != columns) {
+            throw new IllegalArgumentException("Snapshot is for a " + snapshot.rows + "x" + snapshot.columns
+                    + " board, this board is " + rows + "x" + columns);
+        }
+        stack = snapshot.stack;
+        stackHeight = snapshot.stackHeight;
+        brickGenerator.readState(ByteBuffer.wrap(snapshot.generatorState));
+        brickRotator.setBrick(brickGenerator.getBrickById(snapshot.brickId));
+        brickRotator.setCurrentShape(snapshot.rotation);
+        x = snapshot.x;
+        y = snapshot.y;
+        heldBrick = snapshot.heldId >= 0 ? brickGenerator.getBrickById(snapshot.heldId) : null;
+        canHold = snapshot.canHold;
+        score.reset();
+        score.add(snapshot.score);
+        dirtyTop = Integer.MAX_VALUE;
+        dirtyBottom = Integer.MIN_VALUE;
+    }
+
+    /**
+     * @return The number of matrix rows, including the {@link SimpleBoard#HIDDEN_ROWS} spawn rows.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * @return The number of matrix columns.
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    @Override
+    public Score getScore() {
+        return score;
+    }
+
+    @Override
+    public void newGame() {
+        stack = null;
+        stackHeight = 0;
+        dirtyTop = Integer.MAX_VALUE;
+        dirtyBottom = Integer.MIN_VALUE;
+        score.reset();
+        heldBrick = null;
+        canHold = true;
+        createNewBrick();
+    }
+}
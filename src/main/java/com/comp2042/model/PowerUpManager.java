@@ -3,8 +3,9 @@ package com.comp2042.model;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Manages the player's economic resources related to power-ups, including
@@ -14,14 +15,44 @@ import java.util.Map;
  * @author COMP2042 Coursework
  */
 public class PowerUpManager {
-    /** Map storing the inventory: associates each PowerUp type with its current quantity owned by the player. */
-    private final Map<PowerUp, Integer> powerUpInventory;
 
-    /** Observable property for the player's current total skill points, allowing for reactive UI binding. */
-    private final IntegerProperty skillPoints;
+    /**
+     * Receives a callback whenever the owned quantity of a power-up changes.
+     */
+    @FunctionalInterface
+    public interface InventoryListener {
+        /**
+         * Called after the quantity of a power-up changed.
+         *
+         * @param powerUp The power-up whose quantity changed.
+         * @param quantity The new quantity.
+         */
+        void onInventoryChanged(PowerUp powerUp, int quantity);
+    }
+
+    /** Shared copy of {@code PowerUp.values()}; the enum method allocates a new array on every call. */
+    private static final PowerUp[] POWER_UPS = PowerUp.values();
+
+    /** Inventory indexed by {@code PowerUp.ordinal()}: the quantity of each power-up owned by the player. */
+    private final int[] powerUpInventory = new int[POWER_UPS.length];
 
-    /** Tracks fractional skill points to ensure precise accumulation of small score contributions. */
-    private double fractionalSkillPoints = 0.0;
+    /** Listeners notified on purchase, use and reset. */
+    private final List<InventoryListener> inventoryListeners = new ArrayList<>();
+
+    /** Score points earned per skill point. */
+    private static final int SCORE_PER_SKILL_POINT = 10;
+
+    /** The player's current total skill points. */
+    private int points = 0;
+
+    /** Score earned that has not yet added up to a whole skill point (0-9). */
+    private int scoreRemainder = 0;
+
+    /**
+     * Observable copy of the skill points for UI binding; updated by {@link #publish()}
+     * at most once per frame rather than on every award.
+     */
+    private final IntegerProperty skillPoints;
 
     /**
      * Constructs a new PowerUpManager instance.
@@ -30,19 +61,32 @@ public class PowerUpManager {
      */
     public PowerUpManager() {
         this.skillPoints = new SimpleIntegerProperty(0);
-        this.powerUpInventory = new HashMap<>();
+    }
 
-        // Initialize all defined power-ups in the inventory with an owned quantity of 0
-        for (PowerUp powerUp : PowerUp.values()) {
-            powerUpInventory.put(powerUp, 0);
-        }
+    /**
+     * Registers a listener for inventory changes.
+     *
+     * @param listener The listener to add.
+     */
+    public void addInventoryListener(InventoryListener listener) {
+        inventoryListeners.add(listener);
+    }
+
+    /**
+     * Removes a previously registered inventory listener.
+     *
+     * @param listener The listener to remove.
+     */
+    public void removeInventoryListener(InventoryListener listener) {
+        inventoryListeners.remove(listener);
     }
 
     /**
      * Provides access to the observable {@code IntegerProperty} representing the player's
-     * current skill points. This is used primarily for binding with JavaFX UI components.
+     * skill points as of the last {@link #publish()}. This is used primarily for binding
+     * with JavaFX UI components.
      *
-     * @return The {@code IntegerProperty} tracking current skill points.
+     * @return The {@code IntegerProperty} tracking published skill points.
      */
     public IntegerProperty skillPointsProperty() {
         return skillPoints;
@@ -54,28 +98,32 @@ public class PowerUpManager {
      * @return The total current number of skill points.
      */
     public int getSkillPoints() {
-        return skillPoints.get();
+        return points;
+    }
+
+    /**
+     * Copies the current skill points into the observable property, firing its listeners
+     * only if the value changed since the last publish.
+     */
+    public void publish() {
+        if (skillPoints.get() != points) {
+            skillPoints.set(points);
+        }
     }
 
 
     /**
      * Awards skill points to the player based on the score earned during a segment of gameplay.
-     * The conversion rate is 1 skill point for every 10 score points earned. Fractional accumulation
-     * is handled internally to prevent loss of precision from small scores.
+     * The conversion rate is 1 skill point for every 10 score points earned. The score left
+     * over is kept as an exact integer remainder, so small awards add up without rounding.
      *
      * @param scoreEarned The score points accumulated by the player.
      */
     public void awardSkillPoints(int scoreEarned) {
-        // Add fractional points based on a 1:10 score-to-skill-point ratio.
-        fractionalSkillPoints += scoreEarned / 10.0;
-
-        // Convert the accumulated fractional points into whole skill points.
-        int wholePoints = (int) fractionalSkillPoints;
-        if (wholePoints > 0) {
-            // Update the observable skill points property.
-            skillPoints.set(skillPoints.get() + wholePoints);
-            // Deduct the whole points awarded, retaining any remainder for future accumulation.
-            fractionalSkillPoints -= wholePoints;
+        scoreRemainder += scoreEarned;
+        if (scoreRemainder >= SCORE_PER_SKILL_POINT) {
+            points += scoreRemainder / SCORE_PER_SKILL_POINT;
+            scoreRemainder %= SCORE_PER_SKILL_POINT;
         }
     }
 
@@ -88,10 +136,10 @@ public class PowerUpManager {
      * {@code false} otherwise (due to insufficient funds).
      */
     public boolean purchasePowerUp(PowerUp powerUp) {
-        if (skillPoints.get() >= powerUp.getCost()) {
+        if (points >= powerUp.getCost()) {
             // Deduct cost and update inventory count.
-            skillPoints.set(skillPoints.get() - powerUp.getCost());
-            powerUpInventory.put(powerUp, powerUpInventory.get(powerUp) + 1);
+            points -= powerUp.getCost();
+            setQuantity(powerUp, powerUpInventory[powerUp.ordinal()] + 1);
             return true;
         }
         return false;
@@ -105,9 +153,9 @@ public class PowerUpManager {
      * (quantity decreased); {@code false} if the inventory for that power-up was empty.
      */
     public boolean usePowerUp(PowerUp powerUp) {
-        if (powerUpInventory.get(powerUp) > 0) {
+        if (powerUpInventory[powerUp.ordinal()] > 0) {
             // Decrease the quantity in the inventory.
-            powerUpInventory.put(powerUp, powerUpInventory.get(powerUp) - 1);
+            setQuantity(powerUp, powerUpInventory[powerUp.ordinal()] - 1);
             return true;
         }
         return false;
@@ -120,8 +168,23 @@ public class PowerUpManager {
      * @return The integer count of the specified power-up.
      */
     public int getPowerUpQuantity(PowerUp powerUp) {
-        // The map is guaranteed to contain all PowerUp values due to constructor initialization.
-        return powerUpInventory.get(powerUp);
+        return powerUpInventory[powerUp.ordinal()];
+    }
+
+    /**
+     * Stores a new quantity and notifies listeners if it actually changed.
+     *
+     * @param powerUp The power-up to update.
+     * @param quantity The new quantity.
+     */
+    private void setQuantity(PowerUp powerUp, int quantity) {
+        if (powerUpInventory[powerUp.ordinal()] == quantity) {
+            return;
+        }
+        powerUpInventory[powerUp.ordinal()] = quantity;
+        for (int i = 0; i < inventoryListeners.size(); i++) {
+            inventoryListeners.get(i).onInventoryChanged(powerUp, quantity);
+        }
     }
 
     /**
@@ -131,12 +194,42 @@ public class PowerUpManager {
      */
     public void reset() {
         // Reset inventory quantities to zero
-        for (PowerUp powerUp : PowerUp.values()) {
-            powerUpInventory.put(powerUp, 0);
+        for (PowerUp powerUp : POWER_UPS) {
+            setQuantity(powerUp, 0);
         }
-        // Reset observable skill points and fractional tracker
-        skillPoints.set(0);
-        fractionalSkillPoints = 0.0;
+        // Reset skill points and the score remainder
+        points = 0;
+        scoreRemainder = 0;
     }
-}
 
+    /**
+     * Writes skill points, the score remainder and the inventory for a {@link GameSnapshot}.
+     *
+     * @param out The destination buffer.
+     */
+    void writeState(ByteBuffer out) {
+        out.putInt(points);
+        out.putInt(scoreRemainder);
+        out.put((byte) powerUpInventory.length);
+        for (int quantity : powerUpInventory) {
+            out.putInt(quantity);
+        }
+    }
+
+    /**
+     * Restores the economy written by {@link #writeState(ByteBuffer)}.
+     *
+     * @param in The source buffer.
+     */
+    void readState(ByteBuffer in) {
+        points = in.getInt();
+        scoreRemainder = in.getInt();
+        int stored = in.get();
+        for (int i = 0; i < stored; i++) {
+            int quantity = in.getInt();
+            if (i < POWER_UPS.length) {
+                setQuantity(POWER_UPS[i], quantity);
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.comp2042.model;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Fixed-size history of board states for practice mode, so a player can step back
+ * through their last placements.
+ *
+ * Each entry is the board's compact encoding (occupancy bits for the rows up to the top
+ * of the stack, a 4-bit color per occupied cell, then the active brick, hold slot, piece
+ * queue, score and power-up economy). All slots live in one array allocated up front at
+ * the worst-case entry size, so recording never allocates and the footprint is
+ * {@link #getFootprintBytes()} however long the game runs. When the buffer is full the
+ * oldest entry is overwritten.
+ *
+ * @author COMP2042 Coursework
+ */
+public final class RewindBuffer {
+
+    private final int rows;
+    private final int columns;
+    private final int capacity;
+    private final int slotSize;
+    private final ByteBuffer store;
+
+    // Slot of the most recent entry, and how many entries are held
+    private int newest = -1;
+    private int size = 0;
+
+    /**
+     * Creates an empty history for boards the size of the given one.
+     *
+     * @param board a board of the size that will be recorded
+     * @param capacity the number of entries kept
+     * @throws IllegalArgumentException if the capacity is not positive or the buffer would not fit in an array
+     */
+    public RewindBuffer(SimpleBoard board, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive, got " + capacity);
+        }
+        long bytes = (long) capacity * board.compactStateSize();
+        if (bytes > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("A history of " + capacity + " entries of a "
+                    + board.getRows() + "x" + board.getColumns() + " board is too large");
+        }
+        this.rows = board.getRows();
+        this.columns = board.getColumns();
+        this.capacity = capacity;
+        this.slotSize = board.compactStateSize();
+        this.store = ByteBuffer.allocate((int) bytes);
+    }
+
+    /**
+     * Adds the board's current state as the newest entry.
+     *
+     * @param board the board to record
+     * @throws IllegalArgumentException if the board is not the size this buffer was made for
+     */
+    public void record(SimpleBoard board) {
+        checkSize(board);
+        newest = (newest + 1) % capacity;
+        store.position(newest * slotSize);
+        board.writeCompactState(store);
+        if (size < capacity) {
+            size++;
+        }
+    }
+
+    /**
+     * Steps back one entry: drops the newest one and restores the board to the entry
+     * before it.
+     *
+     * @param board the board to restore
+     * @return {@code false} if there is no earlier entry to go back to
+     * @throws IllegalArgumentException if the board is not the size this buffer was made for
+     */
+    public boolean rewind(SimpleBoard board) {
+        checkSize(board);
+        if (size < 2) {
+            return false;
+        }
+        newest = (newest - 1 + capacity) % capacity;
+        size--;
+        store.position(newest * slotSize);
+        board.readCompactState(store);
+        return true;
+    }
+
+    /**
+     * Forgets every entry.
+     */
+    public void clear() {
+        newest = -1;
+        size = 0;
+    }
+
+    /**
+     * @return the number of entries held
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the number of entries the buffer can hold
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the bytes reserved for entries
+     */
+    public int getFootprintBytes() {
+        return store.capacity();
+    }
+
+    private void checkSize(SimpleBoard board) {
+        if (board.getRows() != rows || board.getColumns() != columns) {
+            throw new IllegalArgumentException("History is for " + rows + "x" + columns
+                    + " boards, got " + board.getRows() + "x" + board.getColumns());
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.comp2042.model;
+
+/**
+ * Directions a brick can be rotated in.
+ * Rotation states are numbered 0 (spawn), 1 (R), 2 and 3 (L), increasing clockwise.
+ */
+public enum Rotation {
+    CLOCKWISE(1),
+    HALF_TURN(2),
+    COUNTER_CLOCKWISE(3);
+
+    private final int quarterTurns;
+
+    Rotation(int quarterTurns) {
+        this.quarterTurns = quarterTurns;
+    }
+
+    /**
+     * @param state the current rotation state (0-3)
+     * @return the state after this rotation
+     */
+    public int apply(int state) {
+        return (state + quarterTurns) & 3;
+    }
+}
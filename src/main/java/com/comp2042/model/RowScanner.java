@@ -0,0 +1,77 @@
+package com.comp2042.model;
+
+/**
+ * Row-scanning kernels used for line detection and column heights.
+ * Two implementations exist: {@link VectorRowScanner}, built on the incubating
+ * {@code jdk.incubator.vector} API, and the portable {@link ScalarRowScanner}.
+ * The implementation is chosen once, at class initialization: the vector kernels are
+ * used when the JVM was started with {@code --add-modules jdk.incubator.vector} and
+ * {@code -Dtetris.vector=false} is not set, otherwise the scalar ones.
+ *
+ * Packed grids store one occupancy bit per column, 64 columns per {@code long} word,
+ * word-major: {@code planes[w][r]} is word {@code w} of row {@code r}. The unused high
+ * bits of the last word are always zero. Boards are at most four words wide, so the
+ * packed kernels work across rows, one vector holding the same word of several rows.
+ *
+ * @author COMP2042 Coursework
+ */
+interface RowScanner {
+
+    /** The implementation selected for this JVM. */
+    RowScanner INSTANCE = select();
+
+    /**
+     * @param row one row of color ids
+     * @return {@code true} if no cell in the row is empty (zero)
+     */
+    boolean isFull(int[] row);
+
+    /**
+     * Finds the rows in which every column bit is set.
+     *
+     * @param planes the packed grid, one plane per word
+     * @param lastWordMask the bits of the last word that belong to real columns
+     * @param from first row to check
+     * @param to one past the last row to check
+     * @param full receives {@code true} at {@code row - from} for every full row; other
+     * entries are left as they are
+     * @return the number of full rows
+     */
+    int findFullRows(long[][] planes, long lastWordMask, int from, int to, boolean[] full);
+
+    /**
+     * Computes the height of every column: the number of rows from the highest occupied
+     * cell down to the floor, or zero for an empty column.
+     *
+     * @param planes the packed grid, one plane per word
+     * @param rows the number of rows
+     * @param columns the number of columns
+     * @param heights receives one height per column
+     */
+    void columnHeights(long[][] planes, int rows, int columns, int[] heights);
+
+    /**
+     * @return a short name for diagnostics, e.g. "vector" or "scalar"
+     */
+    String name();
+
+    /**
+     * Picks the vector kernels if the incubator module is available, else the scalar ones.
+     * The vector class is only loaded reflectively, so a JVM without the module never
+     * touches it.
+     *
+     * @return the implementation to use
+     */
+    private static RowScanner select() {
+        boolean enabled = !"false".equalsIgnoreCase(System.getProperty("tetris.vector"));
+        if (enabled && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return (RowScanner) Class.forName("com.comp2042.model.VectorRowScanner")
+                        .getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                System.err.println("Vector row scanning unavailable, using scalar fallback: " + e);
+            }
+        }
+        return new ScalarRowScanner();
+    }
+}
@@ -0,0 +1,80 @@
+package com.comp2042.model;
+
+import java.util.Arrays;
+
+/**
+ * Portable row-scanning kernels; the fallback when the Vector API is not available.
+ *
+ * @author COMP2042 Coursework
+ */
+final class ScalarRowScanner implements RowScanner {
+
+    @Override
+    public boolean isFull(int[] row) {
+        for (int cell : row) {
+            if (cell == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int findFullRows(long[][] planes, long lastWordMask, int from, int to, boolean[] full) {
+        int last = planes.length - 1;
+        int found = 0;
+        for (int r = from; r < to; r++) {
+            if (isFull(planes, last, lastWordMask, r)) {
+                full[r - from] = true;
+                found++;
+            }
+        }
+        return found;
+    }
+
+    static boolean isFull(long[][] planes, int last, long lastWordMask, int row) {
+        for (int w = 0; w < last; w++) {
+            if (planes[w][row] != -1L) {
+                return false;
+            }
+        }
+        return planes[last][row] == lastWordMask;
+    }
+
+    @Override
+    public void columnHeights(long[][] planes, int rows, int columns, int[] heights) {
+        Arrays.fill(heights, 0, columns, 0);
+        long[] seen = new long[planes.length];
+        int remaining = columns;
+        for (int r = 0; r < rows && remaining > 0; r++) {
+            remaining -= recordNewColumns(planes, r, seen, rows - r, heights);
+        }
+    }
+
+    /**
+     * Records the height for every column that is occupied in this row but not above it.
+     * Walking the rows top-down and stopping once every column has been seen gives
+     * every column's height.
+     *
+     * @return the number of newly seen columns
+     */
+    static int recordNewColumns(long[][] planes, int row, long[] seen, int height, int[] heights) {
+        int found = 0;
+        for (int w = 0; w < planes.length; w++) {
+            long fresh = planes[w][row] & ~seen[w];
+            if (fresh == 0) continue;
+            seen[w] |= fresh;
+            while (fresh != 0) {
+                heights[(w << 6) + Long.numberOfTrailingZeros(fresh)] = height;
+                fresh &= fresh - 1;
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
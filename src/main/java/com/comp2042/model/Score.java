@@ -3,44 +3,87 @@ package com.comp2042.model;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 
+import java.nio.ByteBuffer;
+
 /**
- * Manages the player's game score. This class utilizes a JavaFX {@code IntegerProperty}
- * to make the score observable, allowing for automatic and immediate updates of
- * graphical user interface (UI) elements whenever the score changes.
+ * Manages the player's game score. The game adds points to a plain counter; the
+ * observable JavaFX {@code IntegerProperty} that UI labels bind to only changes when
+ * {@link #publish()} is called, which the view does at most once per frame. A burst of
+ * soft-drop points therefore re-renders the score label once rather than once per row.
  *
  * @author COMP2042 Coursework
  */
 public final class Score {
 
+    /** The current score, updated on every award. */
+    private int value = 0;
+
     /**
-     * The observable property holding the current score value. Initialized to 0.
+     * The observable property holding the last published score value. Initialized to 0.
      * This field enables reactive UI data binding.
      */
     private final IntegerProperty score = new SimpleIntegerProperty(0);
 
     /**
-     * Retrieves the observable score property.
+     * Retrieves the observable score property. It holds the value of the last
+     * {@link #publish()}, not necessarily the current score.
      *
-     * @return The {@code IntegerProperty} instance representing the current score,
+     * @return The {@code IntegerProperty} instance representing the published score,
      * suitable for JavaFX binding operations.
      */
     public IntegerProperty scoreProperty() {
         return score;
     }
 
+    /**
+     * @return The current score, including points not yet published.
+     */
+    public int getValue() {
+        return value;
+    }
+
     /**
      * Increments the current score by the specified number of points.
      *
      * @param pointsToAdd The integer number of points to be added to the current score.
      */
     public void add(int pointsToAdd){
-        score.setValue(score.getValue() + pointsToAdd);
+        value += pointsToAdd;
     }
 
     /**
      * Resets the game score back to its initial value of zero.
      */
     public void reset() {
-        score.setValue(0);
+        value = 0;
+    }
+
+    /**
+     * Copies the current score into the observable property, firing its listeners only
+     * if the value changed since the last publish. Call it from the thread that owns
+     * the bound labels.
+     */
+    public void publish() {
+        if (score.get() != value) {
+            score.set(value);
+        }
+    }
+
+    /**
+     * Writes the score value for a {@link GameSnapshot}.
+     *
+     * @param out The destination buffer.
+     */
+    void writeState(ByteBuffer out) {
+        out.putInt(value);
+    }
+
+    /**
+     * Restores the score value written by {@link #writeState(ByteBuffer)}.
+     *
+     * @param in The source buffer.
+     */
+    void readState(ByteBuffer in) {
+        value = in.getInt();
     }
-}
\ No newline at end of file
+}
@@ -1,12 +1,13 @@
 package com.comp2042.model;
 
 import com.comp2042.logic.bricks.Brick;
+import com.comp2042.logic.bricks.BrickCells;
 import com.comp2042.logic.bricks.BrickGenerator;
 import com.comp2042.logic.bricks.RandomBrickGenerator;
 import com.comp2042.view.ClearRow;
-import com.comp2042.view.NextShapeInfo;
 
 import java.awt.*;
+import java.nio.ByteBuffer;
 
 /**
  * Implementation of the game board for Tetris, managing the complete state of the game.
@@ -18,11 +19,28 @@ import java.awt.*;
  */
 public class SimpleBoard implements Board {
 
+    /** Rows at the top of the matrix that sit above the visible playfield (the spawn area). */
+    public static final int HIDDEN_ROWS = 2;
+
+    // Brick shape matrices are 4x4
+    private static final int SHAPE_SIZE = 4;
+
+    // Spawn states fill the top two rows of the shape; this puts the lower one on the first visible row
+    private static final int SPAWN_Y = HIDDEN_ROWS - 1;
+
+    // Upper bound on the generator preview queue length stored in a snapshot
+    private static final int MAX_QUEUED_BRICKS = 16;
+
     private final int width; // The number of rows in the game matrix (height of the visible board)
     private final int height; // The number of columns in the game matrix (width of the visible board)
     private final BrickGenerator brickGenerator;
     private final BrickRotator brickRotator;
-    private int[][] currentGameMatrix; // The static background matrix (width x height)
+    private final CellGrid currentGameMatrix; // The static background cells (width x height)
+    private final OccupancyGrid occupancy; // Packed occupied bits mirroring currentGameMatrix
+    private final int spawnX; // Column where new bricks appear, roughly centered
+    // Inclusive row range written by merges since the last line check; only these rows can be full
+    private int dirtyTop = Integer.MAX_VALUE;
+    private int dirtyBottom = Integer.MIN_VALUE;
     private Point currentOffset; // The (X, Y) offset of the current falling brick
     private final Score score;
     private final PowerUpManager powerUpManager;
@@ -42,10 +60,29 @@ public class SimpleBoard implements Board {
      * @param height The number of columns (horizontal size) of the game board matrix.
      */
     public SimpleBoard(int width, int height) {
+        this(width, height, new RandomBrickGenerator());
+    }
+
+    /**
+     * Constructs a new SimpleBoard that draws its bricks from the given generator.
+     * Passing a seeded {@link RandomBrickGenerator} makes the piece sequence reproducible.
+     *
+     * @param width The number of rows (vertical size) of the game board matrix.
+     * @param height The number of columns (horizontal size) of the game board matrix.
+     * @param brickGenerator The source of new bricks.
+     * @throws IllegalArgumentException if the board cannot fit the hidden rows and a brick.
+     */
+    public SimpleBoard(int width, int height, BrickGenerator brickGenerator) {
+        if (width < HIDDEN_ROWS + SHAPE_SIZE || height < SHAPE_SIZE) {
+            throw new IllegalArgumentException("Board must be at least " + (HIDDEN_ROWS + SHAPE_SIZE)
+                    + "x" + SHAPE_SIZE + ", got " + width + "x" + height);
+        }
         this.width = width;
         this.height = height;
-        currentGameMatrix = new int[width][height];
-        brickGenerator = new RandomBrickGenerator();
+        this.spawnX = (height - 3) / 2;
+        currentGameMatrix = new CellGrid(width, height);
+        occupancy = new OccupancyGrid(width, height);
+        this.brickGenerator = brickGenerator;
         brickRotator = new BrickRotator();
         score = new Score();
         powerUpManager = new PowerUpManager();
@@ -61,7 +98,7 @@ public class SimpleBoard implements Board {
     public boolean moveBrickDown() {
         Point p = new Point(currentOffset);
         p.translate(0, 1); // Test position is one row lower
-        boolean conflict = MatrixOperations.intersect(currentGameMatrix, brickRotator.getCurrentShape(), (int) p.getX(), (int) p.getY());
+        boolean conflict = MatrixOperations.intersect(currentGameMatrix, brickRotator.getCurrentCells(), (int) p.getX(), (int) p.getY());
 
         if (conflict) {
             return false;
@@ -82,7 +119,7 @@ public class SimpleBoard implements Board {
     public boolean moveBrickLeft() {
         Point p = new Point(currentOffset);
         p.translate(-1, 0); // Test position is one column left
-        boolean conflict = MatrixOperations.intersect(currentGameMatrix, brickRotator.getCurrentShape(), (int) p.getX(), (int) p.getY());
+        boolean conflict = MatrixOperations.intersect(currentGameMatrix, brickRotator.getCurrentCells(), (int) p.getX(), (int) p.getY());
 
         if (conflict) {
             return false;
@@ -102,7 +139,7 @@ public class SimpleBoard implements Board {
     public boolean moveBrickRight() {
         Point p = new Point(currentOffset);
         p.translate(1, 0); // Test position is one column right
-        boolean conflict = MatrixOperations.intersect(currentGameMatrix, brickRotator.getCurrentShape(), (int) p.getX(), (int) p.getY());
+        boolean conflict = MatrixOperations.intersect(currentGameMatrix, brickRotator.getCurrentCells(), (int) p.getX(), (int) p.getY());
 
         if (conflict) {
             return false;
@@ -114,41 +151,58 @@ public class SimpleBoard implements Board {
 
     /**
      * Attempts to rotate the current brick one step to the left (counter-clockwise).
-     * This method implements a basic wall-kick mechanism to allow rotation even if the
-     * initial rotated position conflicts with the wall or other blocks.
      *
-     * @return {@code true} if the rotation (with or without a wall-kick shift) was successful;
+     * @return {@code true} if the rotation (with or without a kick) was successful;
      * {@code false} if rotation is impossible from the current position.
+     * @see #rotateBrick(Rotation)
      */
     @Override
     public boolean rotateLeftBrick() {
-        NextShapeInfo nextShape = brickRotator.getNextShape();
-        int[][] rotatedShape = nextShape.getShape();
-        int currentX = (int) currentOffset.getX();
-        int currentY = (int) currentOffset.getY();
+        return rotateBrick(Rotation.COUNTER_CLOCKWISE);
+    }
 
-        // 1. Try rotation at current position first
-        if (!MatrixOperations.intersect(currentGameMatrix, rotatedShape, currentX, currentY)) {
-            brickRotator.setCurrentShape(nextShape.getPosition());
-            return true;
-        }
+    /**
+     * Attempts to rotate the current brick one step to the right (clockwise).
+     *
+     * @return {@code true} if the rotation succeeded.
+     * @see #rotateBrick(Rotation)
+     */
+    @Override
+    public boolean rotateRightBrick() {
+        return rotateBrick(Rotation.CLOCKWISE);
+    }
 
-        // 2. Wall kick: try shifting left and right to find a valid rotation position
-        // Standard wall kick offsets: try 1 left, 1 right, 2 left, 2 right
-        int[] kickOffsets = {-1, 1, -2, 2};
-
-        for (int offset : kickOffsets) {
-            int testX = currentX + offset;
-            if (!MatrixOperations.intersect(currentGameMatrix, rotatedShape, testX, currentY)) {
-                // Found a valid position, update offset and rotate
-                currentOffset = new Point(testX, currentY);
-                brickRotator.setCurrentShape(nextShape.getPosition());
-                return true;
-            }
-        }
+    /**
+     * Attempts to turn the current brick by 180 degrees.
+     *
+     * @return {@code true} if the rotation succeeded.
+     * @see #rotateBrick(Rotation)
+     */
+    @Override
+    public boolean rotate180Brick() {
+        return rotateBrick(Rotation.HALF_TURN);
+    }
 
-        // 3. All attempts failed
-        return false;
+    /**
+     * Rotates the current brick using the Super Rotation System: the rotated piece is tried
+     * at each offset of the piece's kick table in turn and placed at the first free one,
+     * which is what makes wall kicks, floor kicks, tucks and T-spins possible. Each attempt
+     * is a mask test against the packed occupancy grid, so nothing is allocated.
+     *
+     * @param rotation The direction to rotate in.
+     * @return {@code true} if the rotation succeeded; {@code false} if every kick was blocked.
+     */
+    public boolean rotateBrick(Rotation rotation) {
+        int piece = brickRotator.getPieceId();
+        int from = brickRotator.getCurrentShapeIndex();
+        int k = SrsRotation.findKick(occupancy, piece, from, rotation, currentOffset.x, currentOffset.y);
+        if (k < 0) {
+            return false;
+        }
+        int[] kicks = SrsRotation.kicks(piece, from, rotation);
+        currentOffset.setLocation(currentOffset.x + kicks[k], currentOffset.y + kicks[k + 1]);
+        brickRotator.setCurrentShape(rotation.apply(from));
+        return true;
     }
 
     /**
@@ -158,7 +212,7 @@ public class SimpleBoard implements Board {
      */
     @Override
     public boolean hardDropBrick() {
-        int[][] brickShape = brickRotator.getCurrentShape();
+        BrickCells brickShape = brickRotator.getCurrentCells();
         int currentX = (int) currentOffset.getX();
         int currentY = (int) currentOffset.getY();
 
@@ -189,7 +243,7 @@ public class SimpleBoard implements Board {
      * @return The number of rows the brick will drop. Returns 0 if already at the bottom.
      */
     public int getHardDropDistance() {
-        int[][] brickShape = brickRotator.getCurrentShape();
+        BrickCells brickShape = brickRotator.getCurrentCells();
         int currentX = (int) currentOffset.getX();
         int currentY = (int) currentOffset.getY();
 
@@ -237,13 +291,14 @@ public class SimpleBoard implements Board {
         }
 
         // Reset brick position and lock the hold feature
-        currentOffset = new Point(4, 0);
+        currentOffset = new Point(spawnX, SPAWN_Y);
         canHold = false;
         return true;
     }
 
     /**
-     * Generates a new brick from the generator and places it at the starting position (X=4, Y=0).
+     * Generates a new brick from the generator and places it at the starting position
+     * (centered as in guideline games: X=3, Y=1 on the standard 10-column board).
      * Resets the {@code canHold} flag, allowing the player to use the hold feature for this new piece.
      *
      * @return {@code true} if the new brick creation resulted in an immediate collision (Game Over condition);
@@ -253,20 +308,21 @@ public class SimpleBoard implements Board {
     public boolean createNewBrick() {
         Brick currentBrick = brickGenerator.getBrick();
         brickRotator.setBrick(currentBrick);
-        currentOffset = new Point(4, 0);
+        currentOffset = new Point(spawnX, SPAWN_Y);
         canHold = true; // Reset hold ability when new piece is created
 
         // Check for immediate collision (Game Over)
-        return MatrixOperations.intersect(currentGameMatrix, brickRotator.getCurrentShape(), (int) currentOffset.getX(), (int) currentOffset.getY());
+        return MatrixOperations.intersect(currentGameMatrix, brickRotator.getCurrentCells(), (int) currentOffset.getX(), (int) currentOffset.getY());
     }
 
     /**
-     * Retrieves the current state of the static background matrix.
+     * Retrieves the current state of the static background matrix. This is the board's
+     * live grid, not a copy; it must not be modified.
      *
-     * @return The {@code int[][]} array representing the game board's settled blocks.
+     * @return The {@code CellGrid} holding the game board's settled blocks.
      */
     @Override
-    public int[][] getBoardMatrix() {
+    public CellGrid getBoardMatrix() {
         return currentGameMatrix;
     }
 
@@ -288,7 +344,8 @@ public class SimpleBoard implements Board {
                 (int) currentOffset.getX(),
                 (int) currentOffset.getY(),
                 brickGenerator.getNextBrick().getShapeMatrix().get(0),
-                heldBrickData
+                heldBrickData,
+                brickRotator.getCurrentCells()
         );
     }
 
@@ -314,27 +371,161 @@ public class SimpleBoard implements Board {
             return; // The bomb piece disappears upon explosion, it is not merged
         }
 
-        // Normal case: Merge the piece to the background matrix
-        currentGameMatrix = MatrixOperations.merge(
-                currentGameMatrix,
-                brickRotator.getCurrentShape(),
-                (int) currentOffset.getX(),
-                (int) currentOffset.getY()
-        );
+        // Normal case: Merge the piece into the background matrix in place.
+        // Only the brick's own cells are touched, independent of the board size.
+        BrickCells cells = brickRotator.getCurrentCells();
+        int offsetX = (int) currentOffset.getX();
+        int offsetY = (int) currentOffset.getY();
+        for (int i = 0; i < cells.size(); i++) {
+            int row = offsetY + cells.getDy(i);
+            int col = offsetX + cells.getDx(i);
+            if (currentGameMatrix.contains(row, col)) {
+                currentGameMatrix.set(row, col, cells.getColor());
+                occupancy.set(row, col);
+            }
+        }
+        dirtyTop = Math.min(dirtyTop, Math.max(0, offsetY + cells.getMinDy()));
+        dirtyBottom = Math.max(dirtyBottom, Math.min(width - 1, offsetY + cells.getMaxDy()));
     }
 
 
     /**
      * Checks the static background matrix for any completed rows and removes them.
+     * A row can only become full when a brick is merged into it, so only the rows
+     * touched since the last check are scanned, using the packed occupancy words.
+     * The rows are contiguous in the grid, so removal moves each run of surviving rows
+     * above the lowest cleared one down with a single block copy.
      *
      * @return A {@code ClearRow} object containing the new matrix state and the number
      * of rows that were cleared.
      */
     @Override
     public ClearRow clearRows() {
-        ClearRow clearRow = MatrixOperations.checkRemoving(currentGameMatrix);
-        currentGameMatrix = clearRow.getNewMatrix();
-        return clearRow;
+        int top = dirtyTop;
+        int bottom = dirtyBottom;
+        dirtyTop = Integer.MAX_VALUE;
+        dirtyBottom = Integer.MIN_VALUE;
+
+        boolean[] full = new boolean[Math.max(0, bottom - top + 1)];
+        int cleared = full.length == 0 ? 0 : occupancy.findFullRows(top, bottom, full);
+        if (cleared == 0) {
+            return new ClearRow(0, currentGameMatrix, 0);
+        }
+
+        int[] clearedRowIndices = new int[cleared];
+        int[][] clearedRowCells = new int[cleared][];
+        int k = 0;
+        for (int row = top; row <= bottom; row++) {
+            if (full[row - top]) {
+                clearedRowIndices[k] = row;
+                clearedRowCells[k++] = currentGameMatrix.rowToArray(row);
+            }
+        }
+
+        // Slide the surviving rows above 'bottom' down over the removed ones, one run
+        // of consecutive surviving rows at a time; every row above 'top' is one run
+        int write = bottom + 1;
+        int read = bottom;
+        while (read >= 0) {
+            if (read >= top && full[read - top]) {
+                read--;
+                continue;
+            }
+            int runEnd = read;
+            while (read >= 0 && (read < top || !full[read - top])) {
+                read--;
+            }
+            int runLength = runEnd - read;
+            write -= runLength;
+            if (write != read + 1) {
+                currentGameMatrix.moveRows(read + 1, write, runLength);
+            }
+        }
+        currentGameMatrix.clearRows(0, write);
+        occupancy.compact(top, bottom, full);
+
+        int scoreBonus = 50 * cleared * cleared;
+        return new ClearRow(cleared, currentGameMatrix, scoreBonus, clearedRowIndices, clearedRowCells);
+    }
+
+    /**
+     * Fills in the height of every column: the number of rows from its highest block down
+     * to the floor, or zero if the column is empty.
+     *
+     * @param heights An array of at least {@link #getColumns()} entries to receive the heights.
+     */
+    public void getColumnHeights(int[] heights) {
+        occupancy.columnHeights(heights);
+    }
+
+    /**
+     * @return The packed occupancy of the settled blocks, for move generation.
+     */
+    OccupancyGrid getOccupancy() {
+        return occupancy;
+    }
+
+    /**
+     * @return The SRS piece id of the falling brick.
+     */
+    public int getCurrentPieceId() {
+        return brickRotator.getPieceId();
+    }
+
+    /**
+     * @return The rotation state of the falling brick.
+     */
+    int getCurrentRotation() {
+        return brickRotator.getCurrentShapeIndex();
+    }
+
+    /**
+     * @return The column of the falling brick's 4x4 box.
+     */
+    int getCurrentX() {
+        return currentOffset.x;
+    }
+
+    /**
+     * @return The row of the falling brick's 4x4 box.
+     */
+    int getCurrentY() {
+        return currentOffset.y;
+    }
+
+    /**
+     * @return The SRS piece id of the held brick, or 0 if the hold slot is empty.
+     */
+    public int getHeldPieceId() {
+        return heldBrick != null ? BrickRotator.pieceIdOf(heldBrick) : 0;
+    }
+
+    /**
+     * @return The SRS piece id of the preview brick.
+     */
+    public int getNextPieceId() {
+        return BrickRotator.pieceIdOf(brickGenerator.getNextBrick());
+    }
+
+    /**
+     * @return {@code true} if the falling brick may still be swapped with the hold slot.
+     */
+    public boolean isHoldAvailable() {
+        return canHold;
+    }
+
+    /**
+     * @return The number of matrix rows, including the {@link #HIDDEN_ROWS} spawn rows.
+     */
+    public int getRows() {
+        return width;
+    }
+
+    /**
+     * @return The number of matrix columns.
+     */
+    public int getColumns() {
+        return height;
     }
 
     /**
@@ -353,7 +544,10 @@ public class SimpleBoard implements Board {
      */
     @Override
     public void newGame() {
-        currentGameMatrix = new int[width][height];
+        currentGameMatrix.clear();
+        occupancy.clearAll();
+        dirtyTop = Integer.MAX_VALUE;
+        dirtyBottom = Integer.MIN_VALUE;
         score.reset();
         powerUpManager.reset();
         heldBrick = null;
@@ -393,28 +587,10 @@ public class SimpleBoard implements Board {
             return false;
         }
 
-        int destinationRow = width - 1; // Start filling from the absolute bottom
-
-        // Iterate upward through the matrix rows
-        for (int row = width - 1; row >= 0; row--) {
-            // Check if the current row falls within the bottom 'numRows' that should be cleared
-            boolean rowIsScheduledToClear = (row >= width - numRows);
-
-            if (!rowIsScheduledToClear) {
-                // This row should be kept: copy it down to the next available destinationRow
-                for (int col = 0; col < height; col++) {
-                    currentGameMatrix[destinationRow][col] = currentGameMatrix[row][col];
-                }
-                destinationRow--; // Move destination up for the next non-cleared row
-            }
-        }
-
-        // Fill any remaining rows (from row 0 up to destinationRow) with zeros
-        for (int row = destinationRow; row >= 0; row--) {
-            for (int col = 0; col < height; col++) {
-                currentGameMatrix[row][col] = 0;
-            }
-        }
+        // Shift every kept row down by numRows in one block copy, then blank the new top rows
+        currentGameMatrix.moveRows(0, numRows, width - numRows);
+        currentGameMatrix.clearRows(0, numRows);
+        occupancy.removeBottomRows(numRows);
 
         return true;
     }
@@ -439,7 +615,8 @@ public class SimpleBoard implements Board {
             for (int col = startCol; col <= endCol; col++) {
                 // Check bounds: (row must be < width, col must be < height, both must be >= 0)
                 if (row >= 0 && row < width && col >= 0 && col < height) {
-                    currentGameMatrix[row][col] = 0; // Clear the block
+                    currentGameMatrix.set(row, col, 0); // Clear the block
+                    occupancy.clear(row, col);
                 }
             }
         }
@@ -455,24 +632,13 @@ public class SimpleBoard implements Board {
      * bomb's center of effect.
      */
     private Point getBombCenterPosition() {
-        int[][] brickShape = brickRotator.getCurrentShape();
+        BrickCells cells = brickRotator.getCurrentCells();
         int offsetX = (int) currentOffset.getX();
         int offsetY = (int) currentOffset.getY();
 
-        // The simplest way to find a "center" is to find the first non-zero cell in the shape
-        // and use its world position as the bomb's center.
-        for (int i = 0; i < brickShape.length; i++) {
-            for (int j = 0; j < brickShape[i].length; j++) {
-                if (brickShape[i][j] != 0) {
-                    int worldX = offsetX + j; // Column
-                    int worldY = offsetY + i; // Row
-                    return new Point(worldX, worldY);
-                }
-            }
-        }
-
-        // Fallback: use the brick's current offset position if the shape is somehow empty
-        return new Point(offsetX, offsetY);
+        // The simplest way to find a "center" is to take the first cell of the shape in
+        // row-major order and use its world position as the bomb's center.
+        return new Point(offsetX + cells.getDx(0), offsetY + cells.getDy(0));
     }
 
     /**
@@ -527,4 +693,171 @@ public class SimpleBoard implements Board {
     public boolean isBombPieceActive() {
         return isBombPiece;
     }
-}
\ No newline at end of file
+
+    /**
+     * Writes the complete board state (matrix, active brick, hold slot, flags, generator,
+     * score and power-up economy) into the buffer. Used by {@link GameSnapshot}.
+     *
+     * @param out The destination buffer; must have at least {@link #stateSize()} bytes remaining.
+     */
+    void writeState(ByteBuffer out) {
+        out.putShort((short) width);
+        out.putShort((short) height);
+        currentGameMatrix.write(out);
+        writePieceState(out);
+    }
+
+    /**
+     * Writes the same state as {@link #writeState(ByteBuffer)} in a compact form for the
+     * rewind history: the empty rows above the stack are skipped, the rest are stored as
+     * one occupancy bit per cell, and only occupied cells carry a color, two to a byte.
+     * The dimensions are not stored; the reader must be a board of the same size.
+     *
+     * @param out The destination buffer; must have at least {@link #compactStateSize()} bytes remaining.
+     */
+    void writeCompactState(ByteBuffer out) {
+        int top = occupancy.highestRow();
+        out.putShort((short) top);
+        for (int r = top; r < width; r++) {
+            occupancy.writeRow(r, out);
+        }
+        int pending = -1;
+        for (int r = top; r < width; r++) {
+            for (int c = 0; c < height; c++) {
+                int cell = currentGameMatrix.get(r, c);
+                if (cell == 0) {
+                    continue;
+                }
+                if (pending < 0) {
+                    pending = cell;
+                } else {
+                    out.put((byte) (pending | cell << 4));
+                    pending = -1;
+                }
+            }
+        }
+        if (pending >= 0) {
+            out.put((byte) pending);
+        }
+        writePieceState(out);
+    }
+
+    /**
+     * Writes everything except the matrix: active brick, hold slot, flags, generator,
+     * score and power-up economy.
+     */
+    private void writePieceState(ByteBuffer out) {
+        out.put((byte) brickGenerator.getBrickId(brickRotator.getBrick()));
+        out.put((byte) brickRotator.getCurrentShapeIndex());
+        out.putInt((int) currentOffset.getX());
+        out.putInt((int) currentOffset.getY());
+        out.put((byte) (heldBrick != null ? brickGenerator.getBrickId(heldBrick) : -1));
+        out.put((byte) ((canHold ? 1 : 0) | (isBombPiece ? 2 : 0)));
+        brickGenerator.writeState(out);
+        score.writeState(out);
+        powerUpManager.writeState(out);
+    }
+
+    /**
+     * Restores state written by {@link #writeState(ByteBuffer)}. The board dimensions
+     * must match the ones the state was captured with.
+     *
+     * @param in The source buffer positioned at the start of the board state.
+     * @throws IllegalArgumentException if the stored dimensions differ from this board.
+     */
+    void readState(ByteBuffer in) {
+        int rows = in.getShort();
+        int cols = in.getShort();
+        if (rows != width || cols != height) {
+            throw new IllegalArgumentException("Snapshot is for a " + rows + "x" + cols
+                    + " board, this board is " + width + "x" + height);
+        }
+        currentGameMatrix.read(in);
+        occupancy.rebuild(currentGameMatrix);
+        readPieceState(in);
+    }
+
+    /**
+     * Restores state written by {@link #writeCompactState(ByteBuffer)} by a board of the
+     * same size.
+     *
+     * @param in The source buffer positioned at the start of the compact state.
+     */
+    void readCompactState(ByteBuffer in) {
+        int top = in.getShort();
+        occupancy.clearAll();
+        currentGameMatrix.clearRows(0, top);
+        for (int r = top; r < width; r++) {
+            occupancy.readRow(r, in);
+        }
+        int packed = 0;
+        boolean highNibble = false;
+        for (int r = top; r < width; r++) {
+            for (int c = 0; c < height; c++) {
+                if (!occupancy.get(r, c)) {
+                    currentGameMatrix.set(r, c, 0);
+                } else if (highNibble) {
+                    currentGameMatrix.set(r, c, packed >>> 4);
+                    highNibble = false;
+                } else {
+                    packed = in.get() & 0xFF;
+                    currentGameMatrix.set(r, c, packed & 0xF);
+                    highNibble = true;
+                }
+            }
+        }
+        readPieceState(in);
+    }
+
+    /**
+     * Restores the part written by {@link #writePieceState(ByteBuffer)}; the matrix and
+     * occupancy must already be in place.
+     */
+    private void readPieceState(ByteBuffer in) {
+        brickRotator.setBrick(brickGenerator.getBrickById(in.get()));
+        brickRotator.setCurrentShape(in.get());
+        currentOffset = new Point(in.getInt(), in.getInt());
+        int heldId = in.get();
+        heldBrick = heldId >= 0 ? brickGenerator.getBrickById(heldId) : null;
+        dirtyTop = 0;
+        dirtyBottom = width - 1;
+        int flags = in.get();
+        canHold = (flags & 1) != 0;
+        isBombPiece = (flags & 2) != 0;
+        shouldShowBombEffect = false;
+        brickGenerator.readState(in);
+        score.readState(in);
+        powerUpManager.readState(in);
+    }
+
+    /**
+     * Upper bound of the number of bytes {@link #writeState(ByteBuffer)} produces.
+     *
+     * @return The state size in bytes.
+     */
+    int stateSize() {
+        int header = 4;                                    // rows + cols
+        int cells = width * height;                        // one byte per cell
+        return header + cells + pieceStateSize();
+    }
+
+    /**
+     * Upper bound of the number of bytes {@link #writeCompactState(ByteBuffer)} produces,
+     * reached when every cell is occupied.
+     *
+     * @return The compact state size in bytes.
+     */
+    int compactStateSize() {
+        int top = 2;                                       // first stored row
+        int bits = width * occupancy.rowBytes();           // one bit per cell
+        int colors = (width * height + 1) / 2;             // one nibble per occupied cell
+        return top + bits + colors + pieceStateSize();
+    }
+
+    private int pieceStateSize() {
+        int activeBrick = 12;                              // id, rotation, offset, held id, flags
+        int generator = 8 + 1 + MAX_QUEUED_BRICKS;         // random state + preview queue
+        int economy = 4 + 4 + 4 + 1 + 4 * PowerUp.values().length;
+        return activeBrick + generator + economy;
+    }
+}
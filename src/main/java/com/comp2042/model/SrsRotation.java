@@ -0,0 +1,163 @@
+package com.comp2042.model;
+
+/**
+ * Table-driven Super Rotation System. Every piece's four rotation states are
+ * precompiled into 16-bit collision masks (bit {@code row * 4 + col} of the piece's
+ * 4x4 box), and every rotation has a kick table of offsets to try in order, in board
+ * coordinates (y grows downwards). Rotating is therefore a handful of mask tests
+ * against {@link OccupancyGrid} with nothing allocated.
+ *
+ * Pieces are identified by their color id: 1 = I, 2 = J, 3 = L, 4 = O, 5 = S, 6 = T, 7 = Z.
+ * The masks match the shape matrices of the bricks in {@code com.comp2042.logic.bricks}.
+ *
+ * Quarter turns use the guideline SRS tables (a separate one for I). The guideline has no
+ * 180-degree kicks, so half turns use the widely adopted SRS+ table for every piece.
+ *
+ * @author COMP2042 Coursework
+ */
+public final class SrsRotation {
+
+    /** Highest piece id. */
+    public static final int PIECE_COUNT = 7;
+
+    private static final int I = 1;
+    private static final int O = 4;
+
+    // MASKS[piece][state]
+    private static final int[][] MASKS = new int[PIECE_COUNT + 1][4];
+
+    // KICKS[table][fromState][rotation.ordinal()] = {dx0, dy0, dx1, dy1, ...}
+    private static final int JLSTZ_TABLE = 0;
+    private static final int I_TABLE = 1;
+    private static final int O_TABLE = 2;
+    private static final int[][][][] KICKS = new int[3][4][Rotation.values().length][];
+
+    static {
+        String[][] shapes = {
+                null,
+                {"....|XXXX|....|....", "..X.|..X.|..X.|..X.", "....|....|XXXX|....", ".X..|.X..|.X..|.X.."}, // I
+                {"X...|XXX.|....|....", ".XX.|.X..|.X..|....", "....|XXX.|..X.|....", ".X..|.X..|XX..|...."}, // J
+                {"..X.|XXX.|....|....", ".X..|.X..|.XX.|....", "....|XXX.|X...|....", "XX..|.X..|.X..|...."}, // L
+                {".XX.|.XX.|....|....", ".XX.|.XX.|....|....", ".XX.|.XX.|....|....", ".XX.|.XX.|....|...."}, // O
+                {".XX.|XX..|....|....", ".X..|.XX.|..X.|....", "....|.XX.|XX..|....", "X...|XX..|.X..|...."}, // S
+                {".X..|XXX.|....|....", ".X..|.XX.|.X..|....", "....|XXX.|.X..|....", ".X..|XX..|.X..|...."}, // T
+                {"XX..|.XX.|....|....", "..X.|.XX.|.X..|....", "....|XX..|.XX.|....", ".X..|XX..|X...|...."}, // Z
+        };
+        for (int piece = 1; piece <= PIECE_COUNT; piece++) {
+            for (int state = 0; state < 4; state++) {
+                MASKS[piece][state] = parseMask(shapes[piece][state]);
+            }
+        }
+
+        // Guideline tables in SRS notation (x right, y up), for clockwise turns from each state
+        int[][] jlstzClockwise = {
+                {0, 0, -1, 0, -1, 1, 0, -2, -1, -2},  // 0 -> R
+                {0, 0, 1, 0, 1, -1, 0, 2, 1, 2},      // R -> 2
+                {0, 0, 1, 0, 1, 1, 0, -2, 1, -2},     // 2 -> L
+                {0, 0, -1, 0, -1, -1, 0, 2, -1, 2},   // L -> 0
+        };
+        int[][] iClockwise = {
+                {0, 0, -2, 0, 1, 0, -2, -1, 1, 2},    // 0 -> R
+                {0, 0, -1, 0, 2, 0, -1, 2, 2, -1},    // R -> 2
+                {0, 0, 2, 0, -1, 0, 2, 1, -1, -2},    // 2 -> L
+                {0, 0, 1, 0, -2, 0, 1, -2, -2, 1},    // L -> 0
+        };
+        // SRS+ half-turn kicks from each state
+        int[][] halfTurn = {
+                {0, 0, 0, 1, 1, 1, -1, 1, 1, 0, -1, 0},    // 0 -> 2
+                {0, 0, 1, 0, 1, 2, 1, 1, 0, 2, 0, 1},      // R -> L
+                {0, 0, 0, -1, -1, -1, 1, -1, -1, 0, 1, 0}, // 2 -> 0
+                {0, 0, -1, 0, -1, 2, -1, 1, 0, 2, 0, 1},   // L -> R
+        };
+        fillTable(JLSTZ_TABLE, jlstzClockwise, halfTurn);
+        fillTable(I_TABLE, iClockwise, halfTurn);
+        for (int state = 0; state < 4; state++) {
+            for (Rotation rotation : Rotation.values()) {
+                KICKS[O_TABLE][state][rotation.ordinal()] = new int[]{0, 0};
+            }
+        }
+    }
+
+    private SrsRotation() {
+    }
+
+    /**
+     * Fills one kick table. Counter-clockwise kicks are the negated clockwise kicks of the
+     * reverse transition; y is flipped to board coordinates.
+     */
+    private static void fillTable(int table, int[][] clockwise, int[][] halfTurn) {
+        for (int from = 0; from < 4; from++) {
+            KICKS[table][from][Rotation.CLOCKWISE.ordinal()] = toBoard(clockwise[from], 1);
+            KICKS[table][from][Rotation.HALF_TURN.ordinal()] = toBoard(halfTurn[from], 1);
+            // from -> from-1 counter-clockwise is the reverse of (from-1) -> from clockwise
+            KICKS[table][from][Rotation.COUNTER_CLOCKWISE.ordinal()] = toBoard(clockwise[(from + 3) & 3], -1);
+        }
+    }
+
+    private static int[] toBoard(int[] srs, int sign) {
+        int[] kicks = new int[srs.length];
+        for (int i = 0; i < srs.length; i += 2) {
+            kicks[i] = sign * srs[i];
+            kicks[i + 1] = -sign * srs[i + 1];
+        }
+        return kicks;
+    }
+
+    private static int parseMask(String diagram) {
+        String[] rows = diagram.split("\\|");
+        int mask = 0;
+        for (int r = 0; r < 4; r++) {
+            for (int c = 0; c < 4; c++) {
+                if (rows[r].charAt(c) == 'X') {
+                    mask |= 1 << (r * 4 + c);
+                }
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Finds the first kick that lets a piece rotate.
+     *
+     * @param grid the occupancy to test against
+     * @param piece the piece id (1-7)
+     * @param from the current rotation state
+     * @param rotation the rotation direction
+     * @param x the piece's current column
+     * @param y the piece's current row
+     * @return the index of the kick's {@code dx} in {@link #kicks}, or -1 if every kick is blocked
+     */
+    static int findKick(OccupancyGrid grid, int piece, int from, Rotation rotation, int x, int y) {
+        int mask = MASKS[piece][rotation.apply(from)];
+        int[] kicks = kicks(piece, from, rotation);
+        for (int k = 0; k < kicks.length; k += 2) {
+            if (!grid.collides(mask, x + kicks[k], y + kicks[k + 1])) {
+                return k;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param piece the piece id (1-7)
+     * @param state the rotation state (0-3)
+     * @return the 4x4 collision mask, bit {@code row * 4 + col}
+     */
+    public static int mask(int piece, int state) {
+        return MASKS[piece][state];
+    }
+
+    /**
+     * Returns the offsets to try, in order, when rotating. The array is shared and must
+     * not be modified.
+     *
+     * @param piece the piece id (1-7)
+     * @param from the current rotation state (0-3)
+     * @param rotation the rotation direction
+     * @return pairs {@code dx, dy} in board coordinates; the first pair is always (0, 0)
+     */
+    public static int[] kicks(int piece, int from, Rotation rotation) {
+        int table = piece == I ? I_TABLE : piece == O ? O_TABLE : JLSTZ_TABLE;
+        return KICKS[table][from][rotation.ordinal()];
+    }
+}
@@ -1,5 +1,7 @@
 package com.comp2042.model;
 
+import com.comp2042.logic.bricks.BrickCells;
+
 /**
  * Data Transfer Object (DTO) used to convey the necessary state information
  * from the game model (Board) to the graphical user interface (GUI) view
@@ -16,6 +18,7 @@ public final class ViewData {
     private final int yPosition; // The row index (y-coordinate) of the falling brick's top-left corner on the board.
     private final int[][] nextBrickData; // The 2D array matrix of the next piece in the queue (preview).
     private final int[][] heldBrickData; // The 2D array matrix of the piece currently in the hold queue, or null if empty.
+    private final BrickCells brickCells; // The occupied cells of brickData; immutable, so shared rather than copied.
 
     /**
      * Constructs a ViewData object encapsulating all primary and secondary brick information.
@@ -27,11 +30,28 @@ public final class ViewData {
      * @param heldBrickData The 2D array representing the held brick shape; {@code null} if no brick is held.
      */
     public ViewData(int[][] brickData, int xPosition, int yPosition, int[][] nextBrickData, int[][] heldBrickData) {
+        this(brickData, xPosition, yPosition, nextBrickData, heldBrickData, BrickCells.of(brickData));
+    }
+
+    /**
+     * Constructs a ViewData object for a brick whose cell list is already known, so it is not
+     * rebuilt from the shape matrix.
+     *
+     * @param brickData The 2D array representing the current falling brick's shape.
+     * @param xPosition The x-coordinate (column) of the current brick's position.
+     * @param yPosition The y-coordinate (row) of the current brick's position.
+     * @param nextBrickData The 2D array representing the shape of the next brick.
+     * @param heldBrickData The 2D array representing the held brick shape; {@code null} if no brick is held.
+     * @param brickCells The occupied cells of {@code brickData}.
+     */
+    public ViewData(int[][] brickData, int xPosition, int yPosition, int[][] nextBrickData, int[][] heldBrickData,
+                    BrickCells brickCells) {
         this.brickData = brickData;
         this.xPosition = xPosition;
         this.yPosition = yPosition;
         this.nextBrickData = nextBrickData;
         this.heldBrickData = heldBrickData;
+        this.brickCells = brickCells;
     }
 
     /**
@@ -57,6 +77,15 @@ public final class ViewData {
         return MatrixOperations.copy(brickData);
     }
 
+    /**
+     * Gets the occupied cells of the current brick, for collision and ghost checks.
+     *
+     * @return The cell list; immutable, so it is not copied.
+     */
+    public BrickCells getBrickCells() {
+        return brickCells;
+    }
+
     /**
      * Gets the x-coordinate (column) of the current falling brick.
      *
@@ -0,0 +1,58 @@
+package com.comp2042.replay;
+
+import com.comp2042.controller.game.GameView;
+import com.comp2042.controller.game.InputEventListener;
+import com.comp2042.model.CellGrid;
+import com.comp2042.model.ViewData;
+import javafx.beans.property.IntegerProperty;
+
+/**
+ * A {@link GameView} that draws nothing, for running games without a JavaFX stage.
+ * It only remembers whether the game has ended since the last check.
+ *
+ * @author COMP2042 Coursework
+ */
+public class HeadlessGameView implements GameView {
+
+    private boolean gameOver;
+
+    /**
+     * Returns whether the game ended since the last call, and clears the flag.
+     *
+     * @return {@code true} if {@link #gameOver()} was called since the last check
+     */
+    public boolean takeGameOver() {
+        boolean over = gameOver;
+        gameOver = false;
+        return over;
+    }
+
+    @Override
+    public void gameOver() {
+        gameOver = true;
+    }
+
+    @Override
+    public void setEventListener(InputEventListener eventListener) {}
+
+    @Override
+    public void initGameView(CellGrid boardMatrix, ViewData brick) {}
+
+    @Override
+    public void refreshBrick(ViewData brick) {}
+
+    @Override
+    public void refreshGameBackground(CellGrid board) {}
+
+    @Override
+    public void bindScore(IntegerProperty integerProperty) {}
+
+    @Override
+    public void bindSkillPoints(IntegerProperty integerProperty) {}
+
+    @Override
+    public void applySlowMotion() {}
+
+    @Override
+    public void showBoomEffect(int gridX, int gridY) {}
+}
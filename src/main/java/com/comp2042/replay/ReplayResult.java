@@ -0,0 +1,63 @@
+package com.comp2042.replay;
+
+/**
+ * Outcome of replaying one script: what the game ended up as, and what it cost.
+ *
+ * @author COMP2042 Coursework
+ */
+public final class ReplayResult {
+
+    private final long boardHash;
+    private final int score;
+    private final int pieces;
+    private final int linesCleared;
+    private final int gamesOver;
+    private final long elapsedNanos;
+    private final long allocatedBytes;
+
+    ReplayResult(long boardHash, int score, int pieces, int linesCleared, int gamesOver,
+                 long elapsedNanos, long allocatedBytes) {
+        this.boardHash = boardHash;
+        this.score = score;
+        this.pieces = pieces;
+        this.linesCleared = linesCleared;
+        this.gamesOver = gamesOver;
+        this.elapsedNanos = elapsedNanos;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    /** @return 64-bit FNV-1a hash of the final board matrix */
+    public long getBoardHash() {
+        return boardHash;
+    }
+
+    /** @return the final score */
+    public int getScore() {
+        return score;
+    }
+
+    /** @return the number of pieces locked */
+    public int getPieces() {
+        return pieces;
+    }
+
+    /** @return the number of lines cleared */
+    public int getLinesCleared() {
+        return linesCleared;
+    }
+
+    /** @return how many times the game ended and was restarted */
+    public int getGamesOver() {
+        return gamesOver;
+    }
+
+    /** @return locked pieces per second of replay time */
+    public double piecesPerSecond() {
+        return elapsedNanos == 0 ? 0 : pieces * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    /** @return bytes allocated per locked piece, or -1 if the JVM cannot measure allocation */
+    public long bytesPerPiece() {
+        return allocatedBytes < 0 || pieces == 0 ? -1 : allocatedBytes / pieces;
+    }
+}
@@ -0,0 +1,166 @@
+package com.comp2042.replay;
+
+import com.comp2042.controller.game.EventSource;
+import com.comp2042.controller.game.EventType;
+import com.comp2042.controller.game.GameController;
+import com.comp2042.controller.game.InputEventListener;
+import com.comp2042.controller.game.MoveEvent;
+import com.comp2042.logic.bricks.RandomBrickGenerator;
+import com.comp2042.model.CellGrid;
+import com.comp2042.model.DownData;
+import com.comp2042.model.SimpleBoard;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Replays a {@link ReplayScript} through {@link GameController}'s
+ * {@link InputEventListener} methods against a {@link HeadlessGameView}, exactly as
+ * the keyboard handler would, and measures time and allocation. Power-up purchases and
+ * uses go through {@link GameController#purchasePowerUp} and
+ * {@link GameController#activatePowerUp}, and a script that rewinds is played in
+ * practice mode through {@link GameController#rewind()}, as the GUI does, with the
+ * history depth recorded in the script rather than this JVM's {@code tetris.practice.depth}.
+ *
+ * @author COMP2042 Coursework
+ */
+public final class ReplayRunner {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    // One event object per type, as a held-down key would reuse them
+    private static final MoveEvent[] EVENTS = new MoveEvent[EventType.values().length];
+    private static final MoveEvent GRAVITY = new MoveEvent(EventType.DOWN, EventSource.THREAD);
+
+    // Inputs between deadline checks
+    private static final int DEADLINE_CHECK_INTERVAL = 1024;
+
+    static {
+        for (EventType type : EventType.values()) {
+            EVENTS[type.ordinal()] = new MoveEvent(type, EventSource.USER);
+        }
+    }
+
+    private ReplayRunner() {
+    }
+
+    /**
+     * Plays the script on a fresh 25 x 10 board. When a game ends it is restarted
+     * and the script continues.
+     *
+     * @param script the inputs to replay
+     * @return the final state and the measured cost
+     */
+    public static ReplayResult run(ReplayScript script) {
+        return play(script, true, 0);
+    }
+
+    /**
+     * Plays the script as one game on a fresh 25 x 10 board, stopping at the first game
+     * over; inputs after it are ignored. Used to verify submitted games.
+     *
+     * @param script the inputs to replay
+     * @param deadline {@link System#nanoTime()} value after which to give up
+     * @return the final state, or {@code null} if the deadline passed first
+     */
+    static ReplayResult playGame(ReplayScript script, long deadline) {
+        return play(script, false, deadline);
+    }
+
+    /**
+     * @param restart whether to start a new game at game over, or stop
+     * @param deadline {@link System#nanoTime()} value to give up at, or 0 for none
+     */
+    private static ReplayResult play(ReplayScript script, boolean restart, long deadline) {
+        HeadlessGameView view = new HeadlessGameView();
+        SimpleBoard board = new SimpleBoard(25, 10, new RandomBrickGenerator(script.getBrickSeed()));
+        GameController controller = new GameController(view, board, script.getRewindDepth());
+        InputEventListener listener = controller;
+
+        int pieces = 0;
+        int lines = 0;
+        int gamesOver = 0;
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+
+        for (int i = 0; i < script.length(); i++) {
+            if (deadline != 0 && i % DEADLINE_CHECK_INTERVAL == 0 && System.nanoTime() - deadline > 0) {
+                return null;
+            }
+            ReplayScript.Action action = script.actionAt(i);
+            if (action == ReplayScript.Action.BUY_POWER_UP) {
+                controller.purchasePowerUp(script.powerUpAt(i));
+                continue;
+            }
+            if (action == ReplayScript.Action.USE_POWER_UP) {
+                controller.activatePowerUp(script.powerUpAt(i));
+                continue;
+            }
+            if (action == ReplayScript.Action.REWIND) {
+                controller.rewind();
+                continue;
+            }
+            EventType type = script.inputAt(i);
+            MoveEvent event = action == ReplayScript.Action.GRAVITY ? GRAVITY : EVENTS[type.ordinal()];
+            DownData landed = null;
+            switch (type) {
+                case LEFT: listener.onLeftEvent(event); break;
+                case RIGHT: listener.onRightEvent(event); break;
+                case ROTATE:
+                case ROTATE_CW:
+                case ROTATE_180: listener.onRotateEvent(event); break;
+                case HOLD: listener.onHoldEvent(event); break;
+                case DOWN: landed = listener.onDownEvent(event); break;
+                case HARD_DROP: landed = listener.onHardDropEvent(event); break;
+                default: break;
+            }
+            if (landed != null && landed.getClearRow() != null) {
+                pieces++;
+                lines += landed.getClearRow().getLinesRemoved();
+            }
+            if (view.takeGameOver()) {
+                gamesOver++;
+                if (!restart) {
+                    break;
+                }
+                listener.createNewGame();
+            }
+        }
+
+        long elapsed = System.nanoTime() - start;
+        long allocatedAfter = allocatedBytes();
+        long allocated = allocatedBefore < 0 || allocatedAfter < 0 ? -1 : allocatedAfter - allocatedBefore;
+
+        return new ReplayResult(hash(board.getBoardMatrix()), board.getScore().getValue(),
+                pieces, lines, gamesOver, elapsed, allocated);
+    }
+
+    /**
+     * @return bytes allocated so far by the current thread, or -1 if unsupported
+     */
+    private static long allocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+            if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+                return threads.getCurrentThreadAllocatedBytes();
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 64-bit FNV-1a over the matrix dimensions and every cell, row by row with each row
+     * prefixed by its length.
+     */
+    static long hash(CellGrid matrix) {
+        long h = 0xcbf29ce484222325L;
+        h = (h ^ matrix.getRows()) * 0x100000001b3L;
+        for (int r = 0; r < matrix.getRows(); r++) {
+            h = (h ^ matrix.getColumns()) * 0x100000001b3L;
+            for (int c = 0; c < matrix.getColumns(); c++) {
+                h = (h ^ matrix.get(r, c)) * 0x100000001b3L;
+            }
+        }
+        return h;
+    }
+}
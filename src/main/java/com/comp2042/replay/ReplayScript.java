@@ -0,0 +1,294 @@
+package com.comp2042.replay;
+
+import com.comp2042.controller.game.EventType;
+import com.comp2042.model.PowerUp;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * One entry of the replay corpus: a brick-generator seed plus a fixed sequence of
+ * player inputs. The inputs are generated from their own seed with {@link Random},
+ * whose algorithm is fixed by the Java specification, so the same entry yields the
+ * same sequence on every JVM.
+ *
+ * Besides moves, a recorded game can contain the other actions that change its
+ * outcome: buying and using power-ups and, in practice mode, rewinding a placement. A
+ * script that rewinds also carries the practice-mode history depth it was played with,
+ * since that decides how far back rewinds can go.
+ *
+ * @author COMP2042 Coursework
+ */
+public final class ReplayScript {
+
+    /**
+     * What an input does.
+     */
+    public enum Action {
+        /** A player move, see {@link #inputAt(int)}. */
+        MOVE,
+        /** A soft-drop step from the game timer, which scores nothing. */
+        GRAVITY,
+        /** Buying the power-up {@link #powerUpAt(int)}. */
+        BUY_POWER_UP,
+        /** Using the power-up {@link #powerUpAt(int)}. */
+        USE_POWER_UP,
+        /** Taking back the last placement in practice mode. */
+        REWIND
+    }
+
+    private static final Action[] ACTIONS = Action.values();
+    private static final EventType[] TYPES = EventType.values();
+    private static final PowerUp[] POWER_UPS = PowerUp.values();
+    private static final EventType[] ROTATIONS = {EventType.ROTATE, EventType.ROTATE_CW, EventType.ROTATE_180};
+
+    // Each input is one byte: the action's ordinal in the high nibble and its argument (an
+    // EventType or PowerUp ordinal) in the low nibble
+    private static final int ARGUMENT_BITS = 4;
+
+    // Text form used by submitted replays: one letter per move, indexed by EventType ordinal
+    private static final String LETTERS = "DLRZSCXV";
+    private static final char GRAVITY_LETTER = 'G';
+    private static final char BUY_LETTER = 'B';
+    private static final char REWIND_LETTER = 'U';
+    private static final char PRACTICE_LETTER = 'P';
+
+    /** Largest practice-mode history depth a log may ask for. */
+    public static final int MAX_REWIND_DEPTH = 100_000;
+
+    private final String name;
+    private final long brickSeed;
+    private final byte[] inputs;
+    private final boolean rewinds;
+    private final int rewindDepth;
+
+    private ReplayScript(String name, long brickSeed, byte[] inputs, int rewindDepth) {
+        this.name = name;
+        this.brickSeed = brickSeed;
+        this.inputs = inputs;
+        this.rewindDepth = rewindDepth;
+        boolean found = false;
+        for (byte input : inputs) {
+            found |= (input & 0xFF) >>> ARGUMENT_BITS == Action.REWIND.ordinal();
+        }
+        this.rewinds = found;
+    }
+
+    /**
+     * Generates a script that plays like a person: each piece is rotated and shifted a
+     * little, sometimes held or soft-dropped, then hard-dropped.
+     *
+     * @param name the entry name used in reports and baselines
+     * @param brickSeed seed for the board's brick generator
+     * @param inputSeed seed for the input sequence
+     * @param inputCount number of inputs
+     * @return the script
+     */
+    public static ReplayScript generate(String name, long brickSeed, long inputSeed, int inputCount) {
+        Random random = new Random(inputSeed);
+        byte[] inputs = new byte[inputCount];
+        int n = 0;
+        while (n < inputCount) {
+            n = add(inputs, n, ROTATIONS[random.nextInt(ROTATIONS.length)], random.nextInt(3));
+            int shift = random.nextInt(11) - 5;
+            n = add(inputs, n, shift < 0 ? EventType.LEFT : EventType.RIGHT, Math.abs(shift));
+            if (random.nextInt(8) == 0) {
+                n = add(inputs, n, EventType.HOLD, 1);
+            }
+            if (random.nextInt(4) == 0) {
+                n = add(inputs, n, EventType.DOWN, 1 + random.nextInt(6));
+            }
+            n = add(inputs, n, EventType.HARD_DROP, 1);
+        }
+        return new ReplayScript(name, brickSeed, inputs, 0);
+    }
+
+    /**
+     * Reads a recorded input log. Each character is one input: {@code L} left, {@code R}
+     * right, {@code D} soft drop, {@code G} a gravity step from the game timer, {@code Z}
+     * rotate counter-clockwise, {@code X} rotate clockwise, {@code V} rotate 180,
+     * {@code C} hold and {@code S} hard drop. The digits {@code 1}-{@code 3} use the
+     * power-up on that key (row clearer, slow motion, bomb), {@code B} followed by a
+     * digit buys it, and {@code U} rewinds the last placement. Whitespace is ignored.
+     *
+     * A game played in practice mode starts with {@code P}, the history depth it was played
+     * with and whitespace, e.g. {@code P1000 LLS}; a log that rewinds must start that way.
+     *
+     * @param name the name used in reports
+     * @param brickSeed seed for the board's brick generator
+     * @param log the inputs
+     * @return the script
+     * @throws IllegalArgumentException if the log contains any other character, a
+     * {@code B} is not followed by a power-up digit, or a {@code U} appears without a
+     * practice depth between 1 and {@link #MAX_REWIND_DEPTH}
+     */
+    public static ReplayScript parse(String name, long brickSeed, CharSequence log) {
+        byte[] inputs = new byte[log.length()];
+        int n = 0;
+        int start = 0;
+        while (start < log.length() && Character.isWhitespace(log.charAt(start))) {
+            start++;
+        }
+        int rewindDepth = 0;
+        if (start < log.length() && log.charAt(start) == PRACTICE_LETTER) {
+            int end = start + 1;
+            long depth = 0;
+            while (end < log.length() && Character.isDigit(log.charAt(end)) && depth <= MAX_REWIND_DEPTH) {
+                depth = depth * 10 + (log.charAt(end) - '0');
+                end++;
+            }
+            if (depth < 1 || depth > MAX_REWIND_DEPTH) {
+                throw new IllegalArgumentException("Practice depth must be 1 to " + MAX_REWIND_DEPTH
+                        + ", at position " + start);
+            }
+            // Power-up keys are digits too, so the depth must be followed by whitespace
+            if (end < log.length() && !Character.isWhitespace(log.charAt(end))) {
+                throw new IllegalArgumentException("Expected whitespace after the practice depth at position " + end);
+            }
+            rewindDepth = (int) depth;
+            start = end;
+        }
+        for (int i = start; i < log.length(); i++) {
+            char c = log.charAt(i);
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            if (c == GRAVITY_LETTER) {
+                inputs[n++] = encode(Action.GRAVITY, EventType.DOWN.ordinal());
+            } else if (c == REWIND_LETTER) {
+                if (rewindDepth == 0) {
+                    throw new IllegalArgumentException("Rewind at position " + i
+                            + " in a log without a practice depth (" + PRACTICE_LETTER + "<depth>)");
+                }
+                inputs[n++] = encode(Action.REWIND, 0);
+            } else if (c == BUY_LETTER) {
+                int powerUp = i + 1 < log.length() ? powerUpKey(log.charAt(i + 1)) : -1;
+                if (powerUp < 0) {
+                    throw new IllegalArgumentException("Expected a power-up digit after '" + c + "' at position " + i);
+                }
+                inputs[n++] = encode(Action.BUY_POWER_UP, powerUp);
+                i++;
+            } else if (powerUpKey(c) >= 0) {
+                inputs[n++] = encode(Action.USE_POWER_UP, powerUpKey(c));
+            } else {
+                int type = LETTERS.indexOf(c);
+                if (type < 0) {
+                    throw new IllegalArgumentException("Unknown input '" + c + "' at position " + i);
+                }
+                inputs[n++] = encode(Action.MOVE, type);
+            }
+        }
+        return new ReplayScript(name, brickSeed, n == inputs.length ? inputs : Arrays.copyOf(inputs, n), rewindDepth);
+    }
+
+    /**
+     * @return the inputs in the text form read by {@link #parse(String, long, CharSequence)}
+     */
+    public String toLog() {
+        StringBuilder log = new StringBuilder(inputs.length);
+        if (rewindDepth > 0) {
+            log.append(PRACTICE_LETTER).append(rewindDepth).append(' ');
+        }
+        for (int i = 0; i < inputs.length; i++) {
+            int argument = inputs[i] & ((1 << ARGUMENT_BITS) - 1);
+            switch (actionAt(i)) {
+                case MOVE: log.append(LETTERS.charAt(argument)); break;
+                case GRAVITY: log.append(GRAVITY_LETTER); break;
+                case BUY_POWER_UP: log.append(BUY_LETTER).append((char) ('1' + argument)); break;
+                case USE_POWER_UP: log.append((char) ('1' + argument)); break;
+                case REWIND: log.append(REWIND_LETTER); break;
+                default: break;
+            }
+        }
+        return log.toString();
+    }
+
+    /**
+     * @return the {@link PowerUp} ordinal of a power-up key, or -1 if it is not one
+     */
+    private static int powerUpKey(char c) {
+        int index = c - '1';
+        return index >= 0 && index < POWER_UPS.length ? index : -1;
+    }
+
+    private static byte encode(Action action, int argument) {
+        return (byte) (action.ordinal() << ARGUMENT_BITS | argument);
+    }
+
+    private static int add(byte[] inputs, int n, EventType type, int times) {
+        for (int i = 0; i < times && n < inputs.length; i++) {
+            inputs[n++] = encode(Action.MOVE, type.ordinal());
+        }
+        return n;
+    }
+
+    /**
+     * @return the entry name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the seed for the brick generator
+     */
+    public long getBrickSeed() {
+        return brickSeed;
+    }
+
+    /**
+     * @return the number of inputs
+     */
+    public int length() {
+        return inputs.length;
+    }
+
+    /**
+     * @return {@code true} if the script rewinds placements, so it was played in practice mode
+     */
+    public boolean hasRewinds() {
+        return rewinds;
+    }
+
+    /**
+     * @return the practice-mode history depth the game was played with, or 0 if it was not
+     * played in practice mode
+     */
+    public int getRewindDepth() {
+        return rewindDepth;
+    }
+
+    /**
+     * @param index input position
+     * @return what the input at that position does
+     */
+    public Action actionAt(int index) {
+        return ACTIONS[(inputs[index] & 0xFF) >>> ARGUMENT_BITS];
+    }
+
+    /**
+     * @param index input position of a {@link Action#MOVE} or {@link Action#GRAVITY} input
+     * @return the move at that position
+     */
+    public EventType inputAt(int index) {
+        return TYPES[inputs[index] & ((1 << ARGUMENT_BITS) - 1)];
+    }
+
+    /**
+     * @param index input position
+     * @return {@code true} if the input is a gravity step from the game timer, which scores
+     * nothing, rather than a soft drop by the player
+     */
+    public boolean isGravity(int index) {
+        return actionAt(index) == Action.GRAVITY;
+    }
+
+    /**
+     * @param index input position of a {@link Action#BUY_POWER_UP} or
+     * {@link Action#USE_POWER_UP} input
+     * @return the power-up bought or used at that position
+     */
+    public PowerUp powerUpAt(int index) {
+        return POWER_UPS[inputs[index] & ((1 << ARGUMENT_BITS) - 1)];
+    }
+}
@@ -0,0 +1,303 @@
+package com.comp2042.replay;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Verifies submitted games by replaying them headless: each submission is a brick seed,
+ * an input log and the score the player claims. The log is played as one game through
+ * {@link com.comp2042.controller.game.GameController} on a {@link com.comp2042.model.SimpleBoard},
+ * so the usual scoring rules apply, and the submission is accepted only if the game ends
+ * with exactly the claimed score. A game that rewound placements was played in practice
+ * mode, so it is not replayed at all but reported as {@link Verdict#PRACTICE}.
+ *
+ * Replays run on a fixed pool of worker threads. The number of submissions waiting or
+ * running is capped: {@link #submit} blocks the caller while the service is full, which
+ * pushes back on whoever is feeding it, and {@link #offer} refuses instead. Every replay has
+ * a time budget, checked as it plays; a replay that exceeds it is stopped and reported as
+ * {@link Verdict#TIMED_OUT} so one oversized log cannot hold a worker.
+ *
+ * Run {@link #main(String[])} to verify submissions from standard input, one per line:
+ * {@code id brickSeed claimedScore inputs}, with the inputs in the form read by
+ * {@link ReplayScript#parse(String, long, CharSequence)}. Workers, queue length, time
+ * budget and maximum log length come from the {@code tetris.verify.workers},
+ * {@code tetris.verify.queue}, {@code tetris.verify.timeoutMillis} and
+ * {@code tetris.verify.maxInputs} system properties.
+ *
+ * @author COMP2042 Coursework
+ */
+public final class ReplayVerifier implements AutoCloseable {
+
+    /**
+     * Outcome of one verification.
+     */
+    public enum Verdict {
+        /** The replay ends with the claimed score. */
+        ACCEPTED,
+        /** The replay ends with a different score. */
+        REJECTED,
+        /** The replay did not finish within the time budget. */
+        TIMED_OUT,
+        /** The game rewound placements in practice mode, so it does not count. */
+        PRACTICE
+    }
+
+    /**
+     * Result of verifying one submission.
+     */
+    public static final class Verification {
+        private final String id;
+        private final Verdict verdict;
+        private final int claimedScore;
+        private final int actualScore;
+        private final int pieces;
+        private final long elapsedNanos;
+
+        Verification(String id, Verdict verdict, int claimedScore, int actualScore, int pieces, long elapsedNanos) {
+            this.id = id;
+            this.verdict = verdict;
+            this.claimedScore = claimedScore;
+            this.actualScore = actualScore;
+            this.pieces = pieces;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /** @return the submission id */
+        public String getId() {
+            return id;
+        }
+
+        /** @return the verdict */
+        public Verdict getVerdict() {
+            return verdict;
+        }
+
+        /** @return the score the player claimed */
+        public int getClaimedScore() {
+            return claimedScore;
+        }
+
+        /** @return the score the replay ended with, or -1 if it timed out or was not replayed */
+        public int getActualScore() {
+            return actualScore;
+        }
+
+        /** @return the number of pieces locked in the replay */
+        public int getPieces() {
+            return pieces;
+        }
+
+        /** @return the time spent replaying, in nanoseconds */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+    }
+
+    private final ThreadPoolExecutor workers;
+    private final Semaphore slots; // Submissions that may be waiting or running at once
+    private final long timeoutNanos;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder practice = new LongAdder();
+
+    /**
+     * Starts a verifier.
+     *
+     * @param workerCount number of replay threads, normally the number of cores
+     * @param queueCapacity submissions that may wait for a worker before callers are held back
+     * @param timeoutMillis time budget of one replay
+     * @throws IllegalArgumentException if any argument is not positive
+     */
+    public ReplayVerifier(int workerCount, int queueCapacity, long timeoutMillis) {
+        if (workerCount < 1 || queueCapacity < 1 || timeoutMillis < 1) {
+            throw new IllegalArgumentException("Workers, queue capacity and timeout must be positive, got "
+                    + workerCount + ", " + queueCapacity + ", " + timeoutMillis);
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        // The slots bound what is outstanding; the executor's own queue can hold all of them,
+        // since a worker releases its slot a moment before it is free to take the next task
+        workers = new ThreadPoolExecutor(workerCount, workerCount, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workerCount + queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "replay-verifier-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        slots = new Semaphore(workerCount + queueCapacity);
+        timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    }
+
+    /**
+     * Queues a submission, waiting while the verifier is full.
+     *
+     * @param id the submission id, echoed in the result
+     * @param script the submitted game
+     * @param claimedScore the score the player claims
+     * @return the pending result
+     * @throws InterruptedException if interrupted while waiting for room
+     */
+    public CompletableFuture<Verification> submit(String id, ReplayScript script, int claimedScore)
+            throws InterruptedException {
+        slots.acquire();
+        return start(id, script, claimedScore);
+    }
+
+    /**
+     * Queues a submission if there is room.
+     *
+     * @param id the submission id, echoed in the result
+     * @param script the submitted game
+     * @param claimedScore the score the player claims
+     * @return the pending result, or {@code null} if the verifier is full
+     */
+    public CompletableFuture<Verification> offer(String id, ReplayScript script, int claimedScore) {
+        if (!slots.tryAcquire()) {
+            return null;
+        }
+        return start(id, script, claimedScore);
+    }
+
+    private CompletableFuture<Verification> start(String id, ReplayScript script, int claimedScore) {
+        CompletableFuture<Verification> result = new CompletableFuture<>();
+        try {
+            workers.execute(() -> {
+                try {
+                    result.complete(verify(id, script, claimedScore));
+                } catch (RuntimeException | Error e) {
+                    result.completeExceptionally(e);
+                } finally {
+                    slots.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Only after close()
+            slots.release();
+            throw e;
+        }
+        return result;
+    }
+
+    private Verification verify(String id, ReplayScript script, int claimedScore) {
+        if (script.hasRewinds()) {
+            practice.increment();
+            return new Verification(id, Verdict.PRACTICE, claimedScore, -1, 0, 0);
+        }
+        long start = System.nanoTime();
+        ReplayResult replay = ReplayRunner.playGame(script, start + timeoutNanos);
+        long elapsed = System.nanoTime() - start;
+        if (replay == null) {
+            timedOut.increment();
+            return new Verification(id, Verdict.TIMED_OUT, claimedScore, -1, 0, elapsed);
+        }
+        Verdict verdict = replay.getScore() == claimedScore ? Verdict.ACCEPTED : Verdict.REJECTED;
+        (verdict == Verdict.ACCEPTED ? accepted : rejected).increment();
+        return new Verification(id, verdict, claimedScore, replay.getScore(), replay.getPieces(), elapsed);
+    }
+
+    /** @return submissions accepted so far */
+    public long getAcceptedCount() {
+        return accepted.sum();
+    }
+
+    /** @return submissions rejected so far */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /** @return submissions that ran out of time so far */
+    public long getTimedOutCount() {
+        return timedOut.sum();
+    }
+
+    /** @return submissions turned away as practice games so far */
+    public long getPracticeCount() {
+        return practice.sum();
+    }
+
+    /**
+     * Stops taking submissions and waits for the queued ones to finish.
+     */
+    @Override
+    public void close() {
+        workers.shutdown();
+        try {
+            workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Verifies submissions read from standard input and prints one line per result, in
+     * completion order, followed by a summary. Malformed lines are reported on standard
+     * error and skipped.
+     *
+     * @param args unused
+     * @throws IOException if standard input cannot be read
+     * @throws InterruptedException if interrupted while waiting for room
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int workerCount = Integer.getInteger("tetris.verify.workers", Runtime.getRuntime().availableProcessors());
+        int queueCapacity = Integer.getInteger("tetris.verify.queue", 4 * workerCount);
+        long timeoutMillis = Long.getLong("tetris.verify.timeoutMillis", 2000);
+        int maxInputs = Integer.getInteger("tetris.verify.maxInputs", 1_000_000);
+
+        long start = System.nanoTime();
+        long submitted = 0;
+        ReplayVerifier verifier = new ReplayVerifier(workerCount, queueCapacity, timeoutMillis);
+        // Closing the verifier waits for the queued replays, so the summary follows the block
+        try (verifier;
+             BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = in.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split("\\s+", 4);
+                ReplayScript script;
+                int claimedScore;
+                try {
+                    if (fields.length < 4) {
+                        throw new IllegalArgumentException("expected: id brickSeed claimedScore inputs");
+                    }
+                    if (fields[3].length() > maxInputs) {
+                        throw new IllegalArgumentException("more than " + maxInputs + " inputs");
+                    }
+                    claimedScore = Integer.parseInt(fields[2]);
+                    script = ReplayScript.parse(fields[0], Long.parseLong(fields[1]), fields[3]);
+                } catch (IllegalArgumentException e) {
+                    System.err.println("[verify] line " + lineNumber + " skipped: " + e.getMessage());
+                    continue;
+                }
+                verifier.submit(fields[0], script, claimedScore).thenAccept(ReplayVerifier::print);
+                submitted++;
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        System.out.printf("[verify] %d submissions: %d accepted, %d rejected, %d timed out, %d practice;"
+                        + " %.0f per minute on %d workers%n",
+                submitted, verifier.getAcceptedCount(), verifier.getRejectedCount(), verifier.getTimedOutCount(),
+                verifier.getPracticeCount(),
+                seconds > 0 ? submitted * 60 / seconds : 0, workerCount);
+    }
+
+    private static synchronized void print(Verification v) {
+        System.out.printf("%s %s claimed=%d actual=%d pieces=%d %.2fms%n", v.getId(), v.getVerdict(),
+                v.getClaimedScore(), v.getActualScore(), v.getPieces(), v.getElapsedNanos() / 1_000_000.0);
+    }
+}
@@ -0,0 +1 @@
+package com.comp2042.replay;
@@ -0,0 +1,293 @@
+package com.comp2042.view;
+
+import javafx.animation.AnimationTimer;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+import com.comp2042.model.CellGrid;
+
+/**
+ * Single canvas that shows many boards at once as a tiled grid, for battle and
+ * tournament displays of up to {@link #MAX_BOARDS} games.
+ *
+ * Each board is kept as a compact snapshot of one byte per visible cell. Publishing a
+ * board through {@link #update} compares it against the snapshot and only marks the
+ * tile dirty if a cell changed; once per frame an {@link AnimationTimer} repaints the
+ * dirty tiles and nothing else. The whole grid is one node, so the cost is bounded by
+ * the cells that actually change rather than by the number of boards on screen.
+ *
+ * All methods must be called on the JavaFX Application Thread.
+ */
+public class BattleBoardsView extends Canvas {
+
+    /** Most boards the view can show. */
+    public static final int MAX_BOARDS = 100;
+
+    private static final double TILE_GAP = 6;
+    private static final double LABEL_HEIGHT = 14;
+    private static final Color TILE_BACKGROUND = Color.rgb(20, 20, 30);
+    private static final Color TILE_BORDER = Color.rgb(90, 90, 110);
+    private static final Color LABEL_COLOR = Color.rgb(220, 220, 220);
+    private static final Color GAME_OVER_SHADE = Color.rgb(0, 0, 0, 0.55);
+    private static final Font LABEL_FONT = Font.font("System", 10);
+
+    // Same palette as the main board
+    private static final Color[] PALETTE = {
+            Color.TRANSPARENT, Color.AQUA, Color.BLUEVIOLET, Color.DARKGREEN,
+            Color.YELLOW, Color.RED, Color.BEIGE, Color.BURLYWOOD, Color.WHITE
+    };
+
+    private final int boardCount;
+    private final int rows;
+    private final int columns;
+    private final int hiddenRows;
+
+    // One snapshot of rows * columns color ids per board
+    private final byte[][] cells;
+    private final String[] labels;
+    private final boolean[] gameOver;
+    private final boolean[] dirty;
+    private int dirtyCount;
+
+    // Tile geometry, recomputed on resize
+    private int gridColumns = 1;
+    private double tileWidth;
+    private double tileHeight;
+    private double cellSize;
+
+    private final AnimationTimer painter = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            if (dirtyCount > 0) {
+                paintDirtyTiles();
+            }
+        }
+    };
+
+    /**
+     * Creates the view for a fixed number of boards of the same size.
+     *
+     * @param boardCount number of boards, 1 to {@link #MAX_BOARDS}
+     * @param rows rows per board matrix, including hidden rows
+     * @param columns columns per board
+     * @param hiddenRows rows at the top of each matrix that are not drawn
+     * @throws IllegalArgumentException if the count or the size is out of range
+     */
+    public BattleBoardsView(int boardCount, int rows, int columns, int hiddenRows) {
+        if (boardCount < 1 || boardCount > MAX_BOARDS) {
+            throw new IllegalArgumentException("Board count must be 1.." + MAX_BOARDS + ", got " + boardCount);
+        }
+        if (rows <= hiddenRows || columns < 1) {
+            throw new IllegalArgumentException("Invalid board size " + rows + "x" + columns);
+        }
+        this.boardCount = boardCount;
+        this.rows = rows;
+        this.columns = columns;
+        this.hiddenRows = hiddenRows;
+        int visibleCells = (rows - hiddenRows) * columns;
+        cells = new byte[boardCount][visibleCells];
+        labels = new String[boardCount];
+        gameOver = new boolean[boardCount];
+        dirty = new boolean[boardCount];
+
+        widthProperty().addListener((obs, o, n) -> relayout());
+        heightProperty().addListener((obs, o, n) -> relayout());
+        painter.start();
+    }
+
+    /**
+     * Publishes the current state of one board. The falling brick, if given, is drawn
+     * over the background. The tile is repainted on the next frame only if a visible
+     * cell changed.
+     *
+     * @param slot index of the board
+     * @param matrix the board's background grid ({@code rows x columns})
+     * @param brick the falling brick's shape, or {@code null}
+     * @param brickX column of the brick's top-left corner
+     * @param brickY matrix row of the brick's top-left corner
+     */
+    public void update(int slot, CellGrid matrix, int[][] brick, int brickX, int brickY) {
+        byte[] snapshot = cells[slot];
+        boolean changed = false;
+        int k = 0;
+        for (int r = hiddenRows; r < rows; r++) {
+            int brickRow = r - brickY;
+            boolean brickInRow = brick != null && brickRow >= 0 && brickRow < brick.length;
+            for (int c = 0; c < columns; c++, k++) {
+                int value = matrix.get(r, c);
+                if (brickInRow) {
+                    int brickCol = c - brickX;
+                    if (brickCol >= 0 && brickCol < brick[brickRow].length && brick[brickRow][brickCol] != 0) {
+                        value = brick[brickRow][brickCol];
+                    }
+                }
+                byte packed = (byte) value;
+                if (snapshot[k] != packed) {
+                    snapshot[k] = packed;
+                    changed = true;
+                }
+            }
+        }
+        if (changed) {
+            markDirty(slot);
+        }
+    }
+
+    /**
+     * Sets the caption drawn under a board, e.g. the player or bot name and score.
+     *
+     * @param slot index of the board
+     * @param label the caption, or {@code null} for none
+     */
+    public void setLabel(int slot, String label) {
+        if (label == null ? labels[slot] != null : !label.equals(labels[slot])) {
+            labels[slot] = label;
+            markDirty(slot);
+        }
+    }
+
+    /**
+     * Dims a board whose game has ended.
+     *
+     * @param slot index of the board
+     * @param over {@code true} once the game is over
+     */
+    public void setGameOver(int slot, boolean over) {
+        if (gameOver[slot] != over) {
+            gameOver[slot] = over;
+            markDirty(slot);
+        }
+    }
+
+    /**
+     * @return the number of boards shown
+     */
+    public int getBoardCount() {
+        return boardCount;
+    }
+
+    /**
+     * Stops repainting; call when the view is removed from the scene.
+     */
+    public void dispose() {
+        painter.stop();
+    }
+
+    @Override
+    public boolean isResizable() {
+        return true;
+    }
+
+    @Override
+    public double prefWidth(double height) {
+        return getWidth();
+    }
+
+    @Override
+    public double prefHeight(double width) {
+        return getHeight();
+    }
+
+    private void markDirty(int slot) {
+        if (!dirty[slot]) {
+            dirty[slot] = true;
+            dirtyCount++;
+        }
+    }
+
+    /**
+     * Picks the grid shape and cell size that make the tiles as large as possible
+     * in the current canvas, then schedules a full repaint.
+     */
+    private void relayout() {
+        double width = getWidth();
+        double height = getHeight();
+        int visibleRows = rows - hiddenRows;
+        double best = 0;
+        for (int cols = 1; cols <= boardCount; cols++) {
+            int gridRows = (boardCount + cols - 1) / cols;
+            double fitWidth = (width - TILE_GAP * (cols + 1)) / cols / columns;
+            double fitHeight = (height - TILE_GAP * (gridRows + 1) - LABEL_HEIGHT * gridRows) / gridRows / visibleRows;
+            double size = Math.min(fitWidth, fitHeight);
+            if (size > best) {
+                best = size;
+                gridColumns = cols;
+            }
+        }
+        cellSize = Math.max(1, Math.floor(best));
+        tileWidth = cellSize * columns;
+        tileHeight = cellSize * visibleRows;
+
+        getGraphicsContext2D().clearRect(0, 0, width, height);
+        for (int i = 0; i < boardCount; i++) {
+            markDirty(i);
+        }
+    }
+
+    /**
+     * Repaints every dirty tile and clears the dirty flags.
+     */
+    private void paintDirtyTiles() {
+        GraphicsContext gc = getGraphicsContext2D();
+        for (int i = 0; i < boardCount; i++) {
+            if (dirty[i]) {
+                paintTile(gc, i);
+                dirty[i] = false;
+            }
+        }
+        dirtyCount = 0;
+    }
+
+    /**
+     * Paints one board. Runs of equal cells in a row are filled with a single
+     * rectangle to keep the number of canvas commands down.
+     */
+    private void paintTile(GraphicsContext gc, int slot) {
+        int gridX = slot % gridColumns;
+        int gridY = slot / gridColumns;
+        double x0 = TILE_GAP + gridX * (tileWidth + TILE_GAP);
+        double y0 = TILE_GAP + gridY * (tileHeight + LABEL_HEIGHT + TILE_GAP);
+
+        gc.setFill(TILE_BACKGROUND);
+        gc.fillRect(x0, y0, tileWidth, tileHeight + LABEL_HEIGHT);
+
+        byte[] snapshot = cells[slot];
+        int visibleRows = rows - hiddenRows;
+        for (int r = 0; r < visibleRows; r++) {
+            int base = r * columns;
+            int c = 0;
+            while (c < columns) {
+                int value = snapshot[base + c];
+                int end = c + 1;
+                while (end < columns && snapshot[base + end] == value) {
+                    end++;
+                }
+                if (value != 0) {
+                    gc.setFill(PALETTE[value > 0 && value < PALETTE.length ? value : PALETTE.length - 1]);
+                    gc.fillRect(x0 + c * cellSize, y0 + r * cellSize, (end - c) * cellSize, cellSize);
+                }
+                c = end;
+            }
+        }
+
+        if (gameOver[slot]) {
+            gc.setFill(GAME_OVER_SHADE);
+            gc.fillRect(x0, y0, tileWidth, tileHeight);
+        }
+
+        gc.setStroke(TILE_BORDER);
+        gc.setLineWidth(1);
+        gc.strokeRect(x0 + 0.5, y0 + 0.5, tileWidth - 1, tileHeight - 1);
+
+        if (labels[slot] != null) {
+            gc.setFill(LABEL_COLOR);
+            gc.setFont(LABEL_FONT);
+            gc.setTextAlign(TextAlignment.CENTER);
+            gc.setTextBaseline(VPos.CENTER);
+            gc.fillText(labels[slot], x0 + tileWidth / 2, y0 + tileHeight + LABEL_HEIGHT / 2, tileWidth);
+        }
+    }
+}
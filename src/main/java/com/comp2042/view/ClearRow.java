@@ -1,28 +1,51 @@
 package com.comp2042.view;
 
+import com.comp2042.model.CellGrid;
 import com.comp2042.model.MatrixOperations;
 
 public final class ClearRow {
 
+    private static final int[] NO_ROWS = new int[0];
+
     private final int linesRemoved;
-    private final int[][] newMatrix;
+    private final CellGrid newMatrix;
     private final int scoreBonus;
+    private final int[] clearedRowIndices;
+    private final int[][] clearedRowCells;
+
+    public ClearRow(int linesRemoved, CellGrid newMatrix, int scoreBonus) {
+        this(linesRemoved, newMatrix, scoreBonus, NO_ROWS, new int[0][]);
+    }
 
-    public ClearRow(int linesRemoved, int[][] newMatrix, int scoreBonus) {
+    /**
+     * @param clearedRowIndices matrix row of each removed line, top to bottom
+     * @param clearedRowCells the cells each removed line held, in the same order
+     */
+    public ClearRow(int linesRemoved, CellGrid newMatrix, int scoreBonus, int[] clearedRowIndices, int[][] clearedRowCells) {
         this.linesRemoved = linesRemoved;
         this.newMatrix = newMatrix;
         this.scoreBonus = scoreBonus;
+        this.clearedRowIndices = clearedRowIndices;
+        this.clearedRowCells = clearedRowCells;
     }
 
     public int getLinesRemoved() {
         return linesRemoved;
     }
 
-    public int[][] getNewMatrix() {
-        return MatrixOperations.copy(newMatrix);
+    public CellGrid getNewMatrix() {
+        return newMatrix.copy();
     }
 
     public int getScoreBonus() {
         return scoreBonus;
     }
-}
\ No newline at end of file
+
+    public int[] getClearedRowIndices() {
+        return clearedRowIndices.clone();
+    }
+
+    public int[][] getClearedRowCells() {
+        return MatrixOperations.copy(clearedRowCells);
+    }
+}
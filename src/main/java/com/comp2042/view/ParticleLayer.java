@@ -0,0 +1,320 @@
+package com.comp2042.view;
+
+import javafx.animation.AnimationTimer;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+
+/**
+ * Canvas layer that draws all transient gameplay effects: line-clear bursts,
+ * bomb shockwaves and floating score popups.
+ *
+ * Every effect lives in fixed-size, preallocated pools (parallel primitive arrays),
+ * so showing an effect never creates scene-graph nodes or transitions. When a pool is
+ * full the oldest slot is recycled. A single {@link AnimationTimer} advances and
+ * redraws the pools each frame and stops itself once nothing is alive, so the layer
+ * costs nothing while idle.
+ *
+ * Positions are given in board cells (column, matrix row including hidden rows) and
+ * converted with the geometry set through {@link #setGrid(double, double, int, int)}.
+ */
+public class ParticleLayer extends Canvas {
+
+    private static final int MAX_PARTICLES = 512;
+    private static final int MAX_SHOCKWAVES = 8;
+    private static final int MAX_POPUPS = 16;
+
+    private static final int PARTICLES_PER_CELL = 2;
+    private static final int BOMB_DEBRIS = 48;
+    private static final double GRAVITY = 900;              // px/s^2
+    private static final double PARTICLE_LIFE = 0.7;        // seconds
+    private static final double SHOCKWAVE_LIFE = 0.45;      // seconds
+    private static final double SHOCKWAVE_RADIUS = 4.5;     // cells
+    private static final double POPUP_LIFE = 2.0;           // seconds
+    private static final double POPUP_RISE = 40;            // px over the popup's life
+
+    // Same palette as the board so bursts match the cleared bricks
+    private static final Color[] PALETTE = {
+            Color.WHITE, Color.AQUA, Color.BLUEVIOLET, Color.DARKGREEN,
+            Color.YELLOW, Color.RED, Color.BEIGE, Color.BURLYWOOD
+    };
+    private static final Color SHOCKWAVE_COLOR = Color.web("#FF4500");
+    private static final Font SCORE_FONT = Font.font("System", FontWeight.BOLD, 28);
+    private static final Font BOOM_FONT = Font.font("System", FontWeight.BOLD, 48);
+
+    // Particle pool
+    private final double[] px = new double[MAX_PARTICLES];
+    private final double[] py = new double[MAX_PARTICLES];
+    private final double[] vx = new double[MAX_PARTICLES];
+    private final double[] vy = new double[MAX_PARTICLES];
+    private final double[] age = new double[MAX_PARTICLES];
+    private final byte[] color = new byte[MAX_PARTICLES];
+    private final boolean[] particleAlive = new boolean[MAX_PARTICLES];
+    private int nextParticle = 0;
+
+    // Shockwave pool
+    private final double[] waveX = new double[MAX_SHOCKWAVES];
+    private final double[] waveY = new double[MAX_SHOCKWAVES];
+    private final double[] waveAge = new double[MAX_SHOCKWAVES];
+    private final boolean[] waveAlive = new boolean[MAX_SHOCKWAVES];
+    private int nextWave = 0;
+
+    // Popup pool
+    private final double[] popupX = new double[MAX_POPUPS];
+    private final double[] popupY = new double[MAX_POPUPS];
+    private final double[] popupAge = new double[MAX_POPUPS];
+    private final String[] popupText = new String[MAX_POPUPS];
+    private final boolean[] popupBig = new boolean[MAX_POPUPS];
+    private int nextPopup = 0;
+
+    private int liveCount = 0;
+    private long lastFrame = 0;
+    private boolean running = false;
+    private boolean reduced = false;
+
+    // Board geometry
+    private double cellWidth = 1;
+    private double cellHeight = 1;
+    private int originRow = 0;
+    private int originColumn = 0;
+
+    // Cheap deterministic jitter; visual only, so no need for java.util.Random
+    private int noise = 0x2545F491;
+
+    private final AnimationTimer ticker = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            double dt = lastFrame == 0 ? 0 : (now - lastFrame) / 1_000_000_000.0;
+            lastFrame = now;
+            advance(Math.min(dt, 0.1));
+            draw();
+            if (liveCount == 0) {
+                stop();
+                running = false;
+                lastFrame = 0;
+            }
+        }
+    };
+
+    /**
+     * Creates an empty, mouse-transparent effect layer.
+     */
+    public ParticleLayer() {
+        setMouseTransparent(true);
+    }
+
+    /**
+     * Sets the board geometry used to convert cell coordinates to pixels.
+     *
+     * @param cellWidth horizontal distance between cell origins, in pixels
+     * @param cellHeight vertical distance between cell origins, in pixels
+     * @param originRow matrix row drawn at the top of the layer (hidden rows plus any scroll)
+     * @param originColumn matrix column drawn at the left of the layer
+     */
+    public void setGrid(double cellWidth, double cellHeight, int originRow, int originColumn) {
+        this.cellWidth = cellWidth;
+        this.cellHeight = cellHeight;
+        this.originRow = originRow;
+        this.originColumn = originColumn;
+    }
+
+    /**
+     * Emits fewer particles per effect when set; used when the frame budget is tight.
+     *
+     * @param reduced {@code true} to cut particle counts
+     */
+    public void setReduced(boolean reduced) {
+        this.reduced = reduced;
+    }
+
+    /**
+     * Emits a burst of particles along a cleared row.
+     *
+     * @param row the matrix row that was cleared (including hidden rows)
+     * @param rowColors the colors the row held before it was cleared
+     */
+    public void emitLineClear(int row, int[] rowColors) {
+        double y = (row - originRow + 0.5) * cellHeight;
+        if (y < 0 || y > getHeight()) {
+            return;
+        }
+        int perCell = reduced ? 1 : PARTICLES_PER_CELL;
+        // Only the visible columns emit, so wide boards do not flood the pool
+        int first = Math.max(0, originColumn);
+        int last = Math.min(rowColors.length, originColumn + (int) Math.ceil(getWidth() / cellWidth));
+        for (int col = first; col < last; col++) {
+            double x = (col - originColumn + 0.5) * cellWidth;
+            for (int k = 0; k < perCell; k++) {
+                spawnParticle(x, y, jitter(160), -120 - Math.abs(jitter(260)), rowColors[col]);
+            }
+        }
+        ensureRunning();
+    }
+
+    /**
+     * Emits a bomb shockwave with debris and a "BOOM!" popup.
+     *
+     * @param gridX column of the explosion center
+     * @param gridY matrix row of the explosion center (including hidden rows)
+     */
+    public void emitShockwave(int gridX, int gridY) {
+        double x = (gridX - originColumn + 0.5) * cellWidth;
+        double y = (gridY - originRow + 0.5) * cellHeight;
+
+        int slot = nextWave;
+        nextWave = (nextWave + 1) % MAX_SHOCKWAVES;
+        if (!waveAlive[slot]) {
+            liveCount++;
+        }
+        waveX[slot] = x;
+        waveY[slot] = y;
+        waveAge[slot] = 0;
+        waveAlive[slot] = true;
+
+        int debris = reduced ? BOMB_DEBRIS / 4 : BOMB_DEBRIS;
+        for (int i = 0; i < debris; i++) {
+            spawnParticle(x, y, jitter(420), jitter(420) - 150, 5);
+        }
+        spawnPopup(x, y, "BOOM!", true);
+        ensureRunning();
+    }
+
+    /**
+     * Shows a floating score popup in the middle of the board.
+     *
+     * @param text the text to show, e.g. "+200"
+     */
+    public void showScore(String text) {
+        spawnPopup(getWidth() / 2, getHeight() / 2, text, false);
+        ensureRunning();
+    }
+
+    private void spawnParticle(double x, double y, double velocityX, double velocityY, int colorId) {
+        int slot = nextParticle;
+        nextParticle = (nextParticle + 1) % MAX_PARTICLES;
+        if (!particleAlive[slot]) {
+            liveCount++;
+        }
+        px[slot] = x;
+        py[slot] = y;
+        vx[slot] = velocityX;
+        vy[slot] = velocityY;
+        age[slot] = 0;
+        color[slot] = (byte) (colorId >= 0 && colorId < PALETTE.length ? colorId : 0);
+        particleAlive[slot] = true;
+    }
+
+    private void spawnPopup(double x, double y, String text, boolean big) {
+        int slot = nextPopup;
+        nextPopup = (nextPopup + 1) % MAX_POPUPS;
+        if (popupText[slot] == null) {
+            liveCount++;
+        }
+        popupX[slot] = x;
+        popupY[slot] = y;
+        popupAge[slot] = 0;
+        popupText[slot] = text;
+        popupBig[slot] = big;
+    }
+
+    private void ensureRunning() {
+        if (!running) {
+            running = true;
+            ticker.start();
+        }
+    }
+
+    /**
+     * Moves every live effect forward by {@code dt} seconds and retires expired ones.
+     *
+     * @param dt elapsed time in seconds
+     */
+    private void advance(double dt) {
+        for (int i = 0; i < MAX_PARTICLES; i++) {
+            if (!particleAlive[i]) continue;
+            age[i] += dt;
+            if (age[i] >= PARTICLE_LIFE) {
+                particleAlive[i] = false;
+                liveCount--;
+                continue;
+            }
+            vy[i] += GRAVITY * dt;
+            px[i] += vx[i] * dt;
+            py[i] += vy[i] * dt;
+        }
+        for (int i = 0; i < MAX_SHOCKWAVES; i++) {
+            if (!waveAlive[i]) continue;
+            waveAge[i] += dt;
+            if (waveAge[i] >= SHOCKWAVE_LIFE) {
+                waveAlive[i] = false;
+                liveCount--;
+            }
+        }
+        for (int i = 0; i < MAX_POPUPS; i++) {
+            if (popupText[i] == null) continue;
+            popupAge[i] += dt;
+            if (popupAge[i] >= POPUP_LIFE) {
+                popupText[i] = null;
+                liveCount--;
+            }
+        }
+    }
+
+    /**
+     * Redraws all live effects.
+     */
+    private void draw() {
+        GraphicsContext gc = getGraphicsContext2D();
+        gc.setGlobalAlpha(1);
+        gc.clearRect(0, 0, getWidth(), getHeight());
+
+        double size = Math.max(2, cellWidth / 4);
+        for (int i = 0; i < MAX_PARTICLES; i++) {
+            if (!particleAlive[i]) continue;
+            gc.setGlobalAlpha(1 - age[i] / PARTICLE_LIFE);
+            gc.setFill(PALETTE[color[i]]);
+            gc.fillRect(px[i] - size / 2, py[i] - size / 2, size, size);
+        }
+
+        gc.setStroke(SHOCKWAVE_COLOR);
+        for (int i = 0; i < MAX_SHOCKWAVES; i++) {
+            if (!waveAlive[i]) continue;
+            double t = waveAge[i] / SHOCKWAVE_LIFE;
+            double radius = t * SHOCKWAVE_RADIUS * cellWidth;
+            gc.setGlobalAlpha(1 - t);
+            gc.setLineWidth(6 * (1 - t) + 1);
+            gc.strokeOval(waveX[i] - radius, waveY[i] - radius, radius * 2, radius * 2);
+        }
+
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setTextBaseline(VPos.CENTER);
+        for (int i = 0; i < MAX_POPUPS; i++) {
+            if (popupText[i] == null) continue;
+            double t = popupAge[i] / POPUP_LIFE;
+            gc.setGlobalAlpha(1 - t);
+            if (popupBig[i]) {
+                gc.setFont(BOOM_FONT);
+                gc.setFill(SHOCKWAVE_COLOR);
+            } else {
+                gc.setFont(SCORE_FONT);
+                gc.setFill(Color.WHITE);
+            }
+            gc.fillText(popupText[i], popupX[i], popupY[i] - t * POPUP_RISE);
+        }
+        gc.setGlobalAlpha(1);
+    }
+
+    /**
+     * @return a pseudo-random value in [-range/2, range/2)
+     */
+    private double jitter(double range) {
+        noise ^= noise << 13;
+        noise ^= noise >>> 17;
+        noise ^= noise << 5;
+        return ((noise & 0xFFFF) / 65536.0 - 0.5) * range;
+    }
+}
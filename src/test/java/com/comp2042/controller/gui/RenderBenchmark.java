@@ -0,0 +1,239 @@
+package com.comp2042.controller.gui;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.stage.Stage;
+import com.comp2042.controller.game.EventType;
+import com.comp2042.replay.ReplayScript;
+
+import java.net.URL;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Rendering benchmark for the game screen. Boots the real {@code gameLayout.fxml} and
+ * {@link GuiController}, presses START, then plays a generated input sequence
+ * (see {@link ReplayScript#generate}) by firing key events at the game panel, so every
+ * input goes through {@link GuiControllerKeyboardHandler} and the usual per-pulse view
+ * updates. When the game ends, N starts a new one.
+ *
+ * After a warm-up it reports, per call, the cost of the renderer's
+ * {@code refreshBrick}, {@code refreshGameBackground} and {@code updateShadow}; per pulse,
+ * the time on the FX thread from the benchmark's input timer to the end of layout, and the
+ * CSS and layout part of it alone; and the number of nodes in the scene graph. Time spent
+ * by the render thread rasterizing the frame is not included.
+ *
+ * By default the JavaFX platform is started headless through Monocle with the software
+ * pipeline, so the benchmark runs on machines without a display; Monocle must then be on
+ * the class path ({@code mvn -Prender-benchmark verify}, which also pins JavaFX to the
+ * version that Monocle release is built for). Set {@code -Dtetris.bench.headless=false}
+ * to use the desktop platform instead. The run is shaped by the {@code tetris.bench.pulses},
+ * {@code tetris.bench.warmupPulses}, {@code tetris.bench.inputsPerPulse} and
+ * {@code tetris.bench.seed} system properties.
+ *
+ * @author COMP2042 Coursework
+ */
+public final class RenderBenchmark {
+
+    private final int pulses;
+    private final int warmupPulses;
+    private final int inputsPerPulse;
+    private final ReplayScript script;
+    private final CountDownLatch done = new CountDownLatch(1);
+
+    private final GuiControllerRenderTimings timings = new GuiControllerRenderTimings();
+    private final GuiControllerRenderTimings.Samples pulseTimes = new GuiControllerRenderTimings.Samples();
+    private final GuiControllerRenderTimings.Samples layoutTimes = new GuiControllerRenderTimings.Samples();
+
+    private GuiController controller;
+    private Parent root;
+    private Stage stage;
+    private AnimationTimer driver;
+
+    private int pulse;
+    private int nextInput;
+    private int games = 1;
+    private long pulseStart;
+    private long layoutStart;
+    private int nodes;
+    private int maxNodes;
+    private Throwable failure;
+
+    private RenderBenchmark(int pulses, int warmupPulses, int inputsPerPulse, long seed) {
+        this.pulses = pulses;
+        this.warmupPulses = warmupPulses;
+        this.inputsPerPulse = inputsPerPulse;
+        this.script = ReplayScript.generate("render", 0, seed, pulses * inputsPerPulse);
+    }
+
+    /**
+     * Runs the benchmark and prints the report.
+     *
+     * @param args unused
+     * @throws Exception if the game screen cannot be started or fails while playing
+     */
+    public static void main(String[] args) throws Exception {
+        if (Boolean.parseBoolean(System.getProperty("tetris.bench.headless", "true"))) {
+            // Must be set before the toolkit starts
+            setDefault("glass.platform", "Monocle");
+            setDefault("monocle.platform", "Headless");
+            setDefault("prism.order", "sw");
+        }
+        int pulses = Integer.getInteger("tetris.bench.pulses", 1800);
+        int warmupPulses = Integer.getInteger("tetris.bench.warmupPulses", 300);
+        int inputsPerPulse = Integer.getInteger("tetris.bench.inputsPerPulse", 2);
+        long seed = Long.getLong("tetris.bench.seed", 707);
+        if (warmupPulses < 0 || pulses <= warmupPulses || inputsPerPulse < 1) {
+            throw new IllegalArgumentException("Need 0 <= warm-up < pulses and at least one input per pulse, got "
+                    + warmupPulses + ", " + pulses + ", " + inputsPerPulse);
+        }
+
+        RenderBenchmark benchmark = new RenderBenchmark(pulses, warmupPulses, inputsPerPulse, seed);
+        Platform.startup(benchmark::start);
+        benchmark.done.await();
+        Platform.exit();
+
+        if (benchmark.failure != null) {
+            throw new IllegalStateException("Render benchmark failed", benchmark.failure);
+        }
+        benchmark.report();
+    }
+
+    private static void setDefault(String key, String value) {
+        if (System.getProperty(key) == null) {
+            System.setProperty(key, value);
+        }
+    }
+
+    private void start() {
+        try {
+            URL location = getClass().getClassLoader().getResource("gameLayout.fxml");
+            FXMLLoader loader = new FXMLLoader(location);
+            root = loader.load();
+            controller = loader.getController();
+
+            // Same size as the game window
+            Scene scene = new Scene(root, 300, 510);
+            scene.addPreLayoutPulseListener(() -> layoutStart = System.nanoTime());
+            scene.addPostLayoutPulseListener(this::pulseEnded);
+            stage = new Stage();
+            stage.setScene(scene);
+            stage.show();
+
+            ((Button) loader.getNamespace().get("startButton")).fire();
+            controller.setRenderTimings(timings);
+
+            driver = new AnimationTimer() {
+                @Override
+                public void handle(long now) {
+                    pulseStarted();
+                }
+            };
+            driver.start();
+        } catch (Exception | Error e) {
+            fail(e);
+        }
+    }
+
+    private void pulseStarted() {
+        try {
+            if (pulse == warmupPulses) {
+                timings.clear();
+                pulseTimes.clear();
+                layoutTimes.clear();
+                maxNodes = 0;
+            }
+            if (pulse == pulses) {
+                finish();
+                return;
+            }
+            pulse++;
+            pulseStart = System.nanoTime();
+            for (int i = 0; i < inputsPerPulse; i++) {
+                if (controller.isGameOver.getValue()) {
+                    press(KeyCode.N);
+                    games++;
+                } else {
+                    press(keyFor(script.inputAt(nextInput++)));
+                }
+            }
+        } catch (RuntimeException | Error e) {
+            fail(e);
+        }
+    }
+
+    private void pulseEnded() {
+        if (pulseStart == 0) {
+            return;
+        }
+        long end = System.nanoTime();
+        pulseTimes.add(end - pulseStart);
+        layoutTimes.add(end - Math.max(layoutStart, pulseStart));
+        pulseStart = 0;
+        nodes = countNodes(root);
+        maxNodes = Math.max(maxNodes, nodes);
+    }
+
+    private void press(KeyCode code) {
+        controller.gamePanel.fireEvent(new KeyEvent(KeyEvent.KEY_PRESSED, "", "", code,
+                false, false, false, false));
+    }
+
+    private static KeyCode keyFor(EventType type) {
+        switch (type) {
+            case LEFT: return KeyCode.LEFT;
+            case RIGHT: return KeyCode.RIGHT;
+            case ROTATE: return KeyCode.UP;
+            case ROTATE_CW: return KeyCode.X;
+            case ROTATE_180: return KeyCode.V;
+            case HOLD: return KeyCode.C;
+            case HARD_DROP: return KeyCode.SPACE;
+            default: return KeyCode.DOWN;
+        }
+    }
+
+    private static int countNodes(Node node) {
+        int count = 1;
+        if (node instanceof Parent) {
+            for (Node child : ((Parent) node).getChildrenUnmodifiable()) {
+                count += countNodes(child);
+            }
+        }
+        return count;
+    }
+
+    private void fail(Throwable e) {
+        failure = e;
+        finish();
+    }
+
+    private void finish() {
+        if (driver != null) {
+            driver.stop();
+        }
+        if (controller != null) {
+            controller.setRenderTimings(null);
+        }
+        if (stage != null) {
+            stage.hide();
+        }
+        done.countDown();
+    }
+
+    private void report() {
+        System.out.printf("[render] %d pulses after %d warm-up, %d inputs per pulse, %d game(s)%n",
+                pulses - warmupPulses, warmupPulses, inputsPerPulse, games);
+        System.out.println("[render] refreshBrick          " + timings.refreshBrick.summary());
+        System.out.println("[render] refreshGameBackground " + timings.refreshGameBackground.summary());
+        System.out.println("[render] updateShadow          " + timings.updateShadow.summary());
+        System.out.println("[render] pulse                 " + pulseTimes.summary());
+        System.out.println("[render] css+layout            " + layoutTimes.summary());
+        System.out.printf("[render] scene graph nodes: %d at end, %d max%n", nodes, maxNodes);
+    }
+}
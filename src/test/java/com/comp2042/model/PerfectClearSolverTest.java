@@ -0,0 +1,104 @@
+package com.comp2042.model;
+
+import com.comp2042.logic.bricks.RandomBrickGenerator;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Solves the opening perfect clear for a fixed set of seeded piece sequences on an empty
+ * board and plays every solution on a real {@link SimpleBoard}. Each placement must be
+ * for the piece the board is dealing (after the hold, if it uses one), must cover the
+ * same cells as a lock position {@link MoveGenerator} can reach, so it is legal and
+ * resting on the stack or floor, and must lock on exactly those cells when that path is
+ * played. Placements are compared by cells because pieces with symmetric rotation states
+ * (I, S, Z) can rest on the same cells in two states. The board must end empty.
+ *
+ * @author COMP2042 Coursework
+ */
+class PerfectClearSolverTest {
+
+    private static final int ROWS = 25;
+    private static final int COLUMNS = 10;
+
+    // Sequences with a known solution; each solves in well under a second
+    private static final long[] SEEDS = {1, 3, 4, 6, 8, 9, 10, 11, 12, 14, 16, 18};
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    @TestFactory
+    Stream<DynamicTest> solutionsClearTheBoard() {
+        return Arrays.stream(SEEDS).mapToObj(seed -> DynamicTest.dynamicTest("seed " + seed, () -> solve(seed)));
+    }
+
+    private static void solve(long seed) {
+        SimpleBoard board = new SimpleBoard(ROWS, COLUMNS, new RandomBrickGenerator(seed));
+        board.createNewBrick();
+        // Two threads, so the search is split into fork/join tasks even on one core
+        PerfectClearSolver.Solution solution;
+        try (PerfectClearSolver solver = new PerfectClearSolver(ROWS, COLUMNS, 2)) {
+            solution = solver.solve(board, PerfectClearSolver.upcomingPieces(seed, 16), TIMEOUT_MILLIS);
+        }
+        assertNotNull(solution, "seed " + seed + ": no solution");
+        assertEquals(solution.getHeight() * COLUMNS, solution.getPlacements().size() * 4,
+                "seed " + seed + ": pieces fill the solved rows");
+
+        MoveGenerator generator = new MoveGenerator(ROWS, COLUMNS);
+        int n = 0;
+        for (PerfectClearSolver.Placement p : solution.getPlacements()) {
+            String at = "seed " + seed + " placement " + n++;
+            if (p.isHold()) {
+                assertTrue(board.holdBrick(), at + ": hold refused");
+            }
+            assertEquals(p.getPieceId(), board.getCurrentPieceId(), at + ": piece");
+            int[] wanted = cells(p.getMask(), p.getX(), p.getY());
+            int choice = find(generator, board, wanted);
+            assertTrue(choice >= 0, at + ": " + p.getPieceId() + "/" + p.getRotation() + " at "
+                    + p.getX() + "," + p.getY() + " is not a reachable lock position");
+            for (MoveGenerator.Move move : generator.getPath(choice)) {
+                assertTrue(MoveGenerator.apply(board, move), at + ": " + move + " refused");
+            }
+            int[] locked = cells(SrsRotation.mask(board.getCurrentPieceId(), board.getCurrentRotation()),
+                    board.getCurrentX(), board.getCurrentY());
+            assertArrayEquals(wanted, locked, at + ": locked cells");
+            board.mergeBrickToBackground();
+            board.clearRows();
+            board.createNewBrick();
+        }
+
+        CellGrid matrix = board.getBoardMatrix();
+        for (int r = 0; r < ROWS; r++) {
+            for (int c = 0; c < COLUMNS; c++) {
+                assertEquals(0, matrix.get(r, c), "seed " + seed + ": cell " + r + "," + c + " left after the clear");
+            }
+        }
+    }
+
+    private static int find(MoveGenerator generator, SimpleBoard board, int[] wanted) {
+        int count = generator.generate(board);
+        for (int i = 0; i < count; i++) {
+            if (Arrays.equals(wanted, cells(generator.getMask(i), generator.getX(i), generator.getY(i)))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // The board cells, as row * COLUMNS + column in ascending order, of a 4x4 mask at a box position
+    private static int[] cells(int mask, int x, int y) {
+        int[] cells = new int[Integer.bitCount(mask)];
+        int n = 0;
+        for (int bit = 0; bit < 16; bit++) {
+            if ((mask >>> bit & 1) != 0) {
+                cells[n++] = (y + (bit >>> 2)) * COLUMNS + x + (bit & 3);
+            }
+        }
+        return cells;
+    }
+}
@@ -0,0 +1,132 @@
+package com.comp2042.model;
+
+import com.comp2042.logic.bricks.RandomBrickGenerator;
+import com.comp2042.view.ClearRow;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that {@link PersistentBoard} is a drop-in equivalent of {@link SimpleBoard}: both
+ * boards are fed the same bricks and the same random sequence of moves, rotations, holds,
+ * drops and locks, and after every operation the results, the settled blocks, the view
+ * data and the score must be identical. Holds that swap a piece into the stack are part
+ * of the sequence, so overlapping drops and merges are covered too.
+ *
+ * @author COMP2042 Coursework
+ */
+class PersistentBoardTest {
+
+    private static final int[][] SIZES = {{25, 10}, {22, 10}, {30, 12}, {24, 6}};
+    private static final int SEEDS = 20;
+    private static final int OPERATIONS = 3000;
+
+    @TestFactory
+    Stream<DynamicTest> matchesSimpleBoardOpForOp() {
+        List<DynamicTest> tests = new ArrayList<>();
+        for (int[] size : SIZES) {
+            for (int seed = 1; seed <= SEEDS; seed++) {
+                int rows = size[0];
+                int columns = size[1];
+                long brickSeed = seed;
+                tests.add(DynamicTest.dynamicTest(rows + "x" + columns + " seed " + seed,
+                        () -> compare(rows, columns, brickSeed)));
+            }
+        }
+        return tests.stream();
+    }
+
+    private static void compare(int rows, int columns, long seed) {
+        SimpleBoard expected = new SimpleBoard(rows, columns, new RandomBrickGenerator(seed));
+        PersistentBoard actual = new PersistentBoard(rows, columns, new RandomBrickGenerator(seed));
+        expected.newGame();
+        actual.newGame();
+        Random random = new Random(seed * 31 + rows * 1000 + columns);
+        for (int op = 0; op < OPERATIONS; op++) {
+            String at = rows + "x" + columns + " seed " + seed + " op " + op;
+            int choice = random.nextInt(10);
+            switch (choice) {
+                case 0:
+                    assertEquals(expected.moveBrickLeft(), actual.moveBrickLeft(), at + " left");
+                    break;
+                case 1:
+                    assertEquals(expected.moveBrickRight(), actual.moveBrickRight(), at + " right");
+                    break;
+                case 2:
+                    assertEquals(expected.rotateLeftBrick(), actual.rotateLeftBrick(), at + " rotate left");
+                    break;
+                case 3:
+                    assertEquals(expected.rotateRightBrick(), actual.rotateRightBrick(), at + " rotate right");
+                    break;
+                case 4:
+                    assertEquals(expected.rotate180Brick(), actual.rotate180Brick(), at + " rotate 180");
+                    break;
+                case 5:
+                    assertEquals(expected.holdBrick(), actual.holdBrick(), at + " hold");
+                    break;
+                case 6:
+                    boolean moved = expected.moveBrickDown();
+                    assertEquals(moved, actual.moveBrickDown(), at + " down");
+                    if (!moved) {
+                        lock(expected, actual, at);
+                    }
+                    break;
+                default:
+                    assertEquals(expected.hardDropBrick(), actual.hardDropBrick(), at + " hard drop");
+                    lock(expected, actual, at);
+                    break;
+            }
+            assertSameState(expected, actual, at);
+        }
+    }
+
+    // Locks the piece the way GameController does, restarting at game over
+    private static void lock(SimpleBoard expected, PersistentBoard actual, String at) {
+        expected.mergeBrickToBackground();
+        actual.mergeBrickToBackground();
+        assertSameMatrix(expected.getBoardMatrix(), actual.getBoardMatrix(), at + " merge");
+
+        ClearRow expectedClear = expected.clearRows();
+        ClearRow actualClear = actual.clearRows();
+        assertEquals(expectedClear.getLinesRemoved(), actualClear.getLinesRemoved(), at + " lines removed");
+        assertEquals(expectedClear.getScoreBonus(), actualClear.getScoreBonus(), at + " score bonus");
+        if (expectedClear.getLinesRemoved() > 0) {
+            assertArrayEquals(expectedClear.getClearedRowIndices(), actualClear.getClearedRowIndices(),
+                    at + " cleared rows");
+            assertArrayEquals(expectedClear.getClearedRowCells(), actualClear.getClearedRowCells(),
+                    at + " cleared cells");
+        }
+        expected.getScore().add(expectedClear.getScoreBonus());
+        actual.getScore().add(actualClear.getScoreBonus());
+
+        boolean gameOver = expected.createNewBrick();
+        assertEquals(gameOver, actual.createNewBrick(), at + " game over");
+        if (gameOver) {
+            expected.newGame();
+            actual.newGame();
+        }
+    }
+
+    private static void assertSameState(SimpleBoard expected, PersistentBoard actual, String at) {
+        assertSameMatrix(expected.getBoardMatrix(), actual.getBoardMatrix(), at);
+        ViewData e = expected.getViewData();
+        ViewData a = actual.getViewData();
+        assertEquals(e.getxPosition(), a.getxPosition(), at + " brick x");
+        assertEquals(e.getyPosition(), a.getyPosition(), at + " brick y");
+        assertArrayEquals(e.getBrickData(), a.getBrickData(), at + " brick shape");
+        assertArrayEquals(e.getNextBrickData(), a.getNextBrickData(), at + " next brick");
+        assertArrayEquals(e.getHeldBrickData(), a.getHeldBrickData(), at + " held brick");
+        assertEquals(expected.getScore().getValue(), actual.getScore().getValue(), at + " score");
+    }
+
+    private static void assertSameMatrix(CellGrid expected, CellGrid actual, String at) {
+        assertArrayEquals(expected.toMatrix(), actual.toMatrix(), at + " settled blocks");
+    }
+}
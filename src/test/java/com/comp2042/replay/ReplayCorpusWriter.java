@@ -0,0 +1,187 @@
+package com.comp2042.replay;
+
+import com.comp2042.bot.HintSearch;
+import com.comp2042.controller.game.EventSource;
+import com.comp2042.controller.game.EventType;
+import com.comp2042.controller.game.GameController;
+import com.comp2042.controller.game.MoveEvent;
+import com.comp2042.logic.bricks.RandomBrickGenerator;
+import com.comp2042.model.GameSnapshot;
+import com.comp2042.model.MoveGenerator;
+import com.comp2042.model.PowerUp;
+import com.comp2042.model.SimpleBoard;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Writes the replay corpus read by {@link ReplayRegressionTest}. Each entry is a game
+ * played by {@link HintSearch} through {@link GameController} and recorded as an input log
+ * in the form read by {@link ReplayScript#parse(String, long, CharSequence)}, so the corpus
+ * holds sustained games that clear lines, rather than random key presses that top out
+ * within a few dozen pieces. The logs are stored rather than regenerated at test time, so
+ * changes to the bot do not change the corpus.
+ *
+ * Every log is replayed once after recording and must end in the same state as the game
+ * it was recorded from.
+ *
+ * Run with the output file as the only argument, e.g.
+ * {@code src/test/resources/replay/corpus.txt}, then regenerate the baselines.
+ *
+ * @author COMP2042 Coursework
+ */
+final class ReplayCorpusWriter {
+
+    private static final int ROWS = 25;
+    private static final int COLUMNS = 10;
+
+    // Letters of ReplayScript's log, indexed by MoveGenerator.Move ordinal
+    private static final char[] MOVE_LETTERS = {'L', 'R', 'D', 'X', 'Z', 'V', 'S'};
+    private static final EventType[] MOVE_TYPES = {
+            EventType.LEFT, EventType.RIGHT, EventType.DOWN, EventType.ROTATE_CW,
+            EventType.ROTATE, EventType.ROTATE_180, EventType.HARD_DROP
+    };
+
+    /**
+     * One corpus entry: which brick sequence to play, for how long, and which inputs to
+     * mix in besides the bot's placements. An interval of 0 turns that input off.
+     */
+    private static final class Entry {
+        final String name;
+        final long brickSeed;
+        final int pieces;
+        final int gravityEvery;
+        final int holdEvery;
+        final int powerUpEvery;
+        final int giveUpAfter;
+
+        Entry(String name, long brickSeed, int pieces, int gravityEvery, int holdEvery,
+              int powerUpEvery, int giveUpAfter) {
+            this.name = name;
+            this.brickSeed = brickSeed;
+            this.pieces = pieces;
+            this.gravityEvery = gravityEvery;
+            this.holdEvery = holdEvery;
+            this.powerUpEvery = powerUpEvery;
+            this.giveUpAfter = giveUpAfter;
+        }
+    }
+
+    private static final Entry[] ENTRIES = {
+            new Entry("steady", 1, 400, 0, 0, 0, 0),
+            // A gravity step before most pieces, so placements start below the spawn row
+            new Entry("long-game", 7, 3000, 2, 0, 0, 0),
+            new Entry("hold-power-ups", 42, 1500, 0, 5, 40, 0),
+            // Plays well for a while, then drops every piece in place until the game ends
+            new Entry("restart-cycle", 2042, 2000, 0, 0, 0, 250)
+    };
+
+    private final HeadlessGameView view = new HeadlessGameView();
+    private final SimpleBoard board;
+    private final GameController controller;
+    private final StringBuilder log = new StringBuilder();
+    private int gamesOver;
+
+    private ReplayCorpusWriter(long brickSeed) {
+        board = new SimpleBoard(ROWS, COLUMNS, new RandomBrickGenerator(brickSeed));
+        controller = new GameController(view, board, false);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Usage: ReplayCorpusWriter <corpus file>");
+        }
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(Paths.get(args[0]), StandardCharsets.UTF_8))) {
+            out.println("# Replay corpus for ReplayRegressionTest: name, brick seed and input log per line.");
+            out.println("# Games played by HintSearch; regenerate with ReplayCorpusWriter <this file>.");
+            for (Entry entry : ENTRIES) {
+                ReplayCorpusWriter writer = new ReplayCorpusWriter(entry.brickSeed);
+                writer.play(entry);
+                writer.check(entry);
+                out.println(entry.name + " " + entry.brickSeed + " " + writer.log);
+            }
+        }
+    }
+
+    private void play(Entry entry) {
+        HintSearch search = new HintSearch(ROWS, COLUMNS, 1);
+        MoveGenerator generator = new MoveGenerator(ROWS, COLUMNS);
+        PowerUp[] powerUps = PowerUp.values();
+        int sinceNewGame = 0;
+        for (int piece = 0; piece < entry.pieces; piece++) {
+            int restarts = gamesOver;
+            if (entry.gravityEvery > 0 && piece % entry.gravityEvery == 0) {
+                send('G', new MoveEvent(EventType.DOWN, EventSource.THREAD));
+            }
+            if (entry.holdEvery > 0 && piece % entry.holdEvery == entry.holdEvery - 1) {
+                send('C', new MoveEvent(EventType.HOLD, EventSource.USER));
+            }
+            if (entry.powerUpEvery > 0 && piece % entry.powerUpEvery == entry.powerUpEvery - 1) {
+                int powerUp = (piece / entry.powerUpEvery) % powerUps.length;
+                log.append('B').append((char) ('1' + powerUp));
+                controller.purchasePowerUp(powerUps[powerUp]);
+                log.append((char) ('1' + powerUp));
+                controller.activatePowerUp(powerUps[powerUp]);
+            }
+
+            HintSearch.Hint hint = null;
+            if (entry.giveUpAfter == 0 || sinceNewGame < entry.giveUpAfter) {
+                hint = search.search(GameSnapshot.capture(board));
+            }
+            int choice = hint == null ? -1 : find(generator, hint);
+            if (choice < 0) {
+                send('S', new MoveEvent(EventType.HARD_DROP, EventSource.USER));
+            } else {
+                for (MoveGenerator.Move move : generator.getPath(choice)) {
+                    send(MOVE_LETTERS[move.ordinal()], new MoveEvent(MOVE_TYPES[move.ordinal()], EventSource.USER));
+                }
+            }
+            sinceNewGame = gamesOver != restarts ? 0 : sinceNewGame + 1;
+        }
+    }
+
+    private int find(MoveGenerator generator, HintSearch.Hint hint) {
+        int count = generator.generate(board);
+        for (int i = 0; i < count; i++) {
+            if (generator.getX(i) == hint.getX() && generator.getY(i) == hint.getY()
+                    && generator.getRotation(i) == hint.getRotation()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Sends one input to the controller and logs it, restarting at game over as
+     * {@link ReplayRunner#run(ReplayScript)} does.
+     */
+    private void send(char letter, MoveEvent event) {
+        log.append(letter);
+        switch (event.getEventType()) {
+            case LEFT: controller.onLeftEvent(event); break;
+            case RIGHT: controller.onRightEvent(event); break;
+            case DOWN: controller.onDownEvent(event); break;
+            case HARD_DROP: controller.onHardDropEvent(event); break;
+            case HOLD: controller.onHoldEvent(event); break;
+            default: controller.onRotateEvent(event); break;
+        }
+        if (view.takeGameOver()) {
+            gamesOver++;
+            controller.createNewGame();
+        }
+    }
+
+    private void check(Entry entry) {
+        ReplayScript script = ReplayScript.parse(entry.name, entry.brickSeed, log);
+        ReplayResult replay = ReplayRunner.run(script);
+        if (replay.getBoardHash() != ReplayRunner.hash(board.getBoardMatrix())
+                || replay.getScore() != board.getScore().getValue() || replay.getGamesOver() != gamesOver) {
+            throw new IllegalStateException("The log of " + entry.name + " does not replay to the recorded game");
+        }
+        System.out.printf("%-16s pieces=%d lines=%d restarts=%d score=%d inputs=%d%n", entry.name,
+                replay.getPieces(), replay.getLinesCleared(), replay.getGamesOver(), replay.getScore(), script.length());
+    }
+}
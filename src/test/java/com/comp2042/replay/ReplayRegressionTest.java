@@ -0,0 +1,205 @@
+package com.comp2042.replay;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.condition.DisabledIfSystemProperty;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Replay-driven performance regression tests. Every corpus entry, a recorded game written
+ * by {@link ReplayCorpusWriter}, is replayed headless through the game controller and
+ * checked against the versioned baselines in {@code replay/baselines.properties}. The
+ * final board matrix, score and lines cleared must be identical; every entry is replayed
+ * twice and must end the same way both times.
+ *
+ * The performance limits are machine-dependent, so they are only checked with
+ * {@code -Dtetris.replay.perf=true}, on the machine the baselines were written on or one
+ * like it:
+ * <ul>
+ *     <li>throughput must stay above the entry's minimum pieces per second,</li>
+ *     <li>allocation must stay below the entry's maximum bytes per piece.</li>
+ * </ul>
+ * The corpus is then replayed a few times untimed to warm up the JIT, and the best of the
+ * measured rounds is compared.
+ *
+ * Set {@code -Dtetris.replay.update=<file>} to write fresh baselines to a file instead
+ * of checking them.
+ *
+ * @author COMP2042 Coursework
+ */
+class ReplayRegressionTest {
+
+    /** Baseline file format; bump when the meaning of a key changes. */
+    static final int FORMAT_VERSION = 2;
+
+    private static final String CORPUS = "replay/corpus.txt";
+    private static final String BASELINES = "replay/baselines.properties";
+    private static final String UPDATE_PROPERTY = "tetris.replay.update";
+    private static final boolean CHECK_PERFORMANCE = Boolean.getBoolean("tetris.replay.perf");
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+    // Without timing, two rounds still show that a replay is deterministic
+    private static final int UNTIMED_ROUNDS = 2;
+
+    // Headroom written on update so normal machine noise does not fail the tests
+    private static final double THROUGHPUT_HEADROOM = 0.5;
+    private static final double ALLOCATION_HEADROOM = 1.5;
+
+    private static List<ReplayScript> corpus;
+    private static ReplayResult[] best;
+
+    @BeforeAll
+    static void replayCorpus() throws IOException {
+        corpus = loadCorpus();
+        boolean timed = CHECK_PERFORMANCE || System.getProperty(UPDATE_PROPERTY) != null;
+        best = timed ? measure(corpus, WARMUP_ROUNDS, MEASURED_ROUNDS) : measure(corpus, 0, UNTIMED_ROUNDS);
+    }
+
+    @TestFactory
+    @DisabledIfSystemProperty(named = UPDATE_PROPERTY, matches = ".+")
+    Stream<DynamicTest> replaysMatchBaselines() throws IOException {
+        Properties baselines = loadResource(BASELINES);
+        assertEquals(FORMAT_VERSION, Integer.parseInt(baselines.getProperty("format.version", "0")),
+                "baseline format version");
+        return IntStream.range(0, corpus.size()).mapToObj(i -> DynamicTest.dynamicTest(corpus.get(i).getName(),
+                () -> check(corpus.get(i).getName(), best[i], baselines)));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = UPDATE_PROPERTY, matches = ".+")
+    void writeBaselines() throws IOException {
+        String file = System.getProperty(UPDATE_PROPERTY);
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(Paths.get(file), StandardCharsets.UTF_8))) {
+            out.println("# Replay regression baselines, checked by ReplayRegressionTest.");
+            out.println("# boardHash, score and lines must match exactly; the limits include headroom for machine noise");
+            out.println("# and are only checked with -Dtetris.replay.perf=true.");
+            out.println("# Regenerate with: mvn test -Dtest=ReplayRegressionTest -D" + UPDATE_PROPERTY
+                    + "=src/test/resources/" + BASELINES);
+            out.println("format.version=" + FORMAT_VERSION);
+            for (int i = 0; i < corpus.size(); i++) {
+                String name = corpus.get(i).getName();
+                ReplayResult r = best[i];
+                out.println();
+                out.println(name + ".boardHash=" + Long.toHexString(r.getBoardHash()));
+                out.println(name + ".score=" + r.getScore());
+                out.println(name + ".lines=" + r.getLinesCleared());
+                out.println(name + ".minPiecesPerSecond=" + (long) (r.piecesPerSecond() * THROUGHPUT_HEADROOM));
+                out.println(name + ".maxBytesPerPiece="
+                        + (r.bytesPerPiece() < 0 ? Long.MAX_VALUE : (long) (r.bytesPerPiece() * ALLOCATION_HEADROOM)));
+            }
+        }
+        System.out.println("Wrote baselines for " + corpus.size() + " replays to " + file);
+    }
+
+    /**
+     * Warms up, then replays the corpus {@code rounds} times and keeps, per entry, the best
+     * throughput and lowest allocation. The final state must be the same in every round.
+     */
+    private static ReplayResult[] measure(List<ReplayScript> corpus, int warmupRounds, int rounds) {
+        for (int round = 0; round < warmupRounds; round++) {
+            for (ReplayScript script : corpus) {
+                ReplayRunner.run(script);
+            }
+        }
+        ReplayResult[] best = new ReplayResult[corpus.size()];
+        double[] bestRate = new double[corpus.size()];
+        long[] leastBytes = new long[corpus.size()];
+        for (int round = 0; round < rounds; round++) {
+            for (int i = 0; i < corpus.size(); i++) {
+                ReplayResult result = ReplayRunner.run(corpus.get(i));
+                if (best[i] == null) {
+                    best[i] = result;
+                    bestRate[i] = result.piecesPerSecond();
+                    leastBytes[i] = result.bytesPerPiece();
+                    continue;
+                }
+                assertEquals(best[i].getBoardHash(), result.getBoardHash(), corpus.get(i).getName() + " board hash between rounds");
+                assertEquals(best[i].getScore(), result.getScore(), corpus.get(i).getName() + " score between rounds");
+                bestRate[i] = Math.max(bestRate[i], result.piecesPerSecond());
+                leastBytes[i] = Math.min(leastBytes[i], result.bytesPerPiece());
+            }
+        }
+        for (int i = 0; i < best.length; i++) {
+            ReplayResult r = best[i];
+            best[i] = new ReplayResult(r.getBoardHash(), r.getScore(), r.getPieces(), r.getLinesCleared(),
+                    r.getGamesOver(), (long) (r.getPieces() * 1_000_000_000.0 / bestRate[i]),
+                    leastBytes[i] < 0 ? -1 : leastBytes[i] * r.getPieces());
+            System.out.printf("[replay] %-14s pieces=%d lines=%d restarts=%d score=%d %.0f pieces/s %d B/piece%n",
+                    corpus.get(i).getName(), r.getPieces(), r.getLinesCleared(), r.getGamesOver(),
+                    r.getScore(), bestRate[i], leastBytes[i]);
+        }
+        return best;
+    }
+
+    private static void check(String name, ReplayResult result, Properties baselines) {
+        String hash = baselines.getProperty(name + ".boardHash");
+        assertNotNull(hash, name + ": no baseline");
+        assertEquals(hash, Long.toHexString(result.getBoardHash()), name + ": final board hash");
+        assertEquals(Integer.parseInt(baselines.getProperty(name + ".score")), result.getScore(), name + ": score");
+        assertEquals(Integer.parseInt(baselines.getProperty(name + ".lines")), result.getLinesCleared(),
+                name + ": lines cleared");
+        if (!CHECK_PERFORMANCE) {
+            return;
+        }
+        double minRate = Double.parseDouble(baselines.getProperty(name + ".minPiecesPerSecond"));
+        assertTrue(result.piecesPerSecond() >= minRate,
+                String.format("%s: %.0f pieces/s, minimum %.0f", name, result.piecesPerSecond(), minRate));
+        long maxBytes = Long.parseLong(baselines.getProperty(name + ".maxBytesPerPiece"));
+        assertTrue(result.bytesPerPiece() <= maxBytes,
+                name + ": " + result.bytesPerPiece() + " bytes/piece, maximum " + maxBytes);
+    }
+
+    /**
+     * Reads the corpus: one entry per line, {@code name brickSeed inputs}, with the inputs in
+     * the form read by {@link ReplayScript#parse(String, long, CharSequence)}.
+     */
+    private static List<ReplayScript> loadCorpus() throws IOException {
+        List<ReplayScript> corpus = new ArrayList<>();
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(open(CORPUS), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                String[] f = line.split("\\s+", 3);
+                corpus.add(ReplayScript.parse(f[0], Long.parseLong(f[1]), f[2]));
+            }
+        }
+        return corpus;
+    }
+
+    private static Properties loadResource(String name) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = open(name)) {
+            properties.load(in);
+        }
+        return properties;
+    }
+
+    private static InputStream open(String name) throws IOException {
+        InputStream in = ReplayRegressionTest.class.getClassLoader().getResourceAsStream(name);
+        if (in == null) {
+            throw new IOException("Missing resource " + name);
+        }
+        return in;
+    }
+}